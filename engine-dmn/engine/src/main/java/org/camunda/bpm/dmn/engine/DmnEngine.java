@@ -16,7 +16,10 @@
  */
 package org.camunda.bpm.dmn.engine;
 
+import static org.camunda.commons.utils.EnsureUtil.ensureNotNull;
+
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -262,6 +265,33 @@ public interface DmnEngine {
    */
   DmnDecisionResult evaluateDecision(DmnDecision decision, VariableContext variableContext);
 
+  /**
+   * Evaluates a decision once for each of the given variable contexts. The decision can be
+   * implemented as any kind of supported decision logic (e.g., decision table, literal expression).
+   * Implementations may share the preparation of the decision between the evaluations, which
+   * makes this method cheaper than calling {@link #evaluateDecision(DmnDecision, VariableContext)}
+   * for each input. The default implementation calls it for each input.
+   *
+   * @param decision the {@link DmnDecision} to evaluate
+   * @param variableContexts the variable contexts, one for each evaluation
+   * @return the {@link DmnDecisionResult DmnDecisionResults} of the evaluations,
+   *         in the order of the given variable contexts
+   *
+   * @throws DmnEngineException
+   *           if the decision logic is not supported
+   * @throws DmnEngineException
+   *           if an error occurs during the evaluation
+   */
+  default List<DmnDecisionResult> evaluateDecisionForEach(DmnDecision decision, List<VariableContext> variableContexts) {
+    ensureNotNull("variableContexts", variableContexts);
+
+    List<DmnDecisionResult> results = new ArrayList<DmnDecisionResult>(variableContexts.size());
+    for (VariableContext variableContext : variableContexts) {
+      results.add(evaluateDecision(decision, variableContext));
+    }
+    return results;
+  }
+
   /**
    * Evaluates the decision with the given key in a DMN decision model.
    * The key is the {@code id} attribute of the decision in the DMN XML file.
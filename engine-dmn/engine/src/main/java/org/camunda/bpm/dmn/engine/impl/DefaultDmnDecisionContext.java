@@ -72,11 +72,45 @@ public class DefaultDmnDecisionContext {
     if(decision.getKey() == null) {
       throw LOG.unableToFindAnyDecisionTable();
     }
-    VariableMap variableMap = buildVariableMapFromVariableContext(variableContext);
 
     List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
     buildDecisionTree(decision, requiredDecisions);
 
+    return evaluateDecision(decision, requiredDecisions, variableContext);
+  }
+
+  /**
+   * Evaluate a decision once for each of the given {@link VariableContext VariableContexts}.
+   * The required decisions are resolved only once for all evaluations.
+   *
+   * @param decision the decision to evaluate
+   * @param variableContexts the variable contexts, one for each evaluation
+   * @return the results of the decision evaluations in the order of the variable contexts
+   */
+  public List<DmnDecisionResult> evaluateDecisionForEach(DmnDecision decision, List<VariableContext> variableContexts) {
+
+    if(decision.getKey() == null) {
+      throw LOG.unableToFindAnyDecisionTable();
+    }
+
+    List<DmnDecision> requiredDecisions = new ArrayList<DmnDecision>();
+    buildDecisionTree(decision, requiredDecisions);
+
+    List<DmnDecisionResult> results = new ArrayList<DmnDecisionResult>(variableContexts.size());
+    for (VariableContext variableContext : variableContexts) {
+      results.add(evaluateDecision(decision, requiredDecisions, variableContext));
+    }
+    return results;
+  }
+
+  protected DmnDecisionResult evaluateDecision(DmnDecision decision, List<DmnDecision> requiredDecisions, VariableContext variableContext) {
+    if (requiredDecisions.size() == 1) {
+      // no results of required decisions are added, the variables don't need to be copied
+      return evaluateSingleDecision(decision, variableContext);
+    }
+
+    VariableMap variableMap = buildVariableMapFromVariableContext(variableContext);
+
     List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = new ArrayList<DmnDecisionLogicEvaluationEvent>();
     DmnDecisionResult evaluatedResult = null;
 
@@ -95,6 +129,18 @@ public class DefaultDmnDecisionContext {
     return evaluatedResult;
   }
 
+  protected DmnDecisionResult evaluateSingleDecision(DmnDecision decision, VariableContext variableContext) {
+    DmnDecisionLogicEvaluationHandler handler = getDecisionEvaluationHandler(decision);
+    DmnDecisionLogicEvaluationEvent evaluatedEvent = handler.evaluate(decision, variableContext);
+    DmnDecisionResult evaluatedResult = handler.generateDecisionResult(evaluatedEvent);
+
+    List<DmnDecisionLogicEvaluationEvent> evaluatedEvents = new ArrayList<DmnDecisionLogicEvaluationEvent>(1);
+    evaluatedEvents.add(evaluatedEvent);
+    generateDecisionEvaluationEvent(evaluatedEvents);
+
+    return evaluatedResult;
+  }
+
   protected VariableMap buildVariableMapFromVariableContext(VariableContext variableContext) {
 
     VariableMap variableMap = Variables.createVariables();
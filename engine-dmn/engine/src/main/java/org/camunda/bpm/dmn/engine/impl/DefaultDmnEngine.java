@@ -171,6 +171,19 @@ public class DefaultDmnEngine implements DmnEngine {
     }
   }
 
+  public List<DmnDecisionResult> evaluateDecisionForEach(DmnDecision decision, List<VariableContext> variableContexts) {
+    ensureNotNull("decision", decision);
+    ensureNotNull("variableContexts", variableContexts);
+
+    if (decision instanceof DmnDecisionImpl) {
+      DefaultDmnDecisionContext decisionContext = new DefaultDmnDecisionContext(dmnEngineConfiguration);
+      return decisionContext.evaluateDecisionForEach(decision, variableContexts);
+    }
+    else {
+      throw LOG.decisionTypeNotSupported(decision);
+    }
+  }
+
   public DmnDecisionResult evaluateDecision(String decisionKey, InputStream inputStream, Map<String, Object> variables) {
     ensureNotNull("variables", variables);
     return evaluateDecision(decisionKey, inputStream, Variables.fromMap(variables).asVariableContext());
@@ -74,6 +74,12 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
    */
   protected boolean enableFeelLegacyBehavior = false;
 
+  /**
+   * Enable the index of simple FEEL input entries of decision tables. The index is
+   * only used with the built-in FEEL engines, see {@link #setEnableDecisionTableIndex(boolean)}.
+   */
+  protected boolean enableDecisionTableIndex = false;
+
   protected String defaultInputExpressionExpressionLanguage = null;
   protected String defaultInputEntryExpressionLanguage = null;
   protected String defaultOutputEntryExpressionLanguage = null;
@@ -603,4 +609,37 @@ public class DefaultDmnEngineConfiguration extends DmnEngineConfiguration {
     return this;
   }
 
+  /**
+   * @return whether decision tables are evaluated using an index of their simple input entries
+   */
+  public boolean isEnableDecisionTableIndex() {
+    return enableDecisionTableIndex;
+  }
+
+  /**
+   * Controls whether input entries of decision tables which are FEEL string or integer
+   * literals are matched by an index instead of being evaluated one by one. The index
+   * is only used if the FEEL engine is one of the built-in engines; a custom
+   * FEEL engine evaluates all input entries itself. Disabled by default.
+   *
+   * @param enableDecisionTableIndex the decision table index
+   */
+  public void setEnableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    this.enableDecisionTableIndex = enableDecisionTableIndex;
+  }
+
+  /**
+   * Controls whether input entries of decision tables which are FEEL string or integer
+   * literals are matched by an index instead of being evaluated one by one. The index
+   * is only used if the FEEL engine is one of the built-in engines; a custom
+   * FEEL engine evaluates all input entries itself. Disabled by default.
+   *
+   * @param enableDecisionTableIndex the decision table index
+   * @return this
+   */
+  public DefaultDmnEngineConfiguration enableDecisionTableIndex(boolean enableDecisionTableIndex) {
+    setEnableDecisionTableIndex(enableDecisionTableIndex);
+    return this;
+  }
+
 }
@@ -17,6 +17,7 @@
 package org.camunda.bpm.dmn.engine.impl.evaluation;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,9 +44,10 @@ import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedDecisionRuleImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedInputImpl;
 import org.camunda.bpm.dmn.engine.impl.delegate.DmnEvaluatedOutputImpl;
 import org.camunda.bpm.dmn.feel.impl.FeelEngine;
+import org.camunda.bpm.dmn.feel.impl.juel.FeelEngineImpl;
+import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngine;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.context.VariableContext;
-import org.camunda.bpm.engine.variable.impl.context.CompositeVariableContext;
 import org.camunda.bpm.engine.variable.value.TypedValue;
 
 public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluationHandler {
@@ -59,6 +61,8 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   protected final String inputEntryExpressionLanguage;
   protected final String outputEntryExpressionLanguage;
 
+  protected final boolean decisionTableIndexEnabled;
+
   public DecisionTableEvaluationHandler(DefaultDmnEngineConfiguration configuration) {
     expressionEvaluationHandler = new ExpressionEvaluationHandler(configuration);
     feelEngine = configuration.getFeelEngine();
@@ -68,6 +72,18 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     inputExpressionExpressionLanguage = configuration.getDefaultInputExpressionExpressionLanguage();
     inputEntryExpressionLanguage = configuration.getDefaultInputEntryExpressionLanguage();
     outputEntryExpressionLanguage = configuration.getDefaultOutputEntryExpressionLanguage();
+
+    decisionTableIndexEnabled = configuration.isEnableDecisionTableIndex() && isBuiltInFeelEngine(feelEngine);
+  }
+
+  /**
+   * The index matches literal input entries itself, so it must only be used if the
+   * results are the same as the ones of the FEEL engine. This is not known for
+   * custom FEEL engines, including subclasses of the built-in ones.
+   */
+  protected boolean isBuiltInFeelEngine(FeelEngine feelEngine) {
+    return feelEngine != null
+        && (feelEngine.getClass() == ScalaFeelEngine.class || feelEngine.getClass() == FeelEngineImpl.class);
   }
 
   @Override
@@ -96,6 +112,12 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected void evaluateDecisionTable(DmnDecisionTableImpl decisionTable, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    DecisionTableIndex index = getDecisionTableIndex(decisionTable);
+    if (index != null) {
+      evaluateDecisionTableWithIndex(decisionTable, index, variableContext, evaluationResult);
+      return;
+    }
+
     int inputSize = decisionTable.getInputs().size();
     List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(decisionTable.getRules());
     for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
@@ -114,6 +136,75 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
   }
 
+  protected void evaluateDecisionTableWithIndex(DmnDecisionTableImpl decisionTable, DecisionTableIndex index, VariableContext variableContext, DmnDecisionTableEvaluationEventImpl evaluationResult) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+    BitSet candidateRules = index.allRules();
+    for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+      // evaluate input
+      DmnDecisionTableInputImpl input = decisionTable.getInputs().get(inputIdx);
+      DmnEvaluatedInput evaluatedInput = evaluateInput(input, variableContext);
+      evaluationResult.getInputs().add(evaluatedInput);
+
+      VariableContext localVariableContext = getLocalVariableContext(input, evaluatedInput, variableContext);
+
+      // match indexed input entries, evaluate the remaining ones
+      TypedValue inputValue = evaluatedInput.getValue();
+      Object value = inputValue != null ? inputValue.getValue() : null;
+      BitSet rulesToEvaluate = index.getInputIndex(inputIdx).match(value, candidateRules);
+      for (int ruleIdx = rulesToEvaluate.nextSetBit(0); ruleIdx >= 0; ruleIdx = rulesToEvaluate.nextSetBit(ruleIdx + 1)) {
+        DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+        if (!isConditionApplicable(input, condition, localVariableContext)) {
+          candidateRules.clear(ruleIdx);
+        }
+      }
+    }
+
+    List<DmnDecisionTableRuleImpl> matchingRules = new ArrayList<DmnDecisionTableRuleImpl>(candidateRules.cardinality());
+    for (int ruleIdx = candidateRules.nextSetBit(0); ruleIdx >= 0; ruleIdx = candidateRules.nextSetBit(ruleIdx + 1)) {
+      matchingRules.add(rules.get(ruleIdx));
+    }
+
+    setEvaluationOutput(decisionTable, matchingRules, variableContext, evaluationResult);
+  }
+
+  /**
+   * @return the index of the decision table or null if the decision table
+   * should be evaluated without index
+   */
+  protected DecisionTableIndex getDecisionTableIndex(DmnDecisionTableImpl decisionTable) {
+    if (!decisionTableIndexEnabled || decisionTable.getRules().isEmpty()) {
+      return null;
+    }
+
+    DecisionTableIndex index = decisionTable.getIndex();
+    if (index == null) {
+      index = createDecisionTableIndex(decisionTable);
+      decisionTable.setIndex(index);
+    }
+
+    return index.hasIndexedEntries() ? index : null;
+  }
+
+  protected DecisionTableIndex createDecisionTableIndex(DmnDecisionTableImpl decisionTable) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputSize = decisionTable.getInputs().size();
+
+    boolean[][] feelEntries = new boolean[rules.size()][inputSize];
+    for (int ruleIdx = 0; ruleIdx < rules.size(); ruleIdx++) {
+      for (int inputIdx = 0; inputIdx < inputSize; inputIdx++) {
+        DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+        String expressionLanguage = condition != null ? condition.getExpressionLanguage() : null;
+        if (expressionLanguage == null) {
+          expressionLanguage = inputEntryExpressionLanguage;
+        }
+        feelEntries[ruleIdx][inputIdx] = expressionEvaluationHandler.isFeelExpressionLanguage(expressionLanguage);
+      }
+    }
+
+    return DecisionTableIndex.create(decisionTable, feelEntries);
+  }
+
   protected DmnEvaluatedInput evaluateInput(DmnDecisionTableInputImpl input, VariableContext variableContext) {
     DmnEvaluatedInputImpl evaluatedInput = new DmnEvaluatedInputImpl(input);
 
@@ -167,15 +258,7 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
 
   protected VariableContext getLocalVariableContext(DmnDecisionTableInputImpl input, DmnEvaluatedInput evaluatedInput, VariableContext variableContext) {
     if (isNonEmptyExpression(input.getExpression())) {
-      String inputVariableName = evaluatedInput.getInputVariable();
-
-      return CompositeVariableContext.compose(
-        Variables.createVariables()
-            .putValue("inputVariableName", inputVariableName)
-            .putValueTyped(inputVariableName, evaluatedInput.getValue())
-            .asVariableContext(),
-        variableContext
-      );
+      return new InputVariableContext(evaluatedInput.getInputVariable(), evaluatedInput.getValue(), variableContext);
     } else {
       return variableContext;
     }
@@ -211,7 +294,7 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
   }
 
   protected Map<String, DmnEvaluatedOutput> evaluateOutputEntries(List<DmnDecisionTableOutputImpl> decisionTableOutputs, DmnDecisionTableRuleImpl matchingRule, VariableContext variableContext) {
-    Map<String, DmnEvaluatedOutput> outputEntries = new LinkedHashMap<String, DmnEvaluatedOutput>();
+    Map<String, DmnEvaluatedOutput> outputEntries = new LinkedHashMap<String, DmnEvaluatedOutput>(mapCapacity(decisionTableOutputs.size()));
 
     for (int outputIdx = 0; outputIdx < decisionTableOutputs.size(); outputIdx++) {
       // evaluate output entry, skip empty expressions
@@ -232,6 +315,10 @@ public class DecisionTableEvaluationHandler implements DmnDecisionLogicEvaluatio
     return outputEntries;
   }
 
+  protected int mapCapacity(int size) {
+    return Math.max((int) (size / .75f) + 1, 2);
+  }
+
   protected Object evaluateOutputEntry(DmnExpressionImpl conclusion, VariableContext variableContext) {
     String expressionLanguage = conclusion.getExpressionLanguage();
     if (expressionLanguage == null) {
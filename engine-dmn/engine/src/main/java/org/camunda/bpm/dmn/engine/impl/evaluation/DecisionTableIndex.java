@@ -0,0 +1,208 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableRuleImpl;
+import org.camunda.bpm.dmn.engine.impl.DmnExpressionImpl;
+
+/**
+ * Index of the input entries of a decision table which are simple FEEL equality tests,
+ * i.e. string literals (<code>"gold"</code>), lists of string literals (<code>"gold","silver"</code>)
+ * and non-negative integer literals (<code>42</code>). Empty input entries and <code>-</code>
+ * match any value.
+ *
+ * <p>For an input value of matching type, the rules whose indexed entry matches are looked up
+ * instead of evaluating the entries one by one. All other entries are evaluated as before.</p>
+ */
+public class DecisionTableIndex {
+
+  protected static final Pattern STRING_LITERAL = Pattern.compile("\"([^\"\\\\]*)\"");
+  protected static final Pattern STRING_LITERAL_LIST = Pattern.compile("\"[^\"\\\\]*\"(\\s*,\\s*\"[^\"\\\\]*\")*");
+  protected static final Pattern INTEGER_LITERAL = Pattern.compile("0|[1-9][0-9]{0,17}");
+
+  protected final int ruleCount;
+  protected final List<InputIndex> inputIndexes;
+
+  protected DecisionTableIndex(int ruleCount, List<InputIndex> inputIndexes) {
+    this.ruleCount = ruleCount;
+    this.inputIndexes = inputIndexes;
+  }
+
+  /**
+   * @return a new bit set containing all rules of the decision table
+   */
+  public BitSet allRules() {
+    BitSet rules = new BitSet(ruleCount);
+    rules.set(0, ruleCount);
+    return rules;
+  }
+
+  public InputIndex getInputIndex(int inputIdx) {
+    return inputIndexes.get(inputIdx);
+  }
+
+  /**
+   * @return true if any input has entries which can be matched without evaluation
+   */
+  public boolean hasIndexedEntries() {
+    for (InputIndex inputIndex : inputIndexes) {
+      if (inputIndex.hasIndexedEntries()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Creates the index of the given decision table.
+   *
+   * @param decisionTable the decision table to index
+   * @param feelEntryLanguages for each rule and input, whether the input entry is a FEEL expression
+   */
+  public static DecisionTableIndex create(DmnDecisionTableImpl decisionTable, boolean[][] feelEntryLanguages) {
+    List<DmnDecisionTableRuleImpl> rules = decisionTable.getRules();
+    int inputCount = decisionTable.getInputs().size();
+
+    List<InputIndex> inputIndexes = new ArrayList<InputIndex>(inputCount);
+    for (int inputIdx = 0; inputIdx < inputCount; inputIdx++) {
+      InputIndex inputIndex = new InputIndex();
+
+      for (int ruleIdx = 0; ruleIdx < rules.size(); ruleIdx++) {
+        DmnExpressionImpl condition = rules.get(ruleIdx).getConditions().get(inputIdx);
+        inputIndex.addEntry(ruleIdx, condition, feelEntryLanguages[ruleIdx][inputIdx]);
+      }
+
+      inputIndexes.add(inputIndex);
+    }
+
+    return new DecisionTableIndex(rules.size(), inputIndexes);
+  }
+
+  public static class InputIndex {
+
+    /** rules which match any input value */
+    protected final BitSet anyValueRules = new BitSet();
+
+    /** rules whose entries are string literals */
+    protected final BitSet stringRules = new BitSet();
+    protected final Map<String, BitSet> rulesByString = new HashMap<String, BitSet>();
+
+    /** rules whose entries are integer literals */
+    protected final BitSet integerRules = new BitSet();
+    protected final Map<Long, BitSet> rulesByInteger = new HashMap<Long, BitSet>();
+
+    protected void addEntry(int ruleIdx, DmnExpressionImpl condition, boolean isFeelEntry) {
+      String expression = condition != null ? condition.getExpression() : null;
+      String text = expression != null ? expression.trim() : "";
+
+      if (text.isEmpty() || (isFeelEntry && "-".equals(text))) {
+        anyValueRules.set(ruleIdx);
+      }
+      else if (isFeelEntry && STRING_LITERAL_LIST.matcher(text).matches()) {
+        stringRules.set(ruleIdx);
+        Matcher matcher = STRING_LITERAL.matcher(text);
+        while (matcher.find()) {
+          addKey(rulesByString, matcher.group(1), ruleIdx);
+        }
+      }
+      else if (isFeelEntry && INTEGER_LITERAL.matcher(text).matches()) {
+        integerRules.set(ruleIdx);
+        addKey(rulesByInteger, Long.valueOf(text), ruleIdx);
+      }
+      // all other entries are evaluated
+    }
+
+    protected <K> void addKey(Map<K, BitSet> rulesByKey, K key, int ruleIdx) {
+      BitSet rules = rulesByKey.get(key);
+      if (rules == null) {
+        rules = new BitSet();
+        rulesByKey.put(key, rules);
+      }
+      rules.set(ruleIdx);
+    }
+
+    /**
+     * @return true if the input has entries which can be matched without evaluation
+     */
+    public boolean hasIndexedEntries() {
+      return !stringRules.isEmpty() || !integerRules.isEmpty();
+    }
+
+    /**
+     * Removes the rules from the candidates which do not match the value by index and
+     * returns the remaining candidates whose entries must still be evaluated.
+     *
+     * @param value the input value
+     * @param candidateRules the rules which matched all previous inputs, modified in place
+     * @return the candidate rules which still need evaluation of their input entry
+     */
+    public BitSet match(Object value, BitSet candidateRules) {
+      BitSet indexedRules;
+      BitSet matchingIndexedRules;
+
+      Long integerKey = toIntegerKey(value);
+      if (value instanceof String) {
+        indexedRules = stringRules;
+        matchingIndexedRules = rulesByString.get(value);
+      }
+      else if (integerKey != null) {
+        indexedRules = integerRules;
+        matchingIndexedRules = rulesByInteger.get(integerKey);
+      }
+      else {
+        indexedRules = null;
+        matchingIndexedRules = null;
+      }
+
+      BitSet rulesToEvaluate = (BitSet) candidateRules.clone();
+      rulesToEvaluate.andNot(anyValueRules);
+
+      if (indexedRules != null) {
+        rulesToEvaluate.andNot(indexedRules);
+
+        // drop indexed rules which do not match the value
+        BitSet nonMatchingIndexedRules = (BitSet) indexedRules.clone();
+        if (matchingIndexedRules != null) {
+          nonMatchingIndexedRules.andNot(matchingIndexedRules);
+        }
+        candidateRules.andNot(nonMatchingIndexedRules);
+      }
+
+      return rulesToEvaluate;
+    }
+
+    protected Long toIntegerKey(Object value) {
+      if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+        return ((Number) value).longValue();
+      }
+      else {
+        return null;
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.impl.evaluation;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * The variable context used to evaluate the input entries of a decision table input.
+ * It resolves the value of the input by its input variable name and the name of the
+ * input variable by <code>inputVariableName</code>. All other variables are resolved
+ * by the given variable context.
+ *
+ * <p>Resolves the same variables as a composite of a variable map and the given
+ * variable context but does not copy the input into a new map.</p>
+ */
+public class InputVariableContext implements VariableContext {
+
+  public static final String INPUT_VARIABLE_NAME = "inputVariableName";
+
+  protected final String inputVariableName;
+  protected final TypedValue inputValue;
+  protected final VariableContext variableContext;
+
+  protected TypedValue inputVariableNameValue;
+
+  public InputVariableContext(String inputVariableName, TypedValue inputValue, VariableContext variableContext) {
+    this.inputVariableName = inputVariableName;
+    this.inputValue = inputValue;
+    this.variableContext = variableContext;
+  }
+
+  public TypedValue resolve(String variableName) {
+    if (inputVariableName.equals(variableName)) {
+      return inputValue;
+    }
+    else if (INPUT_VARIABLE_NAME.equals(variableName)) {
+      if (inputVariableNameValue == null) {
+        inputVariableNameValue = Variables.untypedValue(inputVariableName);
+      }
+      return inputVariableNameValue;
+    }
+    else {
+      return variableContext.resolve(variableName);
+    }
+  }
+
+  public boolean containsVariable(String variableName) {
+    return inputVariableName.equals(variableName)
+        || INPUT_VARIABLE_NAME.equals(variableName)
+        || variableContext.containsVariable(variableName);
+  }
+
+  public Set<String> keySet() {
+    Set<String> keySet = new HashSet<String>(variableContext.keySet());
+    keySet.add(inputVariableName);
+    keySet.add(INPUT_VARIABLE_NAME);
+    return keySet;
+  }
+
+}
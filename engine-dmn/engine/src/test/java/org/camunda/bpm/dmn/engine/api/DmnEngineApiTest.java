@@ -24,6 +24,8 @@ import static org.camunda.bpm.engine.variable.Variables.emptyVariableContext;
 import static org.mockito.Mockito.mock;
 
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.dmn.engine.DmnDecision;
@@ -777,6 +779,32 @@ public class DmnEngineApiTest extends DmnEngineTest {
       .isEqualTo(EXPECTED_OUTPUT_VALUE);
   }
 
+  @Test
+  @DecisionResource(resource = ONE_RULE_DMN)
+  public void shouldEvaluateDecisionForEach() {
+    List<VariableContext> variableContexts = Arrays.asList(
+        createVariables().putValue("input", INPUT_VALUE).asVariableContext(),
+        createVariables().putValue("input", "notok").asVariableContext());
+
+    List<DmnDecisionResult> results = dmnEngine.evaluateDecisionForEach(decision, variableContexts);
+
+    assertThat(results).hasSize(2);
+    assertThat((String) results.get(0).getSingleEntry()).isEqualTo(EXPECTED_OUTPUT_VALUE);
+    assertThat(results.get(1)).isEmpty();
+  }
+
+  @Test
+  @DecisionResource(resource = ONE_RULE_DMN)
+  public void shouldFailEvaluatingDecisionForEachIfVariableContextsIsNull() {
+    try {
+      dmnEngine.evaluateDecisionForEach(decision, null);
+      failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+    }
+    catch(IllegalArgumentException e) {
+      assertThat(e).hasMessageStartingWith("UTILS-02001");
+    }
+  }
+
   @Test
   @DecisionResource(resource = DECISION_LITERAL_EXPRESSION_DMN)
   public void shouldEvaluateDecisionLiteralExpression() {
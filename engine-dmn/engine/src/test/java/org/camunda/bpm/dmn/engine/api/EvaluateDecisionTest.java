@@ -16,12 +16,19 @@
  */
 package org.camunda.bpm.dmn.engine.api;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
 
+import java.util.HashSet;
+import java.util.Set;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
 import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
 import org.camunda.bpm.dmn.engine.test.DecisionResource;
 import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.bpm.engine.variable.value.TypedValue;
 import org.junit.Test;
 
 public class EvaluateDecisionTest extends DmnEngineTest {
@@ -138,5 +145,32 @@ public class EvaluateDecisionTest extends DmnEngineTest {
       .hasSingleEntry("ok");
   }
 
-}
+  @Test
+  @DecisionResource(resource = EXAMPLE_DMN)
+  public void shouldOnlyResolveRequiredVariables() {
+    variables.put("status", "bronze");
+    variables.put("sum", 200);
+    variables.put("unused", "value");
+
+    final Set<String> resolvedVariables = new HashSet<String>();
+    final VariableContext variableContext = variables.asVariableContext();
+    VariableContext recordingVariableContext = new VariableContext() {
+      public TypedValue resolve(String variableName) {
+        resolvedVariables.add(variableName);
+        return variableContext.resolve(variableName);
+      }
+      public boolean containsVariable(String variableName) {
+        return variableContext.containsVariable(variableName);
+      }
+      public Set<String> keySet() {
+        return variableContext.keySet();
+      }
+    };
+
+    DmnDecisionResult result = dmnEngine.evaluateDecision(decision, recordingVariableContext);
+
+    assertThat((String) result.getSingleResult().getEntry("result")).isEqualTo("notok");
+    assertThat(resolvedVariables).contains("status", "sum").doesNotContain("unused");
+  }
 
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.evaluate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
+import org.camunda.bpm.dmn.engine.test.DecisionResource;
+import org.camunda.bpm.dmn.engine.test.DmnEngineTest;
+import org.camunda.bpm.dmn.feel.impl.FeelEngine;
+import org.camunda.bpm.dmn.feel.impl.FeelEngineFactory;
+import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngineFactory;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DecisionTableIndexTest extends DmnEngineTest {
+
+  public static final String DMN_FILE = "org/camunda/bpm/dmn/engine/evaluate/DecisionTableIndexTest.dmn";
+
+  protected DmnEngine dmnEngineWithoutIndex;
+
+  @Override
+  public DmnEngineConfiguration getDmnEngineConfiguration() {
+    return ((DefaultDmnEngineConfiguration) DmnEngineConfiguration.createDefaultDmnEngineConfiguration())
+        .enableDecisionTableIndex(true);
+  }
+
+  @Before
+  public void buildEngineWithoutIndex() {
+    dmnEngineWithoutIndex = ((DefaultDmnEngineConfiguration) DmnEngineConfiguration.createDefaultDmnEngineConfiguration())
+        .enableDecisionTableIndex(false)
+        .buildEngine();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchStringAndIntegerLiterals() {
+    assertThat(evaluate("gold", 1)).containsExactly("rule1", "rule2");
+    assertThat(evaluate("bronze", 5)).containsExactly("rule4");
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldEvaluateNonLiteralEntries() {
+    assertThat(evaluate("silver", 20)).containsExactly("rule2", "rule3");
+    assertThat(evaluate("gold", 20)).containsExactly("rule2", "rule3", "rule6");
+    assertThat(evaluate("platinum", 1)).containsExactly("rule5");
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldNotMatchUnknownValue() {
+    assertThat(evaluate("platinum", 7)).isEmpty();
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldMatchSameRulesAsWithoutIndex() {
+    String[] categories = { "gold", "silver", "bronze", "platinum", "" };
+    int[] amounts = { 0, 1, 5, 11, 20 };
+
+    for (String category : categories) {
+      for (int amount : amounts) {
+        assertThat(evaluate(category, amount))
+          .describedAs("category '%s', amount %d", category, amount)
+          .isEqualTo(evaluate(dmnEngineWithoutIndex, category, amount));
+      }
+    }
+  }
+
+  @Test
+  @DecisionResource(resource = DMN_FILE)
+  public void shouldNotUseIndexWithCustomFeelEngine() {
+    // given
+    DmnEngine dmnEngineWithCustomFeelEngine = ((DefaultDmnEngineConfiguration) DmnEngineConfiguration.createDefaultDmnEngineConfiguration())
+        .enableDecisionTableIndex(true)
+        .feelEngineFactory(new MatchingFeelEngineFactory())
+        .buildEngine();
+
+    // when
+    List<String> matchedRules = evaluate(dmnEngineWithCustomFeelEngine, "platinum", 7);
+
+    // then the literal input entries are evaluated by the custom FEEL engine
+    assertThat(matchedRules).contains("rule1");
+  }
+
+  protected List<String> evaluate(String category, int amount) {
+    return evaluate(dmnEngine, category, amount);
+  }
+
+  protected List<String> evaluate(DmnEngine engine, String category, int amount) {
+    variables.putValue("category", category);
+    variables.putValue("amount", amount);
+    return engine.evaluateDecisionTable(decision, variables).collectEntries("output");
+  }
+
+  /**
+   * Creates a FEEL engine whose input entries match every value.
+   */
+  public static class MatchingFeelEngineFactory implements FeelEngineFactory {
+
+    public FeelEngine createInstance() {
+      final FeelEngine feelEngine = new ScalaFeelEngineFactory().createInstance();
+
+      return new FeelEngine() {
+        public <T> T evaluateSimpleExpression(String simpleExpression, VariableContext variableContext) {
+          return feelEngine.evaluateSimpleExpression(simpleExpression, variableContext);
+        }
+
+        public boolean evaluateSimpleUnaryTests(String simpleUnaryTests, String inputName, VariableContext variableContext) {
+          return true;
+        }
+      };
+    }
+  }
+
+}
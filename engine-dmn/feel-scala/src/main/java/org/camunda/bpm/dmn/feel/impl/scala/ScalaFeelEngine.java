@@ -21,6 +21,8 @@ import org.camunda.bpm.dmn.feel.impl.scala.function.CustomFunctionTransformer;
 import org.camunda.bpm.dmn.feel.impl.scala.function.FeelCustomFunctionProvider;
 import org.camunda.bpm.dmn.feel.impl.scala.spin.SpinValueMapperFactory;
 import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.camunda.commons.utils.cache.Cache;
+import org.camunda.commons.utils.cache.ConcurrentLruCache;
 import org.camunda.feel.FeelEngine.Builder;
 import org.camunda.feel.FeelEngine.Failure;
 import org.camunda.feel.FeelEngine.UnaryTests$;
@@ -28,6 +30,7 @@ import org.camunda.feel.context.CustomContext;
 import org.camunda.feel.context.VariableProvider;
 import org.camunda.feel.context.VariableProvider.StaticVariableProvider;
 import org.camunda.feel.impl.JavaValueMapper;
+import org.camunda.feel.syntaxtree.ParsedExpression;
 import org.camunda.feel.valuemapper.CustomValueMapper;
 import org.camunda.feel.valuemapper.ValueMapper.CompositeValueMapper;
 import scala.collection.immutable.List;
@@ -38,6 +41,7 @@ import scala.util.Left;
 import scala.util.Right;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.camunda.feel.context.VariableProvider.CompositeVariableProvider;
 import static scala.jdk.CollectionConverters.ListHasAsScala;
@@ -46,9 +50,21 @@ public class ScalaFeelEngine implements FeelEngine {
 
   protected static final ScalaFeelLogger LOGGER = ScalaFeelLogger.LOGGER;
 
+  public static final int DEFAULT_EXPRESSION_CACHE_SIZE = 1000;
+
   protected org.camunda.feel.FeelEngine feelEngine;
 
+  protected Cache<String, ParsedExpression> expressionCache;
+  protected Cache<String, ParsedExpression> unaryTestsCache;
+
+  protected final AtomicLong expressionCacheHits = new AtomicLong();
+  protected final AtomicLong expressionCacheMisses = new AtomicLong();
+
   public ScalaFeelEngine(java.util.List<FeelCustomFunctionProvider> functionProviders) {
+    this(functionProviders, DEFAULT_EXPRESSION_CACHE_SIZE);
+  }
+
+  public ScalaFeelEngine(java.util.List<FeelCustomFunctionProvider> functionProviders, int expressionCacheSize) {
     List<CustomValueMapper> valueMappers = getValueMappers();
 
     CompositeValueMapper compositeValueMapper = new CompositeValueMapper(valueMappers);
@@ -57,6 +73,9 @@ public class ScalaFeelEngine implements FeelEngine {
       new CustomFunctionTransformer(functionProviders, compositeValueMapper);
 
     feelEngine = buildFeelEngine(customFunctionTransformer, compositeValueMapper);
+
+    expressionCache = new ConcurrentLruCache<>(expressionCacheSize);
+    unaryTestsCache = new ConcurrentLruCache<>(expressionCacheSize);
   }
 
   public <T> T evaluateSimpleExpression(String expression, VariableContext variableContext) {
@@ -67,7 +86,8 @@ public class ScalaFeelEngine implements FeelEngine {
       }
     };
 
-    Either either = feelEngine.evalExpression(expression, context);
+    ParsedExpression parsedExpression = parseExpression(expression, expressionCache, false);
+    Either either = feelEngine.eval(parsedExpression, context);
 
     if (either instanceof Right) {
       Right right = (Right) either;
@@ -99,7 +119,8 @@ public class ScalaFeelEngine implements FeelEngine {
       }
     };
 
-    Either either = feelEngine.evalUnaryTests(expression, context);
+    ParsedExpression parsedExpression = parseExpression(expression, unaryTestsCache, true);
+    Either either = feelEngine.eval(parsedExpression, context);
 
     if (either instanceof Right) {
       Right right = (Right) either;
@@ -117,6 +138,54 @@ public class ScalaFeelEngine implements FeelEngine {
     }
   }
 
+  /**
+   * Returns the parsed expression from the cache or parses and caches it.
+   * Expressions which cannot be parsed are not cached.
+   */
+  protected ParsedExpression parseExpression(String expression,
+                                             Cache<String, ParsedExpression> cache,
+                                             boolean isUnaryTests) {
+    ParsedExpression parsedExpression = cache.get(expression);
+    if (parsedExpression != null) {
+      expressionCacheHits.incrementAndGet();
+      return parsedExpression;
+    }
+
+    expressionCacheMisses.incrementAndGet();
+
+    Either either = isUnaryTests
+      ? feelEngine.parseUnaryTests(expression)
+      : feelEngine.parseExpression(expression);
+
+    if (either instanceof Right) {
+      parsedExpression = (ParsedExpression) ((Right) either).value();
+      cache.put(expression, parsedExpression);
+      return parsedExpression;
+
+    } else {
+      Left left = (Left) either;
+      Failure failure = (Failure) left.value();
+      String message = failure.message();
+
+      throw LOGGER.evaluationException(message);
+
+    }
+  }
+
+  /**
+   * @return the number of evaluations which used an already parsed expression
+   */
+  public long getExpressionCacheHits() {
+    return expressionCacheHits.get();
+  }
+
+  /**
+   * @return the number of evaluations which had to parse the expression
+   */
+  public long getExpressionCacheMisses() {
+    return expressionCacheMisses.get();
+  }
+
   protected List<CustomValueMapper> getValueMappers() {
     SpinValueMapperFactory spinValueMapperFactory = new SpinValueMapperFactory();
 
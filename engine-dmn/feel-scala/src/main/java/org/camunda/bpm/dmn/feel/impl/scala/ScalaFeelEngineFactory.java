@@ -26,6 +26,8 @@ public class ScalaFeelEngineFactory implements FeelEngineFactory {
 
   protected List<FeelCustomFunctionProvider> customFunctionProviders;
 
+  protected int expressionCacheSize = ScalaFeelEngine.DEFAULT_EXPRESSION_CACHE_SIZE;
+
   public ScalaFeelEngineFactory() {
   }
 
@@ -34,7 +36,7 @@ public class ScalaFeelEngineFactory implements FeelEngineFactory {
   }
 
   public FeelEngine createInstance() {
-      return new ScalaFeelEngine(customFunctionProviders);
+      return new ScalaFeelEngine(customFunctionProviders, expressionCacheSize);
    }
 
   public void setCustomFunctionProviders(List<FeelCustomFunctionProvider> customFunctionProviders) {
@@ -45,5 +47,12 @@ public class ScalaFeelEngineFactory implements FeelEngineFactory {
     return customFunctionProviders;
   }
 
-}
+  public int getExpressionCacheSize() {
+    return expressionCacheSize;
+  }
 
+  public void setExpressionCacheSize(int expressionCacheSize) {
+    this.expressionCacheSize = expressionCacheSize;
+  }
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.dmn.engine.feel.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.dmn.feel.impl.FeelException;
+import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngine;
+import org.camunda.bpm.dmn.feel.impl.scala.ScalaFeelEngineFactory;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ExpressionCacheTest {
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  protected ScalaFeelEngine feelEngine;
+
+  @Before
+  public void createEngine() {
+    feelEngine = (ScalaFeelEngine) new ScalaFeelEngineFactory().createInstance();
+  }
+
+  @Test
+  public void shouldParseExpressionOnlyOnce() {
+    // given
+    VariableContext variableContext = Variables.createVariables()
+      .putValue("a", 2)
+      .asVariableContext();
+
+    // when
+    Object firstResult = feelEngine.evaluateSimpleExpression("a + 1", variableContext);
+    Object secondResult = feelEngine.evaluateSimpleExpression("a + 1", variableContext);
+
+    // then
+    assertThat(firstResult).isEqualTo(secondResult);
+    assertThat(feelEngine.getExpressionCacheMisses()).isEqualTo(1);
+    assertThat(feelEngine.getExpressionCacheHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldParseUnaryTestsOnlyOnce() {
+    // given
+    VariableContext variableContext = Variables.createVariables()
+      .putValue("input", 5)
+      .asVariableContext();
+
+    // when
+    boolean firstResult = feelEngine.evaluateSimpleUnaryTests("< 10", "input", variableContext);
+    boolean secondResult = feelEngine.evaluateSimpleUnaryTests("< 10", "input", variableContext);
+
+    // then
+    assertThat(firstResult).isTrue();
+    assertThat(secondResult).isTrue();
+    assertThat(feelEngine.getExpressionCacheMisses()).isEqualTo(1);
+    assertThat(feelEngine.getExpressionCacheHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCacheExpressionsAndUnaryTestsSeparately() {
+    // given
+    VariableContext variableContext = Variables.createVariables()
+      .putValue("input", 5)
+      .asVariableContext();
+
+    // when
+    feelEngine.evaluateSimpleExpression("5", variableContext);
+    boolean unaryTestsResult = feelEngine.evaluateSimpleUnaryTests("5", "input", variableContext);
+
+    // then
+    assertThat(unaryTestsResult).isTrue();
+    assertThat(feelEngine.getExpressionCacheMisses()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldFailOnInvalidExpression() {
+    // given
+    VariableContext variableContext = Variables.createVariables().asVariableContext();
+
+    // then
+    thrown.expect(FeelException.class);
+    thrown.expectMessage("Error while evaluating expression");
+
+    // when
+    feelEngine.evaluateSimpleExpression("1 +", variableContext);
+  }
+
+}
@@ -67,6 +67,40 @@ public class LdapConfiguration {
 
   protected boolean authorizationCheckEnabled = true;
 
+  /**
+   * If true, the connections of the manager DN are pooled by the JNDI LDAP provider.
+   * The pool is configured by the <code>com.sun.jndi.ldap.connect.pool.*</code> system
+   * properties, e.g. <code>com.sun.jndi.ldap.connect.pool.timeout</code> for the time
+   * after which idle connections are closed.
+   *
+   * <p>The JNDI LDAP provider only pools plain connections by default. If
+   * {@link #useSsl} is enabled, connections are silently not pooled unless the system
+   * property <code>com.sun.jndi.ldap.connect.pool.protocol</code> includes <code>ssl</code>,
+   * e.g. <code>plain ssl</code>.</p>
+   */
+  protected boolean useConnectionPooling = false;
+
+  /**
+   * The time in milliseconds the results of an LDAP search are cached for, shared by
+   * all sessions of the process engine. 0 disables the cache. Searches of paged queries
+   * are not cached, since caching reads all results of a search. The max size limits the
+   * number of cached searches, not the number of their results.
+   */
+  protected long searchCacheTimeToLive = 0;
+  protected int searchCacheMaxSize = 1000;
+
+  /**
+   * The number of group members which are resolved to users with a single search.
+   * 0 resolves every member with a search of its own.
+   */
+  protected int groupMemberBatchSize = 0;
+
+  /**
+   * If set, the members of a group are looked up by this attribute of the users
+   * (e.g. <code>memberOf</code>) which contains the DNs of their groups.
+   */
+  protected String userMemberOfAttribute = "";
+
   // getters / setters //////////////////////////////////////
 
   public String getInitialContextFactory() {
@@ -284,4 +318,44 @@ public class LdapConfiguration {
     this.authorizationCheckEnabled = authorizationCheckEnabled;
   }
 
+  public boolean isUseConnectionPooling() {
+    return useConnectionPooling;
+  }
+
+  public void setUseConnectionPooling(boolean useConnectionPooling) {
+    this.useConnectionPooling = useConnectionPooling;
+  }
+
+  public long getSearchCacheTimeToLive() {
+    return searchCacheTimeToLive;
+  }
+
+  public void setSearchCacheTimeToLive(long searchCacheTimeToLive) {
+    this.searchCacheTimeToLive = searchCacheTimeToLive;
+  }
+
+  public int getSearchCacheMaxSize() {
+    return searchCacheMaxSize;
+  }
+
+  public void setSearchCacheMaxSize(int searchCacheMaxSize) {
+    this.searchCacheMaxSize = searchCacheMaxSize;
+  }
+
+  public int getGroupMemberBatchSize() {
+    return groupMemberBatchSize;
+  }
+
+  public void setGroupMemberBatchSize(int groupMemberBatchSize) {
+    this.groupMemberBatchSize = groupMemberBatchSize;
+  }
+
+  public String getUserMemberOfAttribute() {
+    return userMemberOfAttribute;
+  }
+
+  public void setUserMemberOfAttribute(String userMemberOfAttribute) {
+    this.userMemberOfAttribute = userMemberOfAttribute;
+  }
+
 }
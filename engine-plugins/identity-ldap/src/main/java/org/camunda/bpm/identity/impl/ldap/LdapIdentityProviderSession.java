@@ -22,7 +22,9 @@ import static org.camunda.bpm.engine.authorization.Resources.USER;
 
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
@@ -30,6 +32,7 @@ import java.util.logging.Logger;
 
 import javax.naming.AuthenticationException;
 import javax.naming.Context;
+import javax.naming.InvalidNameException;
 import javax.naming.NamingEnumeration;
 import javax.naming.NamingException;
 import javax.naming.directory.Attribute;
@@ -38,6 +41,8 @@ import javax.naming.directory.SearchResult;
 import javax.naming.ldap.Control;
 import javax.naming.ldap.InitialLdapContext;
 import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.LdapName;
+import javax.naming.ldap.Rdn;
 import javax.naming.ldap.SortControl;
 
 import org.camunda.bpm.engine.BadUserRequestException;
@@ -54,6 +59,7 @@ import org.camunda.bpm.engine.impl.AbstractQuery;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.UserQueryProperty;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.identity.IdentityProviderException;
 import org.camunda.bpm.engine.impl.identity.ReadOnlyIdentityProvider;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -73,9 +79,19 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
   protected LdapConfiguration ldapConfiguration;
   protected LdapContext initialContext;
+  protected LdapSearchCache searchCache;
+
+  /** the sort controls of the current query, applied to the context before searching */
+  protected Control[] requestControls;
+  protected String requestControlsKey = "";
 
   public LdapIdentityProviderSession(LdapConfiguration ldapConfiguration) {
+    this(ldapConfiguration, null);
+  }
+
+  public LdapIdentityProviderSession(LdapConfiguration ldapConfiguration, LdapSearchCache searchCache) {
     this.ldapConfiguration = ldapConfiguration;
+    this.searchCache = searchCache;
   }
 
   // Session Lifecycle //////////////////////////////////
@@ -96,6 +112,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
   }
 
   protected InitialLdapContext openContext(String userDn, String password) {
+    return openContext(userDn, password, false);
+  }
+
+  protected InitialLdapContext openContext(String userDn, String password, boolean pooled) {
     Hashtable<String, String> env = new Hashtable<>();
     env.put(Context.INITIAL_CONTEXT_FACTORY, ldapConfiguration.getInitialContextFactory());
     env.put(Context.SECURITY_AUTHENTICATION, ldapConfiguration.getSecurityAuthentication());
@@ -112,6 +132,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
       env.put(Context.SECURITY_PROTOCOL, "ssl");
     }
 
+    if(pooled) {
+      env.put("com.sun.jndi.ldap.connect.pool", "true");
+    }
+
     // add additional properties
     Map<String, String> contextProperties = ldapConfiguration.getContextProperties();
     if(contextProperties != null) {
@@ -132,7 +156,60 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
   protected void ensureContextInitialized() {
     if(initialContext == null) {
-      initialContext = openContext(ldapConfiguration.getManagerDn(), ldapConfiguration.getManagerPassword());
+      initialContext = openContext(ldapConfiguration.getManagerDn(), ldapConfiguration.getManagerPassword(), ldapConfiguration.isUseConnectionPooling());
+    }
+  }
+
+  protected NamingEnumeration<SearchResult> search(String baseDn, String filter) throws NamingException {
+    return search(baseDn, filter, true);
+  }
+
+  /**
+   * Searches with the manager context. If the search cache is enabled and the search is
+   * cacheable, the results are served from the cache and the context is only opened on a
+   * cache miss. A cache miss reads all results of the search, so searches of which only a
+   * page is read must not be cacheable.
+   */
+  protected NamingEnumeration<SearchResult> search(String baseDn, String filter, boolean cacheable) throws NamingException {
+    if(searchCache == null || !cacheable) {
+      return searchLdap(baseDn, filter);
+    }
+
+    String searchKey = baseDn + "|" + filter + "|" + requestControlsKey;
+    List<SearchResult> results = searchCache.get(searchKey);
+
+    if(results != null) {
+      markSearchCacheOccurrence(LdapSearchCache.HIT_METRIC);
+    }
+    else {
+      results = new ArrayList<>();
+      NamingEnumeration<SearchResult> enumeration = searchLdap(baseDn, filter);
+      try {
+        while (enumeration.hasMoreElements()) {
+          results.add(enumeration.nextElement());
+        }
+      } finally {
+        enumeration.close();
+      }
+      searchCache.put(searchKey, results);
+      markSearchCacheOccurrence(LdapSearchCache.MISS_METRIC);
+    }
+
+    return new SearchResultEnumeration(results);
+  }
+
+  protected NamingEnumeration<SearchResult> searchLdap(String baseDn, String filter) throws NamingException {
+    ensureContextInitialized();
+    if(requestControls != null) {
+      initialContext.setRequestControls(requestControls);
+    }
+    return initialContext.search(baseDn, filter, ldapConfiguration.getSearchControls());
+  }
+
+  protected void markSearchCacheOccurrence(String metric) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = org.camunda.bpm.engine.impl.context.Context.getProcessEngineConfiguration();
+    if(processEngineConfiguration != null && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(metric);
     }
   }
 
@@ -158,12 +235,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
   }
 
   public long findUserCountByQueryCriteria(LdapUserQueryImpl query) {
-    ensureContextInitialized();
     return findUserByQueryCriteria(query).size();
   }
 
   public List<User> findUserByQueryCriteria(LdapUserQueryImpl query) {
-    ensureContextInitialized();
     if(query.getGroupId() != null) {
       // if restriction on groupId is provided, we need to search in group tree first, look for the group and then further restrict on the members
       return findUsersByGroupId(query);
@@ -176,12 +251,17 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
   protected List<User> findUsersByGroupId(LdapUserQueryImpl query) {
     String baseDn = getDnForGroup(query.getGroupId());
 
+    String userMemberOfAttribute = ldapConfiguration.getUserMemberOfAttribute();
+    if(!ldapConfiguration.isUsePosixGroups() && userMemberOfAttribute != null && !userMemberOfAttribute.isEmpty()) {
+      return findUsersByMemberOf(query, baseDn);
+    }
+
     // compose group search filter
     String groupSearchFilter = "(& " + ldapConfiguration.getGroupSearchFilter() + ")";
 
     NamingEnumeration<SearchResult> enumeration = null;
     try {
-      enumeration = initialContext.search(baseDn, groupSearchFilter, ldapConfiguration.getSearchControls());
+      enumeration = search(baseDn, groupSearchFilter);
 
       List<String> groupMemberList = new ArrayList<>();
 
@@ -199,6 +279,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
         }
       }
 
+      if(ldapConfiguration.getGroupMemberBatchSize() > 0) {
+        return findGroupMembersInBatches(query, groupMemberList);
+      }
+
       List<User> userList = new ArrayList<>();
       String userBaseDn = composeDn(ldapConfiguration.getUserSearchBase(), ldapConfiguration.getBaseDn());
       int memberCount = 0;
@@ -231,17 +315,149 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     }
   }
 
+  /**
+   * Finds the members of the group with a single search for the users whose
+   * {@link LdapConfiguration#getUserMemberOfAttribute() member of attribute} contains the group.
+   */
+  protected List<User> findUsersByMemberOf(LdapUserQueryImpl query, String groupDn) {
+    if(groupDn.isEmpty()) {
+      // the group does not exist
+      return new ArrayList<>();
+    }
+
+    if(ldapConfiguration.isSortControlSupported()) {
+      applyRequestControls(query);
+    }
+
+    StringWriter search = new StringWriter();
+    search.write("(&");
+    search.write(getUserSearchFilter(query));
+    addFilter(ldapConfiguration.getUserMemberOfAttribute(), escapeLDAPSearchFilter(groupDn), search);
+    search.write(")");
+
+    String userBaseDn = composeDn(ldapConfiguration.getUserSearchBase(), ldapConfiguration.getBaseDn());
+    return findUsers(query, userBaseDn, search.toString(), false);
+  }
+
+  /**
+   * Resolves the group members of the requested page to users with one search per
+   * {@link LdapConfiguration#getGroupMemberBatchSize() batch} of members. The users are
+   * returned in the order of the members.
+   */
+  protected List<User> findGroupMembersInBatches(LdapUserQueryImpl query, List<String> groupMembers) {
+    int batchSize = ldapConfiguration.getGroupMemberBatchSize();
+    List<User> userList = new ArrayList<>();
+
+    for (int from = query.getFirstResult(); from < groupMembers.size() && userList.size() < query.getMaxResults(); from += batchSize) {
+      List<String> batch = groupMembers.subList(from, Math.min(from + batchSize, groupMembers.size()));
+      Map<String, User> usersByMember = resolveGroupMembers(query, batch);
+
+      for (String member : batch) {
+        User user = usersByMember.get(member);
+        if (user != null && userList.size() < query.getMaxResults()) {
+          userList.add(user);
+        }
+      }
+    }
+
+    return userList;
+  }
+
+  /**
+   * @return the users of the given group members which match the query, by member
+   */
+  protected Map<String, User> resolveGroupMembers(LdapUserQueryImpl query, List<String> members) {
+    String userBaseDn = composeDn(ldapConfiguration.getUserSearchBase(), ldapConfiguration.getBaseDn());
+    String userIdAttribute = ldapConfiguration.getUserIdAttribute();
+
+    Map<String, User> usersByMember = new HashMap<>();
+    List<String> userIds = new ArrayList<>();
+    Map<LdapName, String> membersByDn = new HashMap<>();
+
+    if(ldapConfiguration.isUsePosixGroups()) {
+      // the members are user ids
+      userIds.addAll(members);
+    }
+    else {
+      LdapName userBaseName = toLdapName(userBaseDn);
+
+      for (String member : members) {
+        LdapName memberName = toLdapName(member);
+
+        if(memberName != null && userBaseName != null && memberName.size() > 0 && memberName.startsWith(userBaseName)) {
+          Rdn memberRdn = memberName.getRdn(memberName.size() - 1);
+          if(userIdAttribute.equalsIgnoreCase(memberRdn.getType())) {
+            userIds.add(memberRdn.getValue().toString());
+            membersByDn.put(memberName, member);
+            continue;
+          }
+        }
+
+        // the user id is not part of the member dn
+        List<User> users = findUsersWithoutGroupId(query, member, true);
+        if(!users.isEmpty()) {
+          usersByMember.put(member, users.get(0));
+        }
+      }
+    }
+
+    if(!userIds.isEmpty()) {
+      if(ldapConfiguration.isSortControlSupported()) {
+        applyRequestControls(query);
+      }
+
+      StringWriter search = new StringWriter();
+      search.write("(&");
+      search.write(getUserSearchFilter(query));
+      search.write("(|");
+      for (String userId : userIds) {
+        addFilter(userIdAttribute, escapeLDAPSearchFilter(userId), search);
+      }
+      search.write("))");
+
+      Map<String, String> membersByUserId = new HashMap<>();
+      if(ldapConfiguration.isUsePosixGroups()) {
+        for (String member : members) {
+          membersByUserId.put(member.toLowerCase(), member);
+        }
+      }
+
+      for (User user : findUsers(query, userBaseDn, search.toString(), true)) {
+        String member = ldapConfiguration.isUsePosixGroups()
+            ? membersByUserId.get(user.getId().toLowerCase())
+            : membersByDn.get(toLdapName(((LdapUserEntity) user).getDn()));
+
+        if(member != null && !usersByMember.containsKey(member)) {
+          usersByMember.put(member, user);
+        }
+      }
+    }
+
+    return usersByMember;
+  }
+
+  protected LdapName toLdapName(String dn) {
+    try {
+      return new LdapName(dn);
+    } catch (InvalidNameException e) {
+      return null;
+    }
+  }
+
   public List<User> findUsersWithoutGroupId(LdapUserQueryImpl query, String userBaseDn, boolean ignorePagination) {
 
     if(ldapConfiguration.isSortControlSupported()) {
       applyRequestControls(query);
     }
 
+    return findUsers(query, userBaseDn, getUserSearchFilter(query), ignorePagination);
+  }
+
+  protected List<User> findUsers(LdapUserQueryImpl query, String userBaseDn, String filter, boolean ignorePagination) {
     NamingEnumeration<SearchResult> enumeration = null;
     try {
 
-      String filter = getUserSearchFilter(query);
-      enumeration = initialContext.search(userBaseDn, filter, ldapConfiguration.getSearchControls());
+      enumeration = search(userBaseDn, filter, ignorePagination || !isPaged(query));
 
       // perform client-side paging
       int resultCount = 0;
@@ -307,6 +523,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     }
   }
 
+  protected boolean isPaged(AbstractQuery<?, ?> query) {
+    return query.getMaxResults() < Integer.MAX_VALUE;
+  }
+
   public boolean checkPassword(String userId, String password) {
 
     // prevent a null password
@@ -411,12 +631,10 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
   }
 
   public long findGroupCountByQueryCriteria(LdapGroupQuery ldapGroupQuery) {
-    ensureContextInitialized();
     return findGroupByQueryCriteria(ldapGroupQuery).size();
   }
 
   public List<Group> findGroupByQueryCriteria(LdapGroupQuery query) {
-    ensureContextInitialized();
 
     String groupBaseDn = composeDn(ldapConfiguration.getGroupSearchBase(), ldapConfiguration.getBaseDn());
 
@@ -428,7 +646,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     try {
 
       String filter = getGroupSearchFilter(query);
-      enumeration = initialContext.search(groupBaseDn, filter, ldapConfiguration.getSearchControls());
+      enumeration = search(groupBaseDn, filter, !isPaged(query));
 
       // perform client-side paging
       int resultCount = 0;
@@ -599,6 +817,7 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
 
     try {
       List<Control> controls = new ArrayList<>();
+      StringBuilder controlsKey = new StringBuilder();
 
       List<QueryOrderingProperty> orderBy = query.getOrderingProperties();
       if(orderBy != null) {
@@ -606,20 +825,25 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
           String propertyName = orderingProperty.getQueryProperty().getName();
           if(UserQueryProperty.USER_ID.getName().equals(propertyName)) {
             controls.add(new SortControl(ldapConfiguration.getUserIdAttribute(), Control.CRITICAL));
+            controlsKey.append(ldapConfiguration.getUserIdAttribute()).append(",");
 
           } else if(UserQueryProperty.EMAIL.getName().equals(propertyName)) {
             controls.add(new SortControl(ldapConfiguration.getUserEmailAttribute(), Control.CRITICAL));
+            controlsKey.append(ldapConfiguration.getUserEmailAttribute()).append(",");
 
           } else if(UserQueryProperty.FIRST_NAME.getName().equals(propertyName)) {
             controls.add(new SortControl(ldapConfiguration.getUserFirstnameAttribute(), Control.CRITICAL));
+            controlsKey.append(ldapConfiguration.getUserFirstnameAttribute()).append(",");
 
           } else if(UserQueryProperty.LAST_NAME.getName().equals(propertyName)) {
             controls.add(new SortControl(ldapConfiguration.getUserLastnameAttribute(), Control.CRITICAL));
+            controlsKey.append(ldapConfiguration.getUserLastnameAttribute()).append(",");
           }
         }
       }
 
-      initialContext.setRequestControls(controls.toArray(new Control[0]));
+      requestControls = controls.toArray(new Control[0]);
+      requestControlsKey = controlsKey.toString();
 
     } catch (Exception e) {
       throw new IdentityProviderException("Exception while setting paging settings", e);
@@ -708,4 +932,37 @@ public class LdapIdentityProviderSession implements ReadOnlyIdentityProvider {
     // since multi-tenancy is not supported for the LDAP plugin, always return null
     return null;
   }
+  /**
+   * Enumeration over search results which have already been read, e.g. from the search cache.
+   */
+  protected static class SearchResultEnumeration implements NamingEnumeration<SearchResult> {
+
+    protected Iterator<SearchResult> iterator;
+
+    public SearchResultEnumeration(List<SearchResult> results) {
+      this.iterator = results.iterator();
+    }
+
+    public SearchResult next() {
+      return iterator.next();
+    }
+
+    public boolean hasMore() {
+      return iterator.hasNext();
+    }
+
+    public void close() {
+      // nothing to do
+    }
+
+    public boolean hasMoreElements() {
+      return iterator.hasNext();
+    }
+
+    public SearchResult nextElement() {
+      return iterator.next();
+    }
+
+  }
+
 }
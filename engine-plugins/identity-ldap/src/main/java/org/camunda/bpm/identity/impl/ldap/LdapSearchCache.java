@@ -0,0 +1,99 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.naming.directory.SearchResult;
+
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Cache of LDAP search results shared by the {@link LdapIdentityProviderSession}s
+ * of a process engine. Results expire after a time to live; when the cache is full,
+ * the least recently used results are evicted.</p>
+ *
+ * <p>The cached results are the raw results of the search. Authorization checks are
+ * still performed on every query.</p>
+ */
+public class LdapSearchCache {
+
+  public static final String HIT_METRIC = "ldap-search-cache-hit";
+  public static final String MISS_METRIC = "ldap-search-cache-miss";
+
+  protected final long timeToLive;
+  protected final Map<String, CachedSearch> searches;
+
+  public LdapSearchCache(long timeToLive, final int maxSize) {
+    this.timeToLive = timeToLive;
+    this.searches = new LinkedHashMap<String, CachedSearch>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, CachedSearch> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return the results of the search or null if they are not cached or expired
+   */
+  public synchronized List<SearchResult> get(String searchKey) {
+    CachedSearch search = searches.get(searchKey);
+    if (search == null) {
+      return null;
+    }
+    else if (search.expiresAt <= now()) {
+      searches.remove(searchKey);
+      return null;
+    }
+    else {
+      return search.results;
+    }
+  }
+
+  public synchronized void put(String searchKey, List<SearchResult> results) {
+    searches.put(searchKey, new CachedSearch(results, now() + timeToLive));
+  }
+
+  public synchronized void clear() {
+    searches.clear();
+  }
+
+  public synchronized int size() {
+    return searches.size();
+  }
+
+  protected long now() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static class CachedSearch {
+
+    protected final List<SearchResult> results;
+    protected final long expiresAt;
+
+    protected CachedSearch(List<SearchResult> results, long expiresAt) {
+      this.results = results;
+      this.expiresAt = expiresAt;
+    }
+
+  }
+
+}
@@ -22,8 +22,10 @@ import java.util.logging.Logger;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.ProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.identity.impl.ldap.LdapConfiguration;
 import org.camunda.bpm.identity.impl.ldap.LdapIdentityProviderFactory;
+import org.camunda.bpm.identity.impl.ldap.LdapSearchCache;
 import org.camunda.bpm.identity.impl.ldap.util.CertificateHelper;
 import org.camunda.bpm.identity.impl.ldap.util.LdapPluginLogger;
 
@@ -52,12 +54,19 @@ public class LdapIdentityProviderPlugin extends LdapConfiguration implements Pro
 
     LdapIdentityProviderFactory ldapIdentityProviderFactory = new LdapIdentityProviderFactory();
     ldapIdentityProviderFactory.setLdapConfiguration(this);
+    if(searchCacheTimeToLive > 0) {
+      ldapIdentityProviderFactory.setSearchCache(new LdapSearchCache(searchCacheTimeToLive, searchCacheMaxSize));
+    }
     processEngineConfiguration.setIdentityProviderSessionFactory(ldapIdentityProviderFactory);
 
   }
 
   public void postInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
-    // nothing to do
+    if(searchCacheTimeToLive > 0 && processEngineConfiguration.isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+      metricsRegistry.createMeter(LdapSearchCache.HIT_METRIC);
+      metricsRegistry.createMeter(LdapSearchCache.MISS_METRIC);
+    }
   }
 
   public void postProcessEngineBuild(ProcessEngine processEngine) {
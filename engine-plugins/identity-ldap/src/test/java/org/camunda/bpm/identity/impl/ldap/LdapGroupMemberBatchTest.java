@@ -0,0 +1,95 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+
+/**
+ * Represents a test case where the members of groups are resolved in batches.
+ */
+public class LdapGroupMemberBatchTest extends ResourceProcessEngineTestCase {
+
+  public LdapGroupMemberBatchTest() {
+    super("camunda.ldap.group.member.batch.cfg.xml");
+  }
+
+  protected static LdapTestEnvironment ldapTestEnvironment;
+
+  @Override
+  protected void setUp() throws Exception {
+    if(ldapTestEnvironment == null) {
+      ldapTestEnvironment = new LdapTestEnvironment();
+      ldapTestEnvironment.init();
+    }
+    super.setUp();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    if(ldapTestEnvironment != null) {
+      ldapTestEnvironment.shutdown();
+      ldapTestEnvironment = null;
+    }
+    super.tearDown();
+  }
+
+  public void testFilterByGroupId() {
+    List<User> result = identityService.createUserQuery().memberOfGroup("development").list();
+    assertEquals(3, result.size());
+  }
+
+  public void testFilterByGroupIdAndFirstname() {
+    List<User> result = identityService.createUserQuery()
+        .memberOfGroup("development")
+        .userFirstName("Oscar")
+        .list();
+    assertEquals(1, result.size());
+    assertEquals("oscar", result.get(0).getId());
+  }
+
+  public void testFilterByGroupIdAndIdForDnUsingCn() {
+    List<User> result = identityService.createUserQuery()
+        .memberOfGroup("external")
+        .userId("fozzie")
+        .list();
+    assertEquals(1, result.size());
+  }
+
+  public void testPaginationByGroupId() {
+    List<String> allMembers = getIds(identityService.createUserQuery().memberOfGroup("development").list());
+
+    List<String> pagedMembers = new ArrayList<>();
+    pagedMembers.addAll(getIds(identityService.createUserQuery().memberOfGroup("development").listPage(0, 1)));
+    pagedMembers.addAll(getIds(identityService.createUserQuery().memberOfGroup("development").listPage(1, 2)));
+
+    assertEquals(allMembers, pagedMembers);
+    assertTrue(identityService.createUserQuery().memberOfGroup("development").listPage(3, 2).isEmpty());
+  }
+
+  protected List<String> getIds(List<User> users) {
+    List<String> ids = new ArrayList<>();
+    for (User user : users) {
+      ids.add(user.getId());
+    }
+    return ids;
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.identity.impl.ldap;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.test.ResourceProcessEngineTestCase;
+
+/**
+ * Represents a test case where the search cache and connection pooling are enabled.
+ */
+public class LdapSearchCacheTest extends ResourceProcessEngineTestCase {
+
+  public LdapSearchCacheTest() {
+    super("camunda.ldap.search.cache.cfg.xml");
+  }
+
+  protected static LdapTestEnvironment ldapTestEnvironment;
+
+  protected LdapSearchCache searchCache;
+
+  @Override
+  protected void setUp() throws Exception {
+    if(ldapTestEnvironment == null) {
+      ldapTestEnvironment = new LdapTestEnvironment();
+      ldapTestEnvironment.init();
+    }
+    super.setUp();
+
+    searchCache = ((LdapIdentityProviderFactory) processEngineConfiguration.getIdentityProviderSessionFactory()).getSearchCache();
+    searchCache.clear();
+  }
+
+  @Override
+  protected void tearDown() throws Exception {
+    if(ldapTestEnvironment != null) {
+      ldapTestEnvironment.shutdown();
+      ldapTestEnvironment = null;
+    }
+    super.tearDown();
+  }
+
+  public void testCachedUserQuery() {
+    long hits = getMetric(LdapSearchCache.HIT_METRIC);
+    long misses = getMetric(LdapSearchCache.MISS_METRIC);
+
+    List<User> users = identityService.createUserQuery().list();
+    List<User> cachedUsers = identityService.createUserQuery().list();
+
+    assertEquals(users.size(), cachedUsers.size());
+    for (int i = 0; i < users.size(); i++) {
+      assertEquals(users.get(i).getId(), cachedUsers.get(i).getId());
+    }
+    assertEquals(misses + 1, getMetric(LdapSearchCache.MISS_METRIC));
+    assertEquals(hits + 1, getMetric(LdapSearchCache.HIT_METRIC));
+  }
+
+  public void testPagedUserQueryIsNotCached() {
+    long hits = getMetric(LdapSearchCache.HIT_METRIC);
+    long misses = getMetric(LdapSearchCache.MISS_METRIC);
+
+    List<User> users = identityService.createUserQuery().listPage(0, 2);
+    List<User> nextUsers = identityService.createUserQuery().listPage(0, 2);
+
+    assertEquals(2, users.size());
+    assertEquals(2, nextUsers.size());
+    assertEquals(0, searchCache.size());
+    assertEquals(misses, getMetric(LdapSearchCache.MISS_METRIC));
+    assertEquals(hits, getMetric(LdapSearchCache.HIT_METRIC));
+  }
+
+  public void testPagedGroupQueryIsNotCached() {
+    List<Group> groups = identityService.createGroupQuery().listPage(0, 1);
+
+    assertEquals(1, groups.size());
+    assertEquals(0, searchCache.size());
+  }
+
+  public void testCachedGroupMembers() {
+    List<User> members = identityService.createUserQuery().memberOfGroup("development").list();
+    List<User> cachedMembers = identityService.createUserQuery().memberOfGroup("development").list();
+
+    assertEquals(3, members.size());
+    assertEquals(3, cachedMembers.size());
+  }
+
+  public void testCachedGroupQuery() {
+    Group group = identityService.createGroupQuery().groupId("management").singleResult();
+    Group cachedGroup = identityService.createGroupQuery().groupId("management").singleResult();
+
+    assertNotNull(group);
+    assertEquals(group.getName(), cachedGroup.getName());
+    assertNull(identityService.createGroupQuery().groupId("non-existing").singleResult());
+  }
+
+  public void testAuthorizationIsCheckedForCachedResults() {
+    assertNotNull(identityService.createUserQuery().userId("roman").singleResult());
+
+    try {
+      processEngineConfiguration.setAuthorizationEnabled(true);
+      identityService.setAuthenticatedUserId("oscar");
+
+      assertNull(identityService.createUserQuery().userId("roman").singleResult());
+
+    } finally {
+      processEngineConfiguration.setAuthorizationEnabled(false);
+      identityService.clearAuthentication();
+    }
+  }
+
+  public void testCheckPasswordIsNotCached() {
+    assertTrue(identityService.checkPassword("roman", "roman"));
+    assertFalse(identityService.checkPassword("roman", "wrong"));
+  }
+
+  protected long getMetric(String name) {
+    return processEngineConfiguration.getMetricsRegistry().getMeterByName(name).get();
+  }
+
+}
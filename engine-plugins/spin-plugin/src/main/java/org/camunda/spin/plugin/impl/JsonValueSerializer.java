@@ -16,8 +16,10 @@
  */
 package org.camunda.spin.plugin.impl;
 
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.variable.serializer.ValueFields;
 import org.camunda.bpm.engine.variable.impl.value.UntypedValueImpl;
+import org.camunda.bpm.engine.variable.value.TypedValue;
 import org.camunda.spin.DataFormats;
 import org.camunda.spin.json.SpinJsonNode;
 import org.camunda.spin.plugin.variable.SpinValues;
@@ -25,6 +27,7 @@ import org.camunda.spin.plugin.variable.type.JsonValueType;
 import org.camunda.spin.plugin.variable.type.SpinValueType;
 import org.camunda.spin.plugin.variable.value.SpinValue;
 import org.camunda.spin.plugin.variable.value.impl.JsonValueImpl;
+import org.camunda.spin.plugin.variable.value.impl.LazyJsonValueImpl;
 import org.camunda.spin.spi.DataFormat;
 
 /**
@@ -33,6 +36,12 @@ import org.camunda.spin.spi.DataFormat;
  */
 public class JsonValueSerializer extends SpinValueSerializer {
 
+  /**
+   * If true, deserialized values are parsed on first access instead of when they are read
+   * from the database.
+   */
+  protected boolean lazyDeserialization = false;
+
   public JsonValueSerializer(DataFormat<SpinJsonNode> dataFormat) {
     super(SpinValueType.JSON, dataFormat, JsonValueType.TYPE_NAME);
   }
@@ -45,6 +54,57 @@ public class JsonValueSerializer extends SpinValueSerializer {
     return SpinValues.jsonValue((SpinJsonNode) untypedValue.getValue()).create();
   }
 
+  @SuppressWarnings("unchecked")
+  public SpinValue readValue(ValueFields valueFields, boolean deserializeObjectValue, boolean asTransientValue) {
+    if (lazyDeserialization && deserializeObjectValue) {
+      byte[] serializedByteValue = readSerializedValueFromFields(valueFields);
+      if (serializedByteValue != null) {
+        return new LazyJsonValueImpl(serializedByteValue,
+            Context.getProcessEngineConfiguration().getDefaultCharset(),
+            (DataFormat<SpinJsonNode>) dataFormat,
+            valueFields.getName(),
+            asTransientValue);
+      }
+    }
+    return super.readValue(valueFields, deserializeObjectValue, asTransientValue);
+  }
+
+  public void writeValue(SpinValue value, ValueFields valueFields) {
+    if (isUnparsedLazyValue(value)) {
+      // value has not been accessed, the bytes read from the database are still valid
+      // and are written as they are; the serialized string is still created on demand
+      LazyJsonValueImpl lazyValue = (LazyJsonValueImpl) value;
+      writeToValueFields(value, valueFields, lazyValue.getSerializedBytes());
+      lazyValue.setSerializationDataFormat(serializationDataFormat);
+    }
+    else {
+      super.writeValue(value, valueFields);
+    }
+  }
+
+  protected boolean canWriteValue(TypedValue typedValue) {
+    if (isUnparsedLazyValue(typedValue)) {
+      // the bytes were written in this data format, checking the value would parse them
+      String requestedDataFormat = ((LazyJsonValueImpl) typedValue).getSerializationDataFormat();
+      return requestedDataFormat == null || serializationDataFormat.equals(requestedDataFormat);
+    }
+    return super.canWriteValue(typedValue);
+  }
+
+  protected boolean isUnparsedLazyValue(TypedValue value) {
+    return value instanceof LazyJsonValueImpl
+        && !((LazyJsonValueImpl) value).isParsed()
+        && ((LazyJsonValueImpl) value).getSerializedBytes() != null;
+  }
+
+  public boolean isLazyDeserialization() {
+    return lazyDeserialization;
+  }
+
+  public void setLazyDeserialization(boolean lazyDeserialization) {
+    this.lazyDeserialization = lazyDeserialization;
+  }
+
   protected SpinValue createDeserializedValue(Object deserializedObject, String serializedStringValue, ValueFields valueFields, boolean asTransientValue) {
     SpinJsonNode value = (SpinJsonNode) deserializedObject;
     JsonValueImpl jsonValue = new JsonValueImpl(value, serializedStringValue, value.getDataFormatName(), true);
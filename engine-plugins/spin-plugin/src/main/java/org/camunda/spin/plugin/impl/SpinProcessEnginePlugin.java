@@ -36,6 +36,12 @@ import org.camunda.spin.DataFormats;
  */
 public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
 
+  /**
+   * If true, json variables are parsed when their value is accessed for the first time
+   * instead of when they are fetched from the database.
+   */
+  protected boolean lazyJsonDeserialization = false;
+
   @Override
   public void preInit(ProcessEngineConfigurationImpl processEngineConfiguration) {
     // use classloader which loaded the plugin
@@ -65,6 +71,9 @@ public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
     int javaObjectSerializerIdx = variableSerializers.getSerializerIndexByName(JavaObjectSerializer.NAME);
 
     for (TypedValueSerializer<?> spinSerializer : spinDataFormatSerializers) {
+      if (spinSerializer instanceof JsonValueSerializer) {
+        ((JsonValueSerializer) spinSerializer).setLazyDeserialization(lazyJsonDeserialization);
+      }
       // add before java object serializer
       variableSerializers.addSerializer(spinSerializer, javaObjectSerializerIdx);
     }
@@ -93,4 +102,12 @@ public class SpinProcessEnginePlugin extends AbstractProcessEnginePlugin {
     resolver.addType(XML);
   }
 
+  public boolean isLazyJsonDeserialization() {
+    return lazyJsonDeserialization;
+  }
+
+  public void setLazyJsonDeserialization(boolean lazyJsonDeserialization) {
+    this.lazyJsonDeserialization = lazyJsonDeserialization;
+  }
+
 }
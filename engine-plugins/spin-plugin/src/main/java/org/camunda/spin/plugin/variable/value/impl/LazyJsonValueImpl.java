@@ -0,0 +1,121 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.variable.value.impl;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.spin.DataFormats;
+import org.camunda.spin.json.SpinJsonNode;
+import org.camunda.spin.spi.DataFormat;
+
+/**
+ * A deserialized {@link JsonValueImpl} which keeps the raw bytes read from the database
+ * and parses them only when the value is accessed for the first time. The serialized
+ * string is likewise created on demand.
+ *
+ * <p>Variables which are loaded but never accessed, or only passed on unchanged,
+ * therefore neither build a string copy nor a json tree of their content.</p>
+ */
+public class LazyJsonValueImpl extends JsonValueImpl {
+
+  private static final long serialVersionUID = 1L;
+
+  protected byte[] serializedBytes;
+  protected String charsetName;
+  protected String variableName;
+
+  protected transient DataFormat<SpinJsonNode> jsonDataFormat;
+
+  public LazyJsonValueImpl(byte[] serializedBytes,
+                           Charset charset,
+                           DataFormat<SpinJsonNode> dataFormat,
+                           String variableName,
+                           boolean isTransient) {
+    super(null, null, dataFormat.getName(), true, isTransient);
+    this.serializedBytes = serializedBytes;
+    this.charsetName = charset.name();
+    this.jsonDataFormat = dataFormat;
+    this.variableName = variableName;
+  }
+
+  public SpinJsonNode getValue() {
+    if (value == null && serializedBytes != null) {
+      value = parse();
+    }
+    return (SpinJsonNode) value;
+  }
+
+  public String getValueSerialized() {
+    if (serializedValue == null && serializedBytes != null) {
+      serializedValue = new String(serializedBytes, Charset.forName(charsetName));
+    }
+    return serializedValue;
+  }
+
+  public void setValueSerialized(String serializedValue) {
+    super.setValueSerialized(serializedValue);
+    if (serializedValue == null) {
+      // the value has been replaced or serialized again, the raw bytes are outdated
+      serializedBytes = null;
+    }
+  }
+
+  /**
+   * @return the raw bytes the value was read from or null if the value was changed
+   */
+  public byte[] getSerializedBytes() {
+    return serializedBytes;
+  }
+
+  /**
+   * @return true if the raw bytes have already been parsed
+   */
+  public boolean isParsed() {
+    return value != null;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected SpinJsonNode parse() {
+    DataFormat<SpinJsonNode> dataFormat = jsonDataFormat;
+    if (dataFormat == null) {
+      dataFormat = (DataFormat<SpinJsonNode>) DataFormats.getDataFormat(dataFormatName);
+    }
+
+    ByteArrayInputStream bais = new ByteArrayInputStream(serializedBytes);
+    InputStreamReader inReader = new InputStreamReader(bais, Charset.forName(charsetName));
+    BufferedReader bufferedReader = new BufferedReader(inReader);
+
+    try {
+      Object wrapper = dataFormat.getReader().readInput(bufferedReader);
+      return dataFormat.createWrapperInstance(wrapper);
+    }
+    catch (Exception e) {
+      throw new ProcessEngineException("Cannot deserialize object in variable '" + variableName + "': " + e.getMessage(), e);
+    }
+    finally {
+      IoUtil.closeSilently(bais);
+      IoUtil.closeSilently(inReader);
+      IoUtil.closeSilently(bufferedReader);
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.spin.plugin.variables;
+
+import static org.camunda.spin.plugin.variable.SpinValues.jsonValue;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.spin.json.SpinJsonNode;
+import org.camunda.spin.plugin.impl.JsonValueSerializer;
+import org.camunda.spin.plugin.variable.type.JsonValueType;
+import org.camunda.spin.plugin.variable.value.JsonValue;
+import org.camunda.spin.plugin.variable.value.impl.LazyJsonValueImpl;
+import org.json.JSONException;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+public class LazyJsonValueTest extends PluggableProcessEngineTestCase {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/spin/plugin/oneTaskProcess.bpmn20.xml";
+  protected static final String ONE_TASK_PROCESS_KEY = "oneTaskProcess";
+
+  protected String jsonString = "{\"foo\": \"bar\", \"list\": [1, 2, 3]}";
+  protected String brokenJsonString = "{\"foo: \"bar\"}";
+
+  protected JsonValueSerializer serializer;
+
+  protected void setUp() throws Exception {
+    serializer = (JsonValueSerializer) processEngineConfiguration.getVariableSerializers()
+        .getSerializerByName(JsonValueType.TYPE_NAME);
+    serializer.setLazyDeserialization(true);
+  }
+
+  protected void tearDown() throws Exception {
+    serializer.setLazyDeserialization(false);
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testValueIsParsedOnFirstAccess() throws JSONException {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey(ONE_TASK_PROCESS_KEY).getId();
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(jsonString).create());
+
+    // when
+    JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, "x");
+
+    // then
+    assertTrue(typedValue instanceof LazyJsonValueImpl);
+    assertTrue(typedValue.isDeserialized());
+    assertFalse(((LazyJsonValueImpl) typedValue).isParsed());
+
+    SpinJsonNode value = typedValue.getValue();
+    assertTrue(((LazyJsonValueImpl) typedValue).isParsed());
+    JSONAssert.assertEquals(jsonString, value.toString(), true);
+    JSONAssert.assertEquals(jsonString, typedValue.getValueSerialized(), true);
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testCopyUnparsedValue() throws JSONException {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey(ONE_TASK_PROCESS_KEY).getId();
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(jsonString).create());
+    JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, "x");
+
+    // when
+    runtimeService.setVariable(processInstanceId, "y", typedValue);
+
+    // then
+    assertFalse(((LazyJsonValueImpl) typedValue).isParsed());
+
+    SpinJsonNode copy = (SpinJsonNode) runtimeService.getVariable(processInstanceId, "y");
+    JSONAssert.assertEquals(jsonString, copy.toString(), true);
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testFailingDeserializationOnAccess() {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey(ONE_TASK_PROCESS_KEY).getId();
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(brokenJsonString).create());
+
+    JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, "x");
+
+    try {
+      // when
+      typedValue.getValue();
+      fail("exception expected");
+    } catch (ProcessEngineException e) {
+      // then
+      assertTextPresent("Cannot deserialize object in variable 'x'", e.getMessage());
+    }
+  }
+
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSerializedValueIsNotAffected() throws JSONException {
+    // given
+    String processInstanceId = runtimeService.startProcessInstanceByKey(ONE_TASK_PROCESS_KEY).getId();
+    runtimeService.setVariable(processInstanceId, "x", jsonValue(jsonString).create());
+
+    // when
+    JsonValue typedValue = runtimeService.getVariableTyped(processInstanceId, "x", false);
+
+    // then
+    assertFalse(typedValue instanceof LazyJsonValueImpl);
+    assertFalse(typedValue.isDeserialized());
+    JSONAssert.assertEquals(jsonString, typedValue.getValueSerialized(), true);
+  }
+
+}
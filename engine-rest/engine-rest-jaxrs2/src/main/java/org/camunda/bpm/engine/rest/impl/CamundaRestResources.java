@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.rest.exception.JsonParseExceptionHandler;
 import org.camunda.bpm.engine.rest.exception.ProcessEngineExceptionHandler;
 import org.camunda.bpm.engine.rest.exception.RestExceptionHandler;
 import org.camunda.bpm.engine.rest.hal.JacksonHalJsonProvider;
+import org.camunda.bpm.engine.rest.mapper.BatchedQueryResultListWriter;
 import org.camunda.bpm.engine.rest.mapper.JacksonConfigurator;
 import org.camunda.bpm.engine.rest.mapper.MultipartPayloadProvider;
 
@@ -51,6 +52,7 @@ public class CamundaRestResources {
     CONFIGURATION_CLASSES.add(RestExceptionHandler.class);
     CONFIGURATION_CLASSES.add(MultipartPayloadProvider.class);
     CONFIGURATION_CLASSES.add(JacksonHalJsonProvider.class);
+    CONFIGURATION_CLASSES.add(BatchedQueryResultListWriter.class);
     CONFIGURATION_CLASSES.add(ExceptionHandler.class);
   }
 
@@ -0,0 +1,88 @@
+{
+
+  <@lib.endpointInfo
+      id = "getTaskEvents"
+      tag = "Task"
+      desc = "Streams the changes of tasks (create, update, assignment, complete, delete) as
+              server-sent events until the timeout elapsed. The id of each event is its offset
+              in the task change feed of the process engine. Clients resume the stream after
+              that offset with the `Last-Event-ID` header. If the requested events are no longer
+              available, a `reset` event is sent and the tasks have to be queried again.
+              Authenticated users only receive the changes of tasks they are assignee, owner or
+              candidate of and which they are authorized to read (`READ` on the task or
+              `READ_TASK` on the process definition) and whose tenant they belong to.
+              Each stream holds a request thread until it ends, so the number of concurrent
+              streams is limited by the `taskChangeFeedMaxSubscriptions` process engine
+              configuration property. Requires the task change feed to be enabled by the
+              `taskChangeFeedCapacity` process engine configuration property." />
+
+  "parameters" : [
+
+    <@lib.parameter
+        name = "Last-Event-ID"
+        location = "header"
+        type = "string"
+        desc = "The offset of the last received event." />
+
+    <@lib.parameter
+        name = "offset"
+        location = "query"
+        type = "integer"
+        format = "int64"
+        desc = "The offset after which events are sent if no `Last-Event-ID` header is given.
+                Without both, only new events are sent." />
+
+    <@lib.parameter
+        name = "userId"
+        location = "query"
+        type = "string"
+        desc = "Only send the changes of tasks the user is assignee, owner or candidate of.
+                Ignored for authenticated users." />
+
+    <@lib.parameter
+        name = "groupId"
+        location = "query"
+        type = "array"
+        desc = "Only send the changes of tasks the group is candidate of. Can be given multiple
+                times. Ignored for authenticated users." />
+
+    <@lib.parameter
+        name = "timeout"
+        location = "query"
+        type = "integer"
+        format = "int64"
+        last = true
+        desc = "The time in milliseconds after which the stream is closed. Defaults to 30000,
+                at most 60000. Clients reconnect with the `Last-Event-ID` header to continue." />
+
+  ],
+
+  "responses" : {
+
+    <@lib.response
+        code = "200"
+        flatType = "string"
+        mediaType = "text/event-stream"
+        desc = "Request successful. The body is a stream of server-sent events whose data is
+                a JSON object with the properties `offset`, `eventName`, `timestamp`, `taskId`,
+                `name`, `assignee`, `previousAssignee`, `owner`, `candidateUsers`,
+                `candidateGroups`, `processDefinitionId`, `processDefinitionKey`, `processInstanceId`,
+                `caseInstanceId` and `tenantId`." />
+
+    <@lib.response
+        code = "400"
+        dto = "ExceptionDto"
+        desc = "Returned if the task change feed is not enabled or the `Last-Event-ID` is invalid.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+    <@lib.response
+        code = "503"
+        dto = "ExceptionDto"
+        last = true
+        desc = "Returned if the maximum number of concurrent streams is reached.
+                See the [Introduction](${docsUrl}/reference/rest/overview/#error-handling)
+                for the error response format." />
+
+  }
+}
@@ -27,6 +27,7 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
@@ -35,6 +36,8 @@ public interface TaskRestService {
 
   public static final String PATH = "/task";
 
+  public static final String EVENT_STREAM_MEDIA_TYPE = "text/event-stream";
+
   @Path("/{id}")
   TaskResource getTask(@PathParam("id") String id);
 
@@ -76,5 +79,17 @@ public interface TaskRestService {
   @Path("/report")
   TaskReportResource getTaskReportResource();
 
+  /**
+   * Streams the changes of tasks as server-sent events. The events are resumed after the
+   * offset given by the <code>Last-Event-ID</code> header or the <code>offset</code>
+   * parameter; without both only new changes are sent.
+   */
+  @GET
+  @Path("/events")
+  @Produces(EVENT_STREAM_MEDIA_TYPE)
+  Response getTaskEvents(@HeaderParam("Last-Event-ID") String lastEventId, @QueryParam("offset") Long offset,
+                         @QueryParam("userId") String userId, @QueryParam("groupId") List<String> groupIds,
+                         @QueryParam("timeout") Long timeout);
+
 
 }
@@ -0,0 +1,122 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.dto.task;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.task.event.TaskChangeEvent;
+
+public class TaskChangeEventDto {
+
+  protected long offset;
+  protected String eventName;
+  protected Date timestamp;
+  protected String taskId;
+  protected String name;
+  protected String assignee;
+  protected String previousAssignee;
+  protected String owner;
+  protected List<String> candidateUsers;
+  protected List<String> candidateGroups;
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String processInstanceId;
+  protected String caseInstanceId;
+  protected String tenantId;
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public String getEventName() {
+    return eventName;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getAssignee() {
+    return assignee;
+  }
+
+  public String getPreviousAssignee() {
+    return previousAssignee;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public List<String> getCandidateUsers() {
+    return candidateUsers;
+  }
+
+  public List<String> getCandidateGroups() {
+    return candidateGroups;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public String getCaseInstanceId() {
+    return caseInstanceId;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public static TaskChangeEventDto fromTaskChangeEvent(TaskChangeEvent event) {
+    TaskChangeEventDto dto = new TaskChangeEventDto();
+    dto.offset = event.getOffset();
+    dto.eventName = event.getEventName();
+    dto.timestamp = event.getTimestamp();
+    dto.taskId = event.getTaskId();
+    dto.name = event.getName();
+    dto.assignee = event.getAssignee();
+    dto.previousAssignee = event.getPreviousAssignee();
+    dto.owner = event.getOwner();
+    dto.candidateUsers = event.getCandidateUsers();
+    dto.candidateGroups = event.getCandidateGroups();
+    dto.processDefinitionId = event.getProcessDefinitionId();
+    dto.processDefinitionKey = event.getProcessDefinitionKey();
+    dto.processInstanceId = event.getProcessInstanceId();
+    dto.caseInstanceId = event.getCaseInstanceId();
+    dto.tenantId = event.getTenantId();
+    return dto;
+  }
+
+}
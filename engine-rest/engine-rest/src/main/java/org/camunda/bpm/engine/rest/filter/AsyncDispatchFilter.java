@@ -0,0 +1,486 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.filter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.rest.dto.ExceptionDto;
+import org.camunda.bpm.engine.rest.exception.ExceptionLogger;
+import org.camunda.bpm.engine.rest.impl.NamedProcessEngineRestServiceImpl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>
+ * Servlet filter which limits the number of REST requests executing at the same time and
+ * releases the container thread of a request while the request waits for admission. The
+ * filter only controls admission: threads of a bounded pool wait until fewer than
+ * {@value #THREAD_POOL_SIZE_PARAM} requests execute and then hand the request back to the
+ * container with {@link AsyncContext#dispatch()}, so that admitted requests are executed on a
+ * container thread. Requests which cannot be accepted because the queue or the concurrency limit
+ * of their endpoint is exhausted are rejected with <code>503 Service Unavailable</code> without
+ * blocking a container thread.
+ * </p>
+ *
+ * <p>The endpoint of a request is the first path segment after the engine,
+ * e.g. <code>task</code> for <code>/engine/default/task/{id}/complete</code>.
+ * The filter must be mapped before the authentication filter and, like the
+ * JAX-RS servlet, be declared with <code>async-supported</code>. The filters
+ * following this filter must be mapped for the <code>ASYNC</code> dispatcher
+ * as well, since the request passes them only when it is dispatched.</p>
+ *
+ * <p>Valid init-params:</p>
+ * <table>
+ * <thead>
+ *   <tr><th>Parameter</th><th>Required</th><th>Expected value</th></tr>
+ * <thead>
+ * <tbody>
+ *    <tr><td>{@value #THREAD_POOL_SIZE_PARAM}</td><td>no</td><td>The number of requests executing at the same time and of the threads admitting them,
+ *      default {@value #DEFAULT_THREAD_POOL_SIZE}, the usual size of a container's request thread pool</td></tr>
+ *    <tr><td>{@value #QUEUE_CAPACITY_PARAM}</td><td>no</td><td>The number of requests waiting for admission, default {@value #DEFAULT_QUEUE_CAPACITY}</td></tr>
+ *    <tr><td>{@value #MAX_QUEUE_TIME_PARAM}</td><td>no</td><td>The time in milliseconds after which a waiting request is rejected instead of executed,
+ *      default {@value #DEFAULT_MAX_QUEUE_TIME}, 0 to never reject waiting requests</td></tr>
+ *    <tr><td>{@value #ENDPOINT_CONCURRENCY_LIMITS_PARAM}</td><td>no</td><td>The maximum number of waiting and executing requests per endpoint,
+ *      e.g. <code>task:20,process-definition:10</code>. Other endpoints are only limited by the thread pool.</td></tr>
+ *    <tr><td>{@value #EXCLUDED_PATHS_PARAM}</td><td>no</td><td>A regular expression for the request paths which are executed on the container thread,
+ *      default {@value #DEFAULT_EXCLUDED_PATHS}</td></tr>
+ *    <tr><td>{@value #SERVLET_PATH_PREFIX}</td><td>no</td><td>The expected servlet path, see
+ *      {@link org.camunda.bpm.engine.rest.security.auth.ProcessEngineAuthenticationFilter}</td></tr>
+ * </tbody>
+ * </table>
+ *
+ * <p>The queueing statistics of the endpoints are available from the servlet context attribute
+ * {@value #STATISTICS_ATTRIBUTE}.</p>
+ */
+public class AsyncDispatchFilter implements Filter {
+
+  protected static final Pattern ENGINE_REQUEST_URL_PATTERN = Pattern.compile("^" + NamedProcessEngineRestServiceImpl.PATH + "/[^/]*/([^/]*)");
+  protected static final Pattern DEFAULT_ENGINE_REQUEST_URL_PATTERN = Pattern.compile("^/([^/]*)");
+
+  // init params
+  public static final String THREAD_POOL_SIZE_PARAM = "thread-pool-size";
+  public static final String QUEUE_CAPACITY_PARAM = "queue-capacity";
+  public static final String MAX_QUEUE_TIME_PARAM = "max-queue-time";
+  public static final String ENDPOINT_CONCURRENCY_LIMITS_PARAM = "endpoint-concurrency-limits";
+  public static final String EXCLUDED_PATHS_PARAM = "excluded-paths";
+  public static final String SERVLET_PATH_PREFIX = "rest-url-pattern-prefix";
+
+  public static final int DEFAULT_THREAD_POOL_SIZE = 200;
+  public static final int DEFAULT_QUEUE_CAPACITY = 100;
+  public static final long DEFAULT_MAX_QUEUE_TIME = 30000;
+  // long-polling and streaming requests manage their threads themselves
+  public static final String DEFAULT_EXCLUDED_PATHS = ".*/external-task/fetchAndLock/?|.*/task/events/?";
+
+  public static final String STATISTICS_ATTRIBUTE = "org.camunda.bpm.engine.rest.filter.AsyncDispatchFilter.statistics";
+
+  protected ThreadPoolExecutor executor;
+  protected Semaphore executionPermits;
+  protected long maxQueueTime;
+  protected Pattern excludedPaths;
+  protected String servletPathPrefix;
+
+  protected Map<String, Semaphore> endpointConcurrencyLimits = new HashMap<String, Semaphore>();
+  protected ConcurrentMap<String, EndpointStatistics> endpointStatistics = new ConcurrentHashMap<String, EndpointStatistics>();
+
+  protected final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Override
+  public void init(FilterConfig filterConfig) throws ServletException {
+    int threadPoolSize = parseInt(filterConfig, THREAD_POOL_SIZE_PARAM, DEFAULT_THREAD_POOL_SIZE);
+    int queueCapacity = parseInt(filterConfig, QUEUE_CAPACITY_PARAM, DEFAULT_QUEUE_CAPACITY);
+    maxQueueTime = parseInt(filterConfig, MAX_QUEUE_TIME_PARAM, (int) DEFAULT_MAX_QUEUE_TIME);
+
+    String limits = filterConfig.getInitParameter(ENDPOINT_CONCURRENCY_LIMITS_PARAM);
+    if (limits != null && !limits.trim().isEmpty()) {
+      for (String limit : limits.split(",")) {
+        String[] endpointAndLimit = limit.split(":");
+        if (endpointAndLimit.length != 2) {
+          throw new ServletException("Cannot instantiate async dispatch filter: invalid endpoint concurrency limit '" + limit
+              + "', expected <endpoint>:<limit>");
+        }
+        int permits = parseInt(ENDPOINT_CONCURRENCY_LIMITS_PARAM, endpointAndLimit[1].trim());
+        endpointConcurrencyLimits.put(endpointAndLimit[0].trim(), new Semaphore(permits));
+      }
+    }
+
+    String excludedPathsRegex = filterConfig.getInitParameter(EXCLUDED_PATHS_PARAM);
+    excludedPaths = Pattern.compile(excludedPathsRegex != null ? excludedPathsRegex : DEFAULT_EXCLUDED_PATHS);
+
+    servletPathPrefix = filterConfig.getInitParameter(SERVLET_PATH_PREFIX);
+
+    executionPermits = new Semaphore(threadPoolSize);
+    executor = new ThreadPoolExecutor(threadPoolSize, threadPoolSize, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<Runnable>(queueCapacity), new DispatchThreadFactory());
+
+    if (filterConfig.getServletContext() != null) {
+      filterConfig.getServletContext().setAttribute(STATISTICS_ATTRIBUTE, getEndpointStatistics());
+    }
+  }
+
+  @Override
+  public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+    HttpServletRequest req = (HttpServletRequest) request;
+    HttpServletResponse resp = (HttpServletResponse) response;
+
+    String requestUrl = getRequestUrl(req);
+
+    // dispatched requests have been admitted already
+    if (!req.isAsyncSupported() || req.getDispatcherType() != DispatcherType.REQUEST || excludedPaths.matcher(requestUrl).matches()) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    String endpoint = extractEndpoint(requestUrl);
+    EndpointStatistics statistics = getStatistics(endpoint);
+    Semaphore concurrencyLimit = endpointConcurrencyLimits.get(endpoint);
+
+    if (concurrencyLimit != null && !concurrencyLimit.tryAcquire()) {
+      statistics.rejected.incrementAndGet();
+      sendServiceUnavailable(resp, "Too many concurrent requests for endpoint '" + endpoint + "'");
+      return;
+    }
+
+    AsyncContext asyncContext = request.startAsync(request, response);
+    // the request is executed in any case, it must not be completed by the container
+    asyncContext.setTimeout(0);
+
+    QueuedRequest queuedRequest = new QueuedRequest(asyncContext, statistics, concurrencyLimit);
+    asyncContext.addListener(queuedRequest);
+    statistics.queued.incrementAndGet();
+
+    try {
+      executor.execute(queuedRequest);
+    }
+    catch (RejectedExecutionException e) {
+      statistics.queued.decrementAndGet();
+      statistics.rejected.incrementAndGet();
+      try {
+        sendServiceUnavailable(resp, "Too many concurrent requests");
+      }
+      finally {
+        asyncContext.complete();
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(getShutdownTimeout(), TimeUnit.MILLISECONDS)) {
+        rejectWaitingRequests();
+      }
+    }
+    catch (InterruptedException e) {
+      rejectWaitingRequests();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * @return the time in milliseconds waiting requests are given to be admitted or rejected
+   * when the filter is destroyed
+   */
+  protected long getShutdownTimeout() {
+    return maxQueueTime > 0 ? maxQueueTime : DEFAULT_MAX_QUEUE_TIME;
+  }
+
+  /**
+   * Interrupts the threads waiting for an execution permit, which reject their requests,
+   * and rejects the requests which are still queued. Queued requests have no timeout,
+   * so they would never be completed otherwise.
+   */
+  protected void rejectWaitingRequests() {
+    for (Runnable queuedRequest : executor.shutdownNow()) {
+      ((QueuedRequest) queuedRequest).rejectOnShutdown();
+    }
+  }
+
+  /**
+   * @return the queueing statistics of the endpoints which received requests
+   */
+  public Map<String, EndpointStatistics> getEndpointStatistics() {
+    return Collections.unmodifiableMap(endpointStatistics);
+  }
+
+  protected EndpointStatistics getStatistics(String endpoint) {
+    EndpointStatistics statistics = endpointStatistics.get(endpoint);
+    if (statistics == null) {
+      statistics = new EndpointStatistics();
+      EndpointStatistics existingStatistics = endpointStatistics.putIfAbsent(endpoint, statistics);
+      if (existingStatistics != null) {
+        statistics = existingStatistics;
+      }
+    }
+    return statistics;
+  }
+
+  protected String getRequestUrl(HttpServletRequest request) {
+    String servletPath = servletPathPrefix;
+    if (servletPath == null) {
+      servletPath = request.getServletPath();
+    }
+    return request.getRequestURI().substring(request.getContextPath().length() + servletPath.length());
+  }
+
+  protected String extractEndpoint(String requestUrl) {
+    Matcher matcher = ENGINE_REQUEST_URL_PATTERN.matcher(requestUrl);
+    if (!matcher.find()) {
+      matcher = DEFAULT_ENGINE_REQUEST_URL_PATTERN.matcher(requestUrl);
+      if (!matcher.find()) {
+        return "";
+      }
+    }
+    return matcher.group(1);
+  }
+
+  protected void sendServiceUnavailable(HttpServletResponse response, String message) throws IOException {
+    ExceptionDto exceptionDto = new ExceptionDto();
+    exceptionDto.setType(RejectedExecutionException.class.getSimpleName());
+    exceptionDto.setMessage(message);
+
+    response.setStatus(Status.SERVICE_UNAVAILABLE.getStatusCode());
+    response.setContentType(MediaType.APPLICATION_JSON);
+    objectMapper.writer().writeValue(response.getWriter(), exceptionDto);
+    response.getWriter().flush();
+  }
+
+  protected int parseInt(FilterConfig filterConfig, String parameterName, int defaultValue) throws ServletException {
+    String value = filterConfig.getInitParameter(parameterName);
+    return value != null ? parseInt(parameterName, value) : defaultValue;
+  }
+
+  protected int parseInt(String parameterName, String value) throws ServletException {
+    try {
+      return Integer.parseInt(value);
+    }
+    catch (NumberFormatException e) {
+      throw new ServletException("Cannot instantiate async dispatch filter: init-param " + parameterName
+          + " must be a number but was '" + value + "'", e);
+    }
+  }
+
+  /**
+   * Admits a request on a pool thread and releases its permits once the
+   * dispatched request has completed.
+   */
+  protected class QueuedRequest implements Runnable, AsyncListener {
+
+    protected final AsyncContext asyncContext;
+    protected final EndpointStatistics statistics;
+    protected final Semaphore concurrencyLimit;
+    protected final long queuedAt = System.currentTimeMillis();
+
+    protected volatile boolean dispatched;
+    protected final AtomicBoolean released = new AtomicBoolean();
+
+    public QueuedRequest(AsyncContext asyncContext, EndpointStatistics statistics, Semaphore concurrencyLimit) {
+      this.asyncContext = asyncContext;
+      this.statistics = statistics;
+      this.concurrencyLimit = concurrencyLimit;
+    }
+
+    public void run() {
+      boolean admitted;
+      try {
+        admitted = acquireExecutionPermit();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        rejectOnShutdown();
+        return;
+      }
+
+      long queueTime = System.currentTimeMillis() - queuedAt;
+      statistics.queued.decrementAndGet();
+      statistics.totalQueueTime.addAndGet(queueTime);
+
+      if (!admitted) {
+        statistics.rejected.incrementAndGet();
+        reject("Request waited " + queueTime + " ms for execution");
+      }
+      else {
+        statistics.accepted.incrementAndGet();
+        statistics.running.incrementAndGet();
+        dispatched = true;
+        try {
+          // the container executes the request again, passing the remaining filters and the servlet
+          asyncContext.dispatch();
+        }
+        catch (Throwable t) {
+          ExceptionLogger.REST_LOGGER.log(t);
+          asyncContext.complete();
+        }
+      }
+    }
+
+    /**
+     * Waits for an execution permit at most until the request has been queued for
+     * the max queue time, if any.
+     *
+     * @return true if a permit was acquired
+     */
+    protected boolean acquireExecutionPermit() throws InterruptedException {
+      if (maxQueueTime > 0) {
+        long remainingQueueTime = maxQueueTime - (System.currentTimeMillis() - queuedAt);
+        return executionPermits.tryAcquire(Math.max(remainingQueueTime, 0), TimeUnit.MILLISECONDS);
+      }
+      else {
+        // at most as many requests execute as the pool has threads
+        executionPermits.acquire();
+        return true;
+      }
+    }
+
+    protected void rejectOnShutdown() {
+      statistics.queued.decrementAndGet();
+      statistics.rejected.incrementAndGet();
+      reject("The filter was shut down before the request was executed");
+    }
+
+    protected void reject(String message) {
+      try {
+        sendServiceUnavailable((HttpServletResponse) asyncContext.getResponse(), message);
+      }
+      catch (Throwable t) {
+        ExceptionLogger.REST_LOGGER.log(t);
+      }
+      finally {
+        asyncContext.complete();
+      }
+    }
+
+    protected void release() {
+      if (released.compareAndSet(false, true)) {
+        if (dispatched) {
+          statistics.running.decrementAndGet();
+          executionPermits.release();
+        }
+        if (concurrencyLimit != null) {
+          concurrencyLimit.release();
+        }
+      }
+    }
+
+    public void onComplete(AsyncEvent event) {
+      release();
+    }
+
+    public void onError(AsyncEvent event) {
+      release();
+    }
+
+    public void onTimeout(AsyncEvent event) {
+      // the request has no timeout
+    }
+
+    public void onStartAsync(AsyncEvent event) {
+      // the request is not started asynchronously again
+    }
+
+  }
+
+  public static class EndpointStatistics {
+
+    protected final AtomicLong accepted = new AtomicLong();
+    protected final AtomicLong rejected = new AtomicLong();
+    protected final AtomicLong totalQueueTime = new AtomicLong();
+    protected final AtomicInteger queued = new AtomicInteger();
+    protected final AtomicInteger running = new AtomicInteger();
+
+    /**
+     * @return the number of requests which were executed
+     */
+    public long getAccepted() {
+      return accepted.get();
+    }
+
+    /**
+     * @return the number of requests which were rejected because of a full queue, a concurrency limit,
+     * the max queue time or the shutdown of the filter
+     */
+    public long getRejected() {
+      return rejected.get();
+    }
+
+    /**
+     * @return the sum of the times in milliseconds requests waited for a thread
+     */
+    public long getTotalQueueTime() {
+      return totalQueueTime.get();
+    }
+
+    /**
+     * @return the number of requests currently waiting for a thread
+     */
+    public int getQueued() {
+      return queued.get();
+    }
+
+    /**
+     * @return the number of requests currently executing
+     */
+    public int getRunning() {
+      return running.get();
+    }
+
+  }
+
+  protected static class DispatchThreadFactory implements ThreadFactory {
+
+    protected final AtomicInteger threadCount = new AtomicInteger();
+
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "camunda-rest-dispatch-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+}
@@ -29,15 +29,21 @@ import javax.ws.rs.core.Variant;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.exception.NotValidException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeFeed;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeSubscription;
 import org.camunda.bpm.engine.rest.TaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskDto;
 import org.camunda.bpm.engine.rest.dto.task.TaskQueryDto;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
+import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.hal.Hal;
 import org.camunda.bpm.engine.rest.hal.task.HalTaskList;
 import org.camunda.bpm.engine.rest.sub.task.TaskReportResource;
 import org.camunda.bpm.engine.rest.sub.task.TaskResource;
+import org.camunda.bpm.engine.rest.sub.task.impl.TaskChangeEventStream;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskReportResourceImpl;
 import org.camunda.bpm.engine.rest.sub.task.impl.TaskResourceImpl;
 import org.camunda.bpm.engine.task.Task;
@@ -49,6 +55,12 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
 
   public static final List<Variant> VARIANTS = Variant.mediaTypes(MediaType.APPLICATION_JSON_TYPE, Hal.APPLICATION_HAL_JSON_TYPE).add().build();
 
+  public static final long DEFAULT_TASK_EVENTS_TIMEOUT = 30000;
+  /** the stream holds a request thread, clients reconnect with the Last-Event-ID after it ended */
+  public static final long MAX_TASK_EVENTS_TIMEOUT = 60000;
+  /** time after which a subscription is released even if the stream was never written */
+  protected static final long TASK_EVENTS_SUBSCRIPTION_GRACE_PERIOD = 60000;
+
   public TaskRestServiceImpl(String engineName, final ObjectMapper objectMapper) {
     super(engineName, objectMapper);
   }
@@ -172,4 +184,52 @@ public class TaskRestServiceImpl extends AbstractRestProcessEngineAware implemen
   public TaskReportResource getTaskReportResource() {
     return new TaskReportResourceImpl(getProcessEngine());
   }
+
+  @Override
+  public Response getTaskEvents(String lastEventId, Long offset, String userId, List<String> groupIds, Long timeout) {
+    ProcessEngine engine = getProcessEngine();
+    ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration();
+    TaskChangeFeed taskChangeFeed = processEngineConfiguration.getTaskChangeFeed();
+    if (taskChangeFeed == null) {
+      throw new InvalidRequestException(Status.BAD_REQUEST, "The task change feed is not enabled");
+    }
+
+    long startOffset = taskChangeFeed.getLatestOffset();
+    if (lastEventId != null) {
+      try {
+        startOffset = Long.parseLong(lastEventId);
+      } catch (NumberFormatException e) {
+        throw new InvalidRequestException(Status.BAD_REQUEST, e, "Invalid Last-Event-ID: " + lastEventId);
+      }
+    }
+    else if (offset != null) {
+      startOffset = offset;
+    }
+
+    long streamTimeout = DEFAULT_TASK_EVENTS_TIMEOUT;
+    if (timeout != null) {
+      streamTimeout = Math.max(0, Math.min(timeout, MAX_TASK_EVENTS_TIMEOUT));
+    }
+
+    // authenticated users only receive the changes of their own tasks
+    Authentication authentication = engine.getIdentityService().getCurrentAuthentication();
+    if (authentication != null) {
+      userId = authentication.getUserId();
+      groupIds = authentication.getGroupIds();
+    }
+
+    long expirationTime = System.currentTimeMillis() + streamTimeout + TASK_EVENTS_SUBSCRIPTION_GRACE_PERIOD;
+    TaskChangeSubscription subscription = taskChangeFeed.subscribe(userId, groupIds, expirationTime);
+    if (subscription == null) {
+      throw new RestException(Status.SERVICE_UNAVAILABLE,
+          "The maximum number of " + taskChangeFeed.getMaxSubscriptions() + " task event streams is reached");
+    }
+
+    TaskChangeEventStream stream = new TaskChangeEventStream(taskChangeFeed, subscription, getObjectMapper(), startOffset,
+        streamTimeout, processEngineConfiguration.getCommandExecutorTxRequired(), authentication);
+
+    return Response.ok(stream, EVENT_STREAM_MEDIA_TYPE)
+      .header("Cache-Control", "no-cache")
+      .build();
+  }
 }
@@ -20,12 +20,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.history.HistoricActivityInstance;
 import org.camunda.bpm.engine.history.HistoricActivityInstanceQuery;
+import org.camunda.bpm.engine.impl.HistoricActivityInstanceQueryImpl;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricActivityInstanceQueryDto;
 import org.camunda.bpm.engine.rest.history.HistoricActivityInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricActivityInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricActivityInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.BatchedQueryResultList;
 
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
@@ -56,6 +58,24 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
     queryDto.setObjectMapper(objectMapper);
     HistoricActivityInstanceQuery query = queryDto.toQuery(processEngine);
 
+    if (firstResult == null && maxResults == null && isOrderedById(query)) {
+      // all activity instances are requested, fetch them in batches while writing the response
+      final HistoricActivityInstanceQueryImpl queryImpl = (HistoricActivityInstanceQueryImpl) query;
+      return new BatchedQueryResultList<HistoricActivityInstance, HistoricActivityInstanceDto>() {
+        protected List<HistoricActivityInstance> fetchBatch(String lastId, int batchSize) {
+          return queryImpl.idAfter(lastId).listPage(0, batchSize);
+        }
+        protected String getId(HistoricActivityInstance historicActivityInstance) {
+          return historicActivityInstance.getId();
+        }
+        protected HistoricActivityInstanceDto toDto(HistoricActivityInstance historicActivityInstance) {
+          HistoricActivityInstanceDto resultHistoricActivityInstance = new HistoricActivityInstanceDto();
+          HistoricActivityInstanceDto.fromHistoricActivityInstance(resultHistoricActivityInstance, historicActivityInstance);
+          return resultHistoricActivityInstance;
+        }
+      }.fetchFirstBatch();
+    }
+
     List<HistoricActivityInstance> matchingHistoricActivityInstances;
     if (firstResult != null || maxResults != null) {
       matchingHistoricActivityInstances = executePaginatedQuery(query, firstResult, maxResults);
@@ -72,6 +92,12 @@ public class HistoricActivityInstanceRestServiceImpl implements HistoricActivity
     return historicActivityInstanceResults;
   }
 
+  protected boolean isOrderedById(HistoricActivityInstanceQuery query) {
+    // without a requested sorting, the results are ordered by id
+    return query instanceof HistoricActivityInstanceQueryImpl
+        && ((HistoricActivityInstanceQueryImpl) query).getOrderingProperties().isEmpty();
+  }
+
   private List<HistoricActivityInstance> executePaginatedQuery(HistoricActivityInstanceQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult == null) {
       firstResult = 0;
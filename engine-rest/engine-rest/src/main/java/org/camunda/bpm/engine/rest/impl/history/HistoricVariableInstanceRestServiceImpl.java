@@ -20,12 +20,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
+import org.camunda.bpm.engine.impl.HistoricVariableInstanceQueryImpl;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricVariableInstanceDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricVariableInstanceQueryDto;
 import org.camunda.bpm.engine.rest.history.HistoricVariableInstanceRestService;
 import org.camunda.bpm.engine.rest.sub.history.HistoricVariableInstanceResource;
 import org.camunda.bpm.engine.rest.sub.history.impl.HistoricVariableInstanceResourceImpl;
+import org.camunda.bpm.engine.rest.util.BatchedQueryResultList;
 
 import javax.ws.rs.core.UriInfo;
 import java.util.ArrayList;
@@ -63,6 +65,22 @@ public class HistoricVariableInstanceRestServiceImpl implements HistoricVariable
       query.disableCustomObjectDeserialization();
     }
 
+    if (firstResult == null && maxResults == null && isOrderedById(query)) {
+      // all variables are requested, fetch them in batches while writing the response
+      final HistoricVariableInstanceQueryImpl queryImpl = (HistoricVariableInstanceQueryImpl) query;
+      return new BatchedQueryResultList<HistoricVariableInstance, HistoricVariableInstanceDto>() {
+        protected List<HistoricVariableInstance> fetchBatch(String lastId, int batchSize) {
+          return queryImpl.idAfter(lastId).listPage(0, batchSize);
+        }
+        protected String getId(HistoricVariableInstance historicVariableInstance) {
+          return historicVariableInstance.getId();
+        }
+        protected HistoricVariableInstanceDto toDto(HistoricVariableInstance historicVariableInstance) {
+          return HistoricVariableInstanceDto.fromHistoricVariableInstance(historicVariableInstance);
+        }
+      }.fetchFirstBatch();
+    }
+
     List<HistoricVariableInstance> matchingHistoricVariableInstances;
     if (firstResult != null || maxResults != null) {
       matchingHistoricVariableInstances = executePaginatedQuery(query, firstResult, maxResults);
@@ -78,6 +96,12 @@ public class HistoricVariableInstanceRestServiceImpl implements HistoricVariable
     return historicVariableInstanceDtoResults;
   }
 
+  protected boolean isOrderedById(HistoricVariableInstanceQuery query) {
+    // without a requested sorting, the results are ordered by id
+    return query instanceof HistoricVariableInstanceQueryImpl
+        && ((HistoricVariableInstanceQueryImpl) query).getOrderingProperties().isEmpty();
+  }
+
   private List<HistoricVariableInstance> executePaginatedQuery(HistoricVariableInstanceQuery query, Integer firstResult, Integer maxResults) {
     if (firstResult == null) {
       firstResult = 0;
@@ -0,0 +1,91 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.mapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+
+import org.camunda.bpm.engine.rest.util.BatchedQueryResultList;
+import org.camunda.bpm.engine.rest.util.ProvidersUtil;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * <p>Writes a {@link BatchedQueryResultList} as json array while iterating it, so that
+ * only one batch of results is held in memory and the response starts before all
+ * batches have been fetched.</p>
+ *
+ * <p>Once the response has been committed, a failing batch cannot change the response
+ * status anymore. The exception is propagated without closing the json array, so that the
+ * container aborts the response and clients get an incomplete document instead of a
+ * shortened list.</p>
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+@SuppressWarnings("rawtypes")
+public class BatchedQueryResultListWriter implements MessageBodyWriter<BatchedQueryResultList> {
+
+  @Context
+  protected Providers providers;
+
+  public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return BatchedQueryResultList.class.isAssignableFrom(type);
+  }
+
+  public long getSize(BatchedQueryResultList results, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+    return -1;
+  }
+
+  public void writeTo(BatchedQueryResultList results, Class<?> type, Type genericType, Annotation[] annotations,
+      MediaType mediaType, MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
+
+    ObjectMapper objectMapper = ProvidersUtil.resolveFromContext(providers, ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE, type);
+    // a batch is flushed at once, not every single result
+    ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    JsonGenerator generator = objectMapper.getFactory().createGenerator(entityStream, JsonEncoding.UTF8);
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    generator.writeStartArray();
+
+    int written = 0;
+    for (Object result : results) {
+      writer.writeValue(generator, result);
+      if (++written % results.getBatchSize() == 0) {
+        generator.flush();
+      }
+    }
+
+    generator.writeEndArray();
+    generator.close();
+  }
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.sub.task.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.camunda.bpm.engine.impl.cmd.GetAuthorizedTaskChangeEventsCmd;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeEvent;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeFeed;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeSubscription;
+import org.camunda.bpm.engine.rest.dto.task.TaskChangeEventDto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * <p>Writes the events of the {@link TaskChangeFeed} as server-sent events until the timeout
+ * elapsed. The id of each event is its offset in the feed, so that clients can resume the
+ * stream with the <code>Last-Event-ID</code> header. If the events after the requested
+ * offset are no longer available, a <code>reset</code> event is sent and clients have to
+ * query the tasks again.</p>
+ *
+ * <p>Events are only sent if the task is assigned to, owned by or a candidate task of the
+ * user or groups of the subscription. For an authentication, the events are additionally
+ * filtered by the authorizations and tenants of the authenticated user. The subscription
+ * is closed once the stream ends.</p>
+ */
+public class TaskChangeEventStream implements StreamingOutput {
+
+  public static final String RESET_EVENT = "reset";
+
+  protected static final int MAX_EVENTS_PER_READ = 100;
+  protected static final long HEARTBEAT_INTERVAL = 15000;
+
+  protected TaskChangeFeed taskChangeFeed;
+  protected TaskChangeSubscription subscription;
+  protected ObjectMapper objectMapper;
+  protected long offset;
+  protected long timeout;
+  protected CommandExecutor commandExecutor;
+  protected Authentication authentication;
+
+  /**
+   * @param authentication the authentication whose authorizations and tenants are checked,
+   *   <code>null</code> if the events are not filtered by authorizations
+   */
+  public TaskChangeEventStream(TaskChangeFeed taskChangeFeed, TaskChangeSubscription subscription, ObjectMapper objectMapper,
+      long offset, long timeout, CommandExecutor commandExecutor, Authentication authentication) {
+    this.taskChangeFeed = taskChangeFeed;
+    this.subscription = subscription;
+    this.objectMapper = objectMapper;
+    this.offset = offset;
+    this.timeout = timeout;
+    this.commandExecutor = commandExecutor;
+    this.authentication = authentication;
+  }
+
+  public void write(OutputStream output) throws IOException {
+    try {
+      writeEvents(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+    finally {
+      subscription.close();
+    }
+  }
+
+  protected void writeEvents(Writer writer) throws IOException {
+    long deadline = System.currentTimeMillis() + timeout;
+
+    if (!taskChangeFeed.isAvailable(offset)) {
+      writeReset(writer);
+    }
+
+    long remaining = timeout;
+    while (remaining > 0) {
+      List<TaskChangeEvent> events;
+      try {
+        events = subscription.awaitEventsAfter(offset, MAX_EVENTS_PER_READ, Math.min(remaining, HEARTBEAT_INTERVAL));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      if (events.isEmpty()) {
+        // comment line to detect disconnected clients
+        writer.write(": heartbeat\n\n");
+      }
+      else if (events.get(0).getOffset() > offset + 1) {
+        // the feed was overtaken while waiting
+        writeReset(writer);
+      }
+      else {
+        writeVisibleEvents(writer, events);
+      }
+
+      writer.flush();
+      remaining = deadline - System.currentTimeMillis();
+    }
+  }
+
+  protected void writeVisibleEvents(Writer writer, List<TaskChangeEvent> events) throws IOException {
+    List<TaskChangeEvent> visibleEvents = new ArrayList<TaskChangeEvent>();
+    for (TaskChangeEvent event : events) {
+      if (!subscription.accepts(event)) {
+        continue;
+      }
+      if (!event.isCandidatesResolved() && !isUnfiltered() && !isVisible(event)) {
+        // the candidates of the task were not loaded since no client was subscribed,
+        // so that it is unknown whether the user may see the event
+        writeReset(writer);
+        return;
+      }
+      visibleEvents.add(event);
+    }
+
+    if (authentication != null && !visibleEvents.isEmpty()) {
+      visibleEvents = commandExecutor.execute(new GetAuthorizedTaskChangeEventsCmd(visibleEvents, authentication));
+    }
+
+    for (TaskChangeEvent event : visibleEvents) {
+      writeEvent(writer, event);
+    }
+
+    long lastOffset = events.get(events.size() - 1).getOffset();
+    if (visibleEvents.isEmpty() || visibleEvents.get(visibleEvents.size() - 1).getOffset() != lastOffset) {
+      // move the last event id of the client behind the filtered events
+      writer.write("id: " + lastOffset + "\n\n");
+    }
+    offset = lastOffset;
+  }
+
+  protected boolean isUnfiltered() {
+    List<String> groupIds = subscription.getGroupIds();
+    return subscription.getUserId() == null && (groupIds == null || groupIds.isEmpty());
+  }
+
+  protected boolean isVisible(TaskChangeEvent event) {
+    return event.isVisibleTo(subscription.getUserId(), subscription.getGroupIds());
+  }
+
+  protected void writeEvent(Writer writer, TaskChangeEvent event) throws IOException {
+    writer.write("id: " + event.getOffset() + "\n");
+    writer.write("event: " + event.getEventName() + "\n");
+    writer.write("data: " + objectMapper.writeValueAsString(TaskChangeEventDto.fromTaskChangeEvent(event)) + "\n\n");
+  }
+
+  protected void writeReset(Writer writer) throws IOException {
+    offset = taskChangeFeed.getLatestOffset();
+    writer.write("id: " + offset + "\n");
+    writer.write("event: " + RESET_EVENT + "\n");
+    writer.write("data: {}\n\n");
+  }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.util;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>List of query results which are fetched in batches of {@link #batchSize} ordered by id.
+ * Each batch continues after the id of the last result of the previous batch instead of
+ * skipping an offset, so that fetching a batch does not get slower with every batch and
+ * no result is returned twice or skipped if results are inserted or deleted concurrently.</p>
+ *
+ * <p>{@link #iterator()} fetches and converts the batches while iterating, so that only one
+ * batch is held in memory. It is used by the {@link org.camunda.bpm.engine.rest.mapper.BatchedQueryResultListWriter}
+ * to write the list without reading it completely. All other list operations read the
+ * remaining batches once and keep the results.</p>
+ *
+ * <p>The first batch should be fetched with {@link #fetchFirstBatch()} in the resource
+ * method, so that a failing query still results in an error response.</p>
+ *
+ * @param <R> the type of the query results
+ * @param <D> the type of the dtos the results are converted to
+ */
+public abstract class BatchedQueryResultList<R, D> extends AbstractList<D> {
+
+  public static final int DEFAULT_BATCH_SIZE = 1000;
+
+  protected final int batchSize;
+
+  protected List<R> firstBatch;
+  protected List<D> results;
+
+  public BatchedQueryResultList() {
+    this(DEFAULT_BATCH_SIZE);
+  }
+
+  public BatchedQueryResultList(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Fetches the first batch of results eagerly.
+   */
+  public BatchedQueryResultList<R, D> fetchFirstBatch() {
+    firstBatch = fetchBatch(null, batchSize);
+    return this;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public Iterator<D> iterator() {
+    if (results != null) {
+      return results.iterator();
+    }
+    else {
+      return new BatchIterator();
+    }
+  }
+
+  public D get(int index) {
+    return getResults().get(index);
+  }
+
+  public int size() {
+    return getResults().size();
+  }
+
+  protected List<D> getResults() {
+    if (results == null) {
+      List<D> allResults = new ArrayList<D>();
+      Iterator<D> iterator = new BatchIterator();
+      while (iterator.hasNext()) {
+        allResults.add(iterator.next());
+      }
+      results = allResults;
+    }
+    return results;
+  }
+
+  /**
+   * @param lastId the id of the last result of the previous batch, <code>null</code> for the first batch
+   * @return the next results ordered by id, at most <code>batchSize</code>
+   */
+  protected abstract List<R> fetchBatch(String lastId, int batchSize);
+
+  protected abstract String getId(R result);
+
+  protected abstract D toDto(R result);
+
+  protected class BatchIterator implements Iterator<D> {
+
+    protected List<R> batch;
+    protected int position = 0;
+
+    public BatchIterator() {
+      batch = firstBatch != null ? firstBatch : fetchBatch(null, batchSize);
+    }
+
+    public boolean hasNext() {
+      if (position < batch.size()) {
+        return true;
+      }
+      else if (batch.size() < batchSize) {
+        return false;
+      }
+      else {
+        batch = fetchBatch(getId(batch.get(batch.size() - 1)), batchSize);
+        position = 0;
+        return !batch.isEmpty();
+      }
+    }
+
+    public D next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return toDto(batch.get(position++));
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+  }
+
+}
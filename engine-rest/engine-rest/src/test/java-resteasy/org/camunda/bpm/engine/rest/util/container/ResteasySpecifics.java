@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.rest.ExceptionHandlerTest;
 import org.camunda.bpm.engine.rest.application.TestCustomResourceApplication;
 import org.camunda.bpm.engine.rest.standalone.NoServletAuthenticationFilterTest;
 import org.camunda.bpm.engine.rest.standalone.NoServletEmptyBodyFilterTest;
+import org.camunda.bpm.engine.rest.standalone.ServletAsyncDispatchFilterTest;
 import org.camunda.bpm.engine.rest.standalone.ServletAuthenticationFilterTest;
 import org.camunda.bpm.engine.rest.standalone.ServletEmptyBodyFilterTest;
 import org.junit.rules.ExternalResource;
@@ -51,6 +52,7 @@ public class ResteasySpecifics implements ContainerSpecifics {
     TEST_RULE_FACTORIES.put(NoServletAuthenticationFilterTest.class, new ServletContainerRuleFactory("auth-filter-no-servlet-web.xml"));
     TEST_RULE_FACTORIES.put(ServletEmptyBodyFilterTest.class, new ServletContainerRuleFactory("empty-body-filter-servlet-web.xml"));
     TEST_RULE_FACTORIES.put(NoServletEmptyBodyFilterTest.class, new ServletContainerRuleFactory("empty-body-filter-no-servlet-web.xml"));
+    TEST_RULE_FACTORIES.put(ServletAsyncDispatchFilterTest.class, new ServletContainerRuleFactory("async-dispatch-filter-web.xml"));
     TEST_RULE_FACTORIES.put(CustomJacksonDateFormatTest.class, new ServletContainerRuleFactory("custom-date-format-web.xml"));
   }
 
@@ -20,12 +20,14 @@ import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.history.HistoricVariableInstanceQuery;
+import org.camunda.bpm.engine.impl.HistoricVariableInstanceQueryImpl;
 import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
 import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.helper.MockHistoricVariableInstanceBuilder;
 import org.camunda.bpm.engine.rest.helper.MockObjectValue;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.VariableTypeHelper;
+import org.camunda.bpm.engine.rest.util.BatchedQueryResultList;
 import org.camunda.bpm.engine.rest.util.OrderingBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.camunda.bpm.engine.variable.Variables;
@@ -138,6 +140,43 @@ public class HistoricVariableInstanceRestServiceQueryTest extends AbstractRestSe
     verifyNoMoreInteractions(mockedQuery);
   }
 
+  @Test
+  public void testNoParametersQueryFetchesBatchesById() {
+    // given
+    List<HistoricVariableInstance> firstBatch = new ArrayList<HistoricVariableInstance>();
+    for (int i = 0; i < BatchedQueryResultList.DEFAULT_BATCH_SIZE; i++) {
+      firstBatch.add(mockInstanceBuilder.id("variable" + i).build());
+    }
+    HistoricVariableInstance lastInstance = mockInstanceBuilder.id("lastVariable").build();
+
+    HistoricVariableInstanceQueryImpl queryImpl = mock(HistoricVariableInstanceQueryImpl.class);
+    when(queryImpl.idAfter(anyString())).thenReturn(queryImpl);
+    when(queryImpl.listPage(0, BatchedQueryResultList.DEFAULT_BATCH_SIZE))
+      .thenReturn(firstBatch)
+      .thenReturn(Collections.singletonList(lastInstance));
+    when(processEngine.getHistoryService().createHistoricVariableInstanceQuery()).thenReturn(queryImpl);
+
+    // when
+    Response response = given()
+      .then().expect()
+        .statusCode(Status.OK.getStatusCode())
+      .when()
+        .get(HISTORIC_VARIABLE_INSTANCE_RESOURCE_URL);
+
+    // then
+    InOrder inOrder = inOrder(queryImpl);
+    inOrder.verify(queryImpl).idAfter(null);
+    inOrder.verify(queryImpl).listPage(0, BatchedQueryResultList.DEFAULT_BATCH_SIZE);
+    inOrder.verify(queryImpl).idAfter("variable" + (BatchedQueryResultList.DEFAULT_BATCH_SIZE - 1));
+    inOrder.verify(queryImpl).listPage(0, BatchedQueryResultList.DEFAULT_BATCH_SIZE);
+    verify(queryImpl, never()).list();
+
+    List<String> ids = from(response.asString()).getList("id");
+    assertThat(ids).hasSize(BatchedQueryResultList.DEFAULT_BATCH_SIZE + 1);
+    assertThat(ids.get(0)).isEqualTo("variable0");
+    assertThat(ids.get(BatchedQueryResultList.DEFAULT_BATCH_SIZE)).isEqualTo("lastVariable");
+  }
+
   @Test
   public void testNoParametersQueryAsPost() {
     given()
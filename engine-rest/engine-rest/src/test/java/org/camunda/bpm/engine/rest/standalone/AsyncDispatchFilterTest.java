@@ -0,0 +1,282 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.standalone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncListener;
+import javax.servlet.DispatcherType;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Response.Status;
+
+import org.camunda.bpm.engine.rest.filter.AsyncDispatchFilter;
+import org.camunda.bpm.engine.rest.filter.AsyncDispatchFilter.EndpointStatistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterConfig;
+
+public class AsyncDispatchFilterTest {
+
+  protected AsyncDispatchFilter filter;
+
+  @Before
+  public void setUp() throws ServletException {
+    MockFilterConfig filterConfig = new MockFilterConfig();
+    filterConfig.addInitParameter(AsyncDispatchFilter.THREAD_POOL_SIZE_PARAM, "2");
+    filterConfig.addInitParameter(AsyncDispatchFilter.ENDPOINT_CONCURRENCY_LIMITS_PARAM, "task:1");
+
+    filter = new AsyncDispatchFilter();
+    filter.init(filterConfig);
+  }
+
+  @After
+  public void tearDown() {
+    filter.destroy();
+  }
+
+  @Test
+  public void shouldDispatchAdmittedRequest() throws Exception {
+    // given
+    HttpServletRequest request = mockRequest("/engine/default/process-definition/count");
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    AsyncContext asyncContext = mockAsyncContext(request, response);
+    FilterChain chain = mock(FilterChain.class);
+
+    // when
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(asyncContext, timeout(5000)).dispatch();
+    verify(chain, never()).doFilter(request, response);
+
+    EndpointStatistics statistics = filter.getEndpointStatistics().get("process-definition");
+    assertEquals(1, statistics.getAccepted());
+    assertEquals(1, statistics.getRunning());
+
+    // and when the dispatched request completes
+    getListener(asyncContext).onComplete(null);
+
+    // then
+    assertEquals(0, statistics.getRunning());
+  }
+
+  @Test
+  public void shouldPassDispatchedRequest() throws Exception {
+    // given
+    HttpServletRequest request = mockRequest("/engine/default/process-definition/count");
+    when(request.getDispatcherType()).thenReturn(DispatcherType.ASYNC);
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    FilterChain chain = mock(FilterChain.class);
+
+    // when
+    filter.doFilter(request, response, chain);
+
+    // then
+    verify(chain).doFilter(request, response);
+    verify(request, never()).startAsync(request, response);
+  }
+
+  @Test
+  public void shouldRejectRequestAboveEndpointLimit() throws Exception {
+    // given
+    FilterChain chain = mock(FilterChain.class);
+
+    HttpServletRequest firstRequest = mockRequest("/task");
+    HttpServletResponse firstResponse = mock(HttpServletResponse.class);
+    AsyncContext firstAsyncContext = mockAsyncContext(firstRequest, firstResponse);
+    filter.doFilter(firstRequest, firstResponse, chain);
+    verify(firstAsyncContext, timeout(5000)).dispatch();
+
+    HttpServletRequest secondRequest = mockRequest("/engine/default/task/anId/complete");
+    HttpServletResponse secondResponse = mock(HttpServletResponse.class);
+    StringWriter body = new StringWriter();
+    when(secondResponse.getWriter()).thenReturn(new PrintWriter(body));
+
+    // when
+    filter.doFilter(secondRequest, secondResponse, chain);
+
+    // then
+    verify(secondResponse).setStatus(Status.SERVICE_UNAVAILABLE.getStatusCode());
+    verify(secondRequest, never()).startAsync(secondRequest, secondResponse);
+    assertTrue(body.toString().contains("Too many concurrent requests for endpoint 'task'"));
+    assertEquals(1, filter.getEndpointStatistics().get("task").getRejected());
+
+    // and when the first request completes
+    getListener(firstAsyncContext).onComplete(null);
+
+    HttpServletRequest thirdRequest = mockRequest("/task");
+    HttpServletResponse thirdResponse = mock(HttpServletResponse.class);
+    AsyncContext thirdAsyncContext = mockAsyncContext(thirdRequest, thirdResponse);
+    filter.doFilter(thirdRequest, thirdResponse, chain);
+
+    // then
+    verify(thirdAsyncContext, timeout(5000)).dispatch();
+    assertEquals(2, filter.getEndpointStatistics().get("task").getAccepted());
+  }
+
+  @Test
+  public void shouldExecuteExcludedPathOnContainerThread() throws Exception {
+    // given
+    HttpServletRequest request = mockRequest("/engine/default/external-task/fetchAndLock");
+    HttpServletResponse response = mock(HttpServletResponse.class);
+
+    final AtomicReference<Thread> executingThread = new AtomicReference<Thread>();
+    FilterChain chain = new FilterChain() {
+      public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
+        executingThread.set(Thread.currentThread());
+      }
+    };
+
+    // when
+    filter.doFilter(request, response, chain);
+
+    // then
+    assertSame(Thread.currentThread(), executingThread.get());
+    verify(request, never()).startAsync(request, response);
+  }
+
+  @Test
+  public void shouldRejectRequestAfterMaxQueueTime() throws Exception {
+    // given
+    AsyncDispatchFilter filter = createFilter("1", "100");
+    FilterChain chain = mock(FilterChain.class);
+
+    try {
+      HttpServletRequest firstRequest = mockRequest("/task");
+      HttpServletResponse firstResponse = mock(HttpServletResponse.class);
+      AsyncContext firstAsyncContext = mockAsyncContext(firstRequest, firstResponse);
+      filter.doFilter(firstRequest, firstResponse, chain);
+      verify(firstAsyncContext, timeout(5000)).dispatch();
+
+      HttpServletRequest secondRequest = mockRequest("/task");
+      HttpServletResponse secondResponse = mockResponse();
+      AsyncContext secondAsyncContext = mockAsyncContext(secondRequest, secondResponse);
+
+      // when
+      filter.doFilter(secondRequest, secondResponse, chain);
+
+      // then
+      verify(secondAsyncContext, timeout(5000)).complete();
+      verify(secondAsyncContext, never()).dispatch();
+      verify(secondResponse).setStatus(Status.SERVICE_UNAVAILABLE.getStatusCode());
+      assertEquals(1, filter.getEndpointStatistics().get("task").getRejected());
+    }
+    finally {
+      filter.destroy();
+    }
+  }
+
+  @Test
+  public void shouldRejectWaitingRequestsOnDestroy() throws Exception {
+    // given
+    AsyncDispatchFilter filter = createFilter("1", "0");
+    FilterChain chain = mock(FilterChain.class);
+
+    HttpServletRequest firstRequest = mockRequest("/task");
+    HttpServletResponse firstResponse = mock(HttpServletResponse.class);
+    AsyncContext firstAsyncContext = mockAsyncContext(firstRequest, firstResponse);
+    filter.doFilter(firstRequest, firstResponse, chain);
+    verify(firstAsyncContext, timeout(5000)).dispatch();
+
+    // waits for an execution permit
+    HttpServletRequest secondRequest = mockRequest("/task");
+    HttpServletResponse secondResponse = mockResponse();
+    AsyncContext secondAsyncContext = mockAsyncContext(secondRequest, secondResponse);
+    filter.doFilter(secondRequest, secondResponse, chain);
+
+    // waits in the queue
+    HttpServletRequest thirdRequest = mockRequest("/task");
+    HttpServletResponse thirdResponse = mockResponse();
+    AsyncContext thirdAsyncContext = mockAsyncContext(thirdRequest, thirdResponse);
+    filter.doFilter(thirdRequest, thirdResponse, chain);
+
+    // when
+    filter.destroy();
+
+    // then
+    verify(secondAsyncContext, timeout(5000)).complete();
+    verify(secondResponse).setStatus(Status.SERVICE_UNAVAILABLE.getStatusCode());
+    verify(thirdAsyncContext, timeout(5000)).complete();
+    verify(thirdResponse).setStatus(Status.SERVICE_UNAVAILABLE.getStatusCode());
+    assertEquals(2, filter.getEndpointStatistics().get("task").getRejected());
+    assertEquals(0, filter.getEndpointStatistics().get("task").getQueued());
+  }
+
+  protected AsyncDispatchFilter createFilter(String threadPoolSize, String maxQueueTime) throws ServletException {
+    MockFilterConfig filterConfig = new MockFilterConfig();
+    filterConfig.addInitParameter(AsyncDispatchFilter.THREAD_POOL_SIZE_PARAM, threadPoolSize);
+    filterConfig.addInitParameter(AsyncDispatchFilter.MAX_QUEUE_TIME_PARAM, maxQueueTime);
+
+    AsyncDispatchFilter filter = new AsyncDispatchFilter() {
+      protected long getShutdownTimeout() {
+        return 0;
+      }
+    };
+    filter.init(filterConfig);
+    return filter;
+  }
+
+  protected HttpServletResponse mockResponse() throws IOException {
+    HttpServletResponse response = mock(HttpServletResponse.class);
+    when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+    return response;
+  }
+
+  protected HttpServletRequest mockRequest(String requestUrl) {
+    HttpServletRequest request = mock(HttpServletRequest.class);
+    when(request.getRequestURI()).thenReturn("/rest" + requestUrl);
+    when(request.getContextPath()).thenReturn("/rest");
+    when(request.getServletPath()).thenReturn("");
+    when(request.isAsyncSupported()).thenReturn(true);
+    when(request.getDispatcherType()).thenReturn(DispatcherType.REQUEST);
+    return request;
+  }
+
+  protected AsyncListener getListener(AsyncContext asyncContext) {
+    ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+    verify(asyncContext).addListener(listener.capture());
+    return listener.getValue();
+  }
+
+  protected AsyncContext mockAsyncContext(HttpServletRequest request, HttpServletResponse response) {
+    AsyncContext asyncContext = mock(AsyncContext.class);
+    when(asyncContext.getResponse()).thenReturn(response);
+    when(request.startAsync(request, response)).thenReturn(asyncContext);
+    return asyncContext;
+  }
+
+}
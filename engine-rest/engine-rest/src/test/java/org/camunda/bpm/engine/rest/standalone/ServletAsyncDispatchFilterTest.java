@@ -0,0 +1,134 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.rest.standalone;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.repository.ProcessDefinitionQuery;
+import org.camunda.bpm.engine.rest.AbstractRestServiceTest;
+import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+
+public class ServletAsyncDispatchFilterTest extends AbstractRestServiceTest {
+
+  @ClassRule
+  public static TestContainerRule rule = new TestContainerRule();
+
+  protected static final String PROCESS_DEFINITION_COUNT_URL = "http://localhost:38080/rest-test/rest/process-definition/count";
+  protected static final int CONCURRENT_REQUESTS = 20;
+
+  protected CloseableHttpClient client;
+  protected RequestConfig reqConfig;
+
+  @Before
+  public void setUpHttpClientAndRuntimeData() {
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(CONCURRENT_REQUESTS);
+    connectionManager.setDefaultMaxPerRoute(CONCURRENT_REQUESTS);
+    client = HttpClients.custom().setConnectionManager(connectionManager).build();
+    reqConfig = RequestConfig.custom().setConnectTimeout(3 * 60 * 1000).setSocketTimeout(10 * 60 * 1000).build();
+
+    ProcessDefinitionQuery processDefinitionQueryMock = mock(ProcessDefinitionQuery.class);
+    when(processDefinitionQueryMock.count()).thenReturn(5L);
+
+    RepositoryService repositoryServiceMock = mock(RepositoryService.class);
+    when(processEngine.getRepositoryService()).thenReturn(repositoryServiceMock);
+    when(repositoryServiceMock.createProcessDefinitionQuery()).thenReturn(processDefinitionQueryMock);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    client.close();
+  }
+
+  @Test
+  public void shouldExecuteDispatchedRequest() throws Exception {
+    // when
+    String response = getProcessDefinitionCount();
+
+    // then
+    assertThat(response, containsString("\"count\":5"));
+  }
+
+  @Test
+  public void shouldExecuteConcurrentRequests() throws Exception {
+    // given
+    ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+    List<Future<String>> responses = new ArrayList<Future<String>>();
+
+    try {
+      // when
+      for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+        responses.add(clients.submit(new Callable<String>() {
+          public String call() throws Exception {
+            return getProcessDefinitionCount();
+          }
+        }));
+      }
+
+      // then
+      for (Future<String> response : responses) {
+        assertThat(response.get(1, TimeUnit.MINUTES), containsString("\"count\":5"));
+      }
+    }
+    finally {
+      clients.shutdownNow();
+    }
+  }
+
+  protected String getProcessDefinitionCount() throws Exception {
+    HttpGet get = new HttpGet(PROCESS_DEFINITION_COUNT_URL);
+    get.setConfig(reqConfig);
+    get.setHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+
+    CloseableHttpResponse response = client.execute(get);
+    try {
+      assertEquals(200, response.getStatusLine().getStatusCode());
+      return EntityUtils.toString(response.getEntity(), "UTF-8");
+    }
+    finally {
+      response.close();
+    }
+  }
+
+}
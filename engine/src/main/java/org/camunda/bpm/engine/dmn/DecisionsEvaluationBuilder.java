@@ -16,6 +16,8 @@
  */
 package org.camunda.bpm.engine.dmn;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
@@ -70,4 +72,34 @@ public interface DecisionsEvaluationBuilder {
    */
   DmnDecisionResult evaluate();
 
+  /**
+   * Evaluates the decision once for each of the given input values within a single
+   * command. The decision definition is looked up and the permission is checked only
+   * once. Variables set by {@link #variables(Map)} are ignored.
+   *
+   * <p>The default implementation evaluates each of the input values in a separate
+   * command by {@link #variables(Map)} and {@link #evaluate()}. Builders of the
+   * process engine override it.</p>
+   *
+   * @param variablesList the input values, one map for each evaluation
+   * @return the results of the evaluations, in the order of the given input values
+   *
+   * @throws NotFoundException
+   *           when no decision definition is deployed with the given id / key.
+   *
+   * @throws NotValidException
+   *           when the given decision definition id / key is null.
+   *
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE_INSTANCE} permission
+   *           on {@link Resources#DECISION_DEFINITION}.
+   */
+  default List<DmnDecisionResult> evaluateForEach(List<Map<String, Object>> variablesList) {
+    List<DmnDecisionResult> results = new ArrayList<DmnDecisionResult>(variablesList.size());
+    for (Map<String, Object> variables : variablesList) {
+      results.add(variables(variables).evaluate());
+    }
+    return results;
+  }
+
 }
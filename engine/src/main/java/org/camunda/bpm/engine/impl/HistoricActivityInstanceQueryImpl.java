@@ -37,6 +37,7 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
 
   private static final long serialVersionUID = 1L;
   protected String activityInstanceId;
+  protected String idAfter;
   protected String processInstanceId;
   protected String executionId;
   protected String processDefinitionId;
@@ -284,6 +285,19 @@ public class HistoricActivityInstanceQueryImpl extends AbstractQuery<HistoricAct
   public String getActivityInstanceId() {
     return activityInstanceId;
   }
+
+  /**
+   * Only select activity instances with an id greater than the given one. Together with
+   * the default ordering by id, this reads the results page by page without an offset.
+   */
+  public HistoricActivityInstanceQueryImpl idAfter(String idAfter) {
+    this.idAfter = idAfter;
+    return this;
+  }
+
+  public String getIdAfter() {
+    return idAfter;
+  }
   public Date getStartedAfter() {
     return startedAfter;
   }
@@ -41,6 +41,7 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
   private static final long serialVersionUID = 1L;
 
   protected String variableId;
+  protected String idAfter;
   protected String processInstanceId;
   protected String processDefinitionId;
   protected String processDefinitionKey;
@@ -279,6 +280,19 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
 
   // getters and setters //////////////////////////////////////////////////////
 
+  /**
+   * Only select variable instances with an id greater than the given one. Together with
+   * the default ordering by id, this reads the results page by page without an offset.
+   */
+  public HistoricVariableInstanceQueryImpl idAfter(String idAfter) {
+    this.idAfter = idAfter;
+    return this;
+  }
+
+  public String getIdAfter() {
+    return idAfter;
+  }
+
   public String getProcessInstanceId() {
     return processInstanceId;
   }
@@ -34,7 +34,9 @@ import org.camunda.bpm.engine.RepositoryService;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StartupProfile;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.WarmUpDeploymentCacheCmd;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.SimpleIpBasedProvider;
@@ -78,6 +80,7 @@ public class ProcessEngineImpl implements ProcessEngine {
   protected HistoryLevel historyLevel;
   protected TransactionContextFactory transactionContextFactory;
   protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected Thread deploymentCacheWarmUpThread;
 
   public ProcessEngineImpl(ProcessEngineConfigurationImpl processEngineConfiguration) {
 
@@ -105,7 +108,19 @@ public class ProcessEngineImpl implements ProcessEngine {
     this.historyLevel = processEngineConfiguration.getHistoryLevel();
     this.transactionContextFactory = processEngineConfiguration.getTransactionContextFactory();
 
+    StartupProfile startupProfile = processEngineConfiguration.getStartupProfile();
+    startupProfile.start(StartupProfile.PHASE_SCHEMA_OPERATIONS);
     executeSchemaOperations();
+    startupProfile.end(StartupProfile.PHASE_SCHEMA_OPERATIONS);
+
+    if (processEngineConfiguration.isDeploymentCacheWarmUpEnabled()) {
+      if (processEngineConfiguration.isDeploymentCacheWarmUpAsync()) {
+        warmUpDeploymentCacheAsync();
+      }
+      else {
+        warmUpDeploymentCache();
+      }
+    }
 
     if (name == null) {
       LOG.processEngineCreated(ProcessEngines.NAME_DEFAULT);
@@ -152,11 +167,53 @@ public class ProcessEngineImpl implements ProcessEngine {
     }
   }
 
+  protected void warmUpDeploymentCache() {
+    StartupProfile startupProfile = processEngineConfiguration.getStartupProfile();
+    startupProfile.start(StartupProfile.PHASE_DEPLOYMENT_CACHE_WARM_UP);
+    commandExecutor.execute(new WarmUpDeploymentCacheCmd(processEngineConfiguration.getCacheCapacity()));
+    startupProfile.end(StartupProfile.PHASE_DEPLOYMENT_CACHE_WARM_UP);
+  }
+
+  protected void warmUpDeploymentCacheAsync() {
+    deploymentCacheWarmUpThread = new Thread(new Runnable() {
+      public void run() {
+        try {
+          warmUpDeploymentCache();
+        }
+        catch (Exception e) {
+          LOG.deploymentCacheWarmUpFailed(e);
+        }
+      }
+    }, "camunda-deployment-cache-warm-up");
+    deploymentCacheWarmUpThread.setDaemon(true);
+    deploymentCacheWarmUpThread.start();
+  }
+
+  /**
+   * Interrupts an asynchronous warm up of the deployment cache and waits until it
+   * has finished, so that it does not use the engine while it is being closed.
+   */
+  protected void stopDeploymentCacheWarmUp() {
+    Thread warmUpThread = deploymentCacheWarmUpThread;
+    if (warmUpThread != null && warmUpThread != Thread.currentThread()) {
+      warmUpThread.interrupt();
+      try {
+        warmUpThread.join();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    deploymentCacheWarmUpThread = null;
+  }
+
   @Override
   public void close() {
 
     ProcessEngines.unregister(this);
 
+    stopDeploymentCacheWarmUp();
+
     if(processEngineConfiguration.isMetricsEnabled()) {
       processEngineConfiguration.getDbMetricsReporter().stop();
     }
@@ -192,5 +192,14 @@ public class ProcessEngineLogger extends BaseLogger {
         "009", "Could not determine local IP address for generating a host name", e);
   }
 
-}
+  public void processEngineStartupProfile(String name, Object startupProfile) {
+    logInfo(
+        "010", "Process Engine {} started: {}", name, startupProfile);
+  }
 
+  public void deploymentCacheWarmUpFailed(Exception e) {
+    logWarn(
+        "011", "Unable to warm up the deployment cache: {}", e.getMessage(), e);
+  }
+
+}
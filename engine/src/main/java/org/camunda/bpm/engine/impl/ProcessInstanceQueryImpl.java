@@ -78,6 +78,10 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
   protected List<ProcessInstanceQueryImpl> queries = new ArrayList<>(Arrays.asList(this));
   protected boolean isOrQueryActive = false;
 
+  // keyset pagination of ids ////////////
+  protected String pageDeploymentId;
+  protected String pageIdAfter;
+
   public ProcessInstanceQueryImpl() {
   }
 
@@ -346,6 +350,57 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
       .findDeploymentIdMappingsByQueryCriteria(this);
   }
 
+  public List<String> evaluateExpressionsAndExecuteDeploymentIdsList(CommandContext commandContext) {
+    validate();
+    evaluateExpressions();
+    return !hasExcludingConditions() ? executeDeploymentIdsList(commandContext) : new ArrayList<>();
+  }
+
+  /**
+   * @return the ids of the deployments of the matching process instances
+   */
+  public List<String> executeDeploymentIdsList(CommandContext commandContext) {
+    checkQueryOk();
+
+    return commandContext
+      .getExecutionManager()
+      .findProcessInstanceDeploymentIdsByQueryCriteria(this);
+  }
+
+  /**
+   * Returns a page of the ids of the matching process instances of a deployment,
+   * ordered by id. Unlike paging by offset, the database can seek to the first id
+   * of the page, so the pages can be read one after another at constant cost.
+   *
+   * @param deploymentId the id of the deployment of the process instances
+   * @param idAfter the last id of the previous page or null for the first page
+   * @param pageSize the maximum number of ids to return
+   */
+  public List<String> executeIdsPage(CommandContext commandContext, String deploymentId, String idAfter, int pageSize) {
+    checkQueryOk();
+
+    // the paging of the caller is restored, the query may be executed again
+    int previousFirstResult = firstResult;
+    int previousMaxResults = maxResults;
+
+    pageDeploymentId = deploymentId;
+    pageIdAfter = idAfter;
+    firstResult = 0;
+    maxResults = pageSize;
+
+    try {
+      return commandContext
+        .getExecutionManager()
+        .findProcessInstanceIdsPageByQueryCriteria(this);
+    }
+    finally {
+      pageDeploymentId = null;
+      pageIdAfter = null;
+      firstResult = previousFirstResult;
+      maxResults = previousMaxResults;
+    }
+  }
+
   @Override
   protected void ensureVariablesInitialized() {
     super.ensureVariablesInitialized();
@@ -489,6 +544,14 @@ public class ProcessInstanceQueryImpl extends AbstractVariableQueryImpl<ProcessI
     return tenantIds;
   }
 
+  public String getPageDeploymentId() {
+    return pageDeploymentId;
+  }
+
+  public String getPageIdAfter() {
+    return pageIdAfter;
+  }
+
   @Override
   public ProcessInstanceQuery or() {
     if (this != queries.get(0)) {
@@ -26,8 +26,9 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
 import org.camunda.bpm.engine.impl.util.JsonUtil;
-import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -40,33 +41,40 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
 
   public abstract JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration();
 
+  protected static final String ID_CHUNK_ID = "idChunkId";
+  protected static final String CHUNKED_ID_COUNT = "chunkedIdCount";
+
   @Override
   public boolean createJobs(BatchEntity batch) {
     T configuration = readConfiguration(batch.getConfigurationBytes());
     String deploymentId = null;
 
-    DeploymentMappings idMappings = configuration.getIdMappings();
-    boolean deploymentAware = idMappings != null && !idMappings.isEmpty();
+    int batchJobsPerSeed = batch.getBatchJobsPerSeed();
+    int invocationsPerBatchJob = batch.getInvocationsPerBatchJob();
+    int idsPerSeedJob = invocationsPerBatchJob * batchJobsPerSeed;
 
+    readIdChunks(configuration, idsPerSeedJob);
     List<String> ids = configuration.getIds();
 
+    DeploymentMappings idMappings = configuration.getIdMappings();
+    boolean deploymentAware = idMappings != null && !idMappings.isEmpty();
+
+    int numberOfItemsToProcess;
     if (deploymentAware) {
-      sanitizeMappings(idMappings, ids);
+      sanitizeMappings(idMappings, ids.size() + configuration.getChunkedIdCount());
       DeploymentMapping mappingToProcess = idMappings.get(0);
-      ids = mappingToProcess.getIds(ids);
+      numberOfItemsToProcess = Math.min(idsPerSeedJob, mappingToProcess.getCount());
       deploymentId = mappingToProcess.getDeploymentId();
     }
-
-    int batchJobsPerSeed = batch.getBatchJobsPerSeed();
-    int invocationsPerBatchJob = batch.getInvocationsPerBatchJob();
-
-    int numberOfItemsToProcess = Math.min(invocationsPerBatchJob * batchJobsPerSeed, ids.size());
+    else {
+      numberOfItemsToProcess = Math.min(idsPerSeedJob, ids.size());
+    }
 
     // view of process instances to process
     List<String> processIds = ids.subList(0, numberOfItemsToProcess);
     createJobEntities(batch, configuration, deploymentId, processIds, invocationsPerBatchJob);
     if (deploymentAware) {
-      if (ids.isEmpty()) {
+      if (idMappings.get(0).getCount() == numberOfItemsToProcess) {
         // all ids of the deployment are handled
         idMappings.remove(0);
       } else {
@@ -74,17 +82,21 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
       }
     }
 
+    if (isIdChunkingEnabled() && ids.size() >= 2 * idsPerSeedJob) {
+      writeIdChunks(configuration, idsPerSeedJob);
+    }
+
     // update batch configuration
     batch.setConfigurationBytes(writeConfiguration(configuration));
 
-    return deploymentAware ? idMappings.isEmpty() : ids.isEmpty();
+    return deploymentAware ? idMappings.isEmpty() : ids.isEmpty() && configuration.getIdChunkId() == null;
   }
 
-  protected void sanitizeMappings(DeploymentMappings idMappings, List<String> ids) {
+  protected void sanitizeMappings(DeploymentMappings idMappings, int idCount) {
     // for mixed version SeedJob execution, there might be ids that have been processed
     // without updating the mappings, this is corrected here,
     // see https://jira.camunda.com/browse/CAM-11188
-    int elementsToRemove = idMappings.getOverallIdCount() - ids.size();
+    int elementsToRemove = idMappings.getOverallIdCount() - idCount;
     if (elementsToRemove > 0) {
       for (Iterator<DeploymentMapping> iterator = idMappings.iterator(); iterator.hasNext();) {
         DeploymentMapping deploymentMapping = iterator.next();
@@ -102,6 +114,90 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     }
   }
 
+  protected boolean isIdChunkingEnabled() {
+    return Context.getProcessEngineConfiguration().isBatchIdChunkingEnabled();
+  }
+
+  /**
+   * Appends the ids of the next chunks to the ids of the configuration until it
+   * holds at least the given number of ids or all chunks are read. Read chunks are
+   * deleted and the configuration references the chunk following them.
+   */
+  protected void readIdChunks(T configuration, int minIdCount) {
+    String idChunkId = configuration.getIdChunkId();
+    if (idChunkId == null || configuration.getIds().size() >= minIdCount) {
+      return;
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    ByteArrayManager byteArrayManager = commandContext.getByteArrayManager();
+
+    List<String> ids = new ArrayList<>(configuration.getIds());
+    while (idChunkId != null && ids.size() < minIdCount) {
+      ByteArrayEntity idChunk = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, idChunkId);
+      JsonObject chunk = JsonUtil.asObject(idChunk.getBytes());
+      List<String> chunkedIds = BatchIdChunks.getIds(chunk);
+
+      ids.addAll(chunkedIds);
+      configuration.setChunkedIdCount(configuration.getChunkedIdCount() - chunkedIds.size());
+      byteArrayManager.deleteByteArrayById(idChunkId);
+
+      idChunkId = BatchIdChunks.getNextChunkId(chunk);
+    }
+
+    configuration.setIds(ids);
+    configuration.setIdChunkId(idChunkId);
+  }
+
+  /**
+   * Moves the ids of the configuration into chunks of the given size which
+   * are read again by {@link #readIdChunks(BatchConfiguration, int)}.
+   */
+  protected void writeIdChunks(T configuration, int chunkSize) {
+    ByteArrayManager byteArrayManager = Context.getCommandContext().getByteArrayManager();
+
+    List<String> ids = configuration.getIds();
+
+    // chunks of the remaining ids are read before existing chunks, so they are
+    // inserted from the last to the first one to reference their successor
+    String nextChunkId = configuration.getIdChunkId();
+    int lastFromIndex = ((ids.size() - 1) / chunkSize) * chunkSize;
+    for (int fromIndex = lastFromIndex; fromIndex >= 0; fromIndex -= chunkSize) {
+      List<String> chunkedIds = ids.subList(fromIndex, Math.min(fromIndex + chunkSize, ids.size()));
+
+      ByteArrayEntity idChunk = new ByteArrayEntity();
+      idChunk.setBytes(BatchIdChunks.toBytes(chunkedIds, nextChunkId));
+      byteArrayManager.insert(idChunk);
+      nextChunkId = idChunk.getId();
+    }
+
+    configuration.setIdChunkId(nextChunkId);
+    configuration.setChunkedIdCount(configuration.getChunkedIdCount() + ids.size());
+    configuration.setIds(new ArrayList<String>());
+  }
+
+  @Override
+  public void deleteIdChunks(BatchEntity batch) {
+    byte[] configurationBytes = batch.getConfigurationBytes();
+    if (configurationBytes == null) {
+      return;
+    }
+
+    T configuration = readConfiguration(configurationBytes);
+    CommandContext commandContext = Context.getCommandContext();
+    ByteArrayManager byteArrayManager = commandContext.getByteArrayManager();
+
+    String idChunkId = configuration.getIdChunkId();
+    while (idChunkId != null) {
+      ByteArrayEntity idChunk = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, idChunkId);
+      if (idChunk == null) {
+        break;
+      }
+      byteArrayManager.deleteByteArrayById(idChunkId);
+      idChunkId = BatchIdChunks.getNextChunkId(JsonUtil.asObject(idChunk.getBytes()));
+    }
+  }
+
   protected void createJobEntities(BatchEntity batch, T configuration, String deploymentId,
       List<String> processIds, int invocationsPerBatchJob) {
 
@@ -180,14 +276,27 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
 
   @Override
   public byte[] writeConfiguration(T configuration) {
-    JsonElement jsonObject = getJsonConverterInstance().toJsonObject(configuration);
+    JsonObject jsonObject = getJsonConverterInstance().toJsonObject(configuration);
+
+    if (configuration.getIdChunkId() != null) {
+      JsonUtil.addField(jsonObject, ID_CHUNK_ID, configuration.getIdChunkId());
+      JsonUtil.addField(jsonObject, CHUNKED_ID_COUNT, configuration.getChunkedIdCount());
+    }
 
     return JsonUtil.asBytes(jsonObject);
   }
 
   @Override
   public T readConfiguration(byte[] serializedConfiguration) {
-    return getJsonConverterInstance().toObject(JsonUtil.asObject(serializedConfiguration));
+    JsonObject jsonObject = JsonUtil.asObject(serializedConfiguration);
+    T configuration = getJsonConverterInstance().toObject(jsonObject);
+
+    if (jsonObject.has(ID_CHUNK_ID)) {
+      configuration.setIdChunkId(JsonUtil.getString(jsonObject, ID_CHUNK_ID));
+      configuration.setChunkedIdCount(JsonUtil.getInt(jsonObject, CHUNKED_ID_COUNT));
+    }
+
+    return configuration;
   }
 
   protected abstract JsonObjectConverter<T> getJsonConverterInstance();
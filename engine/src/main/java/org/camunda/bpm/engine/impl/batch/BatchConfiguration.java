@@ -25,6 +25,11 @@ public class BatchConfiguration {
   protected DeploymentMappings idMappings;
   protected boolean failIfNotExists;
 
+  /** id of the first byte array holding further ids of the batch, each one references the next */
+  protected String idChunkId;
+  /** number of ids held by the id chunks */
+  protected int chunkedIdCount;
+
   public BatchConfiguration(List<String> ids) {
     this(ids, true);
   }
@@ -67,4 +72,20 @@ public class BatchConfiguration {
     this.failIfNotExists = failIfNotExists;
   }
 
+  public String getIdChunkId() {
+    return idChunkId;
+  }
+
+  public void setIdChunkId(String idChunkId) {
+    this.idChunkId = idChunkId;
+  }
+
+  public int getChunkedIdCount() {
+    return chunkedIdCount;
+  }
+
+  public void setChunkedIdCount(int chunkedIdCount) {
+    this.chunkedIdCount = chunkedIdCount;
+  }
+
 }
@@ -349,6 +349,7 @@ public class BatchEntity implements Batch, DbEntity, HasDbReferences, Nameable,
     jobDefinitionManager.delete(getBatchJobDefinition());
 
     commandContext.getBatchManager().delete(this);
+    getBatchJobHandler().deleteIdChunks(this);
     configuration.deleteByteArrayValue();
 
     fireHistoricEndEvent();
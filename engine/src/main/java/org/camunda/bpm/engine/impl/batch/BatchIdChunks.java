@@ -0,0 +1,226 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+
+import com.google.gson.JsonObject;
+
+/**
+ * The ids of a batch which are stored apart from its configuration, in byte arrays
+ * holding a chunk of ids each. Each chunk references the next one, so that the
+ * configuration only holds the id of the first chunk.
+ *
+ * @see org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isBatchIdChunkingEnabled()
+ */
+public class BatchIdChunks {
+
+  protected static final String IDS = "ids";
+  protected static final String NEXT = "next";
+
+  protected List<String> chunkIds = new ArrayList<>();
+  protected int idCount;
+  protected DeploymentMappings mappings = new DeploymentMappings();
+
+  /** the page which is inserted as soon as the id of the next chunk is known */
+  protected List<String> pendingIds;
+  protected String pendingChunkId;
+
+  /**
+   * @param nextChunkId the id of the chunk which is read after this one, or <code>null</code>
+   */
+  public static byte[] toBytes(List<String> ids, String nextChunkId) {
+    JsonObject json = JsonUtil.createObject();
+    JsonUtil.addListField(json, IDS, ids);
+    JsonUtil.addField(json, NEXT, nextChunkId);
+    return JsonUtil.asBytes(json);
+  }
+
+  public static List<String> getIds(JsonObject chunk) {
+    return JsonUtil.asStringList(JsonUtil.getArray(chunk, IDS));
+  }
+
+  /**
+   * @return the id of the chunk which is read after the given one, or <code>null</code>
+   */
+  public static String getNextChunkId(JsonObject chunk) {
+    return chunk.has(NEXT) ? JsonUtil.getString(chunk, NEXT) : null;
+  }
+
+  /**
+   * Pages through the ids of the process instances matching the query, deployment
+   * by deployment, and stores each page as a chunk. Each chunk is inserted in a
+   * separate transaction, so that neither the ids nor the chunks are kept in memory.
+   * The chunks are deleted again if the transaction of the given command context
+   * rolls back.
+   *
+   * @param query the query of the process instances
+   * @param chunkSize the maximum number of ids per chunk
+   */
+  public static BatchIdChunks collect(CommandContext commandContext, ProcessInstanceQueryImpl query, int chunkSize) {
+    BatchIdChunks idChunks = new BatchIdChunks();
+    idChunks.deleteOnRollback(commandContext);
+
+    try {
+      for (String deploymentId : query.evaluateExpressionsAndExecuteDeploymentIdsList(commandContext)) {
+        int deploymentIdCount = 0;
+
+        List<String> ids = query.executeIdsPage(commandContext, deploymentId, null, chunkSize);
+        while (!ids.isEmpty()) {
+          idChunks.addChunk(commandContext, ids);
+          deploymentIdCount += ids.size();
+
+          if (ids.size() < chunkSize) {
+            ids = Collections.emptyList();
+          }
+          else {
+            ids = query.executeIdsPage(commandContext, deploymentId, ids.get(ids.size() - 1), chunkSize);
+          }
+        }
+
+        if (deploymentIdCount > 0) {
+          idChunks.mappings.add(new DeploymentMapping(deploymentId, deploymentIdCount));
+        }
+      }
+
+      idChunks.insertPendingChunk(commandContext, null);
+    }
+    catch (RuntimeException e) {
+      idChunks.delete(commandContext);
+      throw e;
+    }
+
+    return idChunks;
+  }
+
+  /**
+   * Inserts the previous page linked to the chunk of the given ids, which is
+   * kept pending until the id of its own successor is known.
+   */
+  protected void addChunk(CommandContext commandContext, List<String> ids) {
+    String chunkId = commandContext.getProcessEngineConfiguration().getIdGenerator().getNextId();
+    insertPendingChunk(commandContext, chunkId);
+
+    pendingIds = ids;
+    pendingChunkId = chunkId;
+  }
+
+  protected void insertPendingChunk(CommandContext commandContext, String nextChunkId) {
+    if (pendingIds == null) {
+      return;
+    }
+
+    final String chunkId = pendingChunkId;
+    final byte[] bytes = toBytes(pendingIds, nextChunkId);
+
+    getCommandExecutorTxRequiresNew(commandContext).execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ByteArrayEntity chunk = new ByteArrayEntity();
+        chunk.setId(chunkId);
+        chunk.setBytes(bytes);
+        commandContext.getByteArrayManager().insert(chunk);
+        return null;
+      }
+    });
+
+    chunkIds.add(chunkId);
+    idCount += pendingIds.size();
+
+    pendingIds = null;
+    pendingChunkId = null;
+  }
+
+  /**
+   * The chunks are committed before the batch, so they are orphaned if the
+   * transaction which creates the batch rolls back, e.g. because of a failed
+   * authorization check or flush.
+   */
+  protected void deleteOnRollback(CommandContext commandContext) {
+    final CommandExecutor commandExecutor = getCommandExecutorTxRequiresNew(commandContext);
+    commandContext.getTransactionContext().addTransactionListener(TransactionState.ROLLED_BACK, new TransactionListener() {
+      public void execute(CommandContext commandContext) {
+        delete(commandExecutor);
+      }
+    });
+  }
+
+  /**
+   * Deletes the chunks, e.g. if the batch could not be created.
+   */
+  public void delete(CommandContext commandContext) {
+    delete(getCommandExecutorTxRequiresNew(commandContext));
+  }
+
+  protected void delete(CommandExecutor commandExecutor) {
+    if (chunkIds.isEmpty()) {
+      return;
+    }
+
+    final List<String> chunkIdsToDelete = new ArrayList<>(chunkIds);
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (String chunkId : chunkIdsToDelete) {
+          commandContext.getByteArrayManager().deleteByteArrayById(chunkId);
+        }
+        return null;
+      }
+    });
+
+    chunkIds.clear();
+    idCount = 0;
+    pendingIds = null;
+    pendingChunkId = null;
+  }
+
+  /**
+   * Sets the chunks as the ids of the given batch configuration.
+   */
+  public void applyTo(BatchConfiguration configuration) {
+    configuration.setIds(new ArrayList<String>());
+    configuration.setIdMappings(mappings);
+    configuration.setIdChunkId(chunkIds.isEmpty() ? null : chunkIds.get(0));
+    configuration.setChunkedIdCount(idCount);
+  }
+
+  protected CommandExecutor getCommandExecutorTxRequiresNew(CommandContext commandContext) {
+    return commandContext.getProcessEngineConfiguration().getCommandExecutorTxRequiresNew();
+  }
+
+  public List<String> getChunkIds() {
+    return chunkIds;
+  }
+
+  public int getIdCount() {
+    return idCount;
+  }
+
+  public DeploymentMappings getMappings() {
+    return mappings;
+  }
+
+}
@@ -66,4 +66,13 @@ public interface BatchJobHandler<T> extends JobHandler<BatchJobConfiguration> {
    */
   void deleteJobs(BatchEntity batch);
 
+  /**
+   * Delete the ids of a batch which have been moved out of its configuration.
+   *
+   * @param batch the batch to delete the data for
+   */
+  default void deleteIdChunks(BatchEntity batch) {
+    // no data by default
+  }
+
 }
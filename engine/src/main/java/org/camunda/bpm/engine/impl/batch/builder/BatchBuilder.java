@@ -26,7 +26,6 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 
-import java.util.List;
 import java.util.Map;
 
 public class BatchBuilder {
@@ -150,9 +149,7 @@ public class BatchBuilder {
       batch.setTotalJobs(totalJobsCount);
 
     } else {
-      List<String> instanceIds = config.getIds();
-
-      int instanceCount = instanceIds.size();
+      int instanceCount = getInstanceCount();
       int totalJobsCount = calculateTotalJobs(instanceCount, invocationPerBatchJobCount);
 
       batch.setTotalJobs(totalJobsCount);
@@ -182,9 +179,7 @@ public class BatchBuilder {
     }
 
     if (operationLogInstanceCountHandler != null) {
-      List<String> instanceIds = config.getIds();
-
-      int instanceCount = instanceIds.size();
+      int instanceCount = getInstanceCount();
       operationLogInstanceCountHandler.write(commandContext, instanceCount);
 
     } else {
@@ -193,6 +188,10 @@ public class BatchBuilder {
     }
   }
 
+  protected int getInstanceCount() {
+    return config.getIds().size() + config.getChunkedIdCount();
+  }
+
   protected int calculateTotalJobs(int instanceCount, int invocationPerBatchJobCount) {
     if (instanceCount == 0 || invocationPerBatchJobCount == 0) {
       return 0;
@@ -19,10 +19,17 @@ package org.camunda.bpm.engine.impl.bpmn.deployer;
 import java.io.ByteArrayInputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import javax.xml.parsers.SAXParserFactory;
+
+import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.impl.AbstractDefinitionDeployer;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -77,6 +84,9 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   protected static final PropertyMapKey<String, List<JobDeclaration<?, ?>>> JOB_DECLARATIONS_PROPERTY =
       new PropertyMapKey<String, List<JobDeclaration<?, ?>>>("JOB_DECLARATIONS_PROPERTY");
 
+  protected static final PropertyMapKey<String, BpmnParse> XML_PARSES_PROPERTY =
+      new PropertyMapKey<String, BpmnParse>("XML_PARSES_PROPERTY");
+
   protected ExpressionManager expressionManager;
   protected BpmnParser bpmnParser;
 
@@ -87,8 +97,107 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return BPMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  protected List<ProcessDefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
+    ExecutorService parseExecutor = Context.getProcessEngineConfiguration().getDeploymentParseExecutor();
+    if (parseExecutor != null) {
+      parseXmlInParallel(deployment, properties, parseExecutor);
+    }
+    return super.parseDefinitionResources(deployment, properties);
+  }
+
+  /**
+   * Reads the XML of the BPMN resources on the given executor. Each resource gets its own
+   * parse with its own SAX parser factory, and the worker threads use nothing else. Building
+   * the process definitions and calling the parse listeners stays on the deploying thread.
+   * If resources cannot be read, the exception of the first of them in resource order is
+   * thrown with the exceptions of the others suppressed.
+   */
+  protected void parseXmlInParallel(DeploymentEntity deployment, Properties properties, ExecutorService parseExecutor) {
+    Map<String, BpmnParse> bpmnParses = new LinkedHashMap<String, BpmnParse>();
+    for (ResourceEntity resource : deployment.getResources().values()) {
+      if (isResourceHandled(resource)) {
+        BpmnParse bpmnParse = createBpmnParse(deployment, resource);
+        bpmnParse.setSaxParserFactory(SAXParserFactory.newInstance());
+        bpmnParses.put(resource.getName(), bpmnParse);
+      }
+    }
+
+    if (bpmnParses.size() < 2) {
+      return;
+    }
+
+    List<Future<?>> xmlParses = new ArrayList<Future<?>>();
+    for (final BpmnParse bpmnParse : bpmnParses.values()) {
+      xmlParses.add(parseExecutor.submit(new Runnable() {
+        public void run() {
+          bpmnParse.parseXml();
+        }
+      }));
+    }
+
+    RuntimeException failure = null;
+    for (Future<?> xmlParse : xmlParses) {
+      try {
+        xmlParse.get();
+      }
+      catch (ExecutionException e) {
+        RuntimeException cause = toRuntimeException(e.getCause());
+        if (failure == null) {
+          failure = cause;
+        }
+        else {
+          failure.addSuppressed(cause);
+        }
+      }
+      catch (InterruptedException e) {
+        for (Future<?> pendingXmlParse : xmlParses) {
+          pendingXmlParse.cancel(true);
+        }
+        Thread.currentThread().interrupt();
+        throw new ProcessEngineException("Interrupted while parsing the resources of deployment '" + deployment.getName() + "'", e);
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+    properties.set(XML_PARSES_PROPERTY, bpmnParses);
+  }
+
+  protected RuntimeException toRuntimeException(Throwable throwable) {
+    if (throwable instanceof RuntimeException) {
+      return (RuntimeException) throwable;
+    }
+    else if (throwable instanceof Error) {
+      throw (Error) throwable;
+    }
+    else {
+      return new ProcessEngineException(throwable);
+    }
+  }
+
   @Override
   protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
+    BpmnParse bpmnParse = null;
+    if (properties.contains(XML_PARSES_PROPERTY)) {
+      bpmnParse = properties.get(XML_PARSES_PROPERTY).remove(resource.getName());
+    }
+    if (bpmnParse == null) {
+      bpmnParse = createBpmnParse(deployment, resource);
+    }
+
+    bpmnParse.execute();
+
+    if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
+      properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+    }
+    properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
+
+    return bpmnParse.getProcessDefinitions();
+  }
+
+  protected BpmnParse createBpmnParse(DeploymentEntity deployment, ResourceEntity resource) {
     byte[] bytes = resource.getBytes();
     ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
 
@@ -102,14 +211,7 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
       bpmnParse.setSchemaResource(null);
     }
 
-    bpmnParse.execute();
-
-    if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
-      properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
-    }
-    properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
-
-    return bpmnParse.getProcessDefinitions();
+    return bpmnParse;
   }
 
   @Override
@@ -40,6 +40,10 @@ import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.naming.InitialContext;
 import javax.sql.DataSource;
@@ -92,6 +96,7 @@ import org.camunda.bpm.engine.impl.ModificationBatchJobHandler;
 import org.camunda.bpm.engine.impl.OptimizeService;
 import org.camunda.bpm.engine.impl.PriorityProvider;
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.RepositoryServiceImpl;
 import org.camunda.bpm.engine.impl.RestartProcessInstancesJobHandler;
 import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
@@ -143,6 +148,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.db.sql.SharedConfigurationSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
 import org.camunda.bpm.engine.impl.digest.Default16ByteSaltGenerator;
 import org.camunda.bpm.engine.impl.digest.PasswordEncryptor;
@@ -165,6 +171,7 @@ import org.camunda.bpm.engine.impl.event.EventHandlerImpl;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
 import org.camunda.bpm.engine.impl.externaltask.DefaultExternalTaskPriorityProvider;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -202,6 +209,7 @@ import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.history.transformer.CmmnHistoryTransformListener;
 import org.camunda.bpm.engine.impl.identity.DefaultPasswordPolicyImpl;
 import org.camunda.bpm.engine.impl.identity.ReadOnlyIdentityProvider;
+import org.camunda.bpm.engine.impl.identity.VerifiedCredentialsCache;
 import org.camunda.bpm.engine.impl.identity.WritableIdentityProvider;
 import org.camunda.bpm.engine.impl.identity.db.DbIdentityServiceProvider;
 import org.camunda.bpm.engine.impl.incident.DefaultIncidentHandler;
@@ -335,6 +343,7 @@ import org.camunda.bpm.engine.impl.scripting.engine.ScriptingEngines;
 import org.camunda.bpm.engine.impl.scripting.engine.VariableScopeResolverFactory;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptEnvResolver;
 import org.camunda.bpm.engine.impl.scripting.env.ScriptingEnvironment;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeFeed;
 import org.camunda.bpm.engine.impl.telemetry.dto.Data;
 import org.camunda.bpm.engine.impl.telemetry.dto.Database;
 import org.camunda.bpm.engine.impl.telemetry.dto.Internals;
@@ -359,6 +368,7 @@ import org.camunda.bpm.engine.impl.variable.serializer.StringValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializerFactory;
 import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.impl.variable.serializer.compact.CompactObjectSerializer;
 import org.camunda.bpm.engine.impl.variable.serializer.jpa.EntityManagerSession;
 import org.camunda.bpm.engine.impl.variable.serializer.jpa.EntityManagerSessionFactory;
 import org.camunda.bpm.engine.impl.variable.serializer.jpa.JPAVariableSerializer;
@@ -401,6 +411,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public static SqlSessionFactory cachedSqlSessionFactory;
 
+  /**
+   * parsed MyBatis configurations by mapping settings, see {@link #isMyBatisMappingCacheEnabled()};
+   * the cached configurations have no environment, so that they don't keep a data source reachable
+   */
+  public static Map<MyBatisMappingCacheKey, Configuration> cachedMyBatisConfigurations = new HashMap<>();
+
   // SERVICES /////////////////////////////////////////////////////////////////
 
   protected RepositoryService repositoryService = new RepositoryServiceImpl();
@@ -526,6 +542,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * default priority for batch jobs
    */
   protected long batchJobPriority = DefaultJobPriorityProvider.DEFAULT_PRIORITY;
+  /**
+   * If true, the ids of a large batch are moved from its configuration into
+   * separate byte arrays holding the ids of one seed job each, so that a seed
+   * job only reads and writes the ids it processes
+   */
+  protected boolean batchIdChunkingEnabled = false;
 
   // OTHER ////////////////////////////////////////////////////////////////////
   protected List<FormEngine> customFormEngines;
@@ -650,6 +672,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PasswordManager passwordManager;
 
+  /**
+   * The time in milliseconds successfully checked credentials are cached for,
+   * 0 disables the cache of verified credentials. Changing or locking a user only
+   * invalidates the cache of this engine; other engines of a cluster accept the
+   * previous password until it expires.
+   */
+  protected long verifiedCredentialsCacheTimeToLive = 0;
+
+  protected int verifiedCredentialsCacheMaxSize = 1000;
+
+  protected VerifiedCredentialsCache verifiedCredentialsCache;
+
   protected SaltGenerator saltGenerator;
 
   protected Set<String> registeredDeployments;
@@ -688,6 +722,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If the execution tree of a process instance has at least this number of executions
+   * when it is fetched, the event subscriptions, jobs, incidents, tasks, external tasks
+   * and variables of all its executions are fetched along with it, using one query per
+   * entity type. Values lower than 1 disable this; the entities are then fetched lazily
+   * per execution.
+   */
+  protected int executionTreeAggregatePrefetchThreshold = 0;
+
   /**
    * If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
@@ -743,6 +786,30 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected boolean enableExpressionsInAdhocQueries = false;
   protected boolean enableExpressionsInStoredQueries = true;
 
+  /**
+   * The time in milliseconds the counts of filters are cached for, 0 disables the
+   * cache of filter counts.
+   */
+  protected long filterCountCacheTimeToLive = 0;
+
+  protected int filterCountCacheMaxSize = 10000;
+
+  protected FilterCountCache filterCountCache;
+
+  /**
+   * The number of task change events kept by the {@link TaskChangeFeed},
+   * 0 disables the feed.
+   */
+  protected int taskChangeFeedCapacity = 0;
+
+  /**
+   * The maximum number of clients which can wait for events of the {@link TaskChangeFeed}
+   * at the same time. Each waiting client of the REST API holds a request thread.
+   */
+  protected int taskChangeFeedMaxSubscriptions = TaskChangeFeed.DEFAULT_MAX_SUBSCRIPTIONS;
+
+  protected TaskChangeFeed taskChangeFeed;
+
   /**
    * If false, disables XML eXternal Entity (XXE) Processing. This provides protection against XXE Processing attacks.
    */
@@ -786,6 +853,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<MigratingTransitionInstanceValidator> migratingTransitionInstanceValidators;
   protected List<MigratingCompensationInstanceValidator> migratingCompensationInstanceValidators;
 
+  /**
+   * The number of process instances whose executions, jobs, tasks, event subscriptions,
+   * incidents, external tasks and variables are fetched together, with one query per
+   * entity type, when a migration is executed. Values lower than 2 fetch the entities
+   * of each process instance separately.
+   */
+  protected int migrationPrefetchSize = 0;
+
   // Default user permission for task
   protected Permission defaultUserPermissionForTask;
 
@@ -796,6 +871,20 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isUseSharedSqlSessionFactory = false;
 
+  /**
+   * If true, the parsed MyBatis mapping is kept for the lifetime of the class loader
+   * and reused by all process engines with the same database type, table prefix,
+   * statement timeout and batch processing setting. Each engine still uses its own
+   * data source and transaction factory. Has no effect if
+   * {@link #isUseSharedSqlSessionFactory()} is enabled.
+   *
+   * <p>The mapping is still parsed once per class loader, so this only speeds up
+   * the start of the second and later engines, not the start of a single engine.
+   * The cached mapping is kept when an engine using it is closed, so that engines
+   * which are restarted reuse it; see {@link #clearCachedMyBatisConfigurations()}.</p>
+   */
+  protected boolean myBatisMappingCacheEnabled = false;
+
   //History cleanup configuration
   protected String historyCleanupBatchWindowStartTime;
   protected String historyCleanupBatchWindowEndTime = "00:00";
@@ -891,14 +980,76 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected HttpClient telemetryHttpClient;
   protected Data telemetryData;
 
+  // byte array compression //////////////////////////////////////////
+
+  /**
+   * If true, byte arrays (e.g. serialized variables, history details and
+   * exception stacktraces) are stored compressed. Byte arrays written without
+   * compression remain readable, so compression can be enabled for existing databases.
+   */
+  protected boolean byteArrayCompressionEnabled = false;
+  /** byte arrays smaller than this number of bytes are stored uncompressed */
+  protected int byteArrayCompressionThreshold = 1024;
+
+  // variable fetch projection ////////////////////////////////////////
+
+  /**
+   * If true, reading variables by name from a scope whose variables are not yet
+   * loaded fetches only these variables with one query instead of all variables
+   * of the scope. All variables are still loaded once variables of the scope are
+   * modified or listed.
+   */
+  protected boolean variableFetchProjectionEnabled = false;
+
+  // deployment ///////////////////////////////////////////////////////////
+
+  /**
+   * The number of threads which read the XML of the BPMN resources of a deployment
+   * in parallel. With a value of 1 the resources are read by the deploying thread.
+   * The process definitions are always built, versioned and persisted by the deploying thread.
+   */
+  protected int deploymentParseParallelism = 1;
+
+  /** reads the XML of BPMN resources, see {@link #deploymentParseParallelism} */
+  protected ExecutorService deploymentParseExecutor;
+
+  /**
+   * If true, the latest versions of the process definitions are parsed into the
+   * deployment cache when the process engine is built, instead of when they are
+   * used for the first time. At most as many definitions as the cache capacity are loaded.
+   */
+  protected boolean deploymentCacheWarmUpEnabled = false;
+
+  /**
+   * If true, the deployment cache is warmed up by a separate thread and building
+   * the process engine does not wait for it.
+   */
+  protected boolean deploymentCacheWarmUpAsync = false;
+
+  // startup profile //////////////////////////////////////////////////////
+
+  /** the durations of the phases of building the process engine */
+  protected StartupProfile startupProfile = new StartupProfile();
+
 
   // buildProcessEngine ///////////////////////////////////////////////////////
 
   @Override
   public ProcessEngine buildProcessEngine() {
+    startupProfile.start(StartupProfile.PHASE_TOTAL);
+
+    startupProfile.start(StartupProfile.PHASE_INIT);
     init();
+    startupProfile.end(StartupProfile.PHASE_INIT);
+
     processEngine = new ProcessEngineImpl(this);
+
+    startupProfile.start(StartupProfile.PHASE_POST_PROCESS_ENGINE_BUILD);
     invokePostProcessEngineBuild(processEngine);
+    startupProfile.end(StartupProfile.PHASE_POST_PROCESS_ENGINE_BUILD);
+
+    startupProfile.end(StartupProfile.PHASE_TOTAL);
+    ProcessEngineLogger.INSTANCE.processEngineStartupProfile(processEngine.getName(), startupProfile);
     return processEngine;
   }
 
@@ -918,8 +1069,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initFormEngines();
     initFormTypes();
     initFormFieldValidators();
+    startupProfile.start(StartupProfile.PHASE_SCRIPTING);
     initScripting();
+    startupProfile.end(StartupProfile.PHASE_SCRIPTING);
+    startupProfile.start(StartupProfile.PHASE_DMN_ENGINE);
     initDmnEngine();
+    startupProfile.end(StartupProfile.PHASE_DMN_ENGINE);
     initBusinessCalendarManager();
     initCommandContextFactory();
     initTransactionContextFactory();
@@ -928,18 +1083,27 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initIdGenerator();
     initFailedJobCommandFactory();
     initDeployers();
+    initDeploymentParseExecutor();
     initJobProvider();
     initExternalTaskPriorityProvider();
     initBatchHandlers();
+    startupProfile.start(StartupProfile.PHASE_JOB_EXECUTOR);
     initJobExecutor();
+    startupProfile.end(StartupProfile.PHASE_JOB_EXECUTOR);
+    startupProfile.start(StartupProfile.PHASE_DATA_SOURCE);
     initDataSource();
+    startupProfile.end(StartupProfile.PHASE_DATA_SOURCE);
     initTransactionFactory();
+    startupProfile.start(StartupProfile.PHASE_SQL_SESSION_FACTORY);
     initSqlSessionFactory();
+    startupProfile.end(StartupProfile.PHASE_SQL_SESSION_FACTORY);
     initIdentityProviderSessionFactory();
     initSessionFactories();
     initValueTypeResolver();
     initTypeValidator();
+    startupProfile.start(StartupProfile.PHASE_SERIALIZATION);
     initSerialization();
+    startupProfile.end(StartupProfile.PHASE_SERIALIZATION);
     initJpa();
     initDelegateInterceptor();
     initEventHandlers();
@@ -948,6 +1112,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initConditionHandler();
     initIncidentHandlers();
     initPasswordDigest();
+    initVerifiedCredentialsCache();
+    initFilterCountCache();
+    initTaskChangeFeed();
     initDeploymentRegistration();
     initDeploymentHandlerFactory();
     initResourceAuthorizationProvider();
@@ -1542,6 +1709,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         sqlSessionFactory = cachedSqlSessionFactory;
       }
 
+      MyBatisMappingCacheKey mappingCacheKey = getMyBatisMappingCacheKey();
+      if (sqlSessionFactory == null && mappingCacheKey != null) {
+        Configuration cachedConfiguration = cachedMyBatisConfigurations.get(mappingCacheKey);
+        if (cachedConfiguration != null) {
+          Environment environment = new Environment("default", transactionFactory, dataSource);
+          sqlSessionFactory = new SharedConfigurationSqlSessionFactory(cachedConfiguration, environment);
+        }
+      }
+
       if (sqlSessionFactory == null) {
         InputStream inputStream = null;
         try {
@@ -1572,13 +1748,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
             configuration.setDefaultExecutorType(ExecutorType.BATCH);
           }
 
-          sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
+          if (mappingCacheKey != null) {
+            // the cached configuration must not keep the data source of this engine,
+            // sessions are opened with the environment of the factory instead
+            configuration.setEnvironment(null);
+            cachedMyBatisConfigurations.put(mappingCacheKey, configuration);
+            sqlSessionFactory = new SharedConfigurationSqlSessionFactory(configuration, environment);
+          }
+          else {
+            sqlSessionFactory = new DefaultSqlSessionFactory(configuration);
+          }
 
           if (isUseSharedSqlSessionFactory) {
             cachedSqlSessionFactory = sqlSessionFactory;
           }
 
-
         } catch (Exception e) {
           throw new ProcessEngineException("Error while building ibatis SqlSessionFactory: " + e.getMessage(), e);
         } finally {
@@ -1588,6 +1772,31 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  /**
+   * @return the key of the parsed MyBatis configuration of this engine in
+   * {@link #cachedMyBatisConfigurations} or null if the mapping is not cached
+   */
+  protected MyBatisMappingCacheKey getMyBatisMappingCacheKey() {
+    if (!myBatisMappingCacheEnabled || isUseSharedSqlSessionFactory) {
+      return null;
+    }
+
+    // subclasses may provide their own mapping files, which are loaded by the class loader
+    return new MyBatisMappingCacheKey(getClass(), ReflectUtil.getClassLoader(), databaseType
+        + "|" + databaseTablePrefix
+        + "|" + jdbcStatementTimeout
+        + "|" + isJdbcBatchProcessing());
+  }
+
+  /**
+   * Removes all parsed MyBatis configurations from {@link #cachedMyBatisConfigurations}.
+   */
+  public static void clearCachedMyBatisConfigurations() {
+    synchronized (ProcessEngineConfigurationImpl.class) {
+      cachedMyBatisConfigurations.clear();
+    }
+  }
+
   public static void initSqlSessionFactoryProperties(Properties properties, String databaseTablePrefix, String databaseType) {
 
     if (databaseType != null) {
@@ -1867,6 +2076,22 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initDeploymentParseExecutor() {
+    if (deploymentParseExecutor == null && deploymentParseParallelism > 1) {
+      deploymentParseExecutor = Executors.newFixedThreadPool(deploymentParseParallelism, new ThreadFactory() {
+        protected final AtomicInteger threadNumber = new AtomicInteger();
+
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "camunda-deployment-parse-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          // don't keep the class loader of the first deploying application
+          thread.setContextClassLoader(ProcessEngineConfigurationImpl.class.getClassLoader());
+          return thread;
+        }
+      });
+    }
+  }
+
   protected Collection<? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<>();
 
@@ -2214,6 +2439,8 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_INSTANCES);
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    metricsRegistry.createMeter(Metrics.VARIABLE_INSTANCE_FETCH_PROJECTED);
   }
 
   protected void initSerialization() {
@@ -2237,6 +2464,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       variableSerializers.addSerializer(new DoubleValueSerializer());
       variableSerializers.addSerializer(new ByteArrayValueSerializer());
       variableSerializers.addSerializer(new JavaObjectSerializer());
+      variableSerializers.addSerializer(new CompactObjectSerializer());
       variableSerializers.addSerializer(new FileValueSerializer());
 
       if (customPostVariableSerializers != null) {
@@ -2514,6 +2742,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initFilterCountCache() {
+    if(filterCountCache == null && filterCountCacheTimeToLive > 0) {
+      filterCountCache = new FilterCountCache(filterCountCacheTimeToLive, filterCountCacheMaxSize);
+    }
+  }
+
+  protected void initTaskChangeFeed() {
+    if(taskChangeFeed == null && taskChangeFeedCapacity > 0) {
+      taskChangeFeed = new TaskChangeFeed(taskChangeFeedCapacity, taskChangeFeedMaxSubscriptions);
+    }
+  }
+
+  protected void initVerifiedCredentialsCache() {
+    if(verifiedCredentialsCache == null && verifiedCredentialsCacheTimeToLive > 0) {
+      verifiedCredentialsCache = new VerifiedCredentialsCache(verifiedCredentialsCacheTimeToLive, verifiedCredentialsCacheMaxSize);
+    }
+  }
+
   public void initPasswordPolicy() {
     if(passwordPolicy == null && enablePasswordPolicy) {
       passwordPolicy = new DefaultPasswordPolicyImpl();
@@ -2983,6 +3229,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheFactory = cacheFactory;
   }
 
+  public int getCacheCapacity() {
+    return cacheCapacity;
+  }
+
   public void setCacheCapacity(int cacheCapacity) {
     this.cacheCapacity = cacheCapacity;
   }
@@ -3629,6 +3879,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.batchJobPriority = batchJobPriority;
   }
 
+  public boolean isBatchIdChunkingEnabled() {
+    return batchIdChunkingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchIdChunkingEnabled(boolean batchIdChunkingEnabled) {
+    this.batchIdChunkingEnabled = batchIdChunkingEnabled;
+    return this;
+  }
+
   public SessionFactory getIdentityProviderSessionFactory() {
     return identityProviderSessionFactory;
   }
@@ -3669,6 +3928,33 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.passwordManager = passwordManager;
   }
 
+  public long getVerifiedCredentialsCacheTimeToLive() {
+    return verifiedCredentialsCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setVerifiedCredentialsCacheTimeToLive(long verifiedCredentialsCacheTimeToLive) {
+    this.verifiedCredentialsCacheTimeToLive = verifiedCredentialsCacheTimeToLive;
+    return this;
+  }
+
+  public int getVerifiedCredentialsCacheMaxSize() {
+    return verifiedCredentialsCacheMaxSize;
+  }
+
+  public ProcessEngineConfigurationImpl setVerifiedCredentialsCacheMaxSize(int verifiedCredentialsCacheMaxSize) {
+    this.verifiedCredentialsCacheMaxSize = verifiedCredentialsCacheMaxSize;
+    return this;
+  }
+
+  public VerifiedCredentialsCache getVerifiedCredentialsCache() {
+    return verifiedCredentialsCache;
+  }
+
+  public ProcessEngineConfigurationImpl setVerifiedCredentialsCache(VerifiedCredentialsCache verifiedCredentialsCache) {
+    this.verifiedCredentialsCache = verifiedCredentialsCache;
+    return this;
+  }
+
   public Set<String> getRegisteredDeployments() {
     return registeredDeployments;
   }
@@ -3752,6 +4038,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.isExecutionTreePrefetchEnabled = isExecutionTreePrefetchingEnabled;
   }
 
+  public int getExecutionTreeAggregatePrefetchThreshold() {
+    return executionTreeAggregatePrefetchThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setExecutionTreeAggregatePrefetchThreshold(int executionTreeAggregatePrefetchThreshold) {
+    this.executionTreeAggregatePrefetchThreshold = executionTreeAggregatePrefetchThreshold;
+    return this;
+  }
+
   public ProcessEngineImpl getProcessEngine() {
     return processEngine;
   }
@@ -3957,6 +4252,11 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    if (deploymentParseExecutor != null) {
+      deploymentParseExecutor.shutdownNow();
+      deploymentParseExecutor = null;
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -4070,6 +4370,60 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.enableExpressionsInStoredQueries = enableExpressionsInStoredQueries;
   }
 
+  public long getFilterCountCacheTimeToLive() {
+    return filterCountCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheTimeToLive(long filterCountCacheTimeToLive) {
+    this.filterCountCacheTimeToLive = filterCountCacheTimeToLive;
+    return this;
+  }
+
+  public int getFilterCountCacheMaxSize() {
+    return filterCountCacheMaxSize;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCacheMaxSize(int filterCountCacheMaxSize) {
+    this.filterCountCacheMaxSize = filterCountCacheMaxSize;
+    return this;
+  }
+
+  public FilterCountCache getFilterCountCache() {
+    return filterCountCache;
+  }
+
+  public ProcessEngineConfigurationImpl setFilterCountCache(FilterCountCache filterCountCache) {
+    this.filterCountCache = filterCountCache;
+    return this;
+  }
+
+  public int getTaskChangeFeedCapacity() {
+    return taskChangeFeedCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setTaskChangeFeedCapacity(int taskChangeFeedCapacity) {
+    this.taskChangeFeedCapacity = taskChangeFeedCapacity;
+    return this;
+  }
+
+  public int getTaskChangeFeedMaxSubscriptions() {
+    return taskChangeFeedMaxSubscriptions;
+  }
+
+  public ProcessEngineConfigurationImpl setTaskChangeFeedMaxSubscriptions(int taskChangeFeedMaxSubscriptions) {
+    this.taskChangeFeedMaxSubscriptions = taskChangeFeedMaxSubscriptions;
+    return this;
+  }
+
+  public TaskChangeFeed getTaskChangeFeed() {
+    return taskChangeFeed;
+  }
+
+  public ProcessEngineConfigurationImpl setTaskChangeFeed(TaskChangeFeed taskChangeFeed) {
+    this.taskChangeFeed = taskChangeFeed;
+    return this;
+  }
+
   public boolean isEnableXxeProcessing() {
     return enableXxeProcessing;
   }
@@ -4724,4 +5078,135 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     return this;
   }
 
+  public boolean isByteArrayCompressionEnabled() {
+    return byteArrayCompressionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionEnabled(boolean byteArrayCompressionEnabled) {
+    this.byteArrayCompressionEnabled = byteArrayCompressionEnabled;
+    return this;
+  }
+
+  public int getByteArrayCompressionThreshold() {
+    return byteArrayCompressionThreshold;
+  }
+
+  public ProcessEngineConfigurationImpl setByteArrayCompressionThreshold(int byteArrayCompressionThreshold) {
+    this.byteArrayCompressionThreshold = byteArrayCompressionThreshold;
+    return this;
+  }
+
+  public boolean isVariableFetchProjectionEnabled() {
+    return variableFetchProjectionEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setVariableFetchProjectionEnabled(boolean variableFetchProjectionEnabled) {
+    this.variableFetchProjectionEnabled = variableFetchProjectionEnabled;
+    return this;
+  }
+
+  public int getDeploymentParseParallelism() {
+    return deploymentParseParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseParallelism(int deploymentParseParallelism) {
+    this.deploymentParseParallelism = deploymentParseParallelism;
+    return this;
+  }
+
+  public ExecutorService getDeploymentParseExecutor() {
+    return deploymentParseExecutor;
+  }
+
+  /**
+   * Sets the executor which reads the XML of BPMN resources instead of the threads
+   * configured by {@link #setDeploymentParseParallelism(int)}. The executor is shut
+   * down when the process engine is closed.
+   */
+  public ProcessEngineConfigurationImpl setDeploymentParseExecutor(ExecutorService deploymentParseExecutor) {
+    this.deploymentParseExecutor = deploymentParseExecutor;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmUpEnabled() {
+    return deploymentCacheWarmUpEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpEnabled(boolean deploymentCacheWarmUpEnabled) {
+    this.deploymentCacheWarmUpEnabled = deploymentCacheWarmUpEnabled;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmUpAsync() {
+    return deploymentCacheWarmUpAsync;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpAsync(boolean deploymentCacheWarmUpAsync) {
+    this.deploymentCacheWarmUpAsync = deploymentCacheWarmUpAsync;
+    return this;
+  }
+
+  public StartupProfile getStartupProfile() {
+    return startupProfile;
+  }
+
+  public boolean isMyBatisMappingCacheEnabled() {
+    return myBatisMappingCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMyBatisMappingCacheEnabled(boolean myBatisMappingCacheEnabled) {
+    this.myBatisMappingCacheEnabled = myBatisMappingCacheEnabled;
+    return this;
+  }
+
+  public int getMigrationPrefetchSize() {
+    return migrationPrefetchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMigrationPrefetchSize(int migrationPrefetchSize) {
+    this.migrationPrefetchSize = migrationPrefetchSize;
+    return this;
+  }
+
+  /**
+   * Key of a parsed MyBatis configuration in {@link #cachedMyBatisConfigurations}. The
+   * engine configuration class and the class loader are compared by identity, so that
+   * classes of the same name loaded by different class loaders don't share a mapping.
+   */
+  public static class MyBatisMappingCacheKey {
+
+    protected final Class<?> configurationClass;
+    protected final ClassLoader classLoader;
+    protected final String mappingSettings;
+
+    public MyBatisMappingCacheKey(Class<?> configurationClass, ClassLoader classLoader, String mappingSettings) {
+      this.configurationClass = configurationClass;
+      this.classLoader = classLoader;
+      this.mappingSettings = mappingSettings;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = System.identityHashCode(configurationClass);
+      result = 31 * result + System.identityHashCode(classLoader);
+      result = 31 * result + mappingSettings.hashCode();
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof MyBatisMappingCacheKey)) {
+        return false;
+      }
+      MyBatisMappingCacheKey other = (MyBatisMappingCacheKey) obj;
+      return configurationClass == other.configurationClass
+          && classLoader == other.classLoader
+          && mappingSettings.equals(other.mappingSettings);
+    }
+
+  }
+
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cfg;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Records the duration of the phases of building a process engine in the order
+ * in which the phases ended. Phases may be nested, e.g. the initialization of
+ * the sql session factory is part of the initialization of the configuration.
+ */
+public class StartupProfile {
+
+  public static final String PHASE_INIT = "init";
+  public static final String PHASE_DATA_SOURCE = "init.dataSource";
+  public static final String PHASE_SQL_SESSION_FACTORY = "init.sqlSessionFactory";
+  public static final String PHASE_SCRIPTING = "init.scripting";
+  public static final String PHASE_DMN_ENGINE = "init.dmnEngine";
+  public static final String PHASE_SERIALIZATION = "init.serialization";
+  public static final String PHASE_JOB_EXECUTOR = "init.jobExecutor";
+  public static final String PHASE_SCHEMA_OPERATIONS = "schemaOperations";
+  public static final String PHASE_DEPLOYMENT_CACHE_WARM_UP = "deploymentCacheWarmUp";
+  public static final String PHASE_POST_PROCESS_ENGINE_BUILD = "postProcessEngineBuild";
+  public static final String PHASE_TOTAL = "total";
+
+  protected final Map<String, Long> startTimes = new LinkedHashMap<String, Long>();
+  protected final Map<String, Long> durations = new LinkedHashMap<String, Long>();
+
+  public synchronized void start(String phase) {
+    startTimes.put(phase, System.nanoTime());
+  }
+
+  public synchronized void end(String phase) {
+    Long startTime = startTimes.remove(phase);
+    if (startTime != null) {
+      durations.put(phase, (System.nanoTime() - startTime) / 1000000L);
+    }
+  }
+
+  /**
+   * @return the duration in milliseconds of the given phase or null if the phase has not ended
+   */
+  public synchronized Long getDuration(String phase) {
+    return durations.get(phase);
+  }
+
+  /**
+   * @return the durations in milliseconds of all ended phases in the order in which they ended
+   */
+  public synchronized Map<String, Long> getDurations() {
+    return Collections.unmodifiableMap(new LinkedHashMap<String, Long>(durations));
+  }
+
+  @Override
+  public synchronized String toString() {
+    StringBuilder report = new StringBuilder();
+    for (Map.Entry<String, Long> phase : durations.entrySet()) {
+      if (report.length() > 0) {
+        report.append(", ");
+      }
+      report.append(phase.getKey()).append("=").append(phase.getValue()).append("ms");
+    }
+    return report.toString();
+  }
+
+}
@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.cmd;
 
 import java.io.Serializable;
 
+import org.camunda.bpm.engine.impl.identity.VerifiedCredentialsCache;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 
@@ -38,7 +39,25 @@ public class CheckPassword implements Command<Boolean>, Serializable {
   }
 
   public Boolean execute(CommandContext commandContext) {
-    return commandContext.getReadOnlyIdentityProvider().checkPassword(userId, password);
+    VerifiedCredentialsCache verifiedCredentialsCache = commandContext.getProcessEngineConfiguration().getVerifiedCredentialsCache();
+
+    // the identity provider checks whether the authenticated user may read the user,
+    // which a cached verification would skip
+    if (verifiedCredentialsCache == null || userId == null || password == null
+        || commandContext.getAuthorizationManager().isAuthCheckExecuted()) {
+      return commandContext.getReadOnlyIdentityProvider().checkPassword(userId, password);
+    }
+
+    if (verifiedCredentialsCache.isVerified(userId, password)) {
+      return true;
+    }
+
+    long generation = verifiedCredentialsCache.getGeneration();
+    boolean verified = commandContext.getReadOnlyIdentityProvider().checkPassword(userId, password);
+    if (verified) {
+      verifiedCredentialsCache.put(userId, password, generation);
+    }
+    return verified;
   }
 
 }
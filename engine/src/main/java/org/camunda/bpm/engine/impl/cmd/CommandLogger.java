@@ -302,4 +302,14 @@ public class CommandLogger extends ProcessEngineLogger {
       "Propagation of escalation {} failed. ",
       escalationCode), cause);
   }
+
+  public void warnDeploymentCacheWarmUpFailed(String definitionId, Exception e) {
+    logWarn(
+        "045", "Unable to load process definition '{}' into the deployment cache: {}", definitionId, e.getMessage(), e);
+  }
+
+  public void infoDeploymentCacheWarmedUp(int loadedDefinitions) {
+    logInfo(
+        "046", "Loaded {} process definitions into the deployment cache", loadedDefinitions);
+  }
 }
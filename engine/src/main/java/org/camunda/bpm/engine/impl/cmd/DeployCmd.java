@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.cmd;
 import java.io.ByteArrayInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -27,6 +28,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.xml.stream.XMLStreamException;
+
 import org.camunda.bpm.application.ProcessApplicationReference;
 import org.camunda.bpm.application.ProcessApplicationRegistration;
 import org.camunda.bpm.engine.ProcessEngine;
@@ -56,6 +59,7 @@ import org.camunda.bpm.engine.impl.repository.DeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.repository.ProcessApplicationDeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
+import org.camunda.bpm.engine.impl.util.xml.DefinitionIdScanner;
 import org.camunda.bpm.engine.repository.CandidateDeployment;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.DeploymentHandler;
@@ -67,9 +71,11 @@ import org.camunda.bpm.engine.repository.Resource;
 import org.camunda.bpm.engine.repository.ResumePreviousBy;
 import org.camunda.bpm.model.bpmn.Bpmn;
 import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.impl.BpmnModelConstants;
 import org.camunda.bpm.model.bpmn.instance.Process;
 import org.camunda.bpm.model.cmmn.Cmmn;
 import org.camunda.bpm.model.cmmn.CmmnModelInstance;
+import org.camunda.bpm.model.cmmn.impl.CmmnModelConstants;
 import org.camunda.bpm.model.cmmn.instance.Case;
 
 /**
@@ -84,6 +90,11 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
   private static final CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
   private static final TransactionLogger TX_LOG = ProcessEngineLogger.TX_LOGGER;
 
+  protected static final DefinitionIdScanner BPMN_PROCESS_ID_SCANNER = new DefinitionIdScanner(
+      Collections.singleton(BpmnModelConstants.BPMN20_NS), BpmnModelConstants.BPMN_ELEMENT_PROCESS);
+  protected static final DefinitionIdScanner CMMN_CASE_ID_SCANNER = new DefinitionIdScanner(
+      new HashSet<>(Arrays.asList(CmmnModelConstants.CMMN10_NS, CmmnModelConstants.CMMN11_NS)), CmmnModelConstants.CMMN_ELEMENT_CASE);
+
   protected DeploymentBuilderImpl deploymentBuilder;
   protected DeploymentHandler deploymentHandler;
 
@@ -509,25 +520,49 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
 
     for (Resource resource : resources) {
       if (isBpmnResource(resource)) {
+        processDefinitionKeys.addAll(scanDefinitionIds(resource, BPMN_PROCESS_ID_SCANNER));
 
-        ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
-        BpmnModelInstance model = Bpmn.readModelFromStream(byteStream);
-        for (Process process : model.getDefinitions().getChildElementsByType(Process.class)) {
-          processDefinitionKeys.add(process.getId());
-        }
       } else if (isCmmnResource(resource)) {
-
-        ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
-        CmmnModelInstance model = Cmmn.readModelFromStream(byteStream);
-        for (Case cmmnCase : model.getDefinitions().getCases()) {
-          processDefinitionKeys.add(cmmnCase.getId());
-        }
+        processDefinitionKeys.addAll(scanDefinitionIds(resource, CMMN_CASE_ID_SCANNER));
       }
     }
 
     return processDefinitionKeys;
   }
 
+  /**
+   * Reads the ids of the processes or cases of an already deployed resource
+   * without building a model instance. Falls back to the model API if the
+   * resource cannot be read by the streaming parser.
+   */
+  protected List<String> scanDefinitionIds(Resource resource, DefinitionIdScanner scanner) {
+    try {
+      return scanner.scan(resource.getBytes());
+    }
+    catch (XMLStreamException e) {
+      return readDefinitionIds(resource);
+    }
+  }
+
+  protected List<String> readDefinitionIds(Resource resource) {
+    List<String> definitionIds = new ArrayList<>();
+    ByteArrayInputStream byteStream = new ByteArrayInputStream(resource.getBytes());
+
+    if (isBpmnResource(resource)) {
+      BpmnModelInstance model = Bpmn.readModelFromStream(byteStream);
+      for (Process process : model.getDefinitions().getChildElementsByType(Process.class)) {
+        definitionIds.add(process.getId());
+      }
+    } else {
+      CmmnModelInstance model = Cmmn.readModelFromStream(byteStream);
+      for (Case cmmnCase : model.getDefinitions().getCases()) {
+        definitionIds.add(cmmnCase.getId());
+      }
+    }
+
+    return definitionIds;
+  }
+
   protected Set<String> getAllDeploymentIds(DeploymentBuilderImpl deploymentBuilder) {
     Set<String> result = new HashSet<>();
 
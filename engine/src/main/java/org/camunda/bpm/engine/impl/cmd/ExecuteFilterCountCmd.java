@@ -17,6 +17,8 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache.FilterCountKey;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.query.Query;
@@ -38,7 +40,20 @@ public class ExecuteFilterCountCmd extends AbstractExecuteFilterCmd implements C
 
   public Long execute(CommandContext commandContext) {
     Filter filter = getFilter(commandContext);
-    return filter.getQuery().count();
+
+    FilterCountCache filterCountCache = commandContext.getProcessEngineConfiguration().getFilterCountCache();
+    if (filterCountCache == null || extendingQuery != null) {
+      return filter.getQuery().count();
+    }
+
+    FilterCountKey key = filterCountCache.createKey(filterId, commandContext);
+    Long count = filterCountCache.get(key);
+    if (count == null) {
+      long generation = filterCountCache.getGeneration();
+      count = filter.getQuery().count();
+      filterCountCache.put(key, count, generation);
+    }
+    return count;
   }
 
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Permissions.READ_TASK;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_DEFINITION;
+import static org.camunda.bpm.engine.authorization.Resources.TASK;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeEvent;
+
+/**
+ * Returns the task change events the given authentication may read. Like the task query,
+ * this requires READ permission on the task or READ_TASK permission on the process
+ * definition, and that the task belongs to no tenant or to one of the authenticated tenants.
+ *
+ * <p>The authorizations of a completed or deleted task and of removed assignees and candidates
+ * no longer exist when the events are read. Their events are also authorized by the
+ * identities kept with the event, see {@link TaskChangeEvent#isReadAuthorized(String, List)}.</p>
+ */
+public class GetAuthorizedTaskChangeEventsCmd implements Command<List<TaskChangeEvent>> {
+
+  protected List<TaskChangeEvent> events;
+  protected Authentication authentication;
+
+  public GetAuthorizedTaskChangeEventsCmd(List<TaskChangeEvent> events, Authentication authentication) {
+    this.events = events;
+    this.authentication = authentication;
+  }
+
+  public List<TaskChangeEvent> execute(CommandContext commandContext) {
+    AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+    if (authentication == null || authorizationManager.isCamundaAdmin(authentication)) {
+      return events;
+    }
+
+    boolean checkAuthorization = authorizationManager.isAuthorizationEnabled();
+    boolean checkTenant = commandContext.getProcessEngineConfiguration().isTenantCheckEnabled();
+
+    List<TaskChangeEvent> authorizedEvents = new ArrayList<TaskChangeEvent>();
+    for (TaskChangeEvent event : events) {
+      if ((!checkTenant || isAuthenticatedTenant(event))
+          && (!checkAuthorization || isAuthorized(authorizationManager, event))) {
+        authorizedEvents.add(event);
+      }
+    }
+    return authorizedEvents;
+  }
+
+  protected boolean isAuthenticatedTenant(TaskChangeEvent event) {
+    List<String> tenantIds = authentication.getTenantIds();
+    return event.getTenantId() == null || (tenantIds != null && tenantIds.contains(event.getTenantId()));
+  }
+
+  protected boolean isAuthorized(AuthorizationManager authorizationManager, TaskChangeEvent event) {
+    String userId = authentication.getUserId();
+    List<String> groupIds = authentication.getGroupIds();
+
+    return event.isReadAuthorized(userId, groupIds)
+        || authorizationManager.isAuthorized(userId, groupIds, READ, TASK, event.getTaskId())
+        || (event.getProcessDefinitionKey() != null
+            && authorizationManager.isAuthorized(userId, groupIds, READ_TASK, PROCESS_DEFINITION, event.getProcessDefinitionKey()));
+  }
+
+}
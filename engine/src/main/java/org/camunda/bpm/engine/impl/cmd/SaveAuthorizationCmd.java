@@ -70,6 +70,10 @@ public class SaveAuthorizationCmd implements Command<Authorization> {
     } else {
       previousValues = commandContext.getDbEntityManager().selectById(AuthorizationEntity.class, authorization.getId());
       authorizationManager.update(authorization);
+      if (previousValues != null) {
+        // the counts of the previous user or group of the authorization are affected as well
+        authorizationManager.invalidateFilterCounts(previousValues);
+      }
       operationType = UserOperationLogEntry.OPERATION_TYPE_UPDATE;
     }
     commandContext.getOperationLogManager().logAuthorizationOperation(operationType, authorization, previousValues);
@@ -0,0 +1,78 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.impl.ProcessDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * Parses the latest versions of the process definitions into the deployment cache,
+ * so that the first commands after a restart of the process engine don't have to.
+ * Definitions which cannot be loaded are skipped and loaded again on first use.
+ * If the executing thread is interrupted, e.g. because the process engine is closed,
+ * the remaining definitions are skipped as well.
+ */
+public class WarmUpDeploymentCacheCmd implements Command<Integer> {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected int maxDefinitions;
+
+  public WarmUpDeploymentCacheCmd(int maxDefinitions) {
+    this.maxDefinitions = maxDefinitions;
+  }
+
+  @Override
+  public Integer execute(CommandContext commandContext) {
+    List<ProcessDefinition> processDefinitions = commandContext.runWithoutAuthorization(new Callable<List<ProcessDefinition>>() {
+      public List<ProcessDefinition> call() throws Exception {
+        return new ProcessDefinitionQueryImpl()
+            .latestVersion()
+            .orderByDeploymentId().asc()
+            .listPage(0, maxDefinitions);
+      }
+    });
+
+    DeploymentCache deploymentCache = commandContext.getProcessEngineConfiguration().getDeploymentCache();
+
+    int loadedDefinitions = 0;
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      if (Thread.currentThread().isInterrupted()) {
+        break;
+      }
+      try {
+        // resolves all definitions of the resource at once
+        deploymentCache.findDeployedProcessDefinitionById(processDefinition.getId());
+        loadedDefinitions++;
+      }
+      catch (Exception e) {
+        LOG.warnDeploymentCacheWarmUpFailed(processDefinition.getId(), e);
+      }
+    }
+
+    LOG.infoDeploymentCacheWarmedUp(loadedDefinitions);
+    return loadedDefinitions;
+  }
+
+}
@@ -30,8 +30,10 @@ import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
 import org.camunda.bpm.engine.impl.batch.BatchElementConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchIdChunks;
 import org.camunda.bpm.engine.impl.batch.builder.BatchBuilder;
 import org.camunda.bpm.engine.impl.batch.deletion.DeleteProcessInstanceBatchConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
@@ -67,6 +69,10 @@ public class DeleteProcessInstanceBatchCmd implements Command<Batch> {
 
   @Override
   public Batch execute(CommandContext commandContext) {
+    if (isIdChunkingApplicable(commandContext)) {
+      return createBatchWithIdChunks(commandContext);
+    }
+
     BatchElementConfiguration elementConfiguration = collectProcessInstanceIds(commandContext);
 
     ensureNotEmpty(BadUserRequestException.class, "processInstanceIds", elementConfiguration.getIds());
@@ -79,6 +85,41 @@ public class DeleteProcessInstanceBatchCmd implements Command<Batch> {
         .build();
   }
 
+  /**
+   * The ids of a batch which is created from a process instance query only
+   * can be paged into id chunks instead of being collected in memory.
+   */
+  protected boolean isIdChunkingApplicable(CommandContext commandContext) {
+    return commandContext.getProcessEngineConfiguration().isBatchIdChunkingEnabled()
+        && CollectionUtil.isEmpty(processInstanceIds)
+        && processInstanceQuery != null
+        && historicProcessInstanceQuery == null;
+  }
+
+  protected Batch createBatchWithIdChunks(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl engineConfiguration = commandContext.getProcessEngineConfiguration();
+    int chunkSize = engineConfiguration.getBatchJobsPerSeed() * engineConfiguration.getInvocationsPerBatchJob();
+
+    BatchIdChunks idChunks = BatchIdChunks.collect(commandContext, (ProcessInstanceQueryImpl) processInstanceQuery, chunkSize);
+    ensureNotEmpty(BadUserRequestException.class, "processInstanceIds", idChunks.getChunkIds());
+
+    BatchConfiguration configuration = getConfiguration(new BatchElementConfiguration());
+    idChunks.applyTo(configuration);
+
+    try {
+      return new BatchBuilder(commandContext)
+          .type(Batch.TYPE_PROCESS_INSTANCE_DELETION)
+          .config(configuration)
+          .permission(BatchPermissions.CREATE_BATCH_DELETE_RUNNING_PROCESS_INSTANCES)
+          .operationLogHandler(this::writeUserOperationLog)
+          .build();
+    }
+    catch (RuntimeException e) {
+      idChunks.delete(commandContext);
+      throw e;
+    }
+  }
+
   protected BatchElementConfiguration collectProcessInstanceIds(CommandContext commandContext) {
     BatchElementConfiguration elementConfiguration = new BatchElementConfiguration();
 
@@ -36,6 +36,7 @@ import org.camunda.bpm.engine.impl.javax.el.ELContext;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.util.TypedValueField;
 import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.variable.VariableMap;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
@@ -190,7 +191,34 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
   }
 
   public CoreVariableInstance getVariableInstanceLocal(String name) {
-    return getVariableStore().getVariable(name);
+    VariableStore<CoreVariableInstance> variableStore = getVariableStore();
+
+    if (!variableStore.isInitialized() && isVariableFetchProjectionEnabled()) {
+      long fetchedVariableCount = variableStore.getFetchedVariableCount();
+      CoreVariableInstance variableInstance = variableStore.fetchVariable(name);
+      markProjectedVariableFetch(variableStore.getFetchedVariableCount() - fetchedVariableCount);
+      return variableInstance;
+    }
+
+    return variableStore.getVariable(name);
+  }
+
+  /**
+   * @return true if reading variables by name should only fetch these variables
+   * instead of all variables of the scope
+   */
+  protected boolean isVariableFetchProjectionEnabled() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null
+        && processEngineConfiguration.isVariableFetchProjectionEnabled()
+        && Context.getCommandContext() != null;
+  }
+
+  protected void markProjectedVariableFetch(long fetchedVariables) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (fetchedVariables > 0 && processEngineConfiguration.isMetricsEnabled()) {
+      processEngineConfiguration.getMetricsRegistry().markOccurrence(Metrics.VARIABLE_INSTANCE_FETCH_PROJECTED, fetchedVariables);
+    }
   }
 
   public List<CoreVariableInstance> getVariableInstancesLocal() {
@@ -198,7 +226,16 @@ public abstract class AbstractVariableScope implements Serializable, VariableSco
   }
 
   public List<CoreVariableInstance> getVariableInstancesLocal(Collection<String> variableNames) {
-    return getVariableStore().getVariables(variableNames);
+    VariableStore<CoreVariableInstance> variableStore = getVariableStore();
+
+    if (variableNames != null && !variableStore.isInitialized() && isVariableFetchProjectionEnabled()) {
+      long fetchedVariableCount = variableStore.getFetchedVariableCount();
+      List<CoreVariableInstance> variableInstances = new ArrayList<CoreVariableInstance>(variableStore.fetchVariables(variableNames).values());
+      markProjectedVariableFetch(variableStore.getFetchedVariableCount() - fetchedVariableCount);
+      return variableInstances;
+    }
+
+    return variableStore.getVariables(variableNames);
   }
 
   public boolean hasVariables() {
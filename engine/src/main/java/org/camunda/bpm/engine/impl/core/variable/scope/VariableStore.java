@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.core.variable.scope;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -40,6 +41,17 @@ public class VariableStore<T extends CoreVariableInstance> {
 
   protected Map<String, T> removedVariables = new HashMap<String, T>();
 
+  /**
+   * Variables fetched by name before the store was initialized; a <code>null</code> value
+   * means that the variable does not exist.
+   */
+  protected Map<String, T> fetchedVariables;
+
+  /**
+   * Number of variables loaded by {@link #fetchVariables(Collection)} instead of initializing the store
+   */
+  protected long fetchedVariableCount = 0;
+
   protected List<VariableStoreObserver<T>> observers;
 
   public VariableStore() {
@@ -62,6 +74,7 @@ public class VariableStore<T extends CoreVariableInstance> {
     }
     else {
       this.variablesProvider = variablesProvider;
+      this.fetchedVariables = null;
     }
 
   }
@@ -107,6 +120,64 @@ public class VariableStore<T extends CoreVariableInstance> {
     return getVariablesMap().get(name);
   }
 
+  /**
+   * Returns the variable with the given name. In contrast to {@link #getVariable(String)}, this
+   * does not initialize the store if it is not yet initialized, but only fetches the requested
+   * variable. Must only be used for reading variables.
+   */
+  public T fetchVariable(String name) {
+    return fetchVariables(Collections.singletonList(name)).get(name);
+  }
+
+  /**
+   * Returns the existing variables with the given names. If the store is not yet initialized,
+   * the variables that have not been fetched before are fetched together and remembered
+   * instead of initializing the store. Must only be used for reading variables.
+   */
+  public Map<String, T> fetchVariables(Collection<String> variableNames) {
+    if (isInitialized()) {
+      return getVariablesMap(variableNames);
+    }
+
+    if (fetchedVariables == null) {
+      fetchedVariables = new HashMap<String, T>();
+    }
+
+    List<String> missingVariableNames = new ArrayList<String>();
+    for (String variableName : variableNames) {
+      if (!fetchedVariables.containsKey(variableName)) {
+        missingVariableNames.add(variableName);
+      }
+    }
+
+    if (!missingVariableNames.isEmpty()) {
+      for (String variableName : missingVariableNames) {
+        fetchedVariables.put(variableName, null);
+      }
+      for (T variable : variablesProvider.provideVariables(missingVariableNames)) {
+        fetchedVariables.put(variable.getName(), variable);
+        fetchedVariableCount++;
+      }
+    }
+
+    Map<String, T> result = new HashMap<String, T>();
+    for (String variableName : variableNames) {
+      T variable = fetchedVariables.get(variableName);
+      if (variable != null) {
+        result.put(variableName, variable);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return the number of variables which have been loaded by fetching them by name
+   * instead of initializing the store
+   */
+  public long getFetchedVariableCount() {
+    return fetchedVariableCount;
+  }
+
   public List<T> getVariables() {
     return new ArrayList<T>(getVariablesMap().values());
   }
@@ -167,6 +238,9 @@ public class VariableStore<T extends CoreVariableInstance> {
       for (T variable : variablesProvider.provideVariables()) {
         variables.put(variable.getName(), variable);
       }
+
+      // the store is complete now, variables fetched before are contained in it
+      fetchedVariables = null;
     }
   }
 
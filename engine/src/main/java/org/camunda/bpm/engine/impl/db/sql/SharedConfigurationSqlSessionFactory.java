@@ -0,0 +1,148 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.TransactionFactory;
+import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
+
+/**
+ * A {@link SqlSessionFactory} which opens sessions on a parsed MyBatis {@link Configuration}
+ * that is shared between process engines, using the data source and transaction factory
+ * of its own {@link Environment} instead of the one of the configuration.
+ *
+ * <p>This allows process engines with the same mapping settings to parse the
+ * mapping files only once.</p>
+ */
+public class SharedConfigurationSqlSessionFactory implements SqlSessionFactory {
+
+  protected final Configuration configuration;
+  protected final Environment environment;
+
+  public SharedConfigurationSqlSessionFactory(Configuration configuration, Environment environment) {
+    this.configuration = configuration;
+    this.environment = environment;
+  }
+
+  public SqlSession openSession() {
+    return openSessionFromDataSource(configuration.getDefaultExecutorType(), null, false);
+  }
+
+  public SqlSession openSession(boolean autoCommit) {
+    return openSessionFromDataSource(configuration.getDefaultExecutorType(), null, autoCommit);
+  }
+
+  public SqlSession openSession(Connection connection) {
+    return openSessionFromConnection(configuration.getDefaultExecutorType(), connection);
+  }
+
+  public SqlSession openSession(TransactionIsolationLevel level) {
+    return openSessionFromDataSource(configuration.getDefaultExecutorType(), level, false);
+  }
+
+  public SqlSession openSession(ExecutorType execType) {
+    return openSessionFromDataSource(execType, null, false);
+  }
+
+  public SqlSession openSession(ExecutorType execType, boolean autoCommit) {
+    return openSessionFromDataSource(execType, null, autoCommit);
+  }
+
+  public SqlSession openSession(ExecutorType execType, TransactionIsolationLevel level) {
+    return openSessionFromDataSource(execType, level, false);
+  }
+
+  public SqlSession openSession(ExecutorType execType, Connection connection) {
+    return openSessionFromConnection(execType, connection);
+  }
+
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
+  public Environment getEnvironment() {
+    return environment;
+  }
+
+  protected SqlSession openSessionFromDataSource(ExecutorType execType, TransactionIsolationLevel level, boolean autoCommit) {
+    Transaction transaction = null;
+    try {
+      transaction = getTransactionFactory().newTransaction(environment.getDataSource(), level, autoCommit);
+      Executor executor = configuration.newExecutor(transaction, execType);
+      return new DefaultSqlSession(configuration, executor, autoCommit);
+    }
+    catch (Exception e) {
+      closeTransaction(transaction);
+      throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+    }
+    finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  protected SqlSession openSessionFromConnection(ExecutorType execType, Connection connection) {
+    try {
+      boolean autoCommit;
+      try {
+        autoCommit = connection.getAutoCommit();
+      }
+      catch (SQLException e) {
+        // failover to true, as most poor drivers or databases won't support transactions
+        autoCommit = true;
+      }
+      Transaction transaction = getTransactionFactory().newTransaction(connection);
+      Executor executor = configuration.newExecutor(transaction, execType);
+      return new DefaultSqlSession(configuration, executor, autoCommit);
+    }
+    catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+    }
+    finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  protected TransactionFactory getTransactionFactory() {
+    TransactionFactory transactionFactory = environment.getTransactionFactory();
+    return transactionFactory != null ? transactionFactory : new ManagedTransactionFactory();
+  }
+
+  protected void closeTransaction(Transaction transaction) {
+    if (transaction != null) {
+      try {
+        transaction.close();
+      }
+      catch (SQLException e) {
+        // ignore, prefer the original exception
+      }
+    }
+  }
+
+}
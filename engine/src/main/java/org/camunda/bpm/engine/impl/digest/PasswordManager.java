@@ -33,6 +33,9 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
  * Version:           |    Algorithm
  * <= Camunda 7.6     | SHA1
  * >= Camunda 7.7     | SHA512
+ *
+ * Passwords hashed with {@link Pbkdf2HashDigest} can always be checked, it can be
+ * configured as default algorithm to hash passwords with tunable cost.
  */
 public class PasswordManager {
 
@@ -49,6 +52,8 @@ public class PasswordManager {
     addPasswordCheckerAndThrowErrorIfAlreadyAvailable(new ShaHashDigest());
     // from Camunda 7.7
     addPasswordCheckerAndThrowErrorIfAlreadyAvailable(new Sha512HashDigest());
+    // adaptive algorithm, can be configured as default encryptor
+    addPasswordCheckerAndThrowErrorIfAlreadyAvailable(new Pbkdf2HashDigest());
 
     // add custom encryptors
     addAllPasswordChecker(customPasswordChecker);
@@ -0,0 +1,118 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.digest;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Random;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+
+/**
+ * <p>{@link PasswordEncryptor} implementation using PBKDF2 with HMAC SHA-512, an adaptive
+ * algorithm whose cost is tuned by the number of iterations.</p>
+ *
+ * <p>The iterations and a random salt are stored with the hash, so that the number of
+ * iterations can be changed without invalidating the existing passwords.</p>
+ */
+public class Pbkdf2HashDigest implements PasswordEncryptor {
+
+  public static final int DEFAULT_ITERATIONS = 10000;
+
+  protected static final String ALGORITHM = "PBKDF2WithHmacSHA512";
+  protected static final int SALT_LENGTH = 16;
+  protected static final int HASH_LENGTH = 64;
+  protected static final String SEPARATOR = "$";
+
+  protected int iterations;
+  protected Random secureRandom = new SecureRandom();
+
+  public Pbkdf2HashDigest() {
+    this(DEFAULT_ITERATIONS);
+  }
+
+  public Pbkdf2HashDigest(int iterations) {
+    this.iterations = iterations;
+  }
+
+  public String encrypt(String password) {
+    byte[] salt = new byte[SALT_LENGTH];
+    secureRandom.nextBytes(salt);
+
+    byte[] hash = createByteHash(password, salt, iterations, HASH_LENGTH);
+
+    return iterations + SEPARATOR + encode(salt) + SEPARATOR + encode(hash);
+  }
+
+  public boolean check(String password, String encrypted) {
+    String[] parts = encrypted.split("\\" + SEPARATOR);
+    if (parts.length != 3) {
+      return false;
+    }
+
+    int hashIterations;
+    try {
+      hashIterations = Integer.parseInt(parts[0]);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+
+    byte[] salt = Base64.decodeBase64(parts[1]);
+    byte[] expectedHash = Base64.decodeBase64(parts[2]);
+    if (hashIterations <= 0 || expectedHash.length == 0) {
+      return false;
+    }
+
+    byte[] hash = createByteHash(password, salt, hashIterations, expectedHash.length);
+    return MessageDigest.isEqual(expectedHash, hash);
+  }
+
+  public String hashAlgorithmName() {
+    return "PBKDF2-SHA512";
+  }
+
+  protected byte[] createByteHash(String password, byte[] salt, int iterations, int length) {
+    PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, iterations, length * 8);
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(keySpec).getEncoded();
+
+    } catch (GeneralSecurityException e) {
+      throw new ProcessEngineException("Cannot calculate " + ALGORITHM + " password hash", e);
+
+    } finally {
+      keySpec.clearPassword();
+    }
+  }
+
+  protected String encode(byte[] bytes) {
+    return new String(Base64.encodeBase64(bytes));
+  }
+
+  public int getIterations() {
+    return iterations;
+  }
+
+  public void setIterations(int iterations) {
+    this.iterations = iterations;
+  }
+
+}
@@ -16,8 +16,10 @@
  */
 package org.camunda.bpm.engine.impl.dmn;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
 
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
@@ -28,6 +30,7 @@ import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.exception.dmn.DecisionDefinitionNotFoundException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.dmn.cmd.EvaluateDecisionCmd;
+import org.camunda.bpm.engine.impl.dmn.cmd.EvaluateDecisionForEachCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
 public class DecisionEvaluationBuilderImpl implements DecisionsEvaluationBuilder {
@@ -90,6 +93,25 @@ public class DecisionEvaluationBuilderImpl implements DecisionsEvaluationBuilder
     }
   }
 
+  public List<DmnDecisionResult> evaluateForEach(List<Map<String, Object>> variablesList) {
+    ensureOnlyOneNotNull(NotValidException.class, "either decision definition id or key must be set", decisionDefinitionId, decisionDefinitionKey);
+    ensureNotNull(NotValidException.class, "variablesList", variablesList);
+
+    if (isTenantIdSet && decisionDefinitionId != null) {
+      throw LOG.exceptionEvaluateDecisionDefinitionByIdAndTenantId();
+    }
+
+    try {
+      return commandExecutor.execute(new EvaluateDecisionForEachCmd(this, variablesList));
+    }
+    catch (NullValueException e) {
+      throw new NotValidException(e.getMessage(), e);
+    }
+    catch (DecisionDefinitionNotFoundException e) {
+      throw new NotFoundException(e.getMessage(), e);
+    }
+  }
+
   public static DecisionsEvaluationBuilder evaluateDecisionByKey(CommandExecutor commandExecutor, String decisionDefinitionKey) {
     DecisionEvaluationBuilderImpl builder = new DecisionEvaluationBuilderImpl(commandExecutor);
     builder.decisionDefinitionKey = decisionDefinitionKey;
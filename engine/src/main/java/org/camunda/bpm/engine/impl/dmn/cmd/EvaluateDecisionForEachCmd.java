@@ -0,0 +1,86 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.dmn.cmd;
+
+import static org.camunda.bpm.engine.impl.util.DecisionEvaluationUtil.evaluateDecisionForEach;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureOnlyOneNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.dmn.DecisionEvaluationBuilderImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.repository.DecisionDefinition;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+
+/**
+ * Evaluates the decision with the given key or id once for each of the given
+ * input values. The decision definition is resolved, the authorization is checked
+ * and the user operation is logged only once for all evaluations. No user operation
+ * is logged if there are no input values.
+ */
+public class EvaluateDecisionForEachCmd implements Command<List<DmnDecisionResult>> {
+
+  protected EvaluateDecisionCmd evaluateDecisionCmd;
+  protected List<Map<String, Object>> variablesList;
+
+  public EvaluateDecisionForEachCmd(DecisionEvaluationBuilderImpl builder, List<Map<String, Object>> variablesList) {
+    this.evaluateDecisionCmd = new EvaluateDecisionCmd(builder);
+    this.variablesList = variablesList;
+  }
+
+  @Override
+  public List<DmnDecisionResult> execute(CommandContext commandContext) {
+    ensureOnlyOneNotNull("either decision definition id or key must be set",
+        evaluateDecisionCmd.decisionDefinitionId, evaluateDecisionCmd.decisionDefinitionKey);
+    ensureNotNull("variablesList", variablesList);
+    ensureNotContainsNull("variablesList", variablesList);
+
+    DecisionDefinition decisionDefinition = evaluateDecisionCmd.getDecisionDefinition(commandContext);
+
+    for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+      checker.checkEvaluateDecision(decisionDefinition);
+    }
+
+    if (variablesList.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    evaluateDecisionCmd.writeUserOperationLog(commandContext, decisionDefinition);
+
+    List<VariableContext> variableContexts = new ArrayList<>(variablesList.size());
+    for (Map<String, Object> variables : variablesList) {
+      variableContexts.add(Variables.fromMap(variables).asVariableContext());
+    }
+
+    try {
+      return evaluateDecisionForEach(decisionDefinition, variableContexts);
+    }
+    catch (Exception e) {
+      throw new ProcessEngineException("Exception while evaluating decision with key '" + evaluateDecisionCmd.decisionDefinitionKey + "'", e);
+    }
+  }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Short-lived cache of filter counts, keyed by the filter and the authentication
+ * (user, groups and tenants) the count was executed with.</p>
+ *
+ * <p>Saving or deleting a filter invalidates the counts of this filter. A change of a task
+ * invalidates the counts of the users and groups the task is or was assigned to, owned by
+ * or a candidate task of, as well as all counts executed without an authenticated user.
+ * Changes of authorizations and memberships invalidate the counts of the affected user or
+ * group. Counts of other users, e.g. users who see a task through an authorization only,
+ * and changes made by other process engines become visible after the time to live.</p>
+ */
+public class FilterCountCache {
+
+  /** the number of invalidations remembered for counts which are executed concurrently */
+  protected static final int MAX_INVALIDATIONS = 1000;
+
+  protected final long timeToLive;
+  protected final Map<FilterCountKey, CachedCount> counts;
+  protected final LinkedList<Invalidation> invalidations = new LinkedList<Invalidation>();
+
+  /** incremented on every invalidation */
+  protected long generation = 0;
+  /** counts started before this generation are not cached */
+  protected long minGeneration = 0;
+
+  public FilterCountCache(long timeToLive, final int maxSize) {
+    this.timeToLive = timeToLive;
+    this.counts = new LinkedHashMap<FilterCountKey, CachedCount>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<FilterCountKey, CachedCount> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return the key of the count of the filter for the authentication of the command context
+   */
+  public FilterCountKey createKey(String filterId, CommandContext commandContext) {
+    Authentication authentication = commandContext.getAuthentication();
+    if (authentication == null) {
+      return new FilterCountKey(filterId, commandContext.isAuthorizationCheckEnabled(), null, null, null);
+    }
+    else {
+      return new FilterCountKey(filterId, commandContext.isAuthorizationCheckEnabled(),
+          authentication.getUserId(), authentication.getGroupIds(), authentication.getTenantIds());
+    }
+  }
+
+  /**
+   * @return the cached count or null if it is not cached or expired
+   */
+  public synchronized Long get(FilterCountKey key) {
+    CachedCount count = counts.get(key);
+    if (count == null) {
+      return null;
+    }
+    else if (count.expiresAt <= now()) {
+      counts.remove(key);
+      return null;
+    }
+    else {
+      return count.count;
+    }
+  }
+
+  /**
+   * @return the generation to pass to {@link #put(FilterCountKey, Long, long)} after counting
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Caches the count unless it has been invalidated since the given generation
+   * was obtained.
+   */
+  public synchronized void put(FilterCountKey key, Long count, long countGeneration) {
+    if (countGeneration < minGeneration) {
+      return;
+    }
+    for (Invalidation invalidation : invalidations) {
+      if (invalidation.generation > countGeneration && invalidation.matches(key)) {
+        return;
+      }
+    }
+    counts.put(key, new CachedCount(count, now() + timeToLive));
+  }
+
+  /**
+   * Invalidates all counts.
+   */
+  public synchronized void invalidate() {
+    generation++;
+    minGeneration = generation;
+    invalidations.clear();
+    counts.clear();
+  }
+
+  /**
+   * Invalidates the counts of the filter.
+   */
+  public void invalidateFilter(String filterId) {
+    invalidate(new FilterInvalidation(filterId));
+  }
+
+  /**
+   * Invalidates the counts of the given users and groups and the counts executed
+   * without an authenticated user.
+   */
+  public void invalidateIdentities(Collection<String> userIds, Collection<String> groupIds) {
+    invalidate(new IdentityInvalidation(userIds, groupIds));
+  }
+
+  protected synchronized void invalidate(Invalidation invalidation) {
+    invalidation.generation = ++generation;
+
+    invalidations.add(invalidation);
+    if (invalidations.size() > MAX_INVALIDATIONS) {
+      minGeneration = invalidations.removeFirst().generation;
+    }
+
+    Iterator<FilterCountKey> keys = counts.keySet().iterator();
+    while (keys.hasNext()) {
+      if (invalidation.matches(keys.next())) {
+        keys.remove();
+      }
+    }
+  }
+
+  /**
+   * Invalidates all counts now and when the transaction of the command context
+   * is committed, so that counts executed in between are not cached either.
+   */
+  public void invalidateOnCommit(CommandContext commandContext) {
+    invalidate();
+
+    commandContext.getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          invalidate();
+        }
+      });
+  }
+
+  /**
+   * Invalidates the counts of the filter now and when the transaction of the
+   * command context is committed.
+   */
+  public void invalidateFilterOnCommit(String filterId, CommandContext commandContext) {
+    invalidateOnCommit(new FilterInvalidation(filterId), commandContext);
+  }
+
+  /**
+   * Invalidates the counts of the given users and groups, and the counts executed without
+   * an authenticated user, now and when the transaction of the command context is committed.
+   */
+  public void invalidateIdentitiesOnCommit(Collection<String> userIds, Collection<String> groupIds, CommandContext commandContext) {
+    invalidateOnCommit(new IdentityInvalidation(userIds, groupIds), commandContext);
+  }
+
+  protected void invalidateOnCommit(final Invalidation invalidation, CommandContext commandContext) {
+    invalidate(invalidation);
+
+    commandContext.getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          invalidate(invalidation.copy());
+        }
+      });
+  }
+
+  public synchronized int size() {
+    return counts.size();
+  }
+
+  protected long now() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static List<String> sorted(List<String> values) {
+    if (values == null) {
+      return null;
+    }
+    List<String> sortedValues = new ArrayList<String>(values);
+    Collections.sort(sortedValues);
+    return sortedValues;
+  }
+
+  /**
+   * Identifies the count of a filter executed with an authentication.
+   */
+  public static class FilterCountKey {
+
+    protected final String filterId;
+    protected final boolean authorizationCheckEnabled;
+    protected final String userId;
+    protected final List<String> groupIds;
+    protected final List<String> tenantIds;
+
+    public FilterCountKey(String filterId, boolean authorizationCheckEnabled, String userId, List<String> groupIds, List<String> tenantIds) {
+      this.filterId = filterId;
+      this.authorizationCheckEnabled = authorizationCheckEnabled;
+      this.userId = userId;
+      this.groupIds = sorted(groupIds);
+      this.tenantIds = sorted(tenantIds);
+    }
+
+    public String getFilterId() {
+      return filterId;
+    }
+
+    public String getUserId() {
+      return userId;
+    }
+
+    public List<String> getGroupIds() {
+      return groupIds;
+    }
+
+    @Override
+    public int hashCode() {
+      final int prime = 31;
+      int result = 1;
+      result = prime * result + ((filterId == null) ? 0 : filterId.hashCode());
+      result = prime * result + (authorizationCheckEnabled ? 1231 : 1237);
+      result = prime * result + ((userId == null) ? 0 : userId.hashCode());
+      result = prime * result + ((groupIds == null) ? 0 : groupIds.hashCode());
+      result = prime * result + ((tenantIds == null) ? 0 : tenantIds.hashCode());
+      return result;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (obj == null || getClass() != obj.getClass()) {
+        return false;
+      }
+      FilterCountKey other = (FilterCountKey) obj;
+      return authorizationCheckEnabled == other.authorizationCheckEnabled
+          && equal(filterId, other.filterId)
+          && equal(userId, other.userId)
+          && equal(groupIds, other.groupIds)
+          && equal(tenantIds, other.tenantIds);
+    }
+
+    protected static boolean equal(Object a, Object b) {
+      return a == null ? b == null : a.equals(b);
+    }
+
+    @Override
+    public String toString() {
+      return "FilterCountKey[filterId=" + filterId
+          + ", authorizationCheckEnabled=" + authorizationCheckEnabled
+          + ", userId=" + userId
+          + ", groupIds=" + groupIds
+          + ", tenantIds=" + tenantIds + "]";
+    }
+  }
+
+  protected abstract static class Invalidation {
+
+    protected long generation;
+
+    protected abstract boolean matches(FilterCountKey key);
+
+    protected abstract Invalidation copy();
+  }
+
+  protected static class FilterInvalidation extends Invalidation {
+
+    protected final String filterId;
+
+    protected FilterInvalidation(String filterId) {
+      this.filterId = filterId;
+    }
+
+    protected boolean matches(FilterCountKey key) {
+      return filterId.equals(key.getFilterId());
+    }
+
+    protected Invalidation copy() {
+      return new FilterInvalidation(filterId);
+    }
+  }
+
+  protected static class IdentityInvalidation extends Invalidation {
+
+    protected final Collection<String> userIds;
+    protected final Collection<String> groupIds;
+
+    protected IdentityInvalidation(Collection<String> userIds, Collection<String> groupIds) {
+      this.userIds = userIds;
+      this.groupIds = groupIds;
+    }
+
+    protected boolean matches(FilterCountKey key) {
+      if (key.getUserId() == null || userIds.contains(key.getUserId())) {
+        return true;
+      }
+      if (key.getGroupIds() != null) {
+        for (String groupId : key.getGroupIds()) {
+          if (groupIds.contains(groupId)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    protected Invalidation copy() {
+      return new IdentityInvalidation(userIds, groupIds);
+    }
+  }
+
+  protected static class CachedCount {
+
+    protected final Long count;
+    protected final long expiresAt;
+
+    protected CachedCount(Long count, long expiresAt) {
+      this.count = count;
+      this.expiresAt = expiresAt;
+    }
+
+  }
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.identity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Short-lived cache of credentials which have recently been verified by the identity
+ * provider. The credentials are only kept as keyed hash with a secret generated for every
+ * cache instance; the passwords themselves are never stored.</p>
+ *
+ * <p>The credentials of a user are invalidated when the user is updated, locked or deleted.
+ * A verification which was started before an invalidation is not cached.</p>
+ *
+ * <p>Invalidation only affects the cache of this process engine. Other process engines of a
+ * cluster keep accepting the previous password of a user until their cached credentials
+ * expire after the time to live.</p>
+ */
+public class VerifiedCredentialsCache {
+
+  protected static final String MAC_ALGORITHM = "HmacSHA256";
+
+  protected final long timeToLive;
+  protected final SecretKeySpec secret;
+  protected final Map<String, VerifiedCredentials> credentials;
+
+  /** incremented on every invalidation */
+  protected long generation = 0;
+
+  public VerifiedCredentialsCache(long timeToLive, final int maxSize) {
+    this.timeToLive = timeToLive;
+
+    byte[] secretBytes = new byte[32];
+    new SecureRandom().nextBytes(secretBytes);
+    this.secret = new SecretKeySpec(secretBytes, MAC_ALGORITHM);
+
+    this.credentials = new LinkedHashMap<String, VerifiedCredentials>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      protected boolean removeEldestEntry(Map.Entry<String, VerifiedCredentials> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @return true if the credentials have been verified and are not expired or invalidated
+   */
+  public boolean isVerified(String userId, String password) {
+    String key = createKey(userId, password);
+
+    synchronized (this) {
+      VerifiedCredentials verifiedCredentials = credentials.get(key);
+      if (verifiedCredentials == null) {
+        return false;
+      }
+      else if (verifiedCredentials.expiresAt <= now()) {
+        credentials.remove(key);
+        return false;
+      }
+      else {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * @return the generation to pass to {@link #put(String, String, long)} when the verification succeeds
+   */
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Caches the verified credentials unless credentials have been invalidated since the
+   * given generation was obtained.
+   */
+  public void put(String userId, String password, long verificationGeneration) {
+    String key = createKey(userId, password);
+
+    synchronized (this) {
+      if (verificationGeneration == generation) {
+        credentials.put(key, new VerifiedCredentials(userId, now() + timeToLive));
+      }
+    }
+  }
+
+  public synchronized void invalidate(String userId) {
+    generation++;
+
+    Iterator<VerifiedCredentials> iterator = credentials.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().userId.equals(userId)) {
+        iterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Invalidates the credentials of the user now and again when the transaction is committed,
+   * so that a verification running concurrently to the transaction cannot cache the
+   * previous credentials.
+   */
+  public void invalidateOnCommit(final String userId, CommandContext commandContext) {
+    invalidate(userId);
+
+    commandContext.getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          invalidate(userId);
+        }
+      });
+  }
+
+  public synchronized void clear() {
+    generation++;
+    credentials.clear();
+  }
+
+  public synchronized int size() {
+    return credentials.size();
+  }
+
+  protected String createKey(String userId, String password) {
+    try {
+      Mac mac = Mac.getInstance(MAC_ALGORITHM);
+      mac.init(secret);
+      mac.update(userId.getBytes(StandardCharsets.UTF_8));
+      mac.update((byte) 0);
+      return new String(Base64.encodeBase64(mac.doFinal(password.getBytes(StandardCharsets.UTF_8))));
+
+    } catch (GeneralSecurityException e) {
+      throw new ProcessEngineException("Cannot calculate " + MAC_ALGORITHM + " of credentials", e);
+    }
+  }
+
+  protected long now() {
+    return ClockUtil.getCurrentTime().getTime();
+  }
+
+  protected static class VerifiedCredentials {
+
+    protected final String userId;
+    protected final long expiresAt;
+
+    protected VerifiedCredentials(String userId, long expiresAt) {
+      this.userId = userId;
+      this.expiresAt = expiresAt;
+    }
+
+  }
+
+}
@@ -18,6 +18,7 @@ package org.camunda.bpm.engine.impl.identity.db;
 
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -32,8 +33,10 @@ import org.camunda.bpm.engine.identity.User;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.identity.IdentityOperationResult;
 import org.camunda.bpm.engine.impl.identity.IndentityLogger;
+import org.camunda.bpm.engine.impl.identity.VerifiedCredentialsCache;
 import org.camunda.bpm.engine.impl.identity.WritableIdentityProvider;
 import org.camunda.bpm.engine.impl.persistence.entity.GroupEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.MembershipEntity;
@@ -76,6 +79,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       operation = IdentityOperationResult.OPERATION_UPDATE;
       checkAuthorization(Permissions.UPDATE, Resources.USER, user.getId());
       getDbEntityManager().merge(userEntity);
+      invalidateVerifiedCredentials(user.getId());
     }
 
     return new IdentityOperationResult(userEntity, operation);
@@ -87,6 +91,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     if(user != null) {
       deleteMembershipsByUserId(userId);
       deleteTenantMembershipsOfUser(userId);
+      invalidateFilterCounts(userId, null);
 
       deleteAuthorizations(Resources.USER, userId);
 
@@ -104,6 +109,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       });
 
       getDbEntityManager().delete(user);
+      invalidateVerifiedCredentials(userId);
       return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_DELETE);
     }
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_NONE);
@@ -166,6 +172,27 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     }
 
     getIdentityInfoManager().updateUserLock(user, attempts, lockExpirationTime);
+    invalidateVerifiedCredentials(user.getId());
+  }
+
+  protected void invalidateVerifiedCredentials(String userId) {
+    VerifiedCredentialsCache verifiedCredentialsCache = Context.getProcessEngineConfiguration().getVerifiedCredentialsCache();
+    if (verifiedCredentialsCache != null) {
+      verifiedCredentialsCache.invalidateOnCommit(userId, Context.getCommandContext());
+    }
+  }
+
+  /**
+   * Invalidates the cached filter counts of the user and the group, whose memberships changed.
+   */
+  protected void invalidateFilterCounts(String userId, String groupId) {
+    FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+    if (filterCountCache != null) {
+      filterCountCache.invalidateIdentitiesOnCommit(
+          userId != null ? Collections.singleton(userId) : Collections.<String>emptySet(),
+          groupId != null ? Collections.singleton(groupId) : Collections.<String>emptySet(),
+          Context.getCommandContext());
+    }
   }
 
   public IdentityOperationResult unlockUser(String userId) {
@@ -213,6 +240,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     if(group != null) {
       deleteMembershipsByGroupId(groupId);
       deleteTenantMembershipsOfGroup(groupId);
+      invalidateFilterCounts(null, groupId);
 
       deleteAuthorizations(Resources.GROUP, groupId);
 
@@ -263,6 +291,12 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     if (tenant != null) {
       deleteTenantMembershipsOfTenant(tenantId);
 
+      FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+      if (filterCountCache != null) {
+        // the members of the tenant are not known here
+        filterCountCache.invalidateOnCommit(Context.getCommandContext());
+      }
+
       deleteAuthorizations(Resources.TENANT, tenantId);
       getDbEntityManager().delete(tenant);
       return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_DELETE);
@@ -281,6 +315,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     membership.setGroup(group);
     getDbEntityManager().insert(membership);
     createDefaultMembershipAuthorizations(userId, groupId);
+    invalidateFilterCounts(userId, groupId);
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_CREATE);
   }
 
@@ -293,6 +328,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       parameters.put("userId", userId);
       parameters.put("groupId", groupId);
       getDbEntityManager().delete(MembershipEntity.class, "deleteMembership", parameters);
+      invalidateFilterCounts(userId, groupId);
       return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_DELETE);
     }
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_NONE);
@@ -322,6 +358,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     getDbEntityManager().insert(membership);
 
     createDefaultTenantMembershipAuthorizations(tenant, user);
+    invalidateFilterCounts(userId, null);
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_CREATE);
   }
 
@@ -341,6 +378,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
     getDbEntityManager().insert(membership);
 
     createDefaultTenantMembershipAuthorizations(tenant, group);
+    invalidateFilterCounts(null, groupId);
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_CREATE);
   }
 
@@ -355,6 +393,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       parameters.put("tenantId", tenantId);
       parameters.put("userId", userId);
       getDbEntityManager().delete(TenantMembershipEntity.class, "deleteTenantMembership", parameters);
+      invalidateFilterCounts(userId, null);
       return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_DELETE);
     }
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_NONE);
@@ -372,6 +411,7 @@ public class DbIdentityServiceProvider extends DbReadOnlyIdentityServiceProvider
       parameters.put("tenantId", tenantId);
       parameters.put("groupId", groupId);
       getDbEntityManager().delete(TenantMembershipEntity.class, "deleteTenantMembership", parameters);
+      invalidateFilterCounts(null, groupId);
       return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_DELETE);
     }
     return new IdentityOperationResult(null, IdentityOperationResult.OPERATION_NONE);
@@ -21,6 +21,7 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotContainsNull;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotEmpty;
 import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -112,8 +113,17 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd implements C
     }
 
     commandContext.runWithoutAuthorization((Callable<Void>) () -> {
-      for (String processInstanceId : processInstanceIds) {
-        migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetDefinition);
+      MigratingInstanceParser migratingInstanceParser = createMigratingInstanceParser(commandContext);
+      int prefetchSize = commandContext.getProcessEngineConfiguration().getMigrationPrefetchSize();
+
+      List<String> processInstanceIdList = new ArrayList<>(processInstanceIds);
+      for (int i = 0; i < processInstanceIdList.size(); i++) {
+        if (prefetchSize > 1 && i % prefetchSize == 0) {
+          int end = Math.min(i + prefetchSize, processInstanceIdList.size());
+          migratingInstanceParser.prefetch(commandContext, processInstanceIdList.subList(i, end));
+        }
+        migrateProcessInstance(commandContext, processInstanceIdList.get(i), migrationPlan, targetDefinition,
+            migratingInstanceParser);
       }
       return null;
     });
@@ -125,6 +135,19 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd implements C
                                      String processInstanceId,
                                      MigrationPlan migrationPlan,
                                      ProcessDefinitionEntity targetProcessDefinition) {
+    return migrateProcessInstance(commandContext, processInstanceId, migrationPlan, targetProcessDefinition,
+        createMigratingInstanceParser(commandContext));
+  }
+
+  /**
+   * Migrates the process instance using the given parser, which can be shared by
+   * the process instances migrated in one command.
+   */
+  public Void migrateProcessInstance(CommandContext commandContext,
+                                     String processInstanceId,
+                                     MigrationPlan migrationPlan,
+                                     ProcessDefinitionEntity targetProcessDefinition,
+                                     MigratingInstanceParser migratingInstanceParser) {
     ensureNotNull(BadUserRequestException.class,
         "Process instance id cannot be null", "process instance id", processInstanceId);
 
@@ -139,11 +162,6 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd implements C
         new MigratingProcessInstanceValidationReportImpl();
 
     // Initialize migration: match migration instructions to activity instances and collect required entities
-    ProcessEngineImpl processEngine = commandContext.getProcessEngineConfiguration()
-        .getProcessEngine();
-
-    MigratingInstanceParser migratingInstanceParser = new MigratingInstanceParser(processEngine);
-
     final MigratingProcessInstance migratingProcessInstance =
         migratingInstanceParser.parse(processInstanceId, migrationPlan, processInstanceReport);
 
@@ -162,6 +180,13 @@ public class MigrateProcessInstanceCmd extends AbstractMigrationCmd implements C
     return null;
   }
 
+  protected MigratingInstanceParser createMigratingInstanceParser(CommandContext commandContext) {
+    ProcessEngineImpl processEngine = commandContext.getProcessEngineConfiguration()
+        .getProcessEngine();
+
+    return new MigratingInstanceParser(processEngine);
+  }
+
   protected <T> void executeInContext(final Runnable runnable,
                                       ProcessDefinitionEntity contextDefinition) {
     ProcessApplicationContextUtil.doContextSwitch(runnable, contextDefinition);
@@ -16,7 +16,9 @@
  */
 package org.camunda.bpm.engine.impl.migration.instance.parser;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -68,10 +70,22 @@ public class MigratingInstanceParser {
   protected MigratingInstanceParseHandler<IncidentEntity> incidentHandler =
       new IncidentInstanceHandler();
 
+  protected PrefetchedProcessInstances prefetchedProcessInstances;
+  protected Map<String, List<JobDefinitionEntity>> jobDefinitionsByProcessDefinition = new HashMap<>();
+
   public MigratingInstanceParser(ProcessEngine engine) {
     this.engine = engine;
   }
 
+  /**
+   * Fetches the entities of the given process instances at once. Subsequent calls of
+   * {@link #parse(String, MigrationPlan, MigratingProcessInstanceValidationReportImpl)}
+   * for one of these process instances use the fetched entities instead of querying them.
+   */
+  public void prefetch(CommandContext commandContext, List<String> processInstanceIds) {
+    prefetchedProcessInstances = new PrefetchedProcessInstances(commandContext, processInstanceIds);
+  }
+
   public MigratingProcessInstance parse(String processInstanceId, MigrationPlan migrationPlan, MigratingProcessInstanceValidationReportImpl processInstanceReport) {
 
     CommandContext commandContext = Context.getCommandContext();
@@ -164,35 +178,65 @@ public class MigratingInstanceParser {
   }
 
   protected List<ExecutionEntity> fetchExecutions(CommandContext commandContext, String processInstanceId) {
+    if (isPrefetched(processInstanceId)) {
+      return prefetchedProcessInstances.getExecutions(processInstanceId);
+    }
     return commandContext.getExecutionManager().findExecutionsByProcessInstanceId(processInstanceId);
   }
 
   protected List<EventSubscriptionEntity> fetchEventSubscriptions(CommandContext commandContext, String processInstanceId) {
+    if (isPrefetched(processInstanceId)) {
+      return prefetchedProcessInstances.getEventSubscriptions(processInstanceId);
+    }
     return commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceId(processInstanceId);
   }
 
   protected List<ExternalTaskEntity> fetchExternalTasks(CommandContext commandContext, String processInstanceId) {
+    if (isPrefetched(processInstanceId)) {
+      return prefetchedProcessInstances.getExternalTasks(processInstanceId);
+    }
     return commandContext.getExternalTaskManager().findExternalTasksByProcessInstanceId(processInstanceId);
   }
 
   protected List<JobEntity> fetchJobs(CommandContext commandContext, String processInstanceId) {
+    if (isPrefetched(processInstanceId)) {
+      return prefetchedProcessInstances.getJobs(processInstanceId);
+    }
     return commandContext.getJobManager().findJobsByProcessInstanceId(processInstanceId);
   }
 
   protected List<IncidentEntity> fetchIncidents(CommandContext commandContext, String processInstanceId) {
+    if (isPrefetched(processInstanceId)) {
+      return prefetchedProcessInstances.getIncidents(processInstanceId);
+    }
     return commandContext.getIncidentManager().findIncidentsByProcessInstance(processInstanceId);
   }
 
   protected List<TaskEntity> fetchTasks(CommandContext commandContext, String processInstanceId) {
+    if (isPrefetched(processInstanceId)) {
+      return prefetchedProcessInstances.getTasks(processInstanceId);
+    }
     return commandContext.getTaskManager().findTasksByProcessInstanceId(processInstanceId);
   }
 
   protected List<JobDefinitionEntity> fetchJobDefinitions(CommandContext commandContext, String processDefinitionId) {
-    return commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+    List<JobDefinitionEntity> jobDefinitions = jobDefinitionsByProcessDefinition.get(processDefinitionId);
+    if (jobDefinitions == null) {
+      jobDefinitions = commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+      jobDefinitionsByProcessDefinition.put(processDefinitionId, jobDefinitions);
+    }
+    return jobDefinitions;
   }
 
   protected List<VariableInstanceEntity> fetchVariables(CommandContext commandContext, String processInstanceId) {
+    if (isPrefetched(processInstanceId)) {
+      return prefetchedProcessInstances.getVariables(processInstanceId);
+    }
     return commandContext.getVariableInstanceManager().findVariableInstancesByProcessInstanceId(processInstanceId);
   }
 
+  protected boolean isPrefetched(String processInstanceId) {
+    return prefetchedProcessInstances != null && prefetchedProcessInstances.contains(processInstanceId);
+  }
+
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.migration.instance.parser;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IncidentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.util.CollectionUtil;
+
+/**
+ * The runtime entities of several process instances which are fetched with one
+ * query per entity type and grouped by process instance id.
+ */
+public class PrefetchedProcessInstances {
+
+  protected Set<String> processInstanceIds;
+
+  protected Map<String, List<ExecutionEntity>> executions;
+  protected Map<String, List<EventSubscriptionEntity>> eventSubscriptions;
+  protected Map<String, List<ExternalTaskEntity>> externalTasks;
+  protected Map<String, List<IncidentEntity>> incidents;
+  protected Map<String, List<JobEntity>> jobs;
+  protected Map<String, List<TaskEntity>> tasks;
+  protected Map<String, List<VariableInstanceEntity>> variables;
+
+  public PrefetchedProcessInstances(CommandContext commandContext, List<String> processInstanceIds) {
+    this.processInstanceIds = new HashSet<>(processInstanceIds);
+
+    executions = groupByProcessInstance(commandContext.getExecutionManager()
+        .findExecutionsByProcessInstanceIds(processInstanceIds), ExecutionEntity::getProcessInstanceId);
+    eventSubscriptions = groupByProcessInstance(commandContext.getEventSubscriptionManager()
+        .findEventSubscriptionsByProcessInstanceIds(processInstanceIds), EventSubscriptionEntity::getProcessInstanceId);
+    externalTasks = groupByProcessInstance(commandContext.getExternalTaskManager()
+        .findExternalTasksByProcessInstanceIds(processInstanceIds), ExternalTaskEntity::getProcessInstanceId);
+    incidents = groupByProcessInstance(commandContext.getIncidentManager()
+        .findIncidentsByProcessInstanceIds(processInstanceIds), IncidentEntity::getProcessInstanceId);
+    jobs = groupByProcessInstance(commandContext.getJobManager()
+        .findJobsByProcessInstanceIds(processInstanceIds), JobEntity::getProcessInstanceId);
+    tasks = groupByProcessInstance(commandContext.getTaskManager()
+        .findTasksByProcessInstanceIds(processInstanceIds), TaskEntity::getProcessInstanceId);
+    variables = groupByProcessInstance(commandContext.getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceIds(processInstanceIds), VariableInstanceEntity::getProcessInstanceId);
+  }
+
+  /**
+   * @return true if the entities of the process instance have been fetched
+   */
+  public boolean contains(String processInstanceId) {
+    return processInstanceIds.contains(processInstanceId);
+  }
+
+  public List<ExecutionEntity> getExecutions(String processInstanceId) {
+    return get(executions, processInstanceId);
+  }
+
+  public List<EventSubscriptionEntity> getEventSubscriptions(String processInstanceId) {
+    return get(eventSubscriptions, processInstanceId);
+  }
+
+  public List<ExternalTaskEntity> getExternalTasks(String processInstanceId) {
+    return get(externalTasks, processInstanceId);
+  }
+
+  public List<IncidentEntity> getIncidents(String processInstanceId) {
+    return get(incidents, processInstanceId);
+  }
+
+  public List<JobEntity> getJobs(String processInstanceId) {
+    return get(jobs, processInstanceId);
+  }
+
+  public List<TaskEntity> getTasks(String processInstanceId) {
+    return get(tasks, processInstanceId);
+  }
+
+  public List<VariableInstanceEntity> getVariables(String processInstanceId) {
+    return get(variables, processInstanceId);
+  }
+
+  protected <T> Map<String, List<T>> groupByProcessInstance(List<T> entities, Function<T, String> processInstanceId) {
+    Map<String, List<T>> entitiesByProcessInstance = new HashMap<>();
+    for (T entity : entities) {
+      CollectionUtil.addToMapOfLists(entitiesByProcessInstance, processInstanceId.apply(entity), entity);
+    }
+    return entitiesByProcessInstance;
+  }
+
+  protected <T> List<T> get(Map<String, List<T>> entitiesByProcessInstance, String processInstanceId) {
+    List<T> entities = entitiesByProcessInstance.get(processInstanceId);
+    if (entities != null) {
+      return entities;
+    }
+    else {
+      return Collections.emptyList();
+    }
+  }
+
+}
@@ -39,6 +39,7 @@ import static org.camunda.bpm.engine.authorization.Resources.PROCESS_INSTANCE;
 import static org.camunda.bpm.engine.authorization.Resources.TASK;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -98,6 +99,7 @@ import org.camunda.bpm.engine.impl.db.PermissionCheckBuilder;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionQueryImpl;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.identity.Authentication;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
@@ -143,6 +145,7 @@ public class AuthorizationManager extends AbstractManager {
   public void insert(DbEntity authorization) {
     checkAuthorization(CREATE, AUTHORIZATION, null);
     getDbEntityManager().insert(authorization);
+    invalidateFilterCounts((AuthorizationEntity) authorization);
   }
 
   public List<Authorization> selectAuthorizationByQueryCriteria(AuthorizationQueryImpl authorizationQuery) {
@@ -181,6 +184,7 @@ public class AuthorizationManager extends AbstractManager {
   public void update(AuthorizationEntity authorization) {
     checkAuthorization(UPDATE, AUTHORIZATION, authorization.getId());
     getDbEntityManager().merge(authorization);
+    invalidateFilterCounts(authorization);
   }
 
   @Override
@@ -188,6 +192,33 @@ public class AuthorizationManager extends AbstractManager {
     checkAuthorization(DELETE, AUTHORIZATION, authorization.getId());
     deleteAuthorizationsByResourceId(AUTHORIZATION, authorization.getId());
     super.delete(authorization);
+    invalidateFilterCounts((AuthorizationEntity) authorization);
+  }
+
+  public void invalidateFilterCounts(AuthorizationEntity authorization) {
+    invalidateFilterCounts(authorization.getResourceType(), authorization.getUserId(), authorization.getGroupId());
+  }
+
+  /**
+   * Invalidates the cached filter counts of the user or group if the authorization
+   * affects which tasks they can see.
+   */
+  protected void invalidateFilterCounts(int resourceType, String userId, String groupId) {
+    FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+    if (filterCountCache == null
+        || (resourceType != TASK.resourceType() && resourceType != PROCESS_DEFINITION.resourceType())) {
+      return;
+    }
+
+    if (Authorization.ANY.equals(userId)) {
+      filterCountCache.invalidateOnCommit(Context.getCommandContext());
+    }
+    else {
+      filterCountCache.invalidateIdentitiesOnCommit(
+          userId != null ? Collections.singleton(userId) : Collections.<String>emptySet(),
+          groupId != null ? Collections.singleton(groupId) : Collections.<String>emptySet(),
+          Context.getCommandContext());
+    }
   }
 
   // authorization checks ///////////////////////////////////////////
@@ -472,6 +503,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("userId", userId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      invalidateFilterCounts(resource.resourceType(), userId, null);
     }
 
   }
@@ -488,6 +520,7 @@ public class AuthorizationManager extends AbstractManager {
       deleteParams.put("resourceId", resourceId);
       deleteParams.put("groupId", groupId);
       getDbEntityManager().delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", deleteParams);
+      invalidateFilterCounts(resource.resourceType(), null, groupId);
     }
 
   }
@@ -1109,7 +1142,7 @@ public class AuthorizationManager extends AbstractManager {
     }
   }
 
-  protected boolean isAuthCheckExecuted() {
+  public boolean isAuthCheckExecuted() {
 
     Authentication currentAuthentication = getCurrentAuthentication();
     CommandContext commandContext = Context.getCommandContext();
@@ -19,7 +19,10 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 import java.io.Serializable;
 import java.util.Date;
 
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
 import org.camunda.bpm.engine.repository.ResourceType;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 
@@ -43,6 +46,10 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
   protected String rootProcessInstanceId;
   protected Date removalTime;
 
+  // compressed form of the bytes, computed once per value
+  protected transient byte[] compressedBytes;
+  protected transient byte[] compressedBytesSource;
+
   public ByteArrayEntity() {
   }
 
@@ -75,6 +82,33 @@ public class ByteArrayEntity implements Serializable, DbEntity, HasDbRevision {
     return (bytes != null ? bytes : PERSISTENTSTATE_NULL);
   }
 
+  /**
+   * @return the bytes as written to the database, compressed if
+   * {@link ProcessEngineConfigurationImpl#isByteArrayCompressionEnabled() byte array compression} is enabled
+   */
+  public byte[] getPersistentBytes() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (bytes == null
+        || processEngineConfiguration == null
+        || !processEngineConfiguration.isByteArrayCompressionEnabled()) {
+      return bytes;
+    }
+
+    if (compressedBytesSource != bytes) {
+      compressedBytes = CompressionUtil.compress(bytes, processEngineConfiguration.getByteArrayCompressionThreshold());
+      compressedBytesSource = bytes;
+    }
+    return compressedBytes;
+  }
+
+  /**
+   * Sets the bytes as read from the database. Compressed values are decompressed,
+   * values written without compression are taken as they are.
+   */
+  public void setPersistentBytes(byte[] persistentBytes) {
+    this.bytes = CompressionUtil.decompress(persistentBytes);
+  }
+
   public int getRevisionNext() {
     return revision+1;
   }
@@ -56,6 +56,7 @@ import org.camunda.bpm.engine.impl.history.event.HistoryEventProcessor;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.interceptor.AtomicOperationInvocation;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.MessageJobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.persistence.entity.util.FormPropertyStartContext;
@@ -1313,6 +1314,88 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     }
 
     processInstance.restoreProcessInstance(executions, null, null, null, null, null, null);
+
+    int aggregatePrefetchThreshold = Context.getProcessEngineConfiguration().getExecutionTreeAggregatePrefetchThreshold();
+    if (aggregatePrefetchThreshold > 0 && executions.size() >= aggregatePrefetchThreshold) {
+      processInstance.initializeExecutionTreeEntities(executions);
+    }
+  }
+
+  /**
+   * Initializes the event subscriptions, jobs, incidents, tasks, external tasks and variables
+   * of the given executions with one query per entity type for the whole process instance
+   * instead of one query per execution. Entities which are already initialized for an
+   * execution are kept.
+   *
+   * @param executions all executions of this process instance
+   */
+  protected void initializeExecutionTreeEntities(List<ExecutionEntity> executions) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    Map<String, List<EventSubscriptionEntity>> eventSubscriptionsByExecution = new HashMap<>();
+    for (EventSubscriptionEntity eventSubscription : commandContext.getEventSubscriptionManager()
+        .findEventSubscriptionsByProcessInstanceId(processInstanceId)) {
+      CollectionUtil.addToMapOfLists(eventSubscriptionsByExecution, eventSubscription.getExecutionId(), eventSubscription);
+    }
+
+    Map<String, List<JobEntity>> jobsByExecution = new HashMap<>();
+    for (JobEntity job : commandContext.getJobManager().findJobsByProcessInstanceId(processInstanceId)) {
+      CollectionUtil.addToMapOfLists(jobsByExecution, job.getExecutionId(), job);
+    }
+
+    Map<String, List<IncidentEntity>> incidentsByExecution = new HashMap<>();
+    for (IncidentEntity incident : commandContext.getIncidentManager().findIncidentsByProcessInstance(processInstanceId)) {
+      CollectionUtil.addToMapOfLists(incidentsByExecution, incident.getExecutionId(), incident);
+    }
+
+    Map<String, List<TaskEntity>> tasksByExecution = new HashMap<>();
+    for (TaskEntity task : commandContext.getTaskManager().findTasksByProcessInstanceId(processInstanceId)) {
+      CollectionUtil.addToMapOfLists(tasksByExecution, task.getExecutionId(), task);
+    }
+
+    Map<String, List<ExternalTaskEntity>> externalTasksByExecution = new HashMap<>();
+    for (ExternalTaskEntity externalTask : commandContext.getExternalTaskManager()
+        .findExternalTasksByProcessInstanceId(processInstanceId)) {
+      CollectionUtil.addToMapOfLists(externalTasksByExecution, externalTask.getExecutionId(), externalTask);
+    }
+
+    Map<String, List<VariableInstanceEntity>> variablesByScope = new HashMap<>();
+    for (VariableInstanceEntity variable : commandContext.getVariableInstanceManager()
+        .findVariableInstancesByProcessInstanceId(processInstanceId)) {
+      CollectionUtil.addToMapOfLists(variablesByScope, variable.getVariableScopeId(), variable);
+    }
+
+    for (ExecutionEntity execution : executions) {
+      if (execution.eventSubscriptions == null) {
+        execution.eventSubscriptions = listOrEmpty(eventSubscriptionsByExecution.get(execution.id));
+      }
+      if (execution.jobs == null) {
+        execution.jobs = listOrEmpty(jobsByExecution.get(execution.id));
+      }
+      if (execution.incidents == null) {
+        execution.incidents = listOrEmpty(incidentsByExecution.get(execution.id));
+      }
+      if (execution.tasks == null) {
+        execution.tasks = listOrEmpty(tasksByExecution.get(execution.id));
+
+        for (TaskEntity task : execution.tasks) {
+          task.variableStore.setVariablesProvider(new VariableCollectionProvider<>(variablesByScope.get(task.id)));
+        }
+      }
+      if (execution.externalTasks == null) {
+        execution.externalTasks = listOrEmpty(externalTasksByExecution.get(execution.id));
+      }
+      execution.variableStore.setVariablesProvider(new VariableCollectionProvider<>(variablesByScope.get(execution.id)));
+    }
+  }
+
+  protected static <T> List<T> listOrEmpty(List<T> list) {
+    if (list != null) {
+      return list;
+    }
+    else {
+      return new ArrayList<>();
+    }
   }
 
   /**
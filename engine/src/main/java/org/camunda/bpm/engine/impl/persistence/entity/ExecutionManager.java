@@ -113,6 +113,11 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExecutionsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectExecutionsByProcessInstanceIds", processInstanceIds);
+  }
+
   public ExecutionEntity findExecutionById(String executionId) {
     return getDbEntityManager().selectById(ExecutionEntity.class, executionId);
   }
@@ -151,6 +156,18 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectProcessInstanceDeploymentIdMappingsByQueryCriteria", processInstanceQuery);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<String> findProcessInstanceDeploymentIdsByQueryCriteria(ProcessInstanceQueryImpl processInstanceQuery) {
+    configureQuery(processInstanceQuery);
+    return getDbEntityManager().selectList("selectProcessInstanceDeploymentIdsByQueryCriteria", processInstanceQuery);
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<String> findProcessInstanceIdsPageByQueryCriteria(ProcessInstanceQueryImpl processInstanceQuery) {
+    configureQuery(processInstanceQuery);
+    return getDbEntityManager().selectList("selectProcessInstanceIdsPageByQueryCriteria", processInstanceQuery);
+  }
+
   @SuppressWarnings("unchecked")
   public List<ExecutionEntity> findEventScopeExecutionsByActivityId(String activityRef, String parentExecutionId) {
     Map<String, String> parameters = new HashMap<>();
@@ -71,6 +71,11 @@ public class ExternalTaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectExternalTasksByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<ExternalTaskEntity> findExternalTasksByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectExternalTasksByProcessInstanceIds", processInstanceIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<ExternalTaskEntity> selectExternalTasksForTopics(Collection<TopicFetchInstruction> queryFilters, int maxResults, boolean usePriority) {
     if (queryFilters.isEmpty()) {
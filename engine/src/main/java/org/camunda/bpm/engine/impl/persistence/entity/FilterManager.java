@@ -29,6 +29,8 @@ import java.util.List;
 import org.camunda.bpm.engine.filter.Filter;
 import org.camunda.bpm.engine.impl.AbstractQuery;
 import org.camunda.bpm.engine.impl.QueryValidators.StoredQueryValidator;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.filter.FilterQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
@@ -55,6 +57,7 @@ public class FilterManager extends AbstractManager {
     else {
       checkAuthorization(UPDATE, FILTER, filter.getId());
       getDbEntityManager().merge((FilterEntity) filter);
+      invalidateFilterCounts(filter.getId());
     }
 
     return filter;
@@ -70,6 +73,15 @@ public class FilterManager extends AbstractManager {
     deleteAuthorizations(FILTER, filterId);
     // delete the filter itself
     getDbEntityManager().delete(filter);
+
+    invalidateFilterCounts(filterId);
+  }
+
+  protected void invalidateFilterCounts(String filterId) {
+    FilterCountCache filterCountCache = Context.getProcessEngineConfiguration().getFilterCountCache();
+    if (filterCountCache != null) {
+      filterCountCache.invalidateFilterOnCommit(filterId, Context.getCommandContext());
+    }
   }
 
   public FilterEntity findFilterById(String filterId) {
@@ -40,6 +40,11 @@ public class IncidentManager extends AbstractManager {
     return getDbEntityManager().selectList("selectIncidentsByProcessInstanceId", id);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<IncidentEntity> findIncidentsByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectIncidentsByProcessInstanceIds", processInstanceIds);
+  }
+
   public long findIncidentCountByQueryCriteria(IncidentQueryImpl incidentQuery) {
     configureQuery(incidentQuery);
     return (Long) getDbEntityManager().selectOne("selectIncidentCountByQueryCriteria", incidentQuery);
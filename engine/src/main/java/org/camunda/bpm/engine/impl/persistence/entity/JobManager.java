@@ -232,6 +232,11 @@ public class JobManager extends AbstractManager {
     return getDbEntityManager().selectList("selectJobsByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectJobsByProcessInstanceIds", processInstanceIds);
+  }
+
   @SuppressWarnings("unchecked")
   public List<JobEntity> findJobsByJobDefinitionId(String jobDefinitionId) {
     return getDbEntityManager().selectList("selectJobsByJobDefinitionId", jobDefinitionId);
@@ -30,10 +30,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.ProcessEngineServices;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.delegate.BpmnError;
 import org.camunda.bpm.engine.delegate.DelegateTask;
 import org.camunda.bpm.engine.delegate.Expression;
@@ -41,6 +44,7 @@ import org.camunda.bpm.engine.delegate.TaskListener;
 import org.camunda.bpm.engine.exception.NotFoundException;
 import org.camunda.bpm.engine.exception.NullValueException;
 import org.camunda.bpm.engine.history.UserOperationLogEntry;
+import org.camunda.bpm.engine.impl.AuthorizationQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.bpmn.helper.BpmnExceptionHandler;
 import org.camunda.bpm.engine.impl.bpmn.helper.ErrorPropagationException;
@@ -63,6 +67,7 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbReferences;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
 import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
@@ -71,6 +76,8 @@ import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
 import org.camunda.bpm.engine.impl.pvm.runtime.PvmExecutionImpl;
 import org.camunda.bpm.engine.impl.task.TaskDefinition;
 import org.camunda.bpm.engine.impl.task.delegate.TaskListenerInvocation;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeEvent;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeFeed;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.task.DelegationState;
@@ -126,6 +133,8 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
 
   protected boolean isIdentityLinksInitialized = false;
   protected transient List<IdentityLinkEntity> taskIdentityLinkEntities = new ArrayList<>();
+  /** identity links deleted in the current command, see {@link #getDeletedIdentityLinks()} */
+  protected transient List<IdentityLinkEntity> deletedIdentityLinks = new ArrayList<>();
 
   // execution
   protected String executionId;
@@ -745,6 +754,8 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     for (IdentityLinkEntity identityLink: identityLinks) {
       fireDeleteIdentityLinkAuthorizationProvider(type, userId, groupId);
       identityLink.delete();
+      taskIdentityLinkEntities.remove(identityLink);
+      deletedIdentityLinks.add(identityLink);
     }
   }
 
@@ -839,6 +850,18 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     return taskIdentityLinkEntities;
   }
 
+  public boolean isIdentityLinksInitialized() {
+    return isIdentityLinksInitialized;
+  }
+
+  /**
+   * @return the identity links deleted by {@link #deleteIdentityLink(String, String, String)}
+   *   since the task was loaded
+   */
+  public List<IdentityLinkEntity> getDeletedIdentityLinks() {
+    return deletedIdentityLinks;
+  }
+
   @SuppressWarnings("unchecked")
   public Map<String, Object> getActivityInstanceVariables() {
     if (execution!=null) {
@@ -1155,6 +1178,7 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
 
   public boolean transitionTo(TaskState state) {
     this.lifecycleState = state;
+    invalidateFilterCounts();
 
     switch (state) {
       case STATE_CREATED:
@@ -1162,12 +1186,20 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
         if (commandContext != null) {
           commandContext.getHistoricTaskInstanceManager().createHistoricTask(this);
         }
-        return fireEvent(TaskListener.EVENTNAME_CREATE) && fireAssignmentEvent();
+        boolean listenersSucceeded = fireEvent(TaskListener.EVENTNAME_CREATE) && fireAssignmentEvent();
+        // the event contains the assignee and candidates set by the create listeners,
+        // unless a listener already completed or deleted the task
+        if (TaskState.STATE_CREATED.equals(lifecycleState)) {
+          publishTaskChange(TaskListener.EVENTNAME_CREATE);
+        }
+        return listenersSucceeded;
 
       case STATE_COMPLETED:
+        publishTaskChange(TaskListener.EVENTNAME_COMPLETE);
         return fireEvent(TaskListener.EVENTNAME_COMPLETE) && TaskState.STATE_COMPLETED.equals(this.lifecycleState);
 
       case STATE_DELETED:
+        publishTaskChange(EVENTNAME_DELETE);
         return fireEvent(EVENTNAME_DELETE);
 
       case STATE_INIT:
@@ -1178,6 +1210,8 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
 
   public boolean triggerUpdateEvent() {
     if (lifecycleState == TaskState.STATE_CREATED) {
+      invalidateFilterCounts();
+      publishTaskChange(propertyChanges.containsKey(ASSIGNEE) ? TaskListener.EVENTNAME_ASSIGNMENT : TaskListener.EVENTNAME_UPDATE);
       return fireEvent(TaskListener.EVENTNAME_UPDATE) && fireAssignmentEvent();
     }
     else {
@@ -1186,6 +1220,86 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
     }
   }
 
+  protected void invalidateFilterCounts() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    CommandContext commandContext = Context.getCommandContext();
+    if (processEngineConfiguration != null && commandContext != null) {
+      FilterCountCache filterCountCache = processEngineConfiguration.getFilterCountCache();
+      if (filterCountCache != null) {
+        Set<String> userIds = new HashSet<>();
+        Set<String> groupIds = new HashSet<>();
+        addFilterCountIdentities(commandContext, userIds, groupIds);
+        filterCountCache.invalidateIdentitiesOnCommit(userIds, groupIds, commandContext);
+      }
+    }
+  }
+
+  /**
+   * Collects the users and groups the task is or was assigned to, owned by or linked to.
+   */
+  protected void addFilterCountIdentities(CommandContext commandContext, Set<String> userIds, Set<String> groupIds) {
+    userIds.add(assignee);
+    userIds.add(owner);
+
+    PropertyChange assigneeChange = propertyChanges.get(ASSIGNEE);
+    if (assigneeChange != null) {
+      userIds.add(assigneeChange.getOrgValueString());
+    }
+    PropertyChange ownerChange = propertyChanges.get(OWNER);
+    if (ownerChange != null) {
+      userIds.add(ownerChange.getOrgValueString());
+    }
+
+    List<IdentityLinkEntity> identityLinks = new ArrayList<>(deletedIdentityLinks);
+    if (isIdentityLinksInitialized) {
+      identityLinks.addAll(taskIdentityLinkEntities);
+    }
+    else {
+      // does not initialize the identity links of the task
+      identityLinks.addAll(commandContext.getIdentityLinkManager().findIdentityLinksByTaskId(id));
+    }
+    for (IdentityLinkEntity identityLink : identityLinks) {
+      userIds.add(identityLink.getUserId());
+      groupIds.add(identityLink.getGroupId());
+    }
+
+    userIds.remove(null);
+    groupIds.remove(null);
+  }
+
+  protected void publishTaskChange(String eventName) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    CommandContext commandContext = Context.getCommandContext();
+    if (processEngineConfiguration != null && commandContext != null) {
+      TaskChangeFeed taskChangeFeed = processEngineConfiguration.getTaskChangeFeed();
+      if (taskChangeFeed != null) {
+        // the candidates and authorizations are only loaded for the event if a client is waiting for it
+        boolean hasSubscriptions = taskChangeFeed.hasSubscriptions();
+        TaskChangeEvent event = TaskChangeEvent.fromTask(eventName, this, hasSubscriptions);
+
+        if (hasSubscriptions
+            && processEngineConfiguration.isAuthorizationEnabled()
+            && (TaskListener.EVENTNAME_COMPLETE.equals(eventName) || EVENTNAME_DELETE.equals(eventName))) {
+          // the authorizations of the task are deleted together with the task
+          event.addReadAuthorizations(findTaskAuthorizations(commandContext));
+        }
+
+        taskChangeFeed.publishOnCommit(event, commandContext);
+      }
+    }
+  }
+
+  protected List<Authorization> findTaskAuthorizations(final CommandContext commandContext) {
+    final AuthorizationQueryImpl authorizationQuery = new AuthorizationQueryImpl();
+    authorizationQuery.resourceType(Resources.TASK).resourceId(id);
+
+    return commandContext.runWithoutAuthorization(new Callable<List<Authorization>>() {
+      public List<Authorization> call() {
+        return commandContext.getAuthorizationManager().selectAuthorizationByQueryCriteria(authorizationQuery);
+      }
+    });
+  }
+
   /**
    * @return true if invoking the listener was successful;
    *   if not successful, either false is returned (case: BPMN error propagation)
@@ -124,6 +124,11 @@ public class TaskManager extends AbstractManager {
     return getDbEntityManager().selectList("selectTasksByProcessInstanceId", processInstanceId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<TaskEntity> findTasksByProcessInstanceIds(List<String> processInstanceIds) {
+    return getDbEntityManager().selectList("selectTasksByProcessInstanceIds", processInstanceIds);
+  }
+
 
   @Deprecated
   public List<Task> findTasksByQueryCriteria(TaskQueryImpl taskQuery, Page page) {
@@ -0,0 +1,290 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.event;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.task.IdentityLinkType;
+
+/**
+ * Snapshot of a task when it was created, updated, assigned, completed or deleted.
+ * The event names are the ones of the {@link org.camunda.bpm.engine.delegate.TaskListener}.
+ */
+public class TaskChangeEvent {
+
+  protected long offset;
+  protected String eventName;
+  protected Date timestamp;
+
+  protected String taskId;
+  protected String name;
+  protected String assignee;
+  protected String previousAssignee;
+  protected String owner;
+  protected List<String> candidateUsers = new ArrayList<String>();
+  protected List<String> candidateGroups = new ArrayList<String>();
+  protected List<String> previousCandidateUsers = new ArrayList<String>();
+  protected List<String> previousCandidateGroups = new ArrayList<String>();
+  protected boolean candidatesResolved = true;
+  protected List<String> readAuthorizedUsers = new ArrayList<String>();
+  protected List<String> readAuthorizedGroups = new ArrayList<String>();
+  protected List<String> readRevokedUsers = new ArrayList<String>();
+  protected List<String> readRevokedGroups = new ArrayList<String>();
+  protected String processDefinitionId;
+  protected String processDefinitionKey;
+  protected String processInstanceId;
+  protected String caseInstanceId;
+  protected String tenantId;
+
+  /**
+   * @param resolveCandidates if false, the candidates are only added if the identity links
+   *   of the task are already loaded, so that no additional query is made
+   */
+  public static TaskChangeEvent fromTask(String eventName, TaskEntity task, boolean resolveCandidates) {
+    TaskChangeEvent event = new TaskChangeEvent();
+    event.eventName = eventName;
+    event.timestamp = ClockUtil.getCurrentTime();
+
+    event.taskId = task.getId();
+    event.name = task.getName();
+    event.assignee = task.getAssignee();
+    event.owner = task.getOwner();
+    event.processDefinitionId = task.getProcessDefinitionId();
+    event.processInstanceId = task.getProcessInstanceId();
+    event.caseInstanceId = task.getCaseInstanceId();
+    event.tenantId = task.getTenantId();
+
+    ProcessDefinitionEntity processDefinition = task.getProcessDefinition();
+    if (processDefinition != null) {
+      event.processDefinitionKey = processDefinition.getKey();
+    }
+
+    PropertyChange assigneeChange = task.getPropertyChanges().get(TaskEntity.ASSIGNEE);
+    if (assigneeChange != null) {
+      event.previousAssignee = assigneeChange.getOrgValueString();
+    }
+
+    if (resolveCandidates || task.isIdentityLinksInitialized()) {
+      List<IdentityLinkEntity> identityLinks = new ArrayList<IdentityLinkEntity>(task.getIdentityLinks());
+      // links deleted in this command may still be returned from the entity cache
+      identityLinks.removeAll(task.getDeletedIdentityLinks());
+      addCandidates(identityLinks, event.candidateUsers, event.candidateGroups);
+    }
+    else {
+      event.candidatesResolved = false;
+    }
+
+    // members of removed candidates see the change which removed them
+    addCandidates(task.getDeletedIdentityLinks(), event.previousCandidateUsers, event.previousCandidateGroups);
+
+    return event;
+  }
+
+  protected static void addCandidates(List<IdentityLinkEntity> identityLinks, List<String> candidateUsers, List<String> candidateGroups) {
+    for (IdentityLinkEntity identityLink : identityLinks) {
+      if (IdentityLinkType.CANDIDATE.equals(identityLink.getType())) {
+        if (identityLink.getUserId() != null && !candidateUsers.contains(identityLink.getUserId())) {
+          candidateUsers.add(identityLink.getUserId());
+        }
+        if (identityLink.getGroupId() != null && !candidateGroups.contains(identityLink.getGroupId())) {
+          candidateGroups.add(identityLink.getGroupId());
+        }
+      }
+    }
+  }
+
+  /**
+   * Keeps the users and groups which may read the task according to the given authorizations
+   * of the task. Completing or deleting a task deletes its authorizations in the same
+   * transaction, so they have to be kept with the event to authorize it later.
+   */
+  public void addReadAuthorizations(List<Authorization> authorizations) {
+    for (Authorization authorization : authorizations) {
+      AuthorizationEntity authorizationEntity = (AuthorizationEntity) authorization;
+      if (authorization.getAuthorizationType() == Authorization.AUTH_TYPE_REVOKE) {
+        if (authorizationEntity.isPermissionRevoked(Permissions.READ)) {
+          if (authorization.getUserId() != null) {
+            readRevokedUsers.add(authorization.getUserId());
+          }
+          if (authorization.getGroupId() != null) {
+            readRevokedGroups.add(authorization.getGroupId());
+          }
+        }
+      }
+      else if (authorizationEntity.isPermissionGranted(Permissions.READ)) {
+        if (authorization.getUserId() != null) {
+          readAuthorizedUsers.add(authorization.getUserId());
+        }
+        if (authorization.getGroupId() != null) {
+          readAuthorizedGroups.add(authorization.getGroupId());
+        }
+      }
+    }
+  }
+
+  /**
+   * @return true if the given user or one of the groups may read the task according to the
+   *   identities kept with the event: the task authorizations which were deleted together with
+   *   the task, and the previous assignee and candidates which were removed by the change
+   */
+  public boolean isReadAuthorized(String userId, List<String> groupIds) {
+    // like the authorization check, user authorizations take precedence over group
+    // authorizations, which take precedence over authorizations of all users
+    if (userId != null) {
+      if (readRevokedUsers.contains(userId)) {
+        return false;
+      }
+      if (readAuthorizedUsers.contains(userId) || userId.equals(previousAssignee) || previousCandidateUsers.contains(userId)) {
+        return true;
+      }
+    }
+
+    if (groupIds != null) {
+      boolean groupAuthorized = false;
+      for (String groupId : groupIds) {
+        if (readRevokedGroups.contains(groupId)) {
+          return false;
+        }
+        groupAuthorized |= readAuthorizedGroups.contains(groupId) || previousCandidateGroups.contains(groupId);
+      }
+      if (groupAuthorized) {
+        return true;
+      }
+    }
+
+    return readAuthorizedUsers.contains(Authorization.ANY) && !readRevokedUsers.contains(Authorization.ANY);
+  }
+
+  /**
+   * @return true if the task is or was assigned to, owned by or a candidate task
+   *   of the given user or one of the groups
+   */
+  public boolean isVisibleTo(String userId, List<String> groupIds) {
+    if (userId != null
+        && (userId.equals(assignee) || userId.equals(previousAssignee) || userId.equals(owner)
+            || candidateUsers.contains(userId) || previousCandidateUsers.contains(userId))) {
+      return true;
+    }
+    if (groupIds != null) {
+      for (String groupId : groupIds) {
+        if (candidateGroups.contains(groupId) || previousCandidateGroups.contains(groupId)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public void setOffset(long offset) {
+    this.offset = offset;
+  }
+
+  public String getEventName() {
+    return eventName;
+  }
+
+  public Date getTimestamp() {
+    return timestamp;
+  }
+
+  public String getTaskId() {
+    return taskId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getAssignee() {
+    return assignee;
+  }
+
+  public String getPreviousAssignee() {
+    return previousAssignee;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public List<String> getCandidateUsers() {
+    return candidateUsers;
+  }
+
+  public List<String> getCandidateGroups() {
+    return candidateGroups;
+  }
+
+  public List<String> getPreviousCandidateUsers() {
+    return previousCandidateUsers;
+  }
+
+  public List<String> getPreviousCandidateGroups() {
+    return previousCandidateGroups;
+  }
+
+  /**
+   * @return false if the candidates of the task were not loaded when the event was created
+   */
+  public boolean isCandidatesResolved() {
+    return candidatesResolved;
+  }
+
+  public String getProcessDefinitionId() {
+    return processDefinitionId;
+  }
+
+  public String getProcessDefinitionKey() {
+    return processDefinitionKey;
+  }
+
+  public String getProcessInstanceId() {
+    return processInstanceId;
+  }
+
+  public String getCaseInstanceId() {
+    return caseInstanceId;
+  }
+
+  public String getTenantId() {
+    return tenantId;
+  }
+
+  public String toString() {
+    return this.getClass().getSimpleName()
+        + "[offset=" + offset
+        + ", eventName=" + eventName
+        + ", taskId=" + taskId
+        + ", assignee=" + assignee
+        + "]";
+  }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * <p>Feed of the changes of tasks which were committed by this process engine.
+ * The most recent events are kept in a ring buffer of fixed capacity. Each event
+ * has an offset, starting at 1, which clients can use to resume reading the feed.</p>
+ *
+ * <p>Clients which fall behind by more than the capacity miss events; they can detect
+ * this with {@link #isAvailable(long)} and have to query the tasks again.</p>
+ *
+ * <p>Clients waiting for events {@link #subscribe(String, List, long) subscribe} to the feed.
+ * The number of subscriptions is limited, since each waiting subscription usually holds
+ * a thread.</p>
+ */
+public class TaskChangeFeed {
+
+  public static final int DEFAULT_MAX_SUBSCRIPTIONS = 20;
+
+  protected final TaskChangeEvent[] events;
+  protected long nextOffset = 1;
+
+  protected final int maxSubscriptions;
+  protected final List<TaskChangeSubscription> subscriptions = new CopyOnWriteArrayList<TaskChangeSubscription>();
+
+  protected final List<TaskChangeListener> listeners = new CopyOnWriteArrayList<TaskChangeListener>();
+
+  public TaskChangeFeed(int capacity) {
+    this(capacity, DEFAULT_MAX_SUBSCRIPTIONS);
+  }
+
+  public TaskChangeFeed(int capacity, int maxSubscriptions) {
+    this.events = new TaskChangeEvent[capacity];
+    this.maxSubscriptions = maxSubscriptions;
+  }
+
+  /**
+   * Publishes the event when the transaction of the command context is committed.
+   */
+  public void publishOnCommit(final TaskChangeEvent event, CommandContext commandContext) {
+    commandContext.getTransactionContext()
+      .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          publish(event);
+        }
+      });
+  }
+
+  public void publish(TaskChangeEvent event) {
+    synchronized (this) {
+      event.setOffset(nextOffset);
+      events[(int) (nextOffset % events.length)] = event;
+      nextOffset++;
+    }
+
+    for (TaskChangeSubscription subscription : subscriptions) {
+      if (subscription.accepts(event)) {
+        subscription.signal();
+      }
+    }
+
+    for (TaskChangeListener listener : listeners) {
+      listener.onTaskChange(event);
+    }
+  }
+
+  /**
+   * @return the offset of the latest event, 0 if no event was published yet
+   */
+  public synchronized long getLatestOffset() {
+    return nextOffset - 1;
+  }
+
+  /**
+   * @return true if all events after the given offset are still contained in the feed
+   */
+  public synchronized boolean isAvailable(long offset) {
+    return offset >= nextOffset - 1 - events.length && offset <= nextOffset - 1;
+  }
+
+  /**
+   * @return the events after the given offset which are still contained in the feed
+   */
+  public synchronized List<TaskChangeEvent> getEventsAfter(long offset, int maxEvents) {
+    long from = Math.max(offset + 1, nextOffset - events.length);
+    long to = Math.min(nextOffset, from + maxEvents);
+
+    if (from >= to) {
+      return Collections.emptyList();
+    }
+
+    List<TaskChangeEvent> result = new ArrayList<TaskChangeEvent>((int) (to - from));
+    for (long eventOffset = from; eventOffset < to; eventOffset++) {
+      result.add(events[(int) (eventOffset % events.length)]);
+    }
+    return result;
+  }
+
+  /**
+   * Subscribes to the events of the given user and groups. If neither user nor groups are
+   * given, the subscription is woken up by all events.
+   *
+   * @param expirationTime the time in milliseconds (see {@link System#currentTimeMillis()}) after which the subscription is removed if it was not closed
+   * @return the subscription or <code>null</code> if the maximum number of subscriptions is reached
+   */
+  public synchronized TaskChangeSubscription subscribe(String userId, List<String> groupIds, long expirationTime) {
+    for (TaskChangeSubscription subscription : subscriptions) {
+      if (subscription.isExpired()) {
+        subscriptions.remove(subscription);
+      }
+    }
+
+    if (subscriptions.size() >= maxSubscriptions) {
+      return null;
+    }
+
+    TaskChangeSubscription subscription = new TaskChangeSubscription(this, userId, groupIds, expirationTime);
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  public void unsubscribe(TaskChangeSubscription subscription) {
+    subscriptions.remove(subscription);
+  }
+
+  /**
+   * @return true if a client is subscribed to the feed
+   */
+  public boolean hasSubscriptions() {
+    return !subscriptions.isEmpty();
+  }
+
+  public int getMaxSubscriptions() {
+    return maxSubscriptions;
+  }
+
+  public void addListener(TaskChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(TaskChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.task.event;
+
+import java.util.List;
+
+/**
+ * <p>Reader of a {@link TaskChangeFeed}, created by {@link TaskChangeFeed#subscribe(String, List, long)}.
+ * A waiting reader is only woken up by events it may see, so that readers of other users
+ * keep waiting instead of competing for the feed.</p>
+ *
+ * <p>A subscription must be closed by {@link #close()}. Subscriptions which are not closed
+ * are removed once they expired.</p>
+ */
+public class TaskChangeSubscription {
+
+  protected final TaskChangeFeed taskChangeFeed;
+  protected final String userId;
+  protected final List<String> groupIds;
+  protected final long expirationTime;
+
+  protected boolean signaled = false;
+
+  public TaskChangeSubscription(TaskChangeFeed taskChangeFeed, String userId, List<String> groupIds, long expirationTime) {
+    this.taskChangeFeed = taskChangeFeed;
+    this.userId = userId;
+    this.groupIds = groupIds;
+    this.expirationTime = expirationTime;
+  }
+
+  /**
+   * @return true if the event may be visible to the user or groups of this subscription;
+   *   events whose candidates are unknown are always accepted
+   */
+  public boolean accepts(TaskChangeEvent event) {
+    if (userId == null && (groupIds == null || groupIds.isEmpty())) {
+      return true;
+    }
+    return !event.isCandidatesResolved() || event.isVisibleTo(userId, groupIds);
+  }
+
+  /**
+   * Waits until an accepted event is published after the given offset or the timeout elapsed.
+   *
+   * @return the events after the given offset, including events which are not accepted;
+   *   empty if the timeout elapsed
+   */
+  public List<TaskChangeEvent> awaitEventsAfter(long offset, int maxEvents, long timeoutMillis) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+
+    synchronized (this) {
+      long remaining = timeoutMillis;
+      while (!signaled && taskChangeFeed.getLatestOffset() <= offset && remaining > 0) {
+        wait(remaining);
+        remaining = deadline - System.currentTimeMillis();
+      }
+      signaled = false;
+    }
+
+    return taskChangeFeed.getEventsAfter(offset, maxEvents);
+  }
+
+  protected synchronized void signal() {
+    signaled = true;
+    notify();
+  }
+
+  public boolean isExpired() {
+    return System.currentTimeMillis() > expirationTime;
+  }
+
+  public void close() {
+    taskChangeFeed.unsubscribe(this);
+  }
+
+  public String getUserId() {
+    return userId;
+  }
+
+  public List<String> getGroupIds() {
+    return groupIds;
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Transparent compression of byte arrays stored in the database.
+ *
+ * <p>Compressed values start with a header consisting of a magic number, the length
+ * and the CRC32 checksum of the uncompressed value, followed by the deflated bytes.
+ * On decompression the header, the length and the checksum are verified, so values
+ * written without compression (e.g. before compression was enabled) are returned
+ * unchanged, even if they happen to start with the magic number.</p>
+ */
+public class CompressionUtil {
+
+  protected static final byte[] MAGIC = new byte[] { (byte) 0xCA, (byte) 0x3D, (byte) 0x5A, (byte) 0x01 };
+  protected static final int HEADER_LENGTH = MAGIC.length + 8;
+
+  /** deflate cannot compress better than roughly 1:1032 */
+  protected static final long MAX_COMPRESSION_RATIO = 1032;
+
+  /**
+   * @return the compressed value or the given value if it is smaller than the threshold
+   * or compression does not reduce its size.
+   */
+  public static byte[] compress(byte[] bytes, int threshold) {
+    if (bytes == null || bytes.length < threshold || bytes.length < HEADER_LENGTH) {
+      return bytes;
+    }
+
+    Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    try {
+      deflater.setInput(bytes);
+      deflater.finish();
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + HEADER_LENGTH);
+      out.write(MAGIC, 0, MAGIC.length);
+      writeInt(out, bytes.length);
+      writeInt(out, checksum(bytes, 0, bytes.length));
+
+      byte[] buffer = new byte[4096];
+      while (!deflater.finished()) {
+        int count = deflater.deflate(buffer);
+        out.write(buffer, 0, count);
+        if (out.size() >= bytes.length) {
+          // no gain, keep the uncompressed value
+          return bytes;
+        }
+      }
+      return out.toByteArray();
+    }
+    finally {
+      deflater.end();
+    }
+  }
+
+  /**
+   * @return the decompressed value if the given value was written by {@link #compress(byte[], int)},
+   * the given value otherwise.
+   */
+  public static byte[] decompress(byte[] bytes) {
+    if (!hasCompressionHeader(bytes)) {
+      return bytes;
+    }
+
+    int length = readInt(bytes, MAGIC.length);
+    int checksum = readInt(bytes, MAGIC.length + 4);
+    if (length < 0 || length > (bytes.length - HEADER_LENGTH) * MAX_COMPRESSION_RATIO) {
+      // cannot be a value written by compress(), do not allocate a buffer for it
+      return bytes;
+    }
+
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+      byte[] result = new byte[length];
+      int offset = 0;
+      while (offset < length && !inflater.finished()) {
+        int count = inflater.inflate(result, offset, length - offset);
+        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          return bytes;
+        }
+        offset += count;
+      }
+
+      if (offset != length || !inflater.finished() || checksum(result, 0, length) != checksum) {
+        return bytes;
+      }
+      return result;
+    }
+    catch (DataFormatException e) {
+      // not a compressed value
+      return bytes;
+    }
+    finally {
+      inflater.end();
+    }
+  }
+
+  protected static boolean hasCompressionHeader(byte[] bytes) {
+    if (bytes == null || bytes.length < HEADER_LENGTH) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (bytes[i] != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected static int checksum(byte[] bytes, int offset, int length) {
+    CRC32 crc = new CRC32();
+    crc.update(bytes, offset, length);
+    return (int) crc.getValue();
+  }
+
+  protected static void writeInt(ByteArrayOutputStream out, int value) {
+    out.write(value >>> 24);
+    out.write(value >>> 16);
+    out.write(value >>> 8);
+    out.write(value);
+  }
+
+  protected static int readInt(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xFF) << 24)
+        | ((bytes[offset + 1] & 0xFF) << 16)
+        | ((bytes[offset + 2] & 0xFF) << 8)
+        | (bytes[offset + 3] & 0xFF);
+  }
+
+}
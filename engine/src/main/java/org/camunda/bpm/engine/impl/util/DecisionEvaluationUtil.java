@@ -16,12 +16,16 @@
  */
 package org.camunda.bpm.engine.impl.util;
 
+import java.util.List;
+
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.dmn.engine.impl.DmnDecisionTableResultImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.BaseCallableElement;
 import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.delegate.DelegateInvocation;
+import org.camunda.bpm.engine.impl.dmn.invocation.DecisionForEachInvocation;
 import org.camunda.bpm.engine.impl.dmn.invocation.DecisionInvocation;
 import org.camunda.bpm.engine.impl.dmn.invocation.VariableScopeContext;
 import org.camunda.bpm.engine.impl.dmn.result.CollectEntriesDecisionResultMapper;
@@ -88,13 +92,19 @@ public class DecisionEvaluationUtil {
     return invocation.getInvocationResult();
   }
 
+  public static List<DmnDecisionResult> evaluateDecisionForEach(DecisionDefinition decisionDefinition, List<VariableContext> variableContexts) throws Exception {
+    DecisionForEachInvocation invocation = new DecisionForEachInvocation(decisionDefinition, variableContexts);
+    invoke(invocation);
+    return invocation.getInvocationResult();
+  }
+
   public static DmnDecisionTableResult evaluateDecisionTable(DecisionDefinition decisionDefinition, VariableMap variables) throws Exception {
     // doesn't throw an exception if the decision definition is not implemented as decision table
     DmnDecisionResult decisionResult = evaluateDecision(decisionDefinition, variables);
     return DmnDecisionTableResultImpl.wrap(decisionResult);
   }
 
-  protected static void invoke(DecisionInvocation invocation) throws Exception {
+  protected static void invoke(DelegateInvocation invocation) throws Exception {
     Context.getProcessEngineConfiguration()
       .getDelegateInterceptor()
       .handleInvocation(invocation);
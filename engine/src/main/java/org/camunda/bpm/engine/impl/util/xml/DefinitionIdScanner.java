@@ -0,0 +1,96 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the ids of the definitions (e.g. processes or cases) which are direct
+ * children of the root element of an XML resource with a streaming parser.
+ * In contrast to reading the resource as a model instance, no document tree is
+ * built, the resource is not validated and the content of the definitions is skipped.
+ */
+public class DefinitionIdScanner {
+
+  protected static final XMLInputFactory defaultXmlInputFactory = createXmlInputFactory();
+
+  protected final Set<String> namespaceUris;
+  protected final String elementName;
+
+  /**
+   * @param namespaceUris the namespaces of the definition element
+   * @param elementName the local name of the definition element, e.g. <code>process</code>
+   */
+  public DefinitionIdScanner(Set<String> namespaceUris, String elementName) {
+    this.namespaceUris = namespaceUris;
+    this.elementName = elementName;
+  }
+
+  /**
+   * @return the ids of all definition elements in the given resource
+   * @throws XMLStreamException if the resource is not well-formed XML
+   */
+  public List<String> scan(byte[] bytes) throws XMLStreamException {
+    List<String> ids = new ArrayList<>();
+
+    XMLStreamReader reader = defaultXmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(bytes));
+    try {
+      int depth = 0;
+      while (reader.hasNext()) {
+        int event = reader.next();
+        if (event == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+          if (depth == 2 && isDefinitionElement(reader)) {
+            String id = reader.getAttributeValue(null, "id");
+            if (id != null) {
+              ids.add(id);
+            }
+          }
+        }
+        else if (event == XMLStreamConstants.END_ELEMENT) {
+          depth--;
+        }
+      }
+    }
+    finally {
+      reader.close();
+    }
+
+    return ids;
+  }
+
+  protected boolean isDefinitionElement(XMLStreamReader reader) {
+    return elementName.equals(reader.getLocalName()) && namespaceUris.contains(reader.getNamespaceURI());
+  }
+
+  protected static XMLInputFactory createXmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+    return factory;
+  }
+
+}
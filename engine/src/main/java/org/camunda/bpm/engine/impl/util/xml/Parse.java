@@ -55,6 +55,7 @@ public class Parse extends DefaultHandler {
   protected static final String DISALLOW_DOCTYPE_DECL = "http://apache.org/xml/features/disallow-doctype-decl";
   protected static final String LOAD_EXTERNAL_DTD = "http://apache.org/xml/features/nonvalidating/load-external-dtd";
   protected static final String EXTERNAL_PARAMETER_ENTITIES = "http://xml.org/sax/features/external-parameter-entities";
+  protected static final String NAMESPACE_PREFIXES = "http://xml.org/sax/features/namespace-prefixes";
 
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA = "http://javax.xml.XMLConstants/property/accessExternalSchema";
   protected static final String JAXP_ACCESS_EXTERNAL_SCHEMA_SYSTEM_PROPERTY = "javax.xml.accessExternalSchema";
@@ -68,6 +69,7 @@ public class Parse extends DefaultHandler {
   protected List<Problem> warnings = new ArrayList<>();
   protected String schemaResource;
   protected boolean enableXxeProcessing = true;
+  protected SAXParserFactory saxParserFactory;
 
   public Parse(Parser parser) {
     this.parser = parser;
@@ -134,10 +136,23 @@ public class Parse extends DefaultHandler {
   }
 
   public Parse execute() {
+    if (rootElement == null) {
+      parseXml();
+    }
+    return this;
+  }
+
+  /**
+   * Reads the source into the element tree of this parse. Only the state of this parse
+   * and its SAX parser factory are used, so parses with their own
+   * {@link #setSaxParserFactory(SAXParserFactory) SAX parser factory} can read their
+   * sources on different threads.
+   */
+  public Parse parseXml() {
     try {
       InputStream inputStream = streamSource.getInputStream();
 
-      SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
+      SAXParserFactory saxParserFactory = getSaxParserFactory();
       saxParserFactory.setFeature(EXTERNAL_GENERAL_ENTITIES, enableXxeProcessing);
       saxParserFactory.setFeature(DISALLOW_DOCTYPE_DECL, !enableXxeProcessing);
       saxParserFactory.setFeature(LOAD_EXTERNAL_DTD, enableXxeProcessing);
@@ -145,12 +160,23 @@ public class Parse extends DefaultHandler {
       saxParserFactory.setXIncludeAware(enableXxeProcessing);
       saxParserFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
 
-      if (schemaResource == null) { // must be done before parser is created
+      // must be done before parser is created
+      if (schemaResource == null) {
         saxParserFactory.setNamespaceAware(false);
         saxParserFactory.setValidating(false);
       }
+      else {
+        saxParserFactory.setNamespaceAware(true);
+        saxParserFactory.setValidating(true);
+        try {
+          saxParserFactory.setFeature(NAMESPACE_PREFIXES, true);
+        }
+        catch (Exception e) {
+          LOG.unableToSetSchemaResource(e);
+        }
+      }
 
-      SAXParser saxParser = parser.getSaxParser();
+      SAXParser saxParser = getSaxParser();
       try {
         saxParser.setProperty(JAXP_ACCESS_EXTERNAL_SCHEMA, resolveAccessExternalSchemaProperty());
       } catch (Exception e) {
@@ -169,6 +195,32 @@ public class Parse extends DefaultHandler {
     return this;
   }
 
+  protected SAXParserFactory getSaxParserFactory() {
+    if (saxParserFactory != null) {
+      return saxParserFactory;
+    }
+    else {
+      return parser.getSaxParserFactory();
+    }
+  }
+
+  protected SAXParser getSaxParser() throws Exception {
+    if (saxParserFactory != null) {
+      return saxParserFactory.newSAXParser();
+    }
+    else {
+      return parser.getSaxParser();
+    }
+  }
+
+  /**
+   * Sets the SAX parser factory used by this parse instead of the factory of the parser,
+   * which is shared by all parses of the parser.
+   */
+  public void setSaxParserFactory(SAXParserFactory saxParserFactory) {
+    this.saxParserFactory = saxParserFactory;
+  }
+
   /*
    * JAXP allows users to override the default value via system properties and
    * a central properties file (see https://docs.oracle.com/javase/tutorial/jaxp/properties/scope.html).
@@ -257,15 +309,6 @@ public class Parse extends DefaultHandler {
   }
 
   public void setSchemaResource(String schemaResource) {
-    SAXParserFactory saxParserFactory = parser.getSaxParserFactory();
-    saxParserFactory.setNamespaceAware(true);
-    saxParserFactory.setValidating(true);
-    try {
-      saxParserFactory.setFeature("http://xml.org/sax/features/namespace-prefixes", true);
-    }
-    catch (Exception e) {
-      LOG.unableToSetSchemaResource(e);
-    }
     this.schemaResource = schemaResource;
   }
 }
@@ -0,0 +1,319 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compact;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * Reads an object graph written by a {@link CompactObjectWriter}.
+ * A reader instance must only be used for a single object.
+ *
+ * <p>Lengths and sizes read from the input are checked against the number
+ * of remaining bytes before anything is allocated for them, so that corrupt
+ * values fail with a {@link ProcessEngineException}.</p>
+ */
+public class CompactObjectReader {
+
+  protected final CompactObjectSerializer serializer;
+  protected final DataInputStream in;
+
+  protected static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<Class<?>, Class<?>>();
+  static {
+    PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+    PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+    PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+    PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+    PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+    PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+    PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+    PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+  }
+
+  protected final List<Class<?>> typeReferences = new ArrayList<Class<?>>();
+
+  public CompactObjectReader(CompactObjectSerializer serializer, byte[] bytes) {
+    this.serializer = serializer;
+    // the available bytes of a byte array input stream are exactly the remaining bytes
+    this.in = new DataInputStream(new ByteArrayInputStream(bytes));
+  }
+
+  public Object readObject(Class<?> type) throws Exception {
+    byte version = in.readByte();
+    if (version != CompactObjectWriter.FORMAT_VERSION) {
+      throw new ProcessEngineException("Cannot deserialize object of type '" + type.getName()
+          + "': unsupported compact object format version " + version);
+    }
+    return readFields(type);
+  }
+
+  protected Object readFields(Class<?> type) throws Exception {
+    CompactObjectSchema schema = serializer.getSchema(type);
+    if (schema == null) {
+      throw new ProcessEngineException("Cannot deserialize object of type '" + type.getName()
+          + "' from compact object format: type needs a default constructor and serializable fields");
+    }
+
+    int fingerprint = in.readInt();
+    if (fingerprint != schema.getFingerprint()) {
+      throw new ProcessEngineException("Cannot deserialize object of type '" + type.getName()
+          + "': the fields of the type have changed since the object was serialized");
+    }
+
+    Object object = schema.newInstance();
+    for (Field field : schema.getFields()) {
+      Object value = readValue(field.getType());
+      if (value != null) {
+        ensureAssignable(type, field, value);
+        field.set(object, value);
+      }
+      else if (!field.getType().isPrimitive()) {
+        field.set(object, null);
+      }
+    }
+    return object;
+  }
+
+  protected void ensureAssignable(Class<?> type, Field field, Object value) {
+    Class<?> fieldType = field.getType();
+    if (fieldType.isPrimitive()) {
+      fieldType = PRIMITIVE_WRAPPERS.get(fieldType);
+    }
+    if (!fieldType.isInstance(value)) {
+      throw new ProcessEngineException("Cannot deserialize object of type '" + type.getName() + "': field '" + field.getName()
+          + "' of type '" + field.getType().getName() + "' cannot hold a value of type '" + value.getClass().getName() + "'");
+    }
+  }
+
+  protected Object readValue(Class<?> declaredType) throws Exception {
+    byte tag = in.readByte();
+    switch (tag) {
+      case CompactValueType.NULL:
+        return null;
+      case CompactValueType.TRUE:
+        return Boolean.TRUE;
+      case CompactValueType.FALSE:
+        return Boolean.FALSE;
+      case CompactValueType.BYTE:
+        return in.readByte();
+      case CompactValueType.SHORT:
+        return (short) readSignedVarLong();
+      case CompactValueType.CHAR:
+        return in.readChar();
+      case CompactValueType.INT:
+        return (int) readSignedVarLong();
+      case CompactValueType.LONG:
+        return readSignedVarLong();
+      case CompactValueType.FLOAT:
+        return in.readFloat();
+      case CompactValueType.DOUBLE:
+        return in.readDouble();
+      case CompactValueType.STRING:
+        return readString();
+      case CompactValueType.DATE:
+        return new Date(readSignedVarLong());
+      case CompactValueType.TIMESTAMP:
+        return readTimestamp();
+      case CompactValueType.BIG_DECIMAL:
+        int scale = (int) readSignedVarLong();
+        return new BigDecimal(new BigInteger(readBytes()), scale);
+      case CompactValueType.BIG_INTEGER:
+        return new BigInteger(readBytes());
+      case CompactValueType.ENUM:
+        return readEnum();
+      case CompactValueType.BYTES:
+        return readBytes();
+      case CompactValueType.COLLECTION:
+        return readCollection(declaredType);
+      case CompactValueType.MAP:
+        return readMap(declaredType);
+      case CompactValueType.OBJECT:
+        return readFields(readTypeReference());
+      default:
+        throw new ProcessEngineException("Cannot deserialize compact object: unknown value tag " + tag);
+    }
+  }
+
+  protected Timestamp readTimestamp() throws IOException {
+    Timestamp timestamp = new Timestamp(readSignedVarLong());
+    long nanos = readVarLong();
+    if (nanos > 999999999L) {
+      throw new ProcessEngineException("Cannot deserialize compact object: invalid timestamp nanos " + nanos);
+    }
+    timestamp.setNanos((int) nanos);
+    return timestamp;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  protected Object readEnum() throws IOException {
+    Class enumType = readTypeReference();
+    if (!enumType.isEnum()) {
+      throw new ProcessEngineException("Cannot deserialize compact object: '" + enumType.getName() + "' is not an enum");
+    }
+    return Enum.valueOf(enumType, readString());
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Object readCollection(Class<?> declaredType) throws Exception {
+    byte kind = in.readByte();
+    // every element is written with at least its tag
+    int size = readLength(1);
+
+    Collection<Object> collection = (Collection<Object>) instantiateDeclaredType(declaredType, Collection.class);
+    if (collection == null) {
+      if (kind == CompactObjectWriter.COLLECTION_SORTED_SET) {
+        collection = new TreeSet<Object>();
+      }
+      else if (kind == CompactObjectWriter.COLLECTION_SET) {
+        collection = new LinkedHashSet<Object>();
+      }
+      else {
+        collection = new ArrayList<Object>(size);
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      collection.add(readValue(Object.class));
+    }
+    return collection;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected Object readMap(Class<?> declaredType) throws Exception {
+    byte kind = in.readByte();
+    // every entry is written with at least the tags of its key and value
+    int size = readLength(2);
+
+    Map<Object, Object> map = (Map<Object, Object>) instantiateDeclaredType(declaredType, Map.class);
+    if (map == null) {
+      if (kind == CompactObjectWriter.MAP_SORTED) {
+        map = new TreeMap<Object, Object>();
+      }
+      else {
+        map = new LinkedHashMap<Object, Object>();
+      }
+    }
+
+    for (int i = 0; i < size; i++) {
+      Object key = readValue(Object.class);
+      Object value = readValue(Object.class);
+      map.put(key, value);
+    }
+    return map;
+  }
+
+  /**
+   * Instantiates a concrete collection or map type declared by a field so that
+   * the deserialized field has the same type. Returns null for the container
+   * interfaces and untyped fields, which get a default implementation.
+   */
+  protected Object instantiateDeclaredType(Class<?> declaredType, Class<?> containerType) {
+    if (!containerType.isAssignableFrom(declaredType)
+        || declaredType.isInterface()
+        || Modifier.isAbstract(declaredType.getModifiers())) {
+      return null;
+    }
+    try {
+      return declaredType.getConstructor().newInstance();
+    }
+    catch (Exception e) {
+      throw new ProcessEngineException("Cannot deserialize compact object: cannot instantiate '" + declaredType.getName() + "'", e);
+    }
+  }
+
+  protected Class<?> readTypeReference() throws IOException {
+    int reference = (int) readVarLong();
+    if (reference < typeReferences.size()) {
+      return typeReferences.get(reference);
+    }
+    else if (reference == typeReferences.size()) {
+      Class<?> type = serializer.loadType(readString());
+      typeReferences.add(type);
+      return type;
+    }
+    else {
+      throw new ProcessEngineException("Cannot deserialize compact object: invalid type reference " + reference);
+    }
+  }
+
+  protected String readString() throws IOException {
+    return new String(readBytes(), StandardCharsets.UTF_8);
+  }
+
+  protected byte[] readBytes() throws IOException {
+    int length = readLength(1);
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * Reads the number of elements of a value and ensures that the remaining
+   * input can hold them.
+   *
+   * @param minElementSize the minimal number of bytes of a single element
+   */
+  protected int readLength(int minElementSize) throws IOException {
+    long length = readVarLong();
+    long remaining = in.available();
+    if (length < 0 || length > remaining / minElementSize) {
+      throw new ProcessEngineException("Cannot deserialize compact object: length " + length
+          + " exceeds the remaining " + remaining + " bytes");
+    }
+    return (int) length;
+  }
+
+  protected long readSignedVarLong() throws IOException {
+    long value = readVarLong();
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  protected long readVarLong() throws IOException {
+    long value = 0;
+    int shift = 0;
+    byte current;
+    do {
+      if (shift > 63) {
+        throw new ProcessEngineException("Cannot deserialize compact object: malformed variable length number");
+      }
+      current = in.readByte();
+      value |= (long) (current & 0x7F) << shift;
+      shift += 7;
+    } while ((current & 0x80) != 0);
+    return value;
+  }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compact;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The schema of a java type serialized by the {@link CompactObjectSerializer}.
+ *
+ * <p>A schema is built once per type and lists the persistent fields
+ * (non-static, non-transient, including inherited ones) in a stable order.
+ * Field names are not written to the serialized form, only the
+ * {@link #getFingerprint() fingerprint} of the schema, which is checked on
+ * deserialization to detect incompatible changes of the type.</p>
+ */
+public class CompactObjectSchema {
+
+  protected final Class<?> type;
+  protected final Constructor<?> constructor;
+  protected final Field[] fields;
+  protected final int fingerprint;
+
+  protected CompactObjectSchema(Class<?> type, Constructor<?> constructor, Field[] fields) {
+    this.type = type;
+    this.constructor = constructor;
+    this.fields = fields;
+    this.fingerprint = computeFingerprint(fields);
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  public Field[] getFields() {
+    return fields;
+  }
+
+  public int getFingerprint() {
+    return fingerprint;
+  }
+
+  public Object newInstance() throws Exception {
+    return constructor.newInstance();
+  }
+
+  /**
+   * @return the schema for the given type or <code>null</code> if the type
+   * cannot be represented as a compact object (e.g. it has no default constructor).
+   */
+  public static CompactObjectSchema create(Class<?> type) {
+    if (!CompactValueType.isNestedObjectType(type)
+        || type.isAnonymousClass()
+        || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))) {
+      return null;
+    }
+
+    if (!Modifier.isPublic(type.getModifiers())) {
+      return null;
+    }
+
+    // only public constructors are used, so that private constructors of a type stay private
+    Constructor<?> constructor;
+    try {
+      constructor = type.getConstructor();
+    }
+    catch (NoSuchMethodException e) {
+      return null;
+    }
+
+    List<Field> persistentFields = new ArrayList<Field>();
+    for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+      for (Field field : current.getDeclaredFields()) {
+        int modifiers = field.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+          continue;
+        }
+        if (!CompactValueType.isSupportedFieldType(field.getType())) {
+          return null;
+        }
+        try {
+          // the persistent state of a type is usually kept in private fields
+          field.setAccessible(true);
+        }
+        catch (RuntimeException e) {
+          return null;
+        }
+        persistentFields.add(field);
+      }
+    }
+
+    Collections.sort(persistentFields, new Comparator<Field>() {
+      public int compare(Field f1, Field f2) {
+        int result = f1.getName().compareTo(f2.getName());
+        if (result == 0) {
+          // shadowed field names: order by declaring class
+          result = f1.getDeclaringClass().getName().compareTo(f2.getDeclaringClass().getName());
+        }
+        return result;
+      }
+    });
+
+    return new CompactObjectSchema(type, constructor, persistentFields.toArray(new Field[persistentFields.size()]));
+  }
+
+  protected static int computeFingerprint(Field[] fields) {
+    int result = 1;
+    for (Field field : fields) {
+      result = 31 * result + field.getName().hashCode();
+      result = 31 * result + field.getType().getName().hashCode();
+    }
+    return result;
+  }
+
+}
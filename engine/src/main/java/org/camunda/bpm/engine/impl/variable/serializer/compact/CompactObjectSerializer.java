@@ -0,0 +1,222 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compact;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.impl.variable.serializer.AbstractObjectValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.camunda.bpm.engine.variable.value.SerializableValue;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * <p>A {@link TypedValueSerializer} for {@link ObjectValue ObjectValues} which stores java objects
+ * in a compact, schema based binary format.</p>
+ *
+ * <p>The schema of a type (its persistent fields) is resolved once and cached with the type.
+ * Values are written with one byte type tags and variable length numbers, field names are not
+ * written at all. The serializer can be used for public objects which have a public default constructor
+ * and whose fields are primitives, strings, dates, timestamps, numbers, enums, byte arrays, collections,
+ * maps or nested objects of the same kind. The fields are read and written by reflection, also if
+ * they are private. Collection and map fields must be declared as one of the
+ * basic collection or map interfaces or as a concrete type with a public default constructor.
+ * Cyclic object graphs are not supported.</p>
+ *
+ * <p>The serializer is only used when the data format {@link #DATA_FORMAT} is requested for a variable
+ * or configured as {@link ProcessEngineConfigurationImpl#setDefaultSerializationFormat(String) default
+ * serialization format}, so that the serializer selection for all other values is unchanged.</p>
+ */
+public class CompactObjectSerializer extends AbstractObjectValueSerializer {
+
+  public static final String NAME = "compact";
+
+  public static final String DATA_FORMAT = "application/x-camunda-compact-object";
+
+  // stored with the classes themselves, so that the serializer does not keep classes of undeployed applications
+  protected final ClassValue<CompactObjectSchema> schemas = new ClassValue<CompactObjectSchema>() {
+    protected CompactObjectSchema computeValue(Class<?> type) {
+      return CompactObjectSchema.create(type);
+    }
+  };
+
+  protected final ClassValue<Boolean> supportedTypes = new ClassValue<Boolean>() {
+    protected Boolean computeValue(Class<?> type) {
+      return isSupportedType(type, new HashSet<Class<?>>());
+    }
+  };
+
+  public CompactObjectSerializer() {
+    super(DATA_FORMAT);
+  }
+
+  public String getName() {
+    return NAME;
+  }
+
+  protected boolean isSerializationTextBased() {
+    return false;
+  }
+
+  protected String getTypeNameForDeserialized(Object deserializedObject) {
+    return deserializedObject.getClass().getName();
+  }
+
+  protected boolean canWriteValue(TypedValue typedValue) {
+    // the object graph is only checked if this serializer is selected by the data format
+    return isDataFormatSelected(typedValue) && super.canWriteValue(typedValue);
+  }
+
+  /**
+   * @return true if {@link #DATA_FORMAT} is requested for the value or, if no data format is
+   * requested, configured as default serialization format
+   */
+  protected boolean isDataFormatSelected(TypedValue typedValue) {
+    if (typedValue instanceof SerializableValue) {
+      String requestedDataFormat = ((SerializableValue) typedValue).getSerializationDataFormat();
+      if (requestedDataFormat != null) {
+        return DATA_FORMAT.equals(requestedDataFormat);
+      }
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    return processEngineConfiguration != null
+        && DATA_FORMAT.equals(processEngineConfiguration.getDefaultSerializationFormat());
+  }
+
+  protected boolean canSerializeValue(Object value) {
+    return isSupportedType(value.getClass())
+        && isSupportedValue(value, Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()));
+  }
+
+  protected byte[] serializeToByteArray(Object deserializedObject) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new CompactObjectWriter(this, out).writeObject(deserializedObject);
+    return out.toByteArray();
+  }
+
+  protected Object deserializeFromByteArray(byte[] bytes, String objectTypeName) throws Exception {
+    Class<?> type = loadType(objectTypeName);
+    return new CompactObjectReader(this, bytes).readObject(type);
+  }
+
+  /**
+   * @return the cached schema of the type or <code>null</code> if the type has no compact representation
+   */
+  public CompactObjectSchema getSchema(Class<?> type) {
+    return schemas.get(type);
+  }
+
+  /**
+   * @return true if the type and all object types reachable through its declared fields have a schema
+   */
+  public boolean isSupportedType(Class<?> type) {
+    return supportedTypes.get(type);
+  }
+
+  protected boolean isSupportedType(Class<?> type, Set<Class<?>> visitedTypes) {
+    if (!visitedTypes.add(type)) {
+      // recursive type definition, checked already
+      return true;
+    }
+
+    CompactObjectSchema schema = getSchema(type);
+    if (schema == null) {
+      return false;
+    }
+
+    for (Field field : schema.getFields()) {
+      Class<?> fieldType = field.getType();
+      if (CompactValueType.isNestedObjectType(fieldType) && !isSupportedType(fieldType, visitedTypes)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks the runtime types of the values reachable from the given value. Elements of containers,
+   * values of fields declared as {@link Object} and subclasses of declared field types are not
+   * covered by {@link #isSupportedType(Class)}.
+   */
+  protected boolean isSupportedValue(Object value, Set<Object> visitedObjects) {
+    if (value == null || CompactValueType.isSimpleValue(value)) {
+      return true;
+    }
+    else if (value instanceof Collection) {
+      for (Object element : (Collection<?>) value) {
+        if (!isSupportedValue(element, visitedObjects)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    else if (value instanceof Map) {
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        if (!isSupportedValue(entry.getKey(), visitedObjects) || !isSupportedValue(entry.getValue(), visitedObjects)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    else if (!visitedObjects.add(value)) {
+      // cyclic references are reported by the writer
+      return true;
+    }
+    else if (!isSupportedType(value.getClass())) {
+      return false;
+    }
+
+    for (Field field : getSchema(value.getClass()).getFields()) {
+      if (!field.getType().isPrimitive() && !isSupportedValue(getFieldValue(field, value), visitedObjects)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected Object getFieldValue(Field field, Object object) {
+    try {
+      return field.get(object);
+    }
+    catch (IllegalAccessException e) {
+      throw new ProcessEngineException("Cannot read field '" + field.getName() + "' of type '" + object.getClass().getName() + "'", e);
+    }
+  }
+
+  public Class<?> loadType(String typeName) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null
+        && processEngineConfiguration.isDeserializationTypeValidationEnabled()
+        && !processEngineConfiguration.getDeserializationTypeValidator().validate(typeName)) {
+      throw new ProcessEngineException("The following classes are not whitelisted for deserialization: [" + typeName + "]");
+    }
+    return ReflectUtil.loadClass(typeName);
+  }
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compact;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * Writes an object graph in the compact object format.
+ *
+ * <p>Type names of nested objects and enums are written once per stream and
+ * referenced by index afterwards. A writer instance must only be used for a single object.</p>
+ */
+public class CompactObjectWriter {
+
+  public static final byte FORMAT_VERSION = 1;
+
+  public static final byte COLLECTION_LIST = 0;
+  public static final byte COLLECTION_SET = 1;
+  public static final byte COLLECTION_SORTED_SET = 2;
+
+  public static final byte MAP_DEFAULT = 0;
+  public static final byte MAP_SORTED = 1;
+
+  protected final CompactObjectSerializer serializer;
+  protected final DataOutputStream out;
+
+  protected final Map<String, Integer> typeReferences = new HashMap<String, Integer>();
+  protected final Set<Object> objectsInProgress = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+  public CompactObjectWriter(CompactObjectSerializer serializer, OutputStream out) {
+    this.serializer = serializer;
+    this.out = new DataOutputStream(out);
+  }
+
+  public void writeObject(Object object) throws IOException {
+    out.writeByte(FORMAT_VERSION);
+    writeFields(object, getSchema(object));
+    out.flush();
+  }
+
+  protected void writeFields(Object object, CompactObjectSchema schema) throws IOException {
+    if (!objectsInProgress.add(object)) {
+      throw new ProcessEngineException("Cannot serialize cyclic reference to object of type '" + object.getClass().getName() + "'");
+    }
+
+    out.writeInt(schema.getFingerprint());
+    for (Field field : schema.getFields()) {
+      writeValue(getFieldValue(field, object));
+    }
+
+    objectsInProgress.remove(object);
+  }
+
+  protected void writeValue(Object value) throws IOException {
+    if (value == null) {
+      out.writeByte(CompactValueType.NULL);
+    }
+    else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? CompactValueType.TRUE : CompactValueType.FALSE);
+    }
+    else if (value instanceof Byte) {
+      out.writeByte(CompactValueType.BYTE);
+      out.writeByte((Byte) value);
+    }
+    else if (value instanceof Short) {
+      out.writeByte(CompactValueType.SHORT);
+      writeSignedVarLong((Short) value);
+    }
+    else if (value instanceof Character) {
+      out.writeByte(CompactValueType.CHAR);
+      out.writeChar((Character) value);
+    }
+    else if (value instanceof Integer) {
+      out.writeByte(CompactValueType.INT);
+      writeSignedVarLong((Integer) value);
+    }
+    else if (value instanceof Long) {
+      out.writeByte(CompactValueType.LONG);
+      writeSignedVarLong((Long) value);
+    }
+    else if (value instanceof Float) {
+      out.writeByte(CompactValueType.FLOAT);
+      out.writeFloat((Float) value);
+    }
+    else if (value instanceof Double) {
+      out.writeByte(CompactValueType.DOUBLE);
+      out.writeDouble((Double) value);
+    }
+    else if (value instanceof String) {
+      out.writeByte(CompactValueType.STRING);
+      writeString((String) value);
+    }
+    else if (value instanceof Timestamp) {
+      Timestamp timestamp = (Timestamp) value;
+      out.writeByte(CompactValueType.TIMESTAMP);
+      writeSignedVarLong(timestamp.getTime());
+      writeVarLong(timestamp.getNanos());
+    }
+    else if (value instanceof Date) {
+      out.writeByte(CompactValueType.DATE);
+      writeSignedVarLong(((Date) value).getTime());
+    }
+    else if (value instanceof BigDecimal) {
+      BigDecimal decimal = (BigDecimal) value;
+      out.writeByte(CompactValueType.BIG_DECIMAL);
+      writeSignedVarLong(decimal.scale());
+      writeBytes(decimal.unscaledValue().toByteArray());
+    }
+    else if (value instanceof BigInteger) {
+      out.writeByte(CompactValueType.BIG_INTEGER);
+      writeBytes(((BigInteger) value).toByteArray());
+    }
+    else if (value instanceof Enum) {
+      Enum<?> enumValue = (Enum<?>) value;
+      out.writeByte(CompactValueType.ENUM);
+      writeTypeReference(enumValue.getDeclaringClass().getName());
+      writeString(enumValue.name());
+    }
+    else if (value instanceof byte[]) {
+      out.writeByte(CompactValueType.BYTES);
+      writeBytes((byte[]) value);
+    }
+    else if (value instanceof Collection) {
+      writeCollection((Collection<?>) value);
+    }
+    else if (value instanceof Map) {
+      writeMap((Map<?, ?>) value);
+    }
+    else {
+      out.writeByte(CompactValueType.OBJECT);
+      writeTypeReference(value.getClass().getName());
+      writeFields(value, getSchema(value));
+    }
+  }
+
+  protected void writeCollection(Collection<?> collection) throws IOException {
+    out.writeByte(CompactValueType.COLLECTION);
+    if (collection instanceof SortedSet) {
+      out.writeByte(COLLECTION_SORTED_SET);
+    }
+    else if (collection instanceof Set) {
+      out.writeByte(COLLECTION_SET);
+    }
+    else {
+      out.writeByte(COLLECTION_LIST);
+    }
+
+    writeVarLong(collection.size());
+    for (Object element : collection) {
+      writeValue(element);
+    }
+  }
+
+  protected void writeMap(Map<?, ?> map) throws IOException {
+    out.writeByte(CompactValueType.MAP);
+    out.writeByte(map instanceof SortedMap ? MAP_SORTED : MAP_DEFAULT);
+
+    writeVarLong(map.size());
+    for (Map.Entry<?, ?> entry : map.entrySet()) {
+      writeValue(entry.getKey());
+      writeValue(entry.getValue());
+    }
+  }
+
+  protected void writeTypeReference(String typeName) throws IOException {
+    Integer reference = typeReferences.get(typeName);
+    if (reference != null) {
+      writeVarLong(reference);
+    }
+    else {
+      int newReference = typeReferences.size();
+      typeReferences.put(typeName, newReference);
+      writeVarLong(newReference);
+      writeString(typeName);
+    }
+  }
+
+  protected void writeString(String value) throws IOException {
+    writeBytes(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  protected void writeBytes(byte[] bytes) throws IOException {
+    writeVarLong(bytes.length);
+    out.write(bytes);
+  }
+
+  protected void writeSignedVarLong(long value) throws IOException {
+    // zig-zag encoding keeps small negative values short
+    writeVarLong((value << 1) ^ (value >> 63));
+  }
+
+  protected void writeVarLong(long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  protected CompactObjectSchema getSchema(Object object) {
+    CompactObjectSchema schema = serializer.getSchema(object.getClass());
+    if (schema == null) {
+      throw new ProcessEngineException("Cannot serialize object of type '" + object.getClass().getName()
+          + "' in compact object format: type needs a default constructor and serializable fields");
+    }
+    return schema;
+  }
+
+  protected Object getFieldValue(Field field, Object object) {
+    try {
+      return field.get(object);
+    }
+    catch (IllegalAccessException e) {
+      throw new ProcessEngineException("Cannot read field '" + field.getName() + "' of type '" + object.getClass().getName() + "'", e);
+    }
+  }
+
+}
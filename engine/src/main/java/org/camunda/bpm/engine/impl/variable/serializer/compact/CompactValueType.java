@@ -0,0 +1,168 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.variable.serializer.compact;
+
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+
+/**
+ * Type tags of the compact object format. Every value is written as
+ * a one byte tag followed by its payload.
+ */
+public final class CompactValueType {
+
+  public static final byte NULL = 0;
+  public static final byte TRUE = 1;
+  public static final byte FALSE = 2;
+  public static final byte BYTE = 3;
+  public static final byte SHORT = 4;
+  public static final byte CHAR = 5;
+  public static final byte INT = 6;
+  public static final byte LONG = 7;
+  public static final byte FLOAT = 8;
+  public static final byte DOUBLE = 9;
+  public static final byte STRING = 10;
+  public static final byte DATE = 11;
+  public static final byte BIG_DECIMAL = 12;
+  public static final byte BIG_INTEGER = 13;
+  public static final byte ENUM = 14;
+  public static final byte BYTES = 15;
+  public static final byte COLLECTION = 16;
+  public static final byte MAP = 17;
+  public static final byte OBJECT = 18;
+  public static final byte TIMESTAMP = 19;
+
+  /**
+   * Container interfaces which are deserialized as {@link java.util.ArrayList},
+   * {@link java.util.LinkedHashSet}, {@link java.util.TreeSet}, {@link java.util.LinkedHashMap}
+   * or {@link java.util.TreeMap}.
+   */
+  protected static final Set<Class<?>> DEFAULT_CONTAINER_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+      Collection.class, List.class, Set.class, SortedSet.class, NavigableSet.class,
+      Map.class, SortedMap.class, NavigableMap.class));
+
+  private CompactValueType() {
+  }
+
+  /**
+   * @return true if values of a field with the given declared type are written
+   * with a dedicated tag. All other types are written as nested objects.
+   */
+  public static boolean isSimpleType(Class<?> type) {
+    return type.isPrimitive()
+        || type == Boolean.class
+        || type == Byte.class
+        || type == Short.class
+        || type == Character.class
+        || type == Integer.class
+        || type == Long.class
+        || type == Float.class
+        || type == Double.class
+        || type == String.class
+        || type == Date.class
+        || type == Timestamp.class
+        || type == BigDecimal.class
+        || type == BigInteger.class
+        || type == byte[].class
+        || type.isEnum();
+  }
+
+  public static boolean isContainerType(Class<?> type) {
+    return Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+  }
+
+  /**
+   * @return true if a container of the given declared type can be deserialized: either
+   * one of the {@link #DEFAULT_CONTAINER_TYPES} or a concrete type with a public default constructor
+   */
+  public static boolean isSupportedContainerType(Class<?> type) {
+    if (DEFAULT_CONTAINER_TYPES.contains(type)) {
+      return true;
+    }
+    if (!isContainerType(type) || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+      return false;
+    }
+    try {
+      type.getConstructor();
+      return true;
+    }
+    catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return true if values of the given declared type are written as nested objects
+   * with a schema of their own
+   */
+  public static boolean isNestedObjectType(Class<?> type) {
+    return !type.isPrimitive()
+        && !type.isArray()
+        && !type.isInterface()
+        && !type.isEnum()
+        && !Modifier.isAbstract(type.getModifiers())
+        && !isContainerType(type)
+        && !type.getName().startsWith("java.")
+        && !type.getName().startsWith("javax.");
+  }
+
+  /**
+   * @return true if a field of the given declared type can be part of a compact object schema:
+   * a simple type, a supported container type, {@link Object} or a nested object type.
+   * Nested object types must additionally have a schema themselves.
+   */
+  public static boolean isSupportedFieldType(Class<?> type) {
+    return isSimpleType(type)
+        || isSupportedContainerType(type)
+        || type == Object.class
+        || isNestedObjectType(type);
+  }
+
+  /**
+   * @return true if the value is written with a dedicated tag
+   */
+  public static boolean isSimpleValue(Object value) {
+    return value instanceof Boolean
+        || value instanceof Byte
+        || value instanceof Short
+        || value instanceof Character
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Float
+        || value instanceof Double
+        || value instanceof String
+        || value instanceof Date
+        || value instanceof BigDecimal
+        || value instanceof BigInteger
+        || value instanceof Enum
+        || value instanceof byte[];
+  }
+
+}
@@ -66,6 +66,13 @@ public class Metrics {
   public final static String EXECUTED_DECISION_INSTANCES = "executed-decision-instances";
   public final static String EXECUTED_DECISION_ELEMENTS = "executed-decision-elements";
 
+  /**
+   * Number of variable instances loaded by fetching only the requested variables instead of all
+   * variables of the scope. Only counted if {@link org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#isVariableFetchProjectionEnabled()
+   * variable fetch projection} is enabled.
+   */
+  public final static String VARIABLE_INSTANCE_FETCH_PROJECTED = "variable-instance-fetch-projected";
+
   /**
    * Number of instances removed by history cleanup.
    */
@@ -370,7 +370,6 @@ create index ACT_IDX_EXT_TASK_TOPIC ON ACT_RU_EXT_TASK(TOPIC_NAME_);
 create index ACT_IDX_EXT_TASK_TENANT_ID ON ACT_RU_EXT_TASK(TENANT_ID_);
 create index ACT_IDX_EXT_TASK_PRIORITY ON ACT_RU_EXT_TASK(PRIORITY_);
 create index ACT_IDX_EXT_TASK_ERR_DETAILS ON ACT_RU_EXT_TASK(ERROR_DETAILS_ID_);
-create index ACT_IDX_AUTH_GROUP_ID ON ACT_RU_AUTHORIZATION(GROUP_ID_);
 create index ACT_IDX_JOB_JOB_DEF_ID on ACT_RU_JOB(JOB_DEF_ID_);
 
 -- indexes for deadlock problems - https://app.camunda.com/jira/browse/CAM-2567 --
@@ -381,6 +380,9 @@ create index ACT_IDX_INC_PROCINSTID on ACT_RU_INCIDENT(PROC_INST_ID_);
 create index ACT_IDX_INC_ROOTCAUSEINCID on ACT_RU_INCIDENT(ROOT_CAUSE_INCIDENT_ID_);
 -- index for deadlock problem - https://app.camunda.com/jira/browse/CAM-4440 --
 create index ACT_IDX_AUTH_RESOURCE_ID on ACT_RU_AUTHORIZATION(RESOURCE_ID_);
+-- composite indexes to serve authorization checks of queries from a single index range scan --
+create index ACT_IDX_AUTH_USER_RES on ACT_RU_AUTHORIZATION(USER_ID_, RESOURCE_TYPE_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_GROUP_RES on ACT_RU_AUTHORIZATION(GROUP_ID_, RESOURCE_TYPE_, RESOURCE_ID_);
 -- index to prevent deadlock on fk constraint - https://app.camunda.com/jira/browse/CAM-5440 --
 create index ACT_IDX_EXT_TASK_EXEC on ACT_RU_EXT_TASK(EXECUTION_ID_);
 
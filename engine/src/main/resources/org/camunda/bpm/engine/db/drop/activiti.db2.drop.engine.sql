@@ -29,7 +29,6 @@ drop index ACT_IDX_JOB_PROCINST;
 drop index ACT_UNIQ_AUTH_USER;
 drop index ACT_UNIQ_AUTH_GROUP;
 drop index ACT_UNIQ_VARIABLE;
-drop index ACT_IDX_AUTH_GROUP_ID;
 
 alter table ACT_GE_BYTEARRAY
     drop foreign key ACT_FK_BYTEARR_DEPL;
@@ -144,6 +143,8 @@ DROP INDEX ACT_IDX_METER_LOG_TIME;
 DROP INDEX ACT_IDX_METER_LOG;
 
 drop index ACT_IDX_AUTH_RESOURCE_ID;
+drop index ACT_IDX_AUTH_USER_RES;
+drop index ACT_IDX_AUTH_GROUP_RES;
 drop index ACT_IDX_EXT_TASK_TOPIC;
 drop index ACT_IDX_EXT_TASK_EXEC;
 
@@ -30,7 +30,6 @@ drop index ACT_RU_JOB.ACT_IDX_JOB_PROCINST;
 drop index ACT_RU_AUTHORIZATION.ACT_UNIQ_AUTH_GROUP;
 drop index ACT_RU_AUTHORIZATION.ACT_UNIQ_AUTH_USER;
 drop index ACT_RU_VARIABLE.ACT_UNIQ_VARIABLE;
-drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_GROUP_ID;
 
 -- new metric milliseconds column
 DROP INDEX ACT_RU_METER_LOG.ACT_IDX_METER_LOG_MS;
@@ -64,6 +63,8 @@ drop index ACT_RU_TASK.ACT_IDX_TASK_EXEC;
 drop index ACT_RU_TASK.ACT_IDX_TASK_PROCINST;
 drop index ACT_RU_TASK.ACT_IDX_TASK_PROC_DEF_ID;
 drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_RESOURCE_ID;
+drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_USER_RES;
+drop index ACT_RU_AUTHORIZATION.ACT_IDX_AUTH_GROUP_RES;
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_TOPIC;
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_EXEC;
 
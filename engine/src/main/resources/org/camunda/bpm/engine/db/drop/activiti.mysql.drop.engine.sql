@@ -26,7 +26,6 @@ drop index ACT_IDX_IDENT_LNK_GROUP on ACT_RU_IDENTITYLINK;
 drop index ACT_IDX_VARIABLE_TASK_ID on ACT_RU_VARIABLE;
 drop index ACT_IDX_INC_CONFIGURATION on ACT_RU_INCIDENT;
 drop index ACT_IDX_JOB_PROCINST on ACT_RU_JOB;
-drop index ACT_IDX_AUTH_GROUP_ID on ACT_RU_AUTHORIZATION;
 
 -- new metric milliseconds column
 DROP INDEX ACT_IDX_METER_LOG_MS ON ACT_RU_METER_LOG;
@@ -130,6 +129,8 @@ drop index ACT_IDX_INC_PROCINSTID on ACT_RU_INCIDENT;
 drop index ACT_IDX_INC_ROOTCAUSEINCID on ACT_RU_INCIDENT;
 drop index ACT_IDX_INC_JOB_DEF on ACT_RU_INCIDENT;
 drop index ACT_IDX_AUTH_RESOURCE_ID on ACT_RU_AUTHORIZATION;
+drop index ACT_IDX_AUTH_USER_RES on ACT_RU_AUTHORIZATION;
+drop index ACT_IDX_AUTH_GROUP_RES on ACT_RU_AUTHORIZATION;
 drop index ACT_IDX_EXT_TASK_EXEC on ACT_RU_EXT_TASK;
 
 drop index ACT_IDX_BYTEARRAY_NAME on ACT_GE_BYTEARRAY;
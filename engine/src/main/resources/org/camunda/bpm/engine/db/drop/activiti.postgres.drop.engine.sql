@@ -33,7 +33,6 @@ drop index ACT_IDX_VAR_BYTEARRAY;
 drop index ACT_IDX_JOB_EXCEPTION;
 drop index ACT_IDX_JOB_PROCINST;
 drop index ACT_IDX_INC_CONFIGURATION;
-drop index ACT_IDX_AUTH_GROUP_ID;
 
 drop index ACT_IDX_EXEC_BUSKEY;
 drop index ACT_IDX_TASK_CREATE;
@@ -155,6 +154,8 @@ drop index ACT_IDX_INC_PROCINSTID;
 drop index ACT_IDX_INC_ROOTCAUSEINCID;
 drop index ACT_IDX_INC_JOB_DEF;
 drop index ACT_IDX_AUTH_RESOURCE_ID;
+drop index ACT_IDX_AUTH_USER_RES;
+drop index ACT_IDX_AUTH_GROUP_RES;
 drop index ACT_IDX_EXT_TASK_EXEC;
 
 drop index ACT_IDX_BYTEARRAY_NAME;
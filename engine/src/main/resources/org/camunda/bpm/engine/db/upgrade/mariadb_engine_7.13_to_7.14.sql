@@ -25,3 +25,9 @@ values ('telemetry.lock', '0', 1);
 -- insert telemetry.lock in property table - https://jira.camunda.com/browse/CAM-12031  --
 insert into ACT_GE_PROPERTY
 values ('installationId.lock', '0', 1);
+
+-- composite indexes to serve authorization checks of queries from a single index range scan --
+create index ACT_IDX_AUTH_USER_RES on ACT_RU_AUTHORIZATION(USER_ID_, RESOURCE_TYPE_, RESOURCE_ID_);
+create index ACT_IDX_AUTH_GROUP_RES on ACT_RU_AUTHORIZATION(GROUP_ID_, RESOURCE_TYPE_, RESOURCE_ID_);
+-- ACT_IDX_AUTH_GROUP_RES starts with GROUP_ID_ and serves all lookups by group --
+drop index ACT_IDX_AUTH_GROUP_ID on ACT_RU_AUTHORIZATION;
@@ -0,0 +1,95 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class CompressionUtilTest {
+
+  @Test
+  public void shouldCompressAndDecompress() {
+    // given
+    byte[] bytes = repeat("some repetitive content ", 200);
+
+    // when
+    byte[] compressed = CompressionUtil.compress(bytes, 1024);
+
+    // then
+    assertThat(compressed.length).isLessThan(bytes.length);
+    assertThat(CompressionUtil.decompress(compressed)).isEqualTo(bytes);
+  }
+
+  @Test
+  public void shouldNotCompressBelowThreshold() {
+    // given
+    byte[] bytes = repeat("a", 100);
+
+    // when
+    byte[] result = CompressionUtil.compress(bytes, 1024);
+
+    // then
+    assertThat(result).isSameAs(bytes);
+  }
+
+  @Test
+  public void shouldNotCompressIncompressibleValue() {
+    // given
+    byte[] bytes = new byte[4096];
+    new Random(42).nextBytes(bytes);
+
+    // when
+    byte[] result = CompressionUtil.compress(bytes, 1024);
+
+    // then
+    assertThat(result).isSameAs(bytes);
+  }
+
+  @Test
+  public void shouldReturnUncompressedValueUnchanged() {
+    // given
+    byte[] bytes = repeat("plain value", 10);
+
+    // then
+    assertThat(CompressionUtil.decompress(bytes)).isSameAs(bytes);
+    assertThat(CompressionUtil.decompress(null)).isNull();
+  }
+
+  @Test
+  public void shouldReturnValueWithMagicNumberButInvalidContentUnchanged() {
+    // given
+    byte[] compressed = CompressionUtil.compress(repeat("some repetitive content ", 200), 1024);
+    byte[] corrupted = Arrays.copyOf(compressed, compressed.length);
+    corrupted[corrupted.length - 1] ^= 0xFF;
+
+    // then
+    assertThat(CompressionUtil.decompress(corrupted)).isSameAs(corrupted);
+  }
+
+  protected static byte[] repeat(String value, int times) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < times; i++) {
+      sb.append(value);
+    }
+    return sb.toString().getBytes();
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.junit.Test;
+
+public class DefinitionIdScannerTest {
+
+  protected static final String BPMN_NS = "http://www.omg.org/spec/BPMN/20100524/MODEL";
+
+  protected DefinitionIdScanner scanner = new DefinitionIdScanner(Collections.singleton(BPMN_NS), "process");
+
+  @Test
+  public void shouldScanIdsOfTopLevelProcesses() throws XMLStreamException {
+    // given
+    String xml = "<definitions xmlns=\"" + BPMN_NS + "\" xmlns:other=\"http://example.org\">"
+        + "<process id=\"first\"><subProcess id=\"sub\"><process id=\"nested\"/></subProcess></process>"
+        + "<message id=\"message\"/>"
+        + "<other:process id=\"otherNamespace\"/>"
+        + "<process id=\"second\" isExecutable=\"true\"/>"
+        + "</definitions>";
+
+    // when
+    List<String> ids = scanner.scan(xml.getBytes(StandardCharsets.UTF_8));
+
+    // then
+    assertThat(ids).containsExactly("first", "second");
+  }
+
+  @Test
+  public void shouldFailOnMalformedXml() {
+    // given
+    String xml = "<definitions xmlns=\"" + BPMN_NS + "\"><process id=\"first\">";
+
+    try {
+      // when
+      scanner.scan(xml.getBytes(StandardCharsets.UTF_8));
+      fail("exception expected");
+    }
+    catch (XMLStreamException e) {
+      // then
+      // expected
+    }
+  }
+
+}
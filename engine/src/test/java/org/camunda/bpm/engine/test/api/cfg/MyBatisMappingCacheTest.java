@@ -0,0 +1,234 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.transaction.TransactionFactory;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.db.sql.SharedConfigurationSqlSessionFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MyBatisMappingCacheTest {
+
+  @Before
+  @After
+  public void clearCachedConfigurations() {
+    ProcessEngineConfigurationImpl.clearCachedMyBatisConfigurations();
+  }
+
+  @Test
+  public void shouldNotCacheMappingByDefault() {
+    // given
+    TestEngineCfg cfg = new TestEngineCfg();
+
+    // when
+    cfg.initSqlSessionFactory();
+
+    // then
+    assertFalse(cfg.isMyBatisMappingCacheEnabled());
+    assertTrue(ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.isEmpty());
+  }
+
+  @Test
+  public void shouldReuseParsedMappingWithOwnDataSource() {
+    // given
+    TestEngineCfg firstCfg = new TestEngineCfg();
+    firstCfg.setMyBatisMappingCacheEnabled(true);
+    firstCfg.initSqlSessionFactory();
+
+    TestEngineCfg secondCfg = new TestEngineCfg();
+    secondCfg.setMyBatisMappingCacheEnabled(true);
+
+    // when
+    secondCfg.initSqlSessionFactory();
+
+    // then
+    SqlSessionFactory sqlSessionFactory = secondCfg.getSqlSessionFactory();
+    assertTrue(sqlSessionFactory instanceof SharedConfigurationSqlSessionFactory);
+    assertSame(firstCfg.getSqlSessionFactory().getConfiguration(), sqlSessionFactory.getConfiguration());
+    assertEquals(1, ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.size());
+
+    sqlSessionFactory.openSession();
+    verify(secondCfg.getTransactionFactory())
+      .newTransaction(eq(secondCfg.getDataSource()), (TransactionIsolationLevel) any(), anyBoolean());
+  }
+
+  @Test
+  public void shouldNotKeepDataSourceInCachedMapping() {
+    // given
+    TestEngineCfg cfg = new TestEngineCfg();
+    cfg.setMyBatisMappingCacheEnabled(true);
+
+    // when
+    cfg.initSqlSessionFactory();
+
+    // then
+    Configuration cachedConfiguration = ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.values().iterator().next();
+    assertNull(cachedConfiguration.getEnvironment());
+
+    cfg.getSqlSessionFactory().openSession();
+    verify(cfg.getTransactionFactory())
+      .newTransaction(eq(cfg.getDataSource()), (TransactionIsolationLevel) any(), anyBoolean());
+  }
+
+  @Test
+  public void shouldKeepCachedMappingOnClose() {
+    // given
+    TestEngineCfg firstCfg = new TestEngineCfg();
+    firstCfg.setMyBatisMappingCacheEnabled(true);
+    firstCfg.initSqlSessionFactory();
+    Configuration configuration = firstCfg.getSqlSessionFactory().getConfiguration();
+
+    // when
+    firstCfg.close();
+
+    TestEngineCfg secondCfg = new TestEngineCfg();
+    secondCfg.setMyBatisMappingCacheEnabled(true);
+    secondCfg.initSqlSessionFactory();
+
+    // then
+    assertEquals(1, ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.size());
+    assertSame(configuration, secondCfg.getSqlSessionFactory().getConfiguration());
+    secondCfg.getSqlSessionFactory().openSession();
+    verify(secondCfg.getTransactionFactory())
+      .newTransaction(eq(secondCfg.getDataSource()), (TransactionIsolationLevel) any(), anyBoolean());
+  }
+
+  @Test
+  public void shouldNotReuseParsedMappingForOtherConfigurationClass() {
+    // given
+    TestEngineCfg firstCfg = new TestEngineCfg();
+    firstCfg.setMyBatisMappingCacheEnabled(true);
+    firstCfg.initSqlSessionFactory();
+
+    TestEngineCfg secondCfg = new OtherTestEngineCfg();
+    secondCfg.setMyBatisMappingCacheEnabled(true);
+
+    // when
+    secondCfg.initSqlSessionFactory();
+
+    // then
+    assertNotSame(firstCfg.getSqlSessionFactory().getConfiguration(), secondCfg.getSqlSessionFactory().getConfiguration());
+    assertEquals(2, ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.size());
+  }
+
+  @Test
+  public void shouldNotReuseParsedMappingForOtherClassLoader() {
+    // given
+    TestEngineCfg firstCfg = new TestEngineCfg();
+    firstCfg.setMyBatisMappingCacheEnabled(true);
+    firstCfg.initSqlSessionFactory();
+
+    TestEngineCfg secondCfg = new TestEngineCfg();
+    secondCfg.setMyBatisMappingCacheEnabled(true);
+
+    Thread thread = Thread.currentThread();
+    ClassLoader contextClassLoader = thread.getContextClassLoader();
+    thread.setContextClassLoader(new URLClassLoader(new URL[0], contextClassLoader));
+
+    try {
+      // when
+      secondCfg.initSqlSessionFactory();
+    }
+    finally {
+      thread.setContextClassLoader(contextClassLoader);
+    }
+
+    // then
+    assertNotSame(firstCfg.getSqlSessionFactory().getConfiguration(), secondCfg.getSqlSessionFactory().getConfiguration());
+    assertEquals(2, ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.size());
+  }
+
+  @Test
+  public void shouldNotReuseParsedMappingForOtherTablePrefix() {
+    // given
+    TestEngineCfg firstCfg = new TestEngineCfg();
+    firstCfg.setMyBatisMappingCacheEnabled(true);
+    firstCfg.initSqlSessionFactory();
+
+    TestEngineCfg secondCfg = new TestEngineCfg();
+    secondCfg.setMyBatisMappingCacheEnabled(true);
+    secondCfg.setDatabaseTablePrefix("PREFIX.");
+
+    // when
+    secondCfg.initSqlSessionFactory();
+
+    // then
+    assertNotSame(firstCfg.getSqlSessionFactory().getConfiguration(), secondCfg.getSqlSessionFactory().getConfiguration());
+    assertEquals(2, ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.size());
+  }
+
+  @Test
+  public void shouldNotCacheMappingIfSqlSessionFactoryIsShared() {
+    // given
+    TestEngineCfg cfg = new TestEngineCfg();
+    cfg.setMyBatisMappingCacheEnabled(true);
+    cfg.setUseSharedSqlSessionFactory(true);
+
+    try {
+      // when
+      cfg.initSqlSessionFactory();
+
+      // then
+      assertTrue(ProcessEngineConfigurationImpl.cachedMyBatisConfigurations.isEmpty());
+    }
+    finally {
+      ProcessEngineConfigurationImpl.cachedSqlSessionFactory = null;
+    }
+  }
+
+  static class TestEngineCfg extends StandaloneInMemProcessEngineConfiguration {
+
+    public TestEngineCfg() {
+      dataSource = mock(DataSource.class);
+      transactionFactory = mock(TransactionFactory.class);
+      databaseType = "h2";
+    }
+
+    @Override
+    public void initSqlSessionFactory() {
+      super.initSqlSessionFactory();
+    }
+
+  }
+
+  static class OtherTestEngineCfg extends TestEngineCfg {
+  }
+
+}
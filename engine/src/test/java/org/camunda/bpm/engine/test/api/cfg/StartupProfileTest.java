@@ -0,0 +1,82 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StartupProfile;
+import org.junit.After;
+import org.junit.Test;
+
+public class StartupProfileTest {
+
+  protected ProcessEngine processEngine;
+
+  @After
+  public void closeProcessEngine() {
+    if (processEngine != null) {
+      processEngine.close();
+    }
+  }
+
+  @Test
+  public void shouldRecordPhasesOfBuildingTheProcessEngine() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setProcessEngineName("startupProfileTest")
+        .setJdbcUrl("jdbc:h2:mem:StartupProfileTest")
+        .setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+
+    // when
+    processEngine = configuration.buildProcessEngine();
+
+    // then
+    StartupProfile startupProfile = configuration.getStartupProfile();
+    assertThat(startupProfile.getDurations()).containsKeys(
+        StartupProfile.PHASE_INIT,
+        StartupProfile.PHASE_DATA_SOURCE,
+        StartupProfile.PHASE_SQL_SESSION_FACTORY,
+        StartupProfile.PHASE_DMN_ENGINE,
+        StartupProfile.PHASE_SCHEMA_OPERATIONS,
+        StartupProfile.PHASE_TOTAL);
+    assertThat(startupProfile.getDurations()).doesNotContainKey(StartupProfile.PHASE_DEPLOYMENT_CACHE_WARM_UP);
+    assertThat(startupProfile.getDuration(StartupProfile.PHASE_TOTAL))
+        .isGreaterThanOrEqualTo(startupProfile.getDuration(StartupProfile.PHASE_INIT));
+  }
+
+  @Test
+  public void shouldReportPhasesInOrderOfCompletion() {
+    // given
+    StartupProfile startupProfile = new StartupProfile();
+
+    // when
+    startupProfile.start("outer");
+    startupProfile.start("inner");
+    startupProfile.end("inner");
+    startupProfile.end("outer");
+    startupProfile.end("unknown");
+
+    // then
+    assertThat(startupProfile.getDurations()).containsOnlyKeys("inner", "outer");
+    assertThat(startupProfile.toString()).matches("inner=\\d+ms, outer=\\d+ms");
+  }
+
+}
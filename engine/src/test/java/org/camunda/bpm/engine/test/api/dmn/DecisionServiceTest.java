@@ -20,6 +20,11 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.camunda.bpm.dmn.engine.DmnDecisionResult;
 import org.camunda.bpm.dmn.engine.DmnDecisionTableResult;
 import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
@@ -314,6 +319,77 @@ public class DecisionServiceTest {
     assertThatDecisionHasResult(decisionResult, "Light salad");
   }
 
+  @Deployment(resources = DMN_DECISION_LITERAL_EXPRESSION)
+  @Test
+  public void evaluateDecisionForEach() {
+    List<Map<String, Object>> variablesList = Arrays.<Map<String, Object>>asList(
+        createVariables(),
+        Variables.createVariables().putValue("sum", 100),
+        createVariables());
+
+    List<DmnDecisionResult> decisionResults = decisionService
+        .evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+        .evaluateForEach(variablesList);
+
+    assertThat(decisionResults.size(), is(3));
+    assertThatDecisionHasResult(decisionResults.get(0), RESULT_OF_FIRST_VERSION);
+    assertThatDecisionHasResult(decisionResults.get(1), RESULT_OF_SECOND_VERSION);
+    assertThatDecisionHasResult(decisionResults.get(2), RESULT_OF_FIRST_VERSION);
+  }
+
+  @Deployment( resources = DRD_DISH_DECISION_TABLE )
+  @Test
+  public void evaluateDecisionForEachWithRequiredDecisions() {
+    List<Map<String, Object>> variablesList = Arrays.<Map<String, Object>>asList(
+        Variables.createVariables().putValue("temperature", 32).putValue("dayType", "Weekend"),
+        Variables.createVariables().putValue("temperature", 32).putValue("dayType", "Weekend"));
+
+    List<DmnDecisionResult> decisionResults = decisionService
+        .evaluateDecisionByKey("dish-decision")
+        .evaluateForEach(variablesList);
+
+    assertThat(decisionResults.size(), is(2));
+    assertThatDecisionHasResult(decisionResults.get(0), "Light salad");
+    assertThatDecisionHasResult(decisionResults.get(1), "Light salad");
+  }
+
+  @Deployment(resources = DMN_DECISION_LITERAL_EXPRESSION)
+  @Test
+  public void evaluateDecisionForEachWithNullVariablesList() {
+    thrown.expect(NotValidException.class);
+    thrown.expectMessage("variablesList is null");
+
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY).evaluateForEach(null);
+  }
+
+  @Deployment(resources = DMN_DECISION_LITERAL_EXPRESSION)
+  @Test
+  public void evaluateDecisionForEachWithNullVariables() {
+    thrown.expect(NotValidException.class);
+    thrown.expectMessage("variablesList contains null value");
+
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+        .evaluateForEach(Arrays.<Map<String, Object>>asList(createVariables(), null));
+  }
+
+  @Deployment(resources = DMN_DECISION_LITERAL_EXPRESSION)
+  @Test
+  public void evaluateDecisionForEachWithEmptyVariablesList() {
+    List<DmnDecisionResult> decisionResults = decisionService
+        .evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+        .evaluateForEach(Collections.<Map<String, Object>>emptyList());
+
+    assertThat(decisionResults.isEmpty(), is(true));
+  }
+
+  @Test
+  public void evaluateDecisionForEachByNonExistingKey() {
+    thrown.expect(NotFoundException.class);
+    thrown.expectMessage("no decision definition deployed with key 'unknown'");
+
+    decisionService.evaluateDecisionByKey("unknown").evaluateForEach(Arrays.<Map<String, Object>>asList(createVariables()));
+  }
+
   protected VariableMap createVariables() {
     return Variables.createVariables().putValue("status", "silver").putValue("sum", 723);
   }
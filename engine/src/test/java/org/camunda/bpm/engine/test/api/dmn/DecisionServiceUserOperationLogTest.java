@@ -21,6 +21,10 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
 import org.camunda.bpm.dmn.engine.impl.DefaultDmnEngineConfiguration;
 import org.camunda.bpm.engine.DecisionService;
 import org.camunda.bpm.engine.EntityTypes;
@@ -269,6 +273,35 @@ public class DecisionServiceUserOperationLogTest {
     assertOperationLog(decisionDefinition);
   }
 
+  @Deployment(resources = DMN_DECISION_LITERAL_EXPRESSION)
+  @Test
+  public void logCreationOnEvaluateDecisionForEach() {
+    // given
+    DecisionDefinition decisionDefinition = repositoryService.createDecisionDefinitionQuery().singleResult();
+
+    // when
+    identityService.setAuthenticatedUserId(USER_ID);
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+        .evaluateForEach(Arrays.<Map<String, Object>>asList(createVariables(), createVariables()));
+    identityService.clearAuthentication();
+
+    // then
+    assertOperationLog(decisionDefinition);
+  }
+
+  @Deployment(resources = DMN_DECISION_LITERAL_EXPRESSION)
+  @Test
+  public void noLogCreationOnEvaluateDecisionForEachWithoutVariables() {
+    // when
+    identityService.setAuthenticatedUserId(USER_ID);
+    decisionService.evaluateDecisionByKey(DECISION_DEFINITION_KEY)
+        .evaluateForEach(Collections.<Map<String, Object>>emptyList());
+    identityService.clearAuthentication();
+
+    // then
+    assertThat(historyService.createUserOperationLogQuery().count(), is(0L));
+  }
+
   protected VariableMap createVariables() {
     return Variables.createVariables().putValue("status", "silver").putValue("sum", 723);
   }
@@ -0,0 +1,333 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.FilterService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.filter.Filter;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache;
+import org.camunda.bpm.engine.impl.filter.FilterCountCache.FilterCountKey;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class FilterCountCacheTest {
+
+  protected static final long TIME_TO_LIVE = 60000;
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected FilterService filterService;
+  protected TaskService taskService;
+  protected IdentityService identityService;
+  protected AuthorizationService authorizationService;
+
+  protected FilterCountCache filterCountCache;
+  protected Filter filter;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    filterService = engineRule.getFilterService();
+    taskService = engineRule.getTaskService();
+    identityService = engineRule.getIdentityService();
+    authorizationService = engineRule.getAuthorizationService();
+
+    filterCountCache = new FilterCountCache(TIME_TO_LIVE, 100);
+    processEngineConfiguration.setFilterCountCache(filterCountCache);
+
+    filter = filterService.newTaskFilter("candidate tasks");
+    filter.setQuery(taskService.createTaskQuery().taskCandidateGroup("accounting"));
+    filterService.saveFilter(filter);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setFilterCountCache(null);
+    identityService.clearAuthentication();
+    ClockUtil.reset();
+
+    for (Filter existingFilter : filterService.createFilterQuery().list()) {
+      filterService.deleteFilter(existingFilter.getId());
+    }
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().userIdIn("kermit").list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+    identityService.deleteUser("kermit");
+    identityService.deleteGroup("accounting");
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.deleteTask(task.getId(), true);
+    }
+  }
+
+  @Test
+  public void shouldCacheCount() {
+    // given
+    createTask("accounting");
+
+    // when
+    Long count = filterService.count(filter.getId());
+
+    // then
+    assertThat(count).isEqualTo(1L);
+    assertThat(filterCountCache.size()).isEqualTo(1);
+    assertThat(filterService.count(filter.getId())).isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldInvalidateCountOnTaskCreateAndComplete() {
+    // given
+    assertThat(filterService.count(filter.getId())).isEqualTo(0L);
+
+    // when
+    String taskId = createTask("accounting");
+
+    // then
+    assertThat(filterService.count(filter.getId())).isEqualTo(1L);
+
+    // when
+    taskService.complete(taskId);
+
+    // then
+    assertThat(filterService.count(filter.getId())).isEqualTo(0L);
+  }
+
+  @Test
+  public void shouldInvalidateCountOnCandidateChange() {
+    // given
+    String taskId = createTask("sales");
+    assertThat(filterService.count(filter.getId())).isEqualTo(0L);
+
+    // when
+    taskService.addCandidateGroup(taskId, "accounting");
+
+    // then
+    assertThat(filterService.count(filter.getId())).isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldInvalidateCountOnFilterUpdate() {
+    // given
+    createTask("sales");
+    assertThat(filterService.count(filter.getId())).isEqualTo(0L);
+
+    // when
+    filter.setQuery(taskService.createTaskQuery().taskCandidateGroup("sales"));
+    filterService.saveFilter(filter);
+
+    // then
+    assertThat(filterService.count(filter.getId())).isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldKeepCountsOfOtherFiltersOnFilterUpdate() {
+    // given
+    Filter otherFilter = filterService.newTaskFilter("sales tasks");
+    otherFilter.setQuery(taskService.createTaskQuery().taskCandidateGroup("sales"));
+    filterService.saveFilter(otherFilter);
+
+    filterService.count(filter.getId());
+    filterService.count(otherFilter.getId());
+
+    // when
+    filter.setQuery(taskService.createTaskQuery().taskCandidateGroup("management"));
+    filterService.saveFilter(filter);
+
+    // then
+    assertThat(filterCountCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldKeepCountsOfUnrelatedUsersOnTaskChange() {
+    // given
+    identityService.setAuthentication("kermit", Arrays.asList("accounting"));
+    filterService.count(filter.getId());
+    identityService.setAuthentication("gonzo", Arrays.asList("sales"));
+    filterService.count(filter.getId());
+    identityService.clearAuthentication();
+
+    // when
+    createTask("accounting");
+
+    // then
+    assertThat(filterCountCache.size()).isEqualTo(1);
+
+    identityService.setAuthentication("kermit", Arrays.asList("accounting"));
+    assertThat(filterService.count(filter.getId())).isEqualTo(1L);
+  }
+
+  @Test
+  public void shouldInvalidateCountsOfRemovedCandidateGroup() {
+    // given
+    String taskId = createTask("accounting");
+    identityService.setAuthentication("kermit", Arrays.asList("accounting"));
+    assertThat(filterService.count(filter.getId())).isEqualTo(1L);
+    identityService.clearAuthentication();
+
+    // when
+    taskService.deleteCandidateGroup(taskId, "accounting");
+
+    // then
+    identityService.setAuthentication("kermit", Arrays.asList("accounting"));
+    assertThat(filterService.count(filter.getId())).isEqualTo(0L);
+  }
+
+  @Test
+  public void shouldInvalidateCountsOnAuthorizationChange() {
+    // given
+    identityService.setAuthentication("kermit", Arrays.asList("accounting"));
+    filterService.count(filter.getId());
+    identityService.setAuthentication("gonzo", Arrays.asList("sales"));
+    filterService.count(filter.getId());
+    identityService.clearAuthentication();
+
+    // when
+    Authorization authorization = authorizationService.createNewAuthorization(Authorization.AUTH_TYPE_GRANT);
+    authorization.setUserId("kermit");
+    authorization.setResource(Resources.TASK);
+    authorization.setResourceId(Authorization.ANY);
+    authorization.addPermission(Permissions.READ);
+    authorizationService.saveAuthorization(authorization);
+
+    // then
+    assertThat(filterCountCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldInvalidateCountsOnMembershipChange() {
+    // given
+    identityService.saveUser(identityService.newUser("kermit"));
+    identityService.saveGroup(identityService.newGroup("accounting"));
+
+    identityService.setAuthentication("kermit", Collections.<String>emptyList());
+    filterService.count(filter.getId());
+    identityService.setAuthentication("gonzo", Arrays.asList("sales"));
+    filterService.count(filter.getId());
+    identityService.clearAuthentication();
+
+    // when
+    identityService.createMembership("kermit", "accounting");
+
+    // then
+    assertThat(filterCountCache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldCacheCountPerAuthentication() {
+    // given
+    filterService.count(filter.getId());
+
+    // when
+    identityService.setAuthentication("kermit", Arrays.asList("accounting"));
+    filterService.count(filter.getId());
+    identityService.setAuthentication("kermit", Arrays.asList("sales"));
+    filterService.count(filter.getId());
+
+    // then
+    assertThat(filterCountCache.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotCacheCountOfExtendedQuery() {
+    // given
+    createTask("accounting");
+
+    // when
+    Long count = filterService.count(filter.getId(), taskService.createTaskQuery().taskName("other"));
+
+    // then
+    assertThat(count).isEqualTo(0L);
+    assertThat(filterCountCache.size()).isZero();
+  }
+
+  @Test
+  public void shouldExpireCount() {
+    // given
+    FilterCountKey key = createKey("kermit", "accounting");
+    filterCountCache.put(key, 1L, filterCountCache.getGeneration());
+
+    // when
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + TIME_TO_LIVE + 1));
+
+    // then
+    assertThat(filterCountCache.get(key)).isNull();
+  }
+
+  @Test
+  public void shouldNotCacheCountStartedBeforeInvalidation() {
+    // given
+    FilterCountKey key = createKey("kermit", "accounting");
+    long generation = filterCountCache.getGeneration();
+    filterCountCache.invalidateIdentities(Collections.<String>emptySet(), Collections.singleton("accounting"));
+
+    // when
+    filterCountCache.put(key, 1L, generation);
+
+    // then
+    assertThat(filterCountCache.get(key)).isNull();
+  }
+
+  @Test
+  public void shouldCacheCountStartedBeforeUnrelatedInvalidation() {
+    // given
+    FilterCountKey key = createKey("kermit", "accounting");
+    long generation = filterCountCache.getGeneration();
+    filterCountCache.invalidateIdentities(Collections.singleton("gonzo"), Collections.singleton("sales"));
+    filterCountCache.invalidateFilter("otherFilter");
+
+    // when
+    filterCountCache.put(key, 1L, generation);
+
+    // then
+    assertThat(filterCountCache.get(key)).isEqualTo(1L);
+  }
+
+  protected FilterCountKey createKey(String userId, String groupId) {
+    return new FilterCountKey(filter.getId(), false, userId, Arrays.asList(groupId), null);
+  }
+
+  protected String createTask(String candidateGroup) {
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    taskService.addCandidateGroup(task.getId(), candidateGroup);
+    return task.getId();
+  }
+
+}
@@ -242,6 +242,53 @@ public class PasswordHashingTest {
     identityService.saveUser(user);
   }
 
+  @Test
+  public void ensurePasswordIsCorrectlyHashedWithPBKDF2() {
+    // given
+    setDefaultEncryptor(new Pbkdf2HashDigest(1000));
+    User user = identityService.newUser(USER_NAME);
+    user.setPassword(PASSWORD);
+    identityService.saveUser(user);
+
+    // when
+    user = identityService.createUserQuery().userId(USER_NAME).singleResult();
+
+    // then
+    assertThat(user.getPassword().startsWith("{PBKDF2-SHA512}1000$"), is(true));
+    assertThat(identityService.checkPassword(USER_NAME, PASSWORD), is(true));
+    assertThat(identityService.checkPassword(USER_NAME, "wrong"), is(false));
+  }
+
+  @Test
+  public void changedIterationsOfPBKDF2KeepPasswordValid() {
+    // given
+    setDefaultEncryptor(new Pbkdf2HashDigest(1000));
+    User user = identityService.newUser(USER_NAME);
+    user.setPassword(PASSWORD);
+    identityService.saveUser(user);
+
+    // when
+    setDefaultEncryptor(new Pbkdf2HashDigest(2000));
+
+    // then
+    assertThat(identityService.checkPassword(USER_NAME, PASSWORD), is(true));
+  }
+
+  @Test
+  public void passwordHashedWithPBKDF2CanBeCheckedWithDefaultEncryptor() {
+    // given
+    setDefaultEncryptor(new Pbkdf2HashDigest(1000));
+    User user = identityService.newUser(USER_NAME);
+    user.setPassword(PASSWORD);
+    identityService.saveUser(user);
+
+    // when
+    setDefaultEncryptor(new Sha512HashDigest());
+
+    // then
+    assertThat(identityService.checkPassword(USER_NAME, PASSWORD), is(true));
+  }
+
   protected void setDefaultEncryptor(PasswordEncryptor defaultEncryptor) {
     setEncryptors(defaultEncryptor, Collections.<PasswordEncryptor>emptyList());
   }
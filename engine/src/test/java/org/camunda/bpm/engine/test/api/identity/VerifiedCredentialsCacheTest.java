@@ -0,0 +1,208 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.identity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.identity.User;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.identity.VerifiedCredentialsCache;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VerifiedCredentialsCacheTest {
+
+  protected static final String USER_ID = "johndoe";
+  protected static final String PASSWORD = "password";
+  protected static final long TIME_TO_LIVE = 60000;
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected IdentityService identityService;
+  protected VerifiedCredentialsCache verifiedCredentialsCache;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    identityService = engineRule.getIdentityService();
+
+    verifiedCredentialsCache = new VerifiedCredentialsCache(TIME_TO_LIVE, 10);
+    processEngineConfiguration.setVerifiedCredentialsCache(verifiedCredentialsCache);
+
+    User user = identityService.newUser(USER_ID);
+    user.setPassword(PASSWORD);
+    identityService.saveUser(user);
+  }
+
+  @After
+  public void tearDown() {
+    processEngineConfiguration.setVerifiedCredentialsCache(null);
+    processEngineConfiguration.setAuthorizationEnabled(false);
+    identityService.clearAuthentication();
+    ClockUtil.reset();
+
+    List<User> users = identityService.createUserQuery().list();
+    for (User user : users) {
+      identityService.deleteUser(user.getId());
+    }
+  }
+
+  @Test
+  public void shouldCacheVerifiedCredentials() {
+    // when
+    boolean verified = identityService.checkPassword(USER_ID, PASSWORD);
+
+    // then
+    assertThat(verified).isTrue();
+    assertThat(verifiedCredentialsCache.isVerified(USER_ID, PASSWORD)).isTrue();
+    assertThat(identityService.checkPassword(USER_ID, PASSWORD)).isTrue();
+  }
+
+  @Test
+  public void shouldCheckReadPermissionOnCachedCredentials() {
+    // given
+    identityService.checkPassword(USER_ID, PASSWORD);
+    assertThat(verifiedCredentialsCache.isVerified(USER_ID, PASSWORD)).isTrue();
+
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    identityService.setAuthenticatedUserId("someone");
+
+    // when
+    try {
+      identityService.checkPassword(USER_ID, PASSWORD);
+      fail("expected exception");
+    }
+    catch (AuthorizationException e) {
+      // then
+      assertThat(e.getMessage()).contains("READ");
+    }
+  }
+
+  @Test
+  public void shouldNotCacheWrongCredentials() {
+    // when
+    boolean verified = identityService.checkPassword(USER_ID, "wrong");
+
+    // then
+    assertThat(verified).isFalse();
+    assertThat(verifiedCredentialsCache.size()).isZero();
+  }
+
+  @Test
+  public void shouldInvalidateOnPasswordChange() {
+    // given
+    identityService.checkPassword(USER_ID, PASSWORD);
+
+    // when
+    User user = identityService.createUserQuery().userId(USER_ID).singleResult();
+    user.setPassword("newPassword");
+    identityService.saveUser(user);
+
+    // then
+    assertThat(verifiedCredentialsCache.isVerified(USER_ID, PASSWORD)).isFalse();
+    assertThat(identityService.checkPassword(USER_ID, PASSWORD)).isFalse();
+    assertThat(identityService.checkPassword(USER_ID, "newPassword")).isTrue();
+  }
+
+  @Test
+  public void shouldInvalidateVerificationDuringPasswordChangeOnCommit() {
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        User user = identityService.createUserQuery().userId(USER_ID).singleResult();
+        user.setPassword("newPassword");
+        identityService.saveUser(user);
+
+        // a concurrent verification still sees the committed password
+        verifiedCredentialsCache.put(USER_ID, PASSWORD, verifiedCredentialsCache.getGeneration());
+        return null;
+      }
+    });
+
+    // then
+    assertThat(verifiedCredentialsCache.isVerified(USER_ID, PASSWORD)).isFalse();
+  }
+
+  @Test
+  public void shouldInvalidateOnLockout() {
+    // given
+    identityService.checkPassword(USER_ID, PASSWORD);
+
+    // when
+    identityService.checkPassword(USER_ID, "wrong");
+
+    // then
+    assertThat(verifiedCredentialsCache.isVerified(USER_ID, PASSWORD)).isFalse();
+  }
+
+  @Test
+  public void shouldInvalidateOnDelete() {
+    // given
+    identityService.checkPassword(USER_ID, PASSWORD);
+
+    // when
+    identityService.deleteUser(USER_ID);
+
+    // then
+    assertThat(identityService.checkPassword(USER_ID, PASSWORD)).isFalse();
+  }
+
+  @Test
+  public void shouldExpireVerifiedCredentials() {
+    // given
+    identityService.checkPassword(USER_ID, PASSWORD);
+
+    // when
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + TIME_TO_LIVE + 1));
+
+    // then
+    assertThat(verifiedCredentialsCache.isVerified(USER_ID, PASSWORD)).isFalse();
+  }
+
+  @Test
+  public void shouldNotCacheVerificationStartedBeforeInvalidation() {
+    // given
+    long generation = verifiedCredentialsCache.getGeneration();
+    verifiedCredentialsCache.invalidate(USER_ID);
+
+    // when
+    verifiedCredentialsCache.put(USER_ID, PASSWORD, generation);
+
+    // then
+    assertThat(verifiedCredentialsCache.isVerified(USER_ID, PASSWORD)).isFalse();
+  }
+
+}
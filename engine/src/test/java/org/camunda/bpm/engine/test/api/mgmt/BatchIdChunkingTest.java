@@ -0,0 +1,297 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchIdChunks;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.AbstractAsyncOperationsTest;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BatchIdChunkingTest extends AbstractAsyncOperationsTest {
+
+  protected static final String ONE_TASK_PROCESS_RESOURCE = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Before
+  public void setUp() {
+    initDefaults(engineRule);
+    engineConfiguration.setBatchIdChunkingEnabled(true);
+    engineConfiguration.setBatchJobsPerSeed(2);
+    engineConfiguration.setInvocationsPerBatchJob(1);
+  }
+
+  @After
+  public void resetConfiguration() {
+    engineConfiguration.setBatchIdChunkingEnabled(false);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldMoveIdsIntoChunksOfOneSeedJob() {
+    // given
+    List<String> processInstanceIds = startTestProcesses(10);
+    Batch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, TESTING_INSTANCE_DELETE);
+
+    // when
+    executeSeedJob(batch);
+
+    // then
+    BatchConfiguration configuration = getBatchConfiguration(batch);
+    assertTrue(configuration.getIds().isEmpty());
+    assertEquals(4, getIdChunkIds(configuration).size());
+    assertEquals(8, configuration.getChunkedIdCount());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldReadChunkedIds() {
+    // given
+    List<String> processInstanceIds = startTestProcesses(10);
+    Batch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, TESTING_INSTANCE_DELETE);
+    executeSeedJob(batch);
+    List<String> idChunkIds = getIdChunkIds(getBatchConfiguration(batch));
+
+    // when
+    executeSeedJobs(batch, 4);
+    executeBatchJobs(batch);
+
+    // then
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertByteArraysDeleted(idChunkIds);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldDeleteIdChunksWithBatch() {
+    // given
+    List<String> processInstanceIds = startTestProcesses(10);
+    Batch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, TESTING_INSTANCE_DELETE);
+    executeSeedJob(batch);
+    List<String> idChunkIds = getIdChunkIds(getBatchConfiguration(batch));
+
+    // when
+    managementService.deleteBatch(batch.getId(), true);
+
+    // then
+    assertByteArraysDeleted(idChunkIds);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldNotMoveIdsIntoChunksIfDisabled() {
+    // given
+    engineConfiguration.setBatchIdChunkingEnabled(false);
+    List<String> processInstanceIds = startTestProcesses(10);
+    Batch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, TESTING_INSTANCE_DELETE);
+
+    // when
+    executeSeedJob(batch);
+
+    // then
+    BatchConfiguration configuration = getBatchConfiguration(batch);
+    assertEquals(8, configuration.getIds().size());
+    assertNull(configuration.getIdChunkId());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldPageIdsOfQueryIntoChunks() {
+    // given
+    startTestProcesses(5);
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery();
+
+    // when
+    Batch batch = runtimeService.deleteProcessInstancesAsync(query, TESTING_INSTANCE_DELETE);
+
+    // then
+    assertEquals(5, batch.getTotalJobs());
+
+    BatchConfiguration configuration = getBatchConfiguration(batch);
+    assertTrue(configuration.getIds().isEmpty());
+    assertEquals(3, getIdChunkIds(configuration).size());
+    assertEquals(5, configuration.getChunkedIdCount());
+    assertEquals(5, configuration.getIdMappings().getOverallIdCount());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldDeleteProcessInstancesOfPagedQuery() {
+    // given
+    startTestProcesses(5);
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery();
+    Batch batch = runtimeService.deleteProcessInstancesAsync(query, TESTING_INSTANCE_DELETE);
+
+    // when
+    executeSeedJobs(batch, 3);
+    executeBatchJobs(batch);
+
+    // then
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldDeleteIdChunksOfPagedQueryOnRollback() {
+    // given
+    startTestProcesses(5);
+    final ProcessInstanceQueryImpl query = (ProcessInstanceQueryImpl) runtimeService.createProcessInstanceQuery();
+    final List<String> idChunkIds = new ArrayList<>();
+
+    // when
+    try {
+      engineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          idChunkIds.addAll(BatchIdChunks.collect(commandContext, query, 2).getChunkIds());
+          throw new ProcessEngineException("batch creation failed");
+        }
+      });
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+
+    // then
+    assertEquals(3, idChunkIds.size());
+    assertByteArraysDeleted(idChunkIds);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldKeepPagingOfQuery() {
+    // given
+    startTestProcesses(5);
+    final ProcessInstanceQueryImpl query = (ProcessInstanceQueryImpl) runtimeService.createProcessInstanceQuery();
+    query.listPage(1, 3);
+
+    // when
+    engineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        BatchIdChunks.collect(commandContext, query, 2).delete(commandContext);
+        return null;
+      }
+    });
+
+    // then
+    assertEquals(1, query.getFirstResult());
+    assertEquals(3, query.getMaxResults());
+  }
+
+  @Test
+  public void shouldFailForEmptyPagedQuery() {
+    // given
+    ProcessInstanceQuery query = runtimeService.createProcessInstanceQuery();
+
+    try {
+      // when
+      runtimeService.deleteProcessInstancesAsync(query, TESTING_INSTANCE_DELETE);
+      fail("exception expected");
+    }
+    catch (BadUserRequestException e) {
+      // then
+      assertTrue(e.getMessage().contains("processInstanceIds is empty"));
+    }
+  }
+
+  protected BatchConfiguration getBatchConfiguration(final Batch batch) {
+    return engineConfiguration.getCommandExecutorTxRequired().execute(new Command<BatchConfiguration>() {
+      public BatchConfiguration execute(CommandContext commandContext) {
+        BatchEntity batchEntity = commandContext.getBatchManager().findBatchById(batch.getId());
+        BatchJobHandler<?> batchJobHandler = engineConfiguration.getBatchHandlers().get(batchEntity.getType());
+        return (BatchConfiguration) batchJobHandler.readConfiguration(batchEntity.getConfigurationBytes());
+      }
+    });
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS_RESOURCE)
+  public void shouldReferenceNextIdChunkFromConfiguration() {
+    // given
+    List<String> processInstanceIds = startTestProcesses(10);
+    Batch batch = runtimeService.deleteProcessInstancesAsync(processInstanceIds, TESTING_INSTANCE_DELETE);
+    executeSeedJob(batch);
+    List<String> idChunkIds = getIdChunkIds(getBatchConfiguration(batch));
+
+    // when
+    executeSeedJob(batch);
+
+    // then
+    BatchConfiguration configuration = getBatchConfiguration(batch);
+    assertEquals(idChunkIds.get(1), configuration.getIdChunkId());
+    assertEquals(6, configuration.getChunkedIdCount());
+    assertByteArraysDeleted(idChunkIds.subList(0, 1));
+  }
+
+  protected List<String> getIdChunkIds(final BatchConfiguration configuration) {
+    return engineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<String>>() {
+      public List<String> execute(CommandContext commandContext) {
+        List<String> idChunkIds = new ArrayList<>();
+        String idChunkId = configuration.getIdChunkId();
+        while (idChunkId != null) {
+          idChunkIds.add(idChunkId);
+          ByteArrayEntity idChunk = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, idChunkId);
+          idChunkId = BatchIdChunks.getNextChunkId(JsonUtil.asObject(idChunk.getBytes()));
+        }
+        return idChunkIds;
+      }
+    });
+  }
+
+  protected void assertByteArraysDeleted(final List<String> byteArrayIds) {
+    engineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        for (String byteArrayId : byteArrayIds) {
+          assertNull(commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, byteArrayId));
+        }
+        return null;
+      }
+    });
+  }
+
+}
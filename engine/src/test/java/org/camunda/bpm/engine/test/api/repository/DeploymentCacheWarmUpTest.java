@@ -0,0 +1,127 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.WarmUpDeploymentCacheCmd;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DeploymentCacheWarmUpTest {
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected DeploymentCache deploymentCache;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    deploymentCache = processEngineConfiguration.getDeploymentCache();
+  }
+
+  @Test
+  public void shouldLoadLatestVersionsIntoCache() {
+    // given
+    testRule.deploy(createProcess("process"), createProcess("otherProcess"));
+    testRule.deploy(createProcess("process"));
+
+    ProcessDefinition firstVersion = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("process").processDefinitionVersion(1).singleResult();
+    ProcessDefinition secondVersion = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("process").processDefinitionVersion(2).singleResult();
+    ProcessDefinition otherProcess = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("otherProcess").singleResult();
+
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    int loadedDefinitions = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new WarmUpDeploymentCacheCmd(10));
+
+    // then
+    assertEquals(2, loadedDefinitions);
+    assertNotNull(deploymentCache.getProcessDefinitionCache().get(secondVersion.getId()));
+    assertNotNull(deploymentCache.getProcessDefinitionCache().get(otherProcess.getId()));
+    assertNull(deploymentCache.getProcessDefinitionCache().get(firstVersion.getId()));
+  }
+
+  @Test
+  public void shouldLimitNumberOfLoadedDefinitions() {
+    // given
+    testRule.deploy(createProcess("process"));
+    testRule.deploy(createProcess("otherProcess"));
+
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    int loadedDefinitions = processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new WarmUpDeploymentCacheCmd(1));
+
+    // then
+    assertEquals(1, loadedDefinitions);
+  }
+
+  @Test
+  public void shouldStopAsyncWarmUpOnClose() {
+    // given
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) ProcessEngineConfiguration
+        .createStandaloneInMemProcessEngineConfiguration()
+        .setProcessEngineName("warmUpEngine")
+        .setJdbcUrl("jdbc:h2:mem:camunda" + getClass().getSimpleName());
+    configuration
+        .setDeploymentCacheWarmUpEnabled(true)
+        .setDeploymentCacheWarmUpAsync(true);
+
+    ProcessEngine processEngine = configuration.buildProcessEngine();
+
+    // when
+    processEngine.close();
+
+    // then
+    for (Thread thread : Thread.getAllStackTraces().keySet()) {
+      assertFalse("camunda-deployment-cache-warm-up".equals(thread.getName()));
+    }
+  }
+
+  protected BpmnModelInstance createProcess(String key) {
+    return Bpmn.createExecutableProcess(key).startEvent().userTask().endEvent().done();
+  }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.ParseException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ParallelDeploymentParsingTest {
+
+  protected static final int NUMBER_OF_PROCESSES = 10;
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected ManagementService managementService;
+
+  protected ExecutorService parseExecutor;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    managementService = engineRule.getManagementService();
+
+    parseExecutor = Executors.newFixedThreadPool(4);
+    processEngineConfiguration.setDeploymentParseExecutor(parseExecutor);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setDeploymentParseExecutor(null);
+    parseExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldDeployAllDefinitions() {
+    // given
+    BpmnModelInstance[] processes = new BpmnModelInstance[NUMBER_OF_PROCESSES];
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      processes[i] = Bpmn.createExecutableProcess("process" + i)
+          .startEvent().timerWithDuration("PT1H")
+          .userTask()
+          .endEvent()
+          .done();
+    }
+
+    // when
+    testRule.deploy(processes);
+
+    // then
+    assertEquals(NUMBER_OF_PROCESSES, repositoryService.createProcessDefinitionQuery().count());
+    // the job declarations of all resources are merged
+    assertEquals(NUMBER_OF_PROCESSES, managementService.createJobDefinitionQuery().count());
+    assertEquals(NUMBER_OF_PROCESSES, managementService.createJobQuery().timers().count());
+  }
+
+  @Test
+  public void shouldValidateSchema() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
+        .addClasspathResource("org/camunda/bpm/engine/test/bpmn/parse/BpmnParseTest.testInvalidProcessDefinition.bpmn20.xml")
+        .addModelInstance("valid.bpmn", Bpmn.createExecutableProcess("valid").startEvent().endEvent().done());
+
+    try {
+      // when
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    }
+    catch (ParseException e) {
+      // then
+      assertTrue(e.getMessage().contains("cvc-complex-type.3.2.2:"));
+    }
+
+    assertEquals(0, repositoryService.createDeploymentQuery().count());
+  }
+
+  @Test
+  public void shouldDeployDecisionsAndCasesSequentially() {
+    // when
+    testRule.deploy(
+        "org/camunda/bpm/engine/test/api/dmn/Example.dmn",
+        "org/camunda/bpm/engine/test/dmn/deployment/drdDish.dmn11.xml",
+        "org/camunda/bpm/engine/test/api/repository/three_.cmmn");
+
+    // then
+    assertEquals(4, repositoryService.createDecisionDefinitionQuery().count());
+    assertEquals(1, repositoryService.createDecisionRequirementsDefinitionQuery().count());
+    assertEquals(1, repositoryService.createCaseDefinitionQuery().count());
+  }
+
+  @Test
+  public void shouldFailWithAllParseErrors() {
+    // given
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment()
+        .addString("invalid1.bpmn", "<definitions")
+        .addString("invalid2.bpmn", "<definitions")
+        .addModelInstance("valid.bpmn", Bpmn.createExecutableProcess("valid").startEvent().endEvent().done());
+
+    try {
+      // when
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // then
+      assertEquals(1, e.getSuppressed().length);
+    }
+
+    assertEquals(0, repositoryService.createDeploymentQuery().count());
+  }
+
+}
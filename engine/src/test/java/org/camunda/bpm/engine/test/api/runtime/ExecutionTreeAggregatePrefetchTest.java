@@ -0,0 +1,123 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ExecutionTreeAggregatePrefetchTest {
+
+  protected static final BpmnModelInstance PARALLEL_MULTI_INSTANCE_PROCESS = Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+        .multiInstance().parallel().cardinality("5").multiInstanceDone()
+      .endEvent()
+      .done();
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    processEngineConfiguration.setExecutionTreeAggregatePrefetchThreshold(2);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setExecutionTreeAggregatePrefetchThreshold(0);
+  }
+
+  @Test
+  public void shouldInitializeTasksAndVariablesOfAllExecutions() {
+    // given
+    testRule.deploy(PARALLEL_MULTI_INSTANCE_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process");
+    final String executionId = taskService.createTaskQuery().listPage(0, 1).get(0).getExecutionId();
+
+    // when
+    List<Integer> loopCounters = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<Integer>>() {
+      public List<Integer> execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(executionId);
+
+        List<Integer> loopCounters = new ArrayList<Integer>();
+        for (ExecutionEntity leaf : collectLeaves(execution.getProcessInstance())) {
+          assertEquals(1, leaf.getTasks().size());
+          assertEquals(leaf.getId(), leaf.getTasks().get(0).getExecutionId());
+          loopCounters.add((Integer) leaf.getVariableLocal("loopCounter"));
+        }
+        return loopCounters;
+      }
+    });
+
+    // then
+    assertEquals(5, loopCounters.size());
+    for (Integer loopCounter : loopCounters) {
+      assertNotNull(loopCounter);
+    }
+
+    // and the process instance can be completed
+    for (Task task : taskService.createTaskQuery().list()) {
+      taskService.complete(task.getId());
+    }
+    testRule.assertProcessEnded(processInstance.getId());
+  }
+
+  protected List<ExecutionEntity> collectLeaves(ExecutionEntity execution) {
+    List<ExecutionEntity> leaves = new ArrayList<ExecutionEntity>();
+    if (execution.getExecutions().isEmpty()) {
+      leaves.add(execution);
+    }
+    else {
+      for (ExecutionEntity child : execution.getExecutions()) {
+        leaves.addAll(collectLeaves(child));
+      }
+    }
+    return leaves;
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime.migration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.migration.MigrationPlan;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.EventSubscription;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.AsyncProcessModels;
+import org.camunda.bpm.engine.test.api.runtime.migration.models.ProcessModels;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MigrationPrefetchTest {
+
+  protected static final BpmnModelInstance ONE_BOUNDARY_TASK = ModifiableBpmnModelInstance.modify(ProcessModels.ONE_TASK_PROCESS)
+      .activityBuilder("userTask")
+      .boundaryEvent()
+      .message("Message")
+      .done();
+
+  protected ProcessEngineRule rule = new ProvidedProcessEngineRule();
+  protected MigrationTestRule testHelper = new MigrationTestRule(rule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(rule).around(testHelper);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = rule.getProcessEngineConfiguration();
+    runtimeService = rule.getRuntimeService();
+    processEngineConfiguration.setMigrationPrefetchSize(2);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setMigrationPrefetchSize(0);
+  }
+
+  @Test
+  public void shouldMigrateTasksEventSubscriptionsAndVariablesOfAllInstances() {
+    // given
+    ProcessDefinition sourceProcessDefinition = testHelper.deployAndGetDefinition(ONE_BOUNDARY_TASK);
+    ProcessDefinition targetProcessDefinition = testHelper.deployAndGetDefinition(ONE_BOUNDARY_TASK);
+
+    MigrationPlan migrationPlan = runtimeService
+      .createMigrationPlan(sourceProcessDefinition.getId(), targetProcessDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    List<String> processInstanceIds = startProcessInstances(sourceProcessDefinition, 5);
+
+    // when
+    runtimeService.newMigration(migrationPlan)
+      .processInstanceIds(processInstanceIds)
+      .execute();
+
+    // then
+    for (String processInstanceId : processInstanceIds) {
+      Task task = rule.getTaskService().createTaskQuery().processInstanceId(processInstanceId).singleResult();
+      Assert.assertEquals(targetProcessDefinition.getId(), task.getProcessDefinitionId());
+
+      EventSubscription eventSubscription = runtimeService.createEventSubscriptionQuery()
+          .processInstanceId(processInstanceId)
+          .singleResult();
+      Assert.assertEquals("userTask", eventSubscription.getActivityId());
+
+      Assert.assertEquals(processInstanceId, runtimeService.getVariable(processInstanceId, "instanceId"));
+    }
+
+    Assert.assertEquals(5, runtimeService.createProcessInstanceQuery()
+        .processDefinitionId(targetProcessDefinition.getId())
+        .count());
+  }
+
+  @Test
+  public void shouldMigrateJobsOfAllInstances() {
+    // given
+    ProcessDefinition sourceProcessDefinition = testHelper.deployAndGetDefinition(AsyncProcessModels.ASYNC_BEFORE_USER_TASK_PROCESS);
+    ProcessDefinition targetProcessDefinition = testHelper.deployAndGetDefinition(AsyncProcessModels.ASYNC_BEFORE_USER_TASK_PROCESS);
+
+    MigrationPlan migrationPlan = runtimeService
+      .createMigrationPlan(sourceProcessDefinition.getId(), targetProcessDefinition.getId())
+      .mapEqualActivities()
+      .build();
+
+    List<String> processInstanceIds = startProcessInstances(sourceProcessDefinition, 3);
+
+    // when
+    runtimeService.newMigration(migrationPlan)
+      .processInstanceIds(processInstanceIds)
+      .execute();
+
+    // then
+    JobDefinition targetJobDefinition = rule.getManagementService().createJobDefinitionQuery()
+        .processDefinitionId(targetProcessDefinition.getId())
+        .singleResult();
+
+    for (String processInstanceId : processInstanceIds) {
+      Job job = rule.getManagementService().createJobQuery().processInstanceId(processInstanceId).singleResult();
+      Assert.assertEquals(targetProcessDefinition.getId(), job.getProcessDefinitionId());
+      Assert.assertEquals(targetJobDefinition.getId(), job.getJobDefinitionId());
+    }
+  }
+
+  protected List<String> startProcessInstances(ProcessDefinition processDefinition, int count) {
+    List<String> processInstanceIds = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      String processInstanceId = runtimeService.startProcessInstanceById(processDefinition.getId()).getId();
+      runtimeService.setVariable(processInstanceId, "instanceId", processInstanceId);
+      processInstanceIds.add(processInstanceId);
+    }
+    return processInstanceIds;
+  }
+
+}
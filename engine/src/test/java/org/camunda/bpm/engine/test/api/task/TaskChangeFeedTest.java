@@ -0,0 +1,426 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.task;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.history.HistoricTaskInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.GetAuthorizedTaskChangeEventsCmd;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeEvent;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeFeed;
+import org.camunda.bpm.engine.impl.task.event.TaskChangeSubscription;
+import org.camunda.bpm.engine.task.Task;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class TaskChangeFeedTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/oneTaskProcess.bpmn20.xml";
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected AuthorizationService authorizationService;
+
+  protected TaskChangeFeed taskChangeFeed;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    authorizationService = engineRule.getAuthorizationService();
+
+    taskChangeFeed = new TaskChangeFeed(100);
+    processEngineConfiguration.setTaskChangeFeed(taskChangeFeed);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setTaskChangeFeed(null);
+    processEngineConfiguration.setAuthorizationEnabled(false);
+
+    for (Authorization authorization : authorizationService.createAuthorizationQuery().userIdIn("kermit").list()) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+    for (Task task : taskService.createTaskQuery().list()) {
+      if (task.getProcessInstanceId() == null) {
+        taskService.deleteTask(task.getId(), true);
+      }
+    }
+    for (HistoricTaskInstance task : historyService.createHistoricTaskInstanceQuery().list()) {
+      if (task.getProcessInstanceId() == null) {
+        historyService.deleteHistoricTaskInstance(task.getId());
+      }
+    }
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldPublishTaskLifecycle() {
+    // given
+    subscribe();
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.addCandidateGroup(task.getId(), "accounting");
+    taskService.claim(task.getId(), "kermit");
+    taskService.complete(task.getId());
+
+    // then
+    List<TaskChangeEvent> events = taskChangeFeed.getEventsAfter(0, 10);
+    assertThat(events).extracting("eventName").containsExactly(
+        TaskListener.EVENTNAME_CREATE,
+        TaskListener.EVENTNAME_UPDATE,
+        TaskListener.EVENTNAME_ASSIGNMENT,
+        TaskListener.EVENTNAME_COMPLETE);
+    assertThat(events).extracting("offset").containsExactly(1L, 2L, 3L, 4L);
+    assertThat(events).extracting("taskId").containsOnly(task.getId());
+    assertThat(taskChangeFeed.getLatestOffset()).isEqualTo(4L);
+
+    TaskChangeEvent assignment = events.get(2);
+    assertThat(assignment.getAssignee()).isEqualTo("kermit");
+    assertThat(assignment.getPreviousAssignee()).isNull();
+    assertThat(assignment.getCandidateGroups()).containsExactly("accounting");
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldResumeAfterOffset() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    long offset = taskChangeFeed.getLatestOffset();
+    Task task = taskService.createTaskQuery().singleResult();
+
+    // when
+    taskService.setAssignee(task.getId(), "kermit");
+
+    // then
+    List<TaskChangeEvent> events = taskChangeFeed.getEventsAfter(offset, 10);
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getEventName()).isEqualTo(TaskListener.EVENTNAME_ASSIGNMENT);
+    assertThat(taskChangeFeed.getEventsAfter(offset + 1, 10)).isEmpty();
+  }
+
+  @Test
+  public void shouldNotPublishOnRollback() {
+    // when
+    try {
+      processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+        public Void execute(CommandContext commandContext) {
+          taskService.saveTask(taskService.newTask());
+          throw new IllegalStateException("rollback");
+        }
+      });
+      fail("exception expected");
+    }
+    catch (IllegalStateException e) {
+      // expected
+    }
+
+    // then
+    assertThat(taskChangeFeed.getLatestOffset()).isEqualTo(0L);
+    assertThat(taskService.createTaskQuery().count()).isEqualTo(0L);
+  }
+
+  @Test
+  public void shouldDetectMissedEvents() {
+    // given
+    TaskChangeFeed feed = new TaskChangeFeed(2);
+
+    // when
+    feed.publish(new TaskChangeEvent());
+    feed.publish(new TaskChangeEvent());
+    feed.publish(new TaskChangeEvent());
+
+    // then
+    assertThat(feed.isAvailable(0)).isFalse();
+    assertThat(feed.isAvailable(1)).isTrue();
+    assertThat(feed.getEventsAfter(0, 10)).extracting("offset").containsExactly(2L, 3L);
+    assertThat(feed.getEventsAfter(1, 1)).extracting("offset").containsExactly(2L);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFilterEventsByUserAndGroups() {
+    // given
+    subscribe();
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.addCandidateGroup(task.getId(), "accounting");
+    taskService.setAssignee(task.getId(), "kermit");
+
+    // when
+    taskService.setAssignee(task.getId(), "fozzie");
+
+    // then
+    TaskChangeEvent event = taskChangeFeed.getEventsAfter(taskChangeFeed.getLatestOffset() - 1, 1).get(0);
+    assertThat(event.isVisibleTo("fozzie", null)).isTrue();
+    assertThat(event.isVisibleTo("kermit", null)).isTrue();
+    assertThat(event.isVisibleTo("gonzo", Arrays.asList("management", "accounting"))).isTrue();
+    assertThat(event.isVisibleTo("gonzo", Collections.<String>emptyList())).isFalse();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldBeVisibleToRemovedCandidateGroup() {
+    // given
+    subscribe();
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.addCandidateGroup(task.getId(), "accounting");
+
+    // when
+    taskService.deleteCandidateGroup(task.getId(), "accounting");
+
+    // then
+    TaskChangeEvent event = getLatestEvent();
+    assertThat(event.getCandidateGroups()).isEmpty();
+    assertThat(event.getPreviousCandidateGroups()).containsExactly("accounting");
+    assertThat(event.isVisibleTo("gonzo", Arrays.asList("accounting"))).isTrue();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldNotLoadCandidatesWithoutSubscription() {
+    // given
+    runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    Task task = taskService.createTaskQuery().singleResult();
+    taskService.addCandidateGroup(task.getId(), "accounting");
+
+    // when
+    taskService.setAssignee(task.getId(), "kermit");
+
+    // then
+    TaskChangeEvent event = getLatestEvent();
+    assertThat(event.isCandidatesResolved()).isFalse();
+    assertThat(event.getCandidateGroups()).isEmpty();
+  }
+
+  @Test
+  public void shouldWakeOnlySubscriptionsOfVisibleEvents() {
+    // given
+    TaskChangeSubscription kermit = taskChangeFeed.subscribe("kermit", null, Long.MAX_VALUE);
+    TaskChangeSubscription fozzie = taskChangeFeed.subscribe("fozzie", null, Long.MAX_VALUE);
+
+    // when
+    Task task = taskService.newTask();
+    task.setAssignee("kermit");
+    taskService.saveTask(task);
+
+    // then
+    TaskChangeEvent event = getLatestEvent();
+    assertThat(kermit.accepts(event)).isTrue();
+    assertThat(fozzie.accepts(event)).isFalse();
+  }
+
+  @Test
+  public void shouldLimitSubscriptions() {
+    // given
+    TaskChangeFeed feed = new TaskChangeFeed(10, 1);
+    TaskChangeSubscription subscription = feed.subscribe("kermit", null, Long.MAX_VALUE);
+
+    // when
+    TaskChangeSubscription rejectedSubscription = feed.subscribe("fozzie", null, Long.MAX_VALUE);
+
+    // then
+    assertThat(subscription).isNotNull();
+    assertThat(rejectedSubscription).isNull();
+
+    // and when
+    subscription.close();
+
+    // then
+    assertThat(feed.hasSubscriptions()).isFalse();
+    assertThat(feed.subscribe("fozzie", null, Long.MAX_VALUE)).isNotNull();
+  }
+
+  @Test
+  public void shouldRemoveExpiredSubscriptions() {
+    // given
+    TaskChangeFeed feed = new TaskChangeFeed(10, 1);
+    feed.subscribe("kermit", null, System.currentTimeMillis() - 1);
+
+    // when
+    TaskChangeSubscription subscription = feed.subscribe("fozzie", null, Long.MAX_VALUE);
+
+    // then
+    assertThat(subscription).isNotNull();
+  }
+
+  @Test
+  public void shouldFilterEventsByAuthorization() {
+    // given
+    Task task = taskService.newTask();
+    taskService.saveTask(task);
+    List<TaskChangeEvent> events = taskChangeFeed.getEventsAfter(0, 10);
+
+    Authorization authorization = authorizationService.createNewAuthorization(Authorization.AUTH_TYPE_GRANT);
+    authorization.setUserId("kermit");
+    authorization.setResource(Resources.TASK);
+    authorization.setResourceId(task.getId());
+    authorization.addPermission(Permissions.READ);
+
+    Authentication authentication = new Authentication("kermit", Collections.<String>emptyList());
+
+    // when
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    List<TaskChangeEvent> unauthorizedEvents = getAuthorizedEvents(events, authentication);
+    processEngineConfiguration.setAuthorizationEnabled(false);
+
+    authorizationService.saveAuthorization(authorization);
+
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    List<TaskChangeEvent> authorizedEvents = getAuthorizedEvents(events, authentication);
+
+    // then
+    assertThat(unauthorizedEvents).isEmpty();
+    assertThat(authorizedEvents).extracting("taskId").containsExactly(task.getId());
+  }
+
+  @Test
+  public void shouldAuthorizeCompletionOfTaskWithAuthorizationEnabled() {
+    // given
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    Task task = taskService.newTask();
+    task.setAssignee("kermit");
+    taskService.saveTask(task);
+    long offset = taskChangeFeed.getLatestOffset();
+
+    // when
+    taskService.complete(task.getId());
+
+    // then
+    List<TaskChangeEvent> events = taskChangeFeed.getEventsAfter(offset, 10);
+    assertThat(events).extracting("eventName").containsExactly(TaskListener.EVENTNAME_COMPLETE);
+    assertThat(authorizationService.createAuthorizationQuery().resourceType(Resources.TASK)
+        .resourceId(task.getId()).count()).isEqualTo(0L);
+
+    assertThat(getAuthorizedEvents(events, new Authentication("kermit", Collections.<String>emptyList())))
+        .extracting("taskId").containsExactly(task.getId());
+    assertThat(getAuthorizedEvents(events, new Authentication("fozzie", Collections.<String>emptyList())))
+        .isEmpty();
+  }
+
+  @Test
+  public void shouldAuthorizeDeletionForAssignee() {
+    // given
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    Task task = taskService.newTask();
+    task.setAssignee("kermit");
+    taskService.saveTask(task);
+    long offset = taskChangeFeed.getLatestOffset();
+
+    // when
+    taskService.deleteTask(task.getId(), true);
+
+    // then
+    List<TaskChangeEvent> events = taskChangeFeed.getEventsAfter(offset, 10);
+    assertThat(events).extracting("eventName").containsExactly(TaskListener.EVENTNAME_DELETE);
+    assertThat(getAuthorizedEvents(events, new Authentication("kermit", Collections.<String>emptyList())))
+        .extracting("taskId").containsExactly(task.getId());
+  }
+
+  @Test
+  public void shouldPublishAssigneeOfCreateListener() {
+    // given
+    BpmnModelInstance process = Bpmn.createExecutableProcess("process")
+        .startEvent()
+        .userTask()
+          .camundaTaskListenerExpression(TaskListener.EVENTNAME_CREATE, "${task.setAssignee('kermit')}")
+        .endEvent()
+        .done();
+    testRule.deploy(process);
+    subscribe();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    List<TaskChangeEvent> events = taskChangeFeed.getEventsAfter(0, 10);
+    assertThat(events).extracting("eventName").containsExactly(TaskListener.EVENTNAME_CREATE);
+    assertThat(events.get(0).getAssignee()).isEqualTo("kermit");
+    assertThat(events.get(0).isVisibleTo("kermit", null)).isTrue();
+  }
+
+  @Test
+  public void shouldFilterEventsByTenant() {
+    // given
+    Task task = taskService.newTask();
+    task.setTenantId("tenant1");
+    taskService.saveTask(task);
+    List<TaskChangeEvent> events = taskChangeFeed.getEventsAfter(0, 10);
+
+    // when
+    List<TaskChangeEvent> otherTenantEvents = getAuthorizedEvents(events,
+        new Authentication("kermit", null, Arrays.asList("tenant2")));
+    List<TaskChangeEvent> tenantEvents = getAuthorizedEvents(events,
+        new Authentication("kermit", null, Arrays.asList("tenant1")));
+
+    // then
+    assertThat(otherTenantEvents).isEmpty();
+    assertThat(tenantEvents).extracting("taskId").containsExactly(task.getId());
+  }
+
+  protected TaskChangeSubscription subscribe() {
+    return taskChangeFeed.subscribe(null, null, Long.MAX_VALUE);
+  }
+
+  protected TaskChangeEvent getLatestEvent() {
+    return taskChangeFeed.getEventsAfter(taskChangeFeed.getLatestOffset() - 1, 1).get(0);
+  }
+
+  protected List<TaskChangeEvent> getAuthorizedEvents(List<TaskChangeEvent> events, Authentication authentication) {
+    return processEngineConfiguration.getCommandExecutorTxRequired()
+        .execute(new GetAuthorizedTaskChangeEventsCmd(events, authentication));
+  }
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.util.CompressionUtil;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class ByteArrayCompressionTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected static final byte[] COMPRESSION_MAGIC = new byte[] { (byte) 0xCA, (byte) 0x3D, (byte) 0x5A, (byte) 0x01 };
+
+  @ClassRule
+  public static ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setByteArrayCompressionEnabled(true);
+      configuration.setByteArrayCompressionThreshold(100);
+      return configuration;
+    }
+  };
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldReadCompressedByteArray() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    byte[] bytes = createCompressibleBytes();
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bytes", bytes);
+
+    // then
+    assertArrayEquals(bytes, (byte[]) runtimeService.getVariable(instance.getId(), "bytes"));
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldReadByteArrayAfterCompressionIsDisabled() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    byte[] bytes = createCompressibleBytes();
+    runtimeService.setVariable(instance.getId(), "bytes", bytes);
+
+    // when
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+
+    // then
+    assertArrayEquals(bytes, (byte[]) runtimeService.getVariable(instance.getId(), "bytes"));
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldReadUncompressedByteArrayAfterCompressionIsEnabled() {
+    // given
+    processEngineConfiguration.setByteArrayCompressionEnabled(false);
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    byte[] bytes = createCompressibleBytes();
+    runtimeService.setVariable(instance.getId(), "bytes", bytes);
+
+    // when
+    processEngineConfiguration.setByteArrayCompressionEnabled(true);
+
+    // then
+    byte[] value = (byte[]) runtimeService.getVariable(instance.getId(), "bytes");
+    assertEquals(bytes.length, value.length);
+    assertArrayEquals(bytes, value);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldWriteCompressedBytesToDatabase() {
+    // given
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    byte[] bytes = createCompressibleBytes();
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bytes", bytes);
+
+    // then
+    VariableInstanceEntity variableInstance = (VariableInstanceEntity) runtimeService.createVariableInstanceQuery()
+        .variableName("bytes")
+        .singleResult();
+    byte[] persistentBytes = selectPersistentBytes(variableInstance.getByteArrayValueId());
+
+    assertTrue(persistentBytes.length < bytes.length);
+    assertFalse(Arrays.equals(bytes, persistentBytes));
+    assertArrayEquals(COMPRESSION_MAGIC, Arrays.copyOf(persistentBytes, COMPRESSION_MAGIC.length));
+    assertArrayEquals(bytes, CompressionUtil.decompress(persistentBytes));
+  }
+
+  protected byte[] selectPersistentBytes(final String byteArrayId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<byte[]>() {
+      public byte[] execute(CommandContext commandContext) {
+        Connection connection = commandContext.getDbSqlSession().getSqlSession().getConnection();
+        String table = processEngineConfiguration.getDatabaseTablePrefix() + "ACT_GE_BYTEARRAY";
+
+        try (PreparedStatement statement = connection.prepareStatement("SELECT BYTES_ FROM " + table + " WHERE ID_ = ?")) {
+          statement.setString(1, byteArrayId);
+          try (ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+            return resultSet.getBytes(1);
+          }
+        }
+        catch (SQLException e) {
+          throw new ProcessEngineException(e);
+        }
+      }
+    });
+  }
+
+  protected byte[] createCompressibleBytes() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("line ").append(i % 10).append('\n');
+    }
+    return sb.toString().getBytes();
+  }
+
+}
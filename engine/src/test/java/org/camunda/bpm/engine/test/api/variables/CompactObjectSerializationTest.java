@@ -0,0 +1,382 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.camunda.bpm.engine.variable.Variables.objectValue;
+import static org.camunda.bpm.engine.variable.Variables.serializedObjectValue;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.impl.util.StringUtil;
+import org.camunda.bpm.engine.impl.variable.serializer.compact.CompactObjectWriter;
+import org.camunda.bpm.engine.impl.variable.serializer.compact.CompactObjectSchema;
+import org.camunda.bpm.engine.impl.variable.serializer.compact.CompactObjectSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.compact.CompactValueType;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables.SerializationDataFormats;
+import org.camunda.bpm.engine.variable.value.ObjectValue;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.RuleChain;
+
+public class CompactObjectSerializationTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected static final String COMPACT_DATA_FORMAT = CompactObjectSerializer.DATA_FORMAT;
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  @Rule
+  public ExpectedException thrown = ExpectedException.none();
+
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSerializationAsCompactObject() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    CompactSerializable bean = createBean();
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(bean).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+
+    // then
+    ObjectValue typedValue = runtimeService.getVariableTyped(instance.getId(), "bean");
+    assertEquals(COMPACT_DATA_FORMAT, typedValue.getSerializationDataFormat());
+    assertEquals(CompactSerializable.class.getName(), typedValue.getObjectTypeName());
+    assertTrue(typedValue.isDeserialized());
+
+    CompactSerializable value = (CompactSerializable) typedValue.getValue();
+    assertBeanEquals(bean, value);
+    assertNull(value.getIgnored());
+
+    assertBeanEquals(bean.getChild(), value.getChild());
+    assertNull(value.getChild().getChild());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSetSerializedCompactObject() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    CompactSerializable bean = createBean();
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(bean).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+    ObjectValue serializedValue = runtimeService.getVariableTyped(instance.getId(), "bean", false);
+    assertFalse(serializedValue.isDeserialized());
+
+    // when
+    runtimeService.setVariable(instance.getId(), "copy", serializedObjectValue(serializedValue.getValueSerialized())
+        .serializationDataFormat(COMPACT_DATA_FORMAT)
+        .objectTypeName(CompactSerializable.class.getName())
+        .create());
+
+    // then
+    CompactSerializable copy = (CompactSerializable) runtimeService.getVariable(instance.getId(), "copy");
+    assertBeanEquals(bean, copy);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testVariableInstanceQueryByObjectTypeName() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(createBean()).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+
+    // then
+    VariableInstance variableInstance = runtimeService.createVariableInstanceQuery().variableName("bean").singleResult();
+    assertEquals("object", variableInstance.getTypeName());
+
+    ObjectValue typedValue = (ObjectValue) variableInstance.getTypedValue();
+    assertEquals(COMPACT_DATA_FORMAT, typedValue.getSerializationDataFormat());
+    assertEquals(CompactSerializable.class.getName(), typedValue.getObjectTypeName());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testCyclicObjectGraphFails() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    CompactSerializable bean = new CompactSerializable("cycle");
+    bean.setChild(bean);
+
+    // then
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("cyclic reference");
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(bean).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testSortedContainerInterfaces() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    SortedContainers bean = new SortedContainers();
+    bean.names.add("b");
+    bean.names.add("a");
+    bean.counts.put("x", 1);
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(bean).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+
+    // then
+    SortedContainers value = (SortedContainers) runtimeService.getVariable(instance.getId(), "bean");
+    assertEquals(Arrays.asList("a", "b"), new ArrayList<String>(value.names));
+    assertEquals(bean.counts, value.counts);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testAbstractContainerFieldFails() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    AbstractContainer bean = new AbstractContainer();
+    assertNull(CompactObjectSchema.create(AbstractContainer.class));
+
+    // then
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("Cannot find serializer");
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(bean).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testUnsupportedElementTypeFails() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    CompactSerializable bean = createBean();
+    bean.getAttributes().put("id", UUID.randomUUID());
+
+    // then
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("Cannot find serializer");
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(bean).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testCorruptByteArrayLengthFails() throws IOException {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    setSerializedValue(instance.getId(), BytesContainer.class, CompactValueType.BYTES, Integer.MAX_VALUE);
+
+    // then
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("length " + Integer.MAX_VALUE + " exceeds the remaining 0 bytes");
+
+    // when
+    runtimeService.getVariable(instance.getId(), "bean");
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testCorruptCollectionSizeFails() throws IOException {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+    setSerializedValue(instance.getId(), ListContainer.class, CompactValueType.COLLECTION, Integer.MAX_VALUE,
+        CompactObjectWriter.COLLECTION_LIST);
+
+    // then
+    thrown.expect(ProcessEngineException.class);
+    thrown.expectMessage("length " + Integer.MAX_VALUE + " exceeds the remaining 0 bytes");
+
+    // when
+    runtimeService.getVariable(instance.getId(), "bean");
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void testTimestampInCollection() {
+    ProcessInstance instance = runtimeService.startProcessInstanceByKey("oneTaskProcess");
+
+    Timestamp timestamp = new Timestamp(1234567890L);
+    timestamp.setNanos(890123456);
+
+    CompactSerializable bean = createBean();
+    bean.getAttributes().put("timestamp", timestamp);
+
+    // when
+    runtimeService.setVariable(instance.getId(), "bean", objectValue(bean).serializationDataFormat(COMPACT_DATA_FORMAT).create());
+
+    // then
+    CompactSerializable value = (CompactSerializable) runtimeService.getVariable(instance.getId(), "bean");
+    Object readTimestamp = value.getAttributes().get("timestamp");
+    assertEquals(Timestamp.class, readTimestamp.getClass());
+    assertEquals(timestamp, readTimestamp);
+  }
+
+  @Test
+  public void testObjectGraphNotCheckedForOtherDataFormat() {
+    // given an object graph which cannot be walked
+    ListContainer bean = new ListContainer();
+    bean.items = new ArrayList<String>() {
+      public Iterator<String> iterator() {
+        throw new IllegalStateException("object graph must not be checked");
+      }
+    };
+
+    CompactObjectSerializer serializer = new CompactObjectSerializer();
+
+    // when
+    boolean canHandle = serializer.canHandle(objectValue(bean).serializationDataFormat(SerializationDataFormats.JAVA).create());
+
+    // then
+    assertFalse(canHandle);
+  }
+
+  @Test
+  public void testPrivateConstructorNotUsed() {
+    assertNull(CompactObjectSchema.create(PrivateConstructor.class));
+  }
+
+  /**
+   * Sets a compact object with a single field whose value has the given tag
+   * and length but no content.
+   */
+  protected void setSerializedValue(String processInstanceId, Class<?> type, byte tag, int length, byte... header) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeByte(CompactObjectWriter.FORMAT_VERSION);
+    out.writeInt(CompactObjectSchema.create(type).getFingerprint());
+    out.writeByte(tag);
+    out.write(header);
+    for (long value = length; ; value >>>= 7) {
+      if ((value & ~0x7FL) == 0) {
+        out.writeByte((int) value);
+        break;
+      }
+      out.writeByte((int) (value & 0x7F) | 0x80);
+    }
+
+    String serializedValue = StringUtil.fromBytes(Base64.encodeBase64(bytes.toByteArray()), engineRule.getProcessEngine());
+    runtimeService.setVariable(processInstanceId, "bean", serializedObjectValue(serializedValue)
+        .serializationDataFormat(COMPACT_DATA_FORMAT)
+        .objectTypeName(type.getName())
+        .create());
+  }
+
+  protected CompactSerializable createBean() {
+    CompactSerializable bean = new CompactSerializable("order");
+    bean.setCount(-42);
+    bean.setAmount(Long.MAX_VALUE);
+    bean.setRatio(0.25d);
+    bean.setPrice(new BigDecimal("1234.5678"));
+    bean.setCreated(new Date(1234567890L));
+    bean.setStatus(CompactSerializable.Status.OPEN);
+    bean.setPayload(new byte[] { 1, 2, 3 });
+    bean.getTags().add("a");
+    bean.getTags().add("b");
+    bean.getAttributes().put("number", 7);
+    bean.getAttributes().put("status", CompactSerializable.Status.CLOSED);
+    bean.setIgnored("transient");
+
+    CompactSerializable child = new CompactSerializable("child");
+    child.setStatus(CompactSerializable.Status.CLOSED);
+    bean.setChild(child);
+
+    return bean;
+  }
+
+  protected void assertBeanEquals(CompactSerializable expected, CompactSerializable actual) {
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getCount(), actual.getCount());
+    assertEquals(expected.getAmount(), actual.getAmount());
+    assertEquals(expected.getRatio(), actual.getRatio());
+    assertEquals(expected.getPrice(), actual.getPrice());
+    assertEquals(expected.getCreated(), actual.getCreated());
+    assertEquals(expected.getStatus(), actual.getStatus());
+    assertArrayEquals(expected.getPayload(), actual.getPayload());
+    assertEquals(expected.getTags(), actual.getTags());
+    assertEquals(expected.getAttributes(), actual.getAttributes());
+  }
+
+  public static class SortedContainers {
+
+    private SortedSet<String> names = new TreeSet<String>();
+    private NavigableMap<String, Integer> counts = new TreeMap<String, Integer>();
+
+  }
+
+  public static class BytesContainer {
+
+    private byte[] data;
+
+  }
+
+  public static class ListContainer {
+
+    private List<String> items;
+
+  }
+
+  public static class AbstractContainer {
+
+    private EnumSet<CompactSerializable.Status> statuses = EnumSet.noneOf(CompactSerializable.Status.class);
+
+  }
+
+  public static class PrivateConstructor {
+
+    private String name;
+
+    private PrivateConstructor() {
+    }
+
+  }
+
+}
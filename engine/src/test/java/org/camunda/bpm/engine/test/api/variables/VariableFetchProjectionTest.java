@@ -0,0 +1,258 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.core.variable.scope.SimpleVariableInstance;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableStore.VariablesProvider;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.Deployment;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.impl.VariableMapImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableFetchProjectionTest {
+
+  protected static final String ONE_TASK_PROCESS = "org/camunda/bpm/engine/test/api/variables/oneTaskProcess.bpmn20.xml";
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    processEngineConfiguration.setVariableFetchProjectionEnabled(true);
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setVariableFetchProjectionEnabled(false);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFetchSingleVariable() {
+    // given
+    final ProcessInstance instance = startProcessWithVariables();
+
+    // when
+    List<VariableInstanceEntity> fetchedVariables = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<VariableInstanceEntity>>() {
+      public List<VariableInstanceEntity> execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(instance.getId());
+
+        assertEquals("bValue", execution.getVariable("b"));
+        return getCachedVariables(commandContext);
+      }
+    });
+
+    // then
+    assertEquals(1, fetchedVariables.size());
+    assertEquals("b", fetchedVariables.get(0).getName());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldFetchRequestedVariablesOnly() {
+    // given
+    final ProcessInstance instance = startProcessWithVariables();
+
+    // when
+    List<VariableInstanceEntity> fetchedVariables = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<VariableInstanceEntity>>() {
+      public List<VariableInstanceEntity> execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(instance.getId());
+
+        VariableMapImpl variables = new VariableMapImpl();
+        execution.collectVariables(variables, Arrays.asList("a", "c", "unknown"), true, true);
+        assertEquals(2, variables.size());
+        assertEquals("aValue", variables.get("a"));
+        assertEquals("cValue", variables.get("c"));
+        return getCachedVariables(commandContext);
+      }
+    });
+
+    // then
+    assertEquals(2, fetchedVariables.size());
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldCountProjectedVariableFetches() {
+    // given
+    final ProcessInstance instance = startProcessWithVariables();
+    long fetchedVariables = getProjectedVariableFetches();
+
+    // when
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(instance.getId());
+
+        execution.collectVariables(new VariableMapImpl(), Arrays.asList("a", "c", "unknown"), true, true);
+        execution.getVariable("a");
+        execution.getVariable("unknown");
+        return null;
+      }
+    });
+
+    // then only the loaded variables are counted
+    assertEquals(fetchedVariables + 2, getProjectedVariableFetches());
+  }
+
+  @Test
+  public void shouldFetchVariablesWithOneQuery() {
+    // given
+    CountingVariablesProvider variablesProvider = new CountingVariablesProvider(
+        new SimpleVariableInstance("a", Variables.stringValue("aValue")),
+        new SimpleVariableInstance("b", Variables.stringValue("bValue")),
+        new SimpleVariableInstance("c", Variables.stringValue("cValue")));
+    VariableStore<SimpleVariableInstance> variableStore = new VariableStore<SimpleVariableInstance>(variablesProvider);
+
+    // when
+    Map<String, SimpleVariableInstance> variables = variableStore.fetchVariables(Arrays.asList("a", "b", "unknown"));
+    variableStore.fetchVariable("a");
+    variableStore.fetchVariable("unknown");
+
+    // then
+    assertEquals(2, variables.size());
+    assertEquals(1, variablesProvider.fetches);
+    assertFalse(variableStore.isInitialized());
+
+    // and when
+    variableStore.fetchVariables(Arrays.asList("b", "c"));
+
+    // then only the missing variable is fetched
+    assertEquals(2, variablesProvider.fetches);
+    assertEquals(Collections.singletonList("c"), variablesProvider.lastFetchedNames);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldReturnNullForMissingVariable() {
+    // given
+    ProcessInstance instance = startProcessWithVariables();
+
+    // when
+    Object value = runtimeService.getVariable(instance.getId(), "unknown");
+
+    // then
+    assertNull(value);
+  }
+
+  @Test
+  @Deployment(resources = ONE_TASK_PROCESS)
+  public void shouldSeeAllVariablesAfterUpdateOfFetchedVariable() {
+    // given
+    final ProcessInstance instance = startProcessWithVariables();
+
+    // when
+    Map<String, Object> variables = processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Map<String, Object>>() {
+      public Map<String, Object> execute(CommandContext commandContext) {
+        ExecutionEntity execution = commandContext.getExecutionManager().findExecutionById(instance.getId());
+
+        assertEquals("aValue", execution.getVariable("a"));
+        assertNull(execution.getVariable("d"));
+
+        execution.setVariable("a", "newValue");
+        execution.setVariable("d", "dValue");
+        return execution.getVariables();
+      }
+    });
+
+    // then
+    assertEquals(4, variables.size());
+    assertEquals("newValue", variables.get("a"));
+    assertEquals("bValue", variables.get("b"));
+    assertEquals("cValue", variables.get("c"));
+    assertEquals("dValue", variables.get("d"));
+    assertEquals("newValue", runtimeService.getVariable(instance.getId(), "a"));
+    assertEquals(4, runtimeService.getVariables(instance.getId()).size());
+  }
+
+  protected ProcessInstance startProcessWithVariables() {
+    return runtimeService.startProcessInstanceByKey("oneTaskProcess", Variables.createVariables()
+        .putValue("a", "aValue")
+        .putValue("b", "bValue")
+        .putValue("c", "cValue"));
+  }
+
+  protected long getProjectedVariableFetches() {
+    return processEngineConfiguration.getMetricsRegistry().getMeterByName(Metrics.VARIABLE_INSTANCE_FETCH_PROJECTED).get();
+  }
+
+  protected List<VariableInstanceEntity> getCachedVariables(CommandContext commandContext) {
+    return commandContext.getDbEntityManager().getDbEntityCache().getEntitiesByType(VariableInstanceEntity.class);
+  }
+
+  protected static class CountingVariablesProvider implements VariablesProvider<SimpleVariableInstance> {
+
+    protected List<SimpleVariableInstance> variables;
+    protected int fetches = 0;
+    protected Collection<String> lastFetchedNames;
+
+    public CountingVariablesProvider(SimpleVariableInstance... variables) {
+      this.variables = Arrays.asList(variables);
+    }
+
+    public Collection<SimpleVariableInstance> provideVariables() {
+      fetches++;
+      return variables;
+    }
+
+    public Collection<SimpleVariableInstance> provideVariables(Collection<String> variableNames) {
+      fetches++;
+      lastFetchedNames = new ArrayList<String>(variableNames);
+      List<SimpleVariableInstance> result = new ArrayList<SimpleVariableInstance>();
+      for (SimpleVariableInstance variable : variables) {
+        if (variableNames.contains(variable.getName())) {
+          result.add(variable);
+        }
+      }
+      return result;
+    }
+  }
+
+}
@@ -64,6 +64,11 @@ public class PerfTestProcessEngine {
 
     processEngineConfiguration.setJdbcBatchProcessing(Boolean.valueOf(properties.getProperty("jdbcBatchProcessing")));
 
+    String aggregatePrefetchThreshold = properties.getProperty("executionTreeAggregatePrefetchThreshold");
+    if (aggregatePrefetchThreshold != null && !aggregatePrefetchThreshold.startsWith("$")) {
+      processEngineConfiguration.setExecutionTreeAggregatePrefetchThreshold(Integer.parseInt(aggregatePrefetchThreshold));
+    }
+
     // load plugins
     String processEnginePlugins = properties.getProperty("processEnginePlugins", "");
     for (String pluginName : processEnginePlugins.split(",")) {
@@ -0,0 +1,49 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.steps;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+
+/**
+ * Deploy the given model instances as the resources of a single deployment.
+ */
+public class DeployModelInstancesStep extends ProcessEngineAwareStep {
+
+  protected final List<BpmnModelInstance> modelInstances;
+
+  public DeployModelInstancesStep(ProcessEngine processEngine, List<BpmnModelInstance> modelInstances) {
+    super(processEngine);
+    this.modelInstances = modelInstances;
+  }
+
+  @Override
+  public void execute(PerfTestRunContext context) {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+
+    for (int i = 0; i < modelInstances.size(); i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", modelInstances.get(i));
+    }
+
+    deploymentBuilder.deploy();
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.bpmn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.DeployModelInstancesStep;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Deploy many BPMN resources at once, with the XML of the resources read by the
+ * deploying thread or in parallel.
+ */
+public class DeploymentPerformanceTest extends ProcessEnginePerformanceTestCase {
+
+  // number of resources of a deployment
+  private static final int NUMBER_OF_PROCESSES = 100;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ExecutorService parseExecutor;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = (ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration();
+  }
+
+  @After
+  public void cleanUp() {
+    processEngineConfiguration.setDeploymentParseExecutor(null);
+    if (parseExecutor != null) {
+      parseExecutor.shutdownNow();
+    }
+
+    for (Deployment deployment : repositoryService.createDeploymentQuery().list()) {
+      repositoryService.deleteDeployment(deployment.getId(), true);
+    }
+  }
+
+  @Test
+  public void sequentialParsing() {
+    performanceTest()
+      .step(new DeployModelInstancesStep(engine, createProcesses()))
+    .run();
+  }
+
+  @Test
+  public void parallelParsing() {
+    parseExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    processEngineConfiguration.setDeploymentParseExecutor(parseExecutor);
+
+    performanceTest()
+      .step(new DeployModelInstancesStep(engine, createProcesses()))
+    .run();
+  }
+
+  protected List<BpmnModelInstance> createProcesses() {
+    List<BpmnModelInstance> processes = new ArrayList<BpmnModelInstance>();
+    for (int i = 0; i < NUMBER_OF_PROCESSES; i++) {
+      processes.add(Bpmn.createExecutableProcess("process" + i)
+          .startEvent()
+          .userTask()
+          .exclusiveGateway()
+            .condition("approved", "${approved}")
+            .serviceTask()
+              .camundaExpression("${true}")
+            .endEvent()
+          .moveToLastGateway()
+            .condition("rejected", "${!approved}")
+            .userTask()
+            .endEvent()
+          .done());
+    }
+    return processes;
+  }
+
+}
@@ -16,11 +16,14 @@
  */
 package org.camunda.bpm.qa.performance.engine.dmn;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.camunda.bpm.engine.test.Deployment;
 import org.camunda.bpm.engine.variable.Variables;
 import org.camunda.bpm.qa.performance.engine.junit.ProcessEnginePerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.steps.EvaluateDecisionForEachStep;
 import org.camunda.bpm.qa.performance.engine.steps.EvaluateDecisionTableStep;
 import org.junit.Test;
 
@@ -35,6 +38,9 @@ public class DmnEnginePerformanceTest extends ProcessEnginePerformanceTestCase {
   // 0.5 => 50% - half of the rules of the decision table will match
   private static final double NUMBER_OF_MATCHING_RULES = 1.0;
 
+  // number of inputs evaluated in one call
+  private static final int NUMBER_OF_INPUTS = 100;
+
   // decision ids
   private static final String TWO_RULES = "twoRules";
   private static final String FIVE_RULES = "fiveRules";
@@ -46,6 +52,8 @@ public class DmnEnginePerformanceTest extends ProcessEnginePerformanceTestCase {
   private static final String TEN_RULES_TWO_INPUTS = "tenRulesTwoInputs";
   private static final String ONE_HUNDRED_RULES_TWO_INPUTS = "oneHundredRulesTwoInputs";
 
+  private static final String ONE_THOUSAND_RULES_LITERAL_INPUTS = "oneThousandRulesLiteralInputs";
+
   @Test
   @Deployment
   public void twoRules() {
@@ -110,6 +118,33 @@ public class DmnEnginePerformanceTest extends ProcessEnginePerformanceTestCase {
     .run();
   }
 
+  @Test
+  @Deployment
+  public void oneThousandRulesLiteralInputs() {
+    // the input entries are string and integer literals, which are matched by index
+    // if DefaultDmnEngineConfiguration#enableDecisionTableIndex is set
+    Map<String, Object> variables = Variables.createVariables()
+        .putValue("category", "category500")
+        .putValue("region", 0);
+
+    performanceTest()
+      .step(new EvaluateDecisionTableStep(engine, ONE_THOUSAND_RULES_LITERAL_INPUTS, variables))
+    .run();
+  }
+
+  @Test
+  @Deployment(resources = "org/camunda/bpm/qa/performance/engine/dmn/DmnEnginePerformanceTest.oneHundredRules.dmn")
+  public void oneHundredRulesForEach() {
+    List<Map<String, Object>> variablesList = new ArrayList<Map<String, Object>>();
+    for (int i = 0; i < NUMBER_OF_INPUTS; i++) {
+      variablesList.add(createVariables());
+    }
+
+    performanceTest()
+      .step(new EvaluateDecisionForEachStep(engine, ONE_HUNDRED_RULES, variablesList))
+    .run();
+  }
+
   private EvaluateDecisionTableStep evaluateDecisionTableStep(String decisionKey) {
     Map<String, Object> variables = createVariables();
 
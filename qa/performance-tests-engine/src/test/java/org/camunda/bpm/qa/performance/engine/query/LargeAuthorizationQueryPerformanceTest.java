@@ -0,0 +1,251 @@
+/*
+ * Copyright Camunda Services GmbH and/or licensed to Camunda Services GmbH
+ * under one or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information regarding copyright
+ * ownership. Camunda licenses this file to you under the Apache License,
+ * Version 2.0; you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.query;
+
+import static org.camunda.bpm.engine.authorization.Authorization.AUTH_TYPE_GRANT;
+import static org.camunda.bpm.engine.authorization.Permissions.READ;
+import static org.camunda.bpm.engine.authorization.Resources.PROCESS_INSTANCE;
+import static org.camunda.bpm.engine.authorization.Resources.TASK;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Resource;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.identity.Authentication;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
+import org.camunda.bpm.engine.query.Query;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestRunContext;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestStepBehavior;
+import org.camunda.bpm.qa.performance.engine.junit.AuthorizationPerformanceTestCase;
+import org.camunda.bpm.qa.performance.engine.junit.PerfTestProcessEngine;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * Measures authorization-aware queries against a large authorization table
+ * where most authorizations refer to individual resource ids.
+ */
+@SuppressWarnings("rawtypes")
+@RunWith(Parameterized.class)
+public class LargeAuthorizationQueryPerformanceTest extends AuthorizationPerformanceTestCase {
+
+  protected static final int NUMBER_OF_AUTHORIZATIONS = 100000;
+  protected static final int NUMBER_OF_GROUPS = 10;
+  protected static final int AUTHORIZATIONS_PER_COMMAND = 1000;
+
+  @Parameter(0)
+  public static String name;
+
+  @Parameter(1)
+  public static Query query;
+
+  @Parameter(2)
+  public static Authentication authentication;
+
+  @Parameters(name="{0} - {2}")
+  public static Iterable<Object[]> params() {
+    List<Object[]> queries = Arrays.<Object[]>asList(
+        new Object[] {
+            "ProcessInstanceQuery",
+            PerfTestProcessEngine.getInstance().getRuntimeService().createProcessInstanceQuery()
+        },
+        new Object[] {
+            "TaskQuery",
+            PerfTestProcessEngine.getInstance().getTaskService().createTaskQuery()
+        }
+    );
+
+    List<Authentication> authentications = Arrays.asList(
+        new Authentication("user0", Collections.<String>emptyList()) {
+          @Override
+          public String toString() {
+            return "with authenticated user without groups";
+          }
+        },
+        new Authentication("user0", Arrays.asList("g0", "g1", "g2", "g3", "g4", "g5", "g6", "g7", "g8", "g9")) {
+          @Override
+          public String toString() {
+            return "with authenticated user and 10 groups";
+          }
+        }
+    );
+
+    List<Object[]> params = new ArrayList<Object[]>();
+    for (Object[] namedQuery : queries) {
+      for (Authentication authentication : authentications) {
+        params.add(new Object[] { namedQuery[0], namedQuery[1], authentication });
+      }
+    }
+    return params;
+  }
+
+  /**
+   * The authorizations of both queried resources are created once for all
+   * parameters, so that the runs measure the queries only.
+   */
+  @BeforeClass
+  public static void createAuthorizations() {
+    ProcessEngine engine = PerfTestProcessEngine.getInstance();
+    AuthorizationService authorizationService = engine.getAuthorizationService();
+    List<Authorization> auths = authorizationService.createAuthorizationQuery().list();
+    for (Authorization authorization : auths) {
+      authorizationService.deleteAuthorization(authorization.getId());
+    }
+
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) engine.getProcessEngineConfiguration();
+    for (Resource resource : Arrays.<Resource>asList(PROCESS_INSTANCE, TASK)) {
+      for (int offset = 0; offset < NUMBER_OF_AUTHORIZATIONS; offset += AUTHORIZATIONS_PER_COMMAND) {
+        configuration.getCommandExecutorTxRequired()
+          .execute(new CreateAuthorizationsCmd(resource, offset, AUTHORIZATIONS_PER_COMMAND));
+      }
+    }
+
+    configuration.setAuthorizationEnabled(true);
+  }
+
+  /**
+   * Removes the authorizations again, so that they don't slow down the
+   * later tests on the shared engine.
+   */
+  @AfterClass
+  public static void deleteAuthorizations() {
+    ProcessEngineConfigurationImpl configuration = (ProcessEngineConfigurationImpl) PerfTestProcessEngine.getInstance()
+        .getProcessEngineConfiguration();
+    configuration.setAuthorizationEnabled(false);
+
+    for (Resource resource : Arrays.<Resource>asList(PROCESS_INSTANCE, TASK)) {
+      for (int offset = 0; offset < NUMBER_OF_AUTHORIZATIONS; offset += AUTHORIZATIONS_PER_COMMAND) {
+        configuration.getCommandExecutorTxRequired()
+          .execute(new DeleteAuthorizationsCmd(resource, offset, AUTHORIZATIONS_PER_COMMAND));
+      }
+    }
+  }
+
+  @Test
+  public void queryList() {
+    performanceTest().step(new PerfTestStepBehavior() {
+      public void execute(PerfTestRunContext context) {
+        try {
+          engine.getIdentityService().setAuthentication(authentication);
+          query.listPage(0, 15);
+        } finally {
+          engine.getIdentityService().clearAuthentication();
+        }
+      }
+    }).run();
+  }
+
+  @Test
+  public void queryCount() {
+    performanceTest().step(new PerfTestStepBehavior() {
+      public void execute(PerfTestRunContext context) {
+        try {
+          engine.getIdentityService().setAuthentication(authentication);
+          query.count();
+        } finally {
+          engine.getIdentityService().clearAuthentication();
+        }
+      }
+    }).run();
+  }
+
+  /**
+   * Inserts a chunk of authorizations in a single transaction. Every second authorization
+   * is a group authorization; resource ids are unique so that no wildcard matches.
+   */
+  protected static class CreateAuthorizationsCmd implements Command<Void> {
+
+    protected Resource resource;
+    protected int offset;
+    protected int count;
+
+    public CreateAuthorizationsCmd(Resource resource, int offset, int count) {
+      this.resource = resource;
+      this.offset = offset;
+      this.count = count;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      AuthorizationManager authorizationManager = commandContext.getAuthorizationManager();
+
+      for (int i = offset; i < offset + count; i++) {
+        AuthorizationEntity authorization = new AuthorizationEntity(AUTH_TYPE_GRANT);
+        authorization.setResource(resource);
+        authorization.setResourceId("resource" + i);
+        authorization.addPermission(READ);
+
+        if (i % 2 == 0) {
+          authorization.setUserId("user" + (i % 1000));
+        } else {
+          authorization.setGroupId("g" + (i % NUMBER_OF_GROUPS));
+        }
+
+        authorizationManager.insert(authorization);
+      }
+
+      return null;
+    }
+  }
+
+  /**
+   * Deletes a chunk of the authorizations created by {@link CreateAuthorizationsCmd}
+   * with bulk deletes, which don't depend on authorization being enabled.
+   */
+  protected static class DeleteAuthorizationsCmd implements Command<Void> {
+
+    protected Resource resource;
+    protected int offset;
+    protected int count;
+
+    public DeleteAuthorizationsCmd(Resource resource, int offset, int count) {
+      this.resource = resource;
+      this.offset = offset;
+      this.count = count;
+    }
+
+    public Void execute(CommandContext commandContext) {
+      DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+      for (int i = offset; i < offset + count; i++) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put("resourceType", resource.resourceType());
+        parameters.put("resourceId", "resource" + i);
+        dbEntityManager.delete(AuthorizationEntity.class, "deleteAuthorizationsForResourceId", parameters);
+      }
+
+      return null;
+    }
+  }
+
+}